@@ -2,28 +2,57 @@ package com.dbn.common.cache;
 
 import com.dbn.common.ref.WeakRef;
 import com.dbn.common.routine.ThrowableCallable;
+import com.dbn.common.thread.Threads;
 import com.dbn.common.util.TimeUtil;
+import com.dbn.diagnostics.data.DiagnosticEntry;
 import com.intellij.util.containers.ContainerUtil;
+import lombok.Getter;
 import lombok.SneakyThrows;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static com.dbn.common.util.Unsafe.cast;
 
 /**
- * Dynamic multi level cache
+ * Bounded multi level cache (the levels being the path tokens of the {@link CacheKey}).
+ * <br>
+ * Entries are evicted in segmented LRU order when the cache exceeds its maximum weight or size:
+ * new entries are admitted to a probation segment and promoted to the protected segment when accessed again,
+ * so that one-off lookups do not displace the frequently used entries.
+ * Each entry weighs according to its value (see {@link Weighable}).
+ * Expiry (after write) is checked on read; expired entries not read anymore are purged by a periodic cleanup task.
+ * <br>
+ * Hits, misses (with load time), evictions and expirations are logged to the optional diagnostic entry
+ * under the "HIT", "MISS", "EVICTION" and "EXPIRY" qualifiers
  */
 public class Cache {
-    private final Map<String, Map<String, ?>> data = new ConcurrentHashMap<>(30);
-    private final long expiryMillis;
+    public static final long DEFAULT_MAX_WEIGHT = 100_000;
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    private static final int PROTECTED_PERCENTAGE = 80;
 
+    private final @Getter long expiryMillis;
+    private final @Getter long maxWeight;
+    private final @Getter int maxSize;
+    private final @Nullable DiagnosticEntry<String> diagnostics;
+
+    private final Map<Object, Node> data = new ConcurrentHashMap<>(30);
+    private final Segment probation = new Segment();
+    private final Segment protectedSegment = new Segment();
 
     public Cache(long expiryMillis) {
+        this(expiryMillis, DEFAULT_MAX_WEIGHT, DEFAULT_MAX_SIZE, null);
+    }
+
+    public Cache(long expiryMillis, long maxWeight, int maxSize, @Nullable DiagnosticEntry<String> diagnostics) {
         this.expiryMillis = expiryMillis;
+        this.maxWeight = maxWeight;
+        this.maxSize = maxSize;
+        this.diagnostics = diagnostics;
         CACHE_CLEANUP_TASK.register(this);
     }
 
@@ -31,51 +60,64 @@ public class Cache {
         return cacheValue != null && !cacheValue.isOlderThan(expiryMillis);
     }
 
-    private void cleanup() {
-        cleanup(data);
-    }
-
-    private void cleanup(Object data) {
-        if (data instanceof Map) {
-            Map<String, ?> cache = cast(data);
-            for (String key : cache.keySet()) {
-                Object value = cache.get(key);
-                if (value instanceof CacheValue) {
-                    CacheValue cacheValue = (CacheValue) value;
-                    if (!isValid(cacheValue)) {
-                        cache.remove(key);
-                    }
-                } else {
-                    cleanup(cast(value));
-                }
-            }
+    public int size() {
+        return data.size();
+    }
+
+    public long weight() {
+        synchronized (this) {
+            return probation.weight + protectedSegment.weight;
         }
     }
 
     public void reset() {
-        data.clear();
+        synchronized (this) {
+            data.clear();
+            probation.clear();
+            protectedSegment.clear();
+        }
     }
 
     public <T, E extends Throwable> T get(CacheKey<T> key, ThrowableCallable<T, E> loader) throws E {
-        Map<String, CacheValue<T>> elements = elements(key);
-        CacheValue<T> cacheValue = elements.compute(key.getKey(), (k, v) -> {
-            if (!isValid(v)) {
-                T value = load(loader);
-                v = new CacheValue<>(value);
-            }
-            return v;
-        });
-        return cacheValue.getValue();
+        return get((Object) key, loader);
     }
 
-    private <T> Map<String, CacheValue<T>> elements(CacheKey<T> key) {
-        Map<String, Map<String, ?>> cache = data;
-        String[] path = key.getPath();
-        for (String token : path) {
-            cache = cast(cache.computeIfAbsent(token, k -> new ConcurrentHashMap<>()));
+    <T, E extends Throwable> T get(Object key, ThrowableCallable<T, E> loader) throws E {
+        Node node = data.get(key);
+        if (isValid(node)) {
+            touch(node);
+            log("HIT", 1);
+            return cast(node.getValue());
         }
 
-        return cast(cache);
+        Node[] loaded = new Node[1];
+        Node[] expired = new Node[1];
+        node = data.compute(key, (k, v) -> {
+            if (isValid(v)) return v; // loaded concurrently
+            if (v != null) expired[0] = v;
+
+            long start = System.currentTimeMillis();
+            T value = load(loader);
+            log("MISS", System.currentTimeMillis() - start);
+
+            loaded[0] = new Node(k, value);
+            return loaded[0];
+        });
+
+        if (expired[0] != null) {
+            log("EXPIRY", expired[0].getWeight());
+            synchronized (this) {
+                unlink(expired[0]);
+            }
+        }
+
+        if (loaded[0] == null) {
+            touch(node);
+            log("HIT", 1);
+        } else {
+            admit(loaded[0]);
+        }
+        return cast(node.getValue());
     }
 
     @SneakyThrows
@@ -83,8 +125,149 @@ public class Cache {
         return loader.call();
     }
 
-    private static class ConnectionCacheCleanupTask extends TimerTask {
-        List<WeakRef<Cache>> caches = ContainerUtil.createConcurrentList();
+    private void touch(Node node) {
+        synchronized (this) {
+            if (node.segment == null) return; // evicted or not admitted yet
+
+            if (node.segment == protectedSegment) {
+                protectedSegment.moveToHead(node);
+                return;
+            }
+
+            // second access: promote from probation, demote the protected entries exceeding the protected share
+            probation.remove(node);
+            protectedSegment.addHead(node);
+            while (isProtectedOverflown() && protectedSegment.tail != node) {
+                Node demoted = protectedSegment.tail;
+                protectedSegment.remove(demoted);
+                probation.addHead(demoted);
+            }
+        }
+    }
+
+    private void admit(Node node) {
+        List<Node> victims = new ArrayList<>();
+        synchronized (this) {
+            if (data.get(node.key) != node) return; // replaced or reset in the meantime
+            probation.addHead(node);
+
+            while (isOverflown()) {
+                Node victim = probation.tail;
+                if (victim == null || victim == node) victim = protectedSegment.tail;
+                if (victim == null) break;
+
+                unlink(victim);
+                victims.add(victim);
+            }
+        }
+
+        for (Node victim : victims) {
+            data.remove(victim.key, victim);
+            log("EVICTION", victim.getWeight());
+        }
+    }
+
+    private boolean isOverflown() {
+        long weight = probation.weight + protectedSegment.weight;
+        int size = probation.size + protectedSegment.size;
+        return (maxWeight > 0 && weight > maxWeight) || (maxSize > 0 && size > maxSize);
+    }
+
+    private boolean isProtectedOverflown() {
+        long weight = protectedSegment.weight;
+        int size = protectedSegment.size;
+        return (maxWeight > 0 && weight > maxWeight * PROTECTED_PERCENTAGE / 100) ||
+                (maxSize > 0 && size > maxSize * PROTECTED_PERCENTAGE / 100);
+    }
+
+    private void unlink(Node node) {
+        if (node.segment != null) node.segment.remove(node);
+    }
+
+    private void cleanup() {
+        if (expiryMillis <= 0) return;
+
+        for (Node node : data.values()) {
+            if (isValid(node)) continue;
+            if (data.remove(node.key, node)) {
+                synchronized (this) {
+                    unlink(node);
+                }
+                log("EXPIRY", node.getWeight());
+            }
+        }
+    }
+
+    private void log(String qualifier, long value) {
+        if (diagnostics == null) return;
+        diagnostics.getDetail(qualifier).log(false, false, value);
+    }
+
+    private static final class Node extends CacheValue<Object> {
+        private final Object key;
+        private Segment segment;
+        private Node prev;
+        private Node next;
+
+        Node(Object key, Object value) {
+            super(value);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Doubly linked access order list (head = most recently used), guarded by the owning cache monitor
+     */
+    private static final class Segment {
+        private Node head;
+        private Node tail;
+        private long weight;
+        private int size;
+
+        void addHead(Node node) {
+            node.segment = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) head.prev = node;
+            head = node;
+            if (tail == null) tail = node;
+            weight += node.getWeight();
+            size++;
+        }
+
+        void remove(Node node) {
+            if (node.prev != null) node.prev.next = node.next; else head = node.next;
+            if (node.next != null) node.next.prev = node.prev; else tail = node.prev;
+            node.prev = null;
+            node.next = null;
+            node.segment = null;
+            weight -= node.getWeight();
+            size--;
+        }
+
+        void moveToHead(Node node) {
+            if (head == node) return;
+            remove(node);
+            addHead(node);
+        }
+
+        void clear() {
+            for (Node node = head; node != null; ) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.segment = null;
+                node = next;
+            }
+            head = null;
+            tail = null;
+            weight = 0;
+            size = 0;
+        }
+    }
+
+    private static class CacheCleanupTask implements Runnable {
+        private final List<WeakRef<Cache>> caches = ContainerUtil.createConcurrentList();
 
         @Override
         public void run() {
@@ -103,9 +286,9 @@ public class Cache {
         }
     }
 
-    private static final ConnectionCacheCleanupTask CACHE_CLEANUP_TASK = new ConnectionCacheCleanupTask();
+    private static final CacheCleanupTask CACHE_CLEANUP_TASK = new CacheCleanupTask();
     static {
-        Timer poolCleaner = new Timer("DBN - Connection Cache Cleaner");
-        poolCleaner.schedule(CACHE_CLEANUP_TASK, TimeUtil.Millis.THREE_MINUTES, TimeUtil.Millis.THREE_MINUTES);
+        long period = TimeUtil.Millis.ONE_MINUTE;
+        Threads.cleanupExecutor().scheduleWithFixedDelay(CACHE_CLEANUP_TASK, period, period, TimeUnit.MILLISECONDS);
     }
 }
@@ -1,12 +1,17 @@
 package com.dbn.common.cache;
 
+import java.util.Collection;
+import java.util.Map;
+
 public class CacheValue<T> {
     private final T value;
     private final long timestamp;
+    private final int weight;
 
     CacheValue(T value) {
         this.value = value;
         this.timestamp = System.currentTimeMillis();
+        this.weight = weigh(value);
     }
 
     public T getValue() {
@@ -17,7 +22,19 @@ public class CacheValue<T> {
         return timestamp;
     }
 
+    public int getWeight() {
+        return weight;
+    }
+
     public boolean isOlderThan(long expiryTimeMillis) {
         return expiryTimeMillis > 0 && timestamp + expiryTimeMillis < System.currentTimeMillis();
     }
+
+    private static int weigh(Object value) {
+        if (value instanceof Weighable) return Math.max(1, ((Weighable) value).getCacheWeight());
+        if (value instanceof Collection) return ((Collection<?>) value).size() + 1;
+        if (value instanceof Map) return ((Map<?, ?>) value).size() + 1;
+        if (value instanceof Object[]) return ((Object[]) value).length + 1;
+        return 1;
+    }
 }
@@ -1,28 +1,26 @@
 package com.dbn.common.cache;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 import java.util.function.Function;
 
-import static com.dbn.common.util.Unsafe.cast;
-
 /**
  * A cache implementation that supports chaining for multi-level cache lookups.
  * (usage only justified if value initialisation is really expensive)
+ * Backed by a non-expiring bounded {@link Cache}, keyed by the full key chain
  */
 public class ChainedKeyCache {
-    private final Map<Object, Object> data = new ConcurrentHashMap<>();
+    private final Cache data;
+
+    public ChainedKeyCache() {
+        this(Cache.DEFAULT_MAX_WEIGHT, Cache.DEFAULT_MAX_SIZE);
+    }
+
+    public ChainedKeyCache(long maxWeight, int maxSize) {
+        data = new Cache(0, maxWeight, maxSize, null);
+    }
 
     public <T> T get(Function<Object[], T> loader, Object ... keys) {
-        Map map = data;
-        for (int i = 0; i < keys.length; i++) {
-            Object key = keys[i];
-            if (i < keys.length - 1) {
-                map = cast(map.computeIfAbsent(key, k -> new ConcurrentHashMap<>()));
-            } else {
-                return cast(map.computeIfAbsent(key, k -> loader.apply(keys)));
-            }
-        }
-        return null;
+        if (keys.length == 0) return null;
+        return data.get(Arrays.asList(keys), () -> loader.apply(keys));
     }
 }
@@ -0,0 +1,9 @@
+package com.dbn.common.cache;
+
+/**
+ * Values which can tell the {@link Cache} how much space they occupy (e.g. number of rows they hold).
+ * Values not implementing this interface are weighed by their collection / array size if applicable, or with weight 1 otherwise
+ */
+public interface Weighable {
+    int getCacheWeight();
+}
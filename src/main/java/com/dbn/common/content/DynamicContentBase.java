@@ -7,6 +7,7 @@ import com.dbn.common.content.loader.DynamicContentLoader;
 import com.dbn.common.dispose.BackgroundDisposer;
 import com.dbn.common.dispose.Disposer;
 import com.dbn.common.dispose.Failsafe;
+import com.dbn.common.filter.Filter;
 import com.dbn.common.filter.FilterDelegate;
 import com.dbn.common.list.FilteredList;
 import com.dbn.common.notification.NotificationSupport;
@@ -25,12 +26,14 @@ import com.dbn.nls.NlsSupport;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import static com.dbn.common.notification.NotificationGroup.METADATA;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
@@ -50,6 +53,7 @@ public abstract class DynamicContentBase<T extends DynamicContentElement>
     private volatile byte signature = 0;
 
     protected List<T> elements = Unsafe.cast(EMPTY_UNTOUCHED_CONTENT);
+    private volatile DynamicContentNameIndex<T> nameIndex;
 
     protected DynamicContentBase(
             @NotNull DatabaseEntity parent,
@@ -341,6 +345,7 @@ public abstract class DynamicContentBase<T extends DynamicContentElement>
         }
 
         this.elements = elements;
+        this.nameIndex = null;
 
         afterUpdate();
         if (!oldElements.isEmpty() || !elements.isEmpty()){
@@ -389,15 +394,30 @@ public abstract class DynamicContentBase<T extends DynamicContentElement>
 
     @Override
     public T getElement(String name, short overload) {
-        if (name != null) {
-            return Lists.first(elements, element -> matchElement(element, name, overload));
-        }
-        return null;
+        if (name == null) return null;
+
+        List<T> elements = this.elements;
+        Filter<T> filter = elements instanceof FilteredList ? ((FilteredList<T>) elements).getFilter() : null;
+        return lookupElement(name, element ->
+                (overload == 0 || overload == element.getOverload()) &&
+                (filter == null || filter.accepts(element)));
     }
 
-    private boolean matchElement(T element, String name, short overload) {
-        return (overload == 0 || overload == element.getOverload()) &&
-                Strings.equalsIgnoreCase(element.getName(), name);
+    /**
+     * Returns the first of the (unfiltered) elements with the given name, matching the given predicate.
+     * The lookup is served by a name index built lazily on first access after every change of the elements
+     */
+    @Nullable
+    protected final T lookupElement(@NotNull String name, Predicate<T> match) {
+        List<T> elements = FilteredList.unwrap(this.elements);
+        if (elements.isEmpty()) return null;
+
+        DynamicContentNameIndex<T> nameIndex = this.nameIndex;
+        if (nameIndex == null || !nameIndex.isIndexOf(elements)) {
+            nameIndex = new DynamicContentNameIndex<>(elements);
+            this.nameIndex = nameIndex;
+        }
+        return nameIndex.lookup(name, match);
     }
 
     @Override
@@ -423,6 +443,7 @@ public abstract class DynamicContentBase<T extends DynamicContentElement>
             }
             elements = Unsafe.cast(EMPTY_DISPOSED_CONTENT);
         }
+        nameIndex = null;
         dependencyAdapter.dispose();
         dependencyAdapter = VoidContentDependencyAdapter.INSTANCE;
         parent = null;
@@ -0,0 +1,108 @@
+package com.dbn.common.content;
+
+import com.dbn.common.util.Unsafe;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Immutable case-insensitive name index over the elements of a {@link DynamicContent}.
+ * Open addressing (linear probing) table of name buckets, each bucket chaining the elements
+ * with the same name (overloads) in list order. Lookup cost does not depend on how the list is sorted
+ */
+final class DynamicContentNameIndex<T extends DynamicContentElement> {
+    private final List<T> source;
+    private final int sourceSize;
+
+    private final Object[] elements;
+    private final int[] hashes;
+    private final int[] next;
+    private final int[] slots;
+    private final int mask;
+
+    DynamicContentNameIndex(List<T> source) {
+        this.source = source;
+        this.sourceSize = source.size();
+
+        int size = sourceSize;
+        elements = source.toArray();
+        hashes = new int[size];
+        next = new int[size];
+
+        int capacity = Integer.highestOneBit(Math.max(4, size * 2 - 1)) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+
+        int[] tails = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            String name = getName(i);
+            if (name == null) continue;
+
+            int hash = hash(name);
+            hashes[i] = hash;
+
+            int slot = hash & mask;
+            while (true) {
+                int head = slots[slot] - 1;
+                if (head == -1) {
+                    slots[slot] = i + 1;
+                    tails[slot] = i;
+                    break;
+                }
+                if (hashes[head] == hash && name.equalsIgnoreCase(getName(head))) {
+                    next[tails[slot]] = i + 1;
+                    tails[slot] = i;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Checks if the index is still reflecting the given element list
+     */
+    boolean isIndexOf(List<T> elements) {
+        return source == elements && sourceSize == elements.size();
+    }
+
+    /**
+     * Returns the first element (in list order) with the given name, matching the given predicate
+     */
+    @Nullable
+    T lookup(String name, Predicate<T> match) {
+        int hash = hash(name);
+        int slot = hash & mask;
+        while (true) {
+            int head = slots[slot] - 1;
+            if (head == -1) return null;
+
+            if (hashes[head] == hash && name.equalsIgnoreCase(getName(head))) {
+                for (int i = head; i != -1; i = next[i] - 1) {
+                    T element = getElement(i);
+                    if (match.test(element)) return element;
+                }
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private T getElement(int index) {
+        return Unsafe.cast(elements[index]);
+    }
+
+    private String getName(int index) {
+        return getElement(index).getName();
+    }
+
+    private static int hash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        // spread the higher bits (table index uses the lower ones)
+        return hash ^ (hash >>> 16);
+    }
+}
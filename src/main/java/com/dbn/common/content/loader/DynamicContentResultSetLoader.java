@@ -20,6 +20,7 @@ import com.dbn.connection.jdbc.DBNResultSet;
 import com.dbn.connection.jdbc.IncrementalStatusAdapter;
 import com.dbn.database.common.metadata.DBObjectMetadata;
 import com.dbn.database.common.metadata.DBObjectMetadataFactory;
+import com.dbn.database.common.metadata.snapshot.MetadataSnapshotManager;
 import com.dbn.database.interfaces.DatabaseInterfaceInvoker;
 import com.dbn.database.interfaces.DatabaseMessageParserInterface;
 import com.dbn.database.interfaces.DatabaseMetadataInterface;
@@ -137,6 +138,13 @@ public abstract class DynamicContentResultSetLoader<E extends DynamicContentElem
 
     @Override
     public void loadContent(DynamicContent<E> content) throws SQLException {
+        MetadataSnapshotManager snapshotManager = MetadataSnapshotManager.getInstance(content.getProject());
+        ResultSet snapshot = snapshotManager.restore(content, getIdentifier());
+        if (snapshot != null) {
+            loadContent(content, null, snapshot);
+            return;
+        }
+
         // TODO "computeThreadPriority" utility - handle more thread info cases
         Priority priority = content.is(INTERNAL) ? Priority.LOW : ThreadInfo.current().is(ThreadProperty.MODAL) ? Priority.HIGH : Priority.MEDIUM;
         DatabaseInterfaceInvoker.execute(priority,
@@ -144,10 +152,13 @@ public abstract class DynamicContentResultSetLoader<E extends DynamicContentElem
                 "Loading " + content.getContentDescription(),
                 content.getProject(),
                 content.getConnectionId(),
-                conn -> loadContent(content, conn));
+                conn -> loadContent(content, conn, null));
     }
 
-    private void loadContent(DynamicContent<E> content, DBNConnection conn) throws SQLException {
+    /**
+     * Loads the content from the given snapshot result set if specified, otherwise from the database using the given connection
+     */
+    private void loadContent(DynamicContent<E> content, @Nullable DBNConnection conn, @Nullable ResultSet snapshot) throws SQLException {
         DebugInfo debugInfo = preLoadContent(content);
         ConnectionHandler connection = content.getConnection();
         DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(connection.getProject());
@@ -160,18 +171,25 @@ public abstract class DynamicContentResultSetLoader<E extends DynamicContentElem
             List<E> list = null;
             try {
                 content.checkDisposed();
-                resultSet = createResultSet(content, conn);
+                MetadataSnapshotManager snapshotManager = MetadataSnapshotManager.getInstance(content.getProject());
+                long changeTimestamp = snapshot == null ? snapshotManager.loadChangeTimestamp(content, conn) : 0;
+
+                resultSet = snapshot == null ? createResultSet(content, conn) : snapshot;
                 String identifier = DBNResultSet.getIdentifier(resultSet);
 
+                ResultSet source = snapshot == null ?
+                        snapshotManager.record(content, getIdentifier(), resultSet, changeTimestamp) :
+                        snapshot;
+
                 DynamicContentType<?> contentType = content.getContentType();
-                M metadata = DBObjectMetadataFactory.INSTANCE.create(contentType, resultSet);
+                M metadata = DBObjectMetadataFactory.INSTANCE.create(contentType, source);
 
                 Diagnostics.databaseLag(QUERY);
                 LoaderCache loaderCache = new LoaderCache();
                 int count = 0;
 
                 long loadStart = System.currentTimeMillis();
-                while (resultSet != null && resultSet.next()) {
+                while (source != null && source.next()) {
                     Diagnostics.databaseLag(LOAD);
                     content.checkDisposed();
 
@@ -204,7 +222,7 @@ public abstract class DynamicContentResultSetLoader<E extends DynamicContentElem
                     count++;
                 }
 
-                diagnostics.log(identifier, "LOAD", false, false, TimeUtil.millisSince(loadStart));
+                if (snapshot == null) diagnostics.log(identifier, "LOAD", false, false, TimeUtil.millisSince(loadStart));
             } finally {
                 Resources.close(resultSet);
             }
@@ -229,7 +247,7 @@ public abstract class DynamicContentResultSetLoader<E extends DynamicContentElem
 
         } catch (SQLRecoverableException e) {
             conditionallyLog(e);
-            markClosed(conn);
+            if (conn != null) markClosed(conn);
             throw e;
         } catch (SQLException e) {
             conditionallyLog(e);
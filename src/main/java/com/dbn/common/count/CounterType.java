@@ -9,6 +9,8 @@ public enum CounterType {
     CREATING,
     REJECTED,
     FINISHED,
+    HIT,
+    MISS,
 
     GENERIC
 }
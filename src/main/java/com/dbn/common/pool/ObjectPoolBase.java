@@ -11,7 +11,9 @@ import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -27,35 +29,43 @@ import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDisposableBase implements ObjectPool<O, E>, NlsSupport {
     private final List<O> objects = new CopyOnWriteArrayList<>();
     private final BlockingQueue<O> available = new LinkedBlockingQueue<>();
+    private final Set<O> unused = ConcurrentHashMap.newKeySet(); // created but never acquired
     private final ObjectPoolCounters counters = new ObjectPoolCounters();
 
     public ObjectPoolBase(@Nullable Disposable parent) {
         super(parent);
     }
 
+    /**
+     * Acquisitions returning an object acquired before count as hits,
+     * the ones returning a newly created object count as misses (regardless of which acquisition caused the creation)
+     */
     @Override
     public final O acquire(long timeout, TimeUnit timeUnit) throws E {
         try {
             counters.waiting().increment();
-            ensure();
-
-            O object = available.poll(timeout, timeUnit);
-
-            if (object == null) {
-                counters.rejected().increment();
-                log("rejected", null);
-                return whenNull();
-            }
-            if (check(object)) {
-                // valid object
-                counters.reserved().increment();
-                log("acquired", object);
-                return whenAcquired(object);
+            long start = System.currentTimeMillis();
+            while (true) {
+                ensure();
+
+                O object = available.poll(timeout, timeUnit);
+                if (object == null) {
+                    counters.rejected().increment();
+                    log("rejected", null);
+                    return whenNull();
+                }
+                if (check(object)) {
+                    // valid object
+                    counters.waitTime().record(System.currentTimeMillis() - start);
+                    if (unused.remove(object)) counters.miss().increment(); else counters.hit().increment();
+                    counters.reserved().increment();
+                    log("acquired", object);
+                    return whenAcquired(object);
+                }
+
+                // invalid object - remove and try acquiring again
+                drop(object);
             }
-
-            // invalid object - remove and try acquiring again
-            drop(object);
-            return acquire(timeout, timeUnit);
         } catch (Throwable e) {
             conditionallyLog(e);
             return whenErrored(e);
@@ -91,6 +101,7 @@ public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDis
         synchronized (this) {
             available.remove(object);
             objects.remove(object);
+            unused.remove(object);
         }
         log("dropped", object);
         return whenDropped(object);
@@ -104,6 +115,34 @@ public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDis
         }
     }
 
+    /**
+     * Thoroughly validates the available (not reserved) objects matching the given condition (see {@link #validate(Object)}).
+     * The objects are withheld from acquisition while being validated, and dropped if found invalid
+     */
+    public final void validate(Predicate<O> when) {
+        for (O object : objects) {
+            if (!when.test(object)) continue;
+            if (!available.remove(object)) continue; // reserved in the meantime
+
+            boolean valid = false;
+            try {
+                valid = validate(object);
+            } catch (Throwable e) {
+                conditionallyLog(e);
+            }
+
+            if (valid) {
+                available.add(object);
+                log("validated", object);
+            } else {
+                drop(object);
+            }
+        }
+    }
+
+    /**
+     * Creates a new object if none is available and the pool is not full
+     */
     private void ensure() throws E{
         checkDisposed();
 
@@ -117,9 +156,12 @@ public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDis
             }
         }
 
+        long start = System.currentTimeMillis();
         try {
             O object = create();
+            counters.creationTime().record(System.currentTimeMillis() - start);
             objects.add(object);
+            unused.add(object);
             available.add(object);
             whenCreated(object);
             log("created", object);
@@ -148,8 +190,22 @@ public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDis
 
     protected abstract O create() throws E;
 
+    /**
+     * Inexpensive check of the object, invoked on every acquisition and release
+     */
     protected abstract boolean check(O object);
 
+    /**
+     * Thorough (potentially expensive) validation of the object, invoked from {@link #validate(Predicate)}
+     */
+    protected boolean validate(O object) {
+        return check(object);
+    }
+
+    public final ObjectPoolCounters getCounters() {
+        return counters;
+    }
+
     public final int size() {
         return counters.creating().get() + objects.size();
     }
@@ -168,11 +224,12 @@ public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDis
     @Override
     public void disposeInner() {
         available.clear();
+        unused.clear();
         Disposer.disposeCollection(objects);
     }
 
     private void log(String action, O object) {
-        log.info("{}: {} {} - Pool [max={} size={} peak={} waiting={} free={}]",
+        log.info("{}: {} {} - Pool [max={} size={} peak={} waiting={} free={} hitRate={}% waitTime={} creationTime={}]",
                 identifier(),
                 action,
                 identifier(object),
@@ -180,7 +237,10 @@ public abstract class ObjectPoolBase<O, E extends Throwable> extends StatefulDis
                 objects.size(),
                 counters.peak().get(),
                 counters.waiting().get(),
-                available.size());
+                available.size(),
+                counters.hitRate(),
+                counters.waitTime(),
+                counters.creationTime());
     }
 
 
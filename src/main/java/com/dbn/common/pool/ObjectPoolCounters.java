@@ -4,7 +4,12 @@ import com.dbn.common.count.Counter;
 import com.dbn.common.count.CounterType;
 import com.dbn.common.count.Counters;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class ObjectPoolCounters extends Counters {
+    private final Timing waitTime = new Timing();
+    private final Timing creationTime = new Timing();
+
     public Counter peak() {
         return get(CounterType.PEAK);
     }
@@ -25,6 +30,43 @@ public class ObjectPoolCounters extends Counters {
         return get(CounterType.CREATING);
     }
 
+    /**
+     * Acquisitions returning a pool object which was acquired before
+     */
+    public Counter hit() {
+        return get(CounterType.HIT);
+    }
+
+    /**
+     * Acquisitions returning a newly created pool object
+     */
+    public Counter miss() {
+        return get(CounterType.MISS);
+    }
+
+    /**
+     * Time spent by the successful acquisitions waiting for an available object
+     */
+    public Timing waitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Time spent creating new pool objects
+     */
+    public Timing creationTime() {
+        return creationTime;
+    }
+
+    /**
+     * Percentage of acquisitions served by idle pool objects
+     */
+    public int hitRate() {
+        int hits = hit().get();
+        int total = hits + miss().get();
+        return total == 0 ? 0 : hits * 100 / total;
+    }
+
     @Override
     public String toString() {
         return
@@ -32,7 +74,40 @@ public class ObjectPoolCounters extends Counters {
             "waiting=" + waiting().get() + " " +
             "reserved=" + reserved().get() + " " +
             "rejected=" + rejected().get() + " " +
-            "creating=" + creating().get()
+            "creating=" + creating().get() + " " +
+            "hitRate=" + hitRate() + "% " +
+            "waitTime=" + waitTime + " " +
+            "creationTime=" + creationTime
                 ;
     }
+
+    public static final class Timing {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long millis) {
+            count.incrementAndGet();
+            total.addAndGet(millis);
+            max.accumulateAndGet(millis, Math::max);
+        }
+
+        public long count() {
+            return count.get();
+        }
+
+        public long average() {
+            long count = this.count.get();
+            return count == 0 ? 0 : total.get() / count;
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        @Override
+        public String toString() {
+            return "[avg=" + average() + "ms max=" + max() + "ms]";
+        }
+    }
 }
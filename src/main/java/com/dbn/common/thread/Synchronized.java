@@ -7,21 +7,28 @@ import lombok.experimental.UtilityClass;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
-
+/**
+ * Keyed synchronization: invocations for equal owners are executed one at a time, invocations for different owners run in parallel.
+ * <br>
+ * The per-owner locks are reference counted: acquisition and release update the lock table atomically per key
+ * (no global monitor), and a lock is removed from the table when the last invoker releases it.
+ * Contention statistics are available through {@link #statistics()} (shown in the "Keyed Locks" tab of the connection diagnostics)
+ */
 @UtilityClass
 public class Synchronized {
 	static final Map<Object, SyncObject> LOCKS = new ConcurrentHashMap<>(100);
+	private static final Statistics STATISTICS = new Statistics();
 
 	public static <O, E extends Throwable> void on(O owner, ParametricRunnable<O, E> runnable) throws E{
 		SyncObject<O> lock = acquire(owner);
 		try {
 			lock.execute(owner, runnable);
 		} finally {
-			release(owner, lock);
+			release(owner);
 		}
 	}
 
@@ -30,47 +37,96 @@ public class Synchronized {
 		try {
 			return lock.execute(owner, callable);
 		} finally {
-			release(owner, lock);
+			release(owner);
 		}
 	}
 
-	private static synchronized <R> SyncObject<R> acquire(Object owner) {
-		return Unsafe.cast(LOCKS.computeIfAbsent(owner, o -> new SyncObject()));
+	public static Statistics statistics() {
+		return STATISTICS;
+	}
+
+	private static <R> SyncObject<R> acquire(Object owner) {
+		SyncObject<?> lock = LOCKS.compute(owner, (o, l) -> {
+			if (l == null) l = new SyncObject<>();
+			l.invokers++;
+			return l;
+		});
+		return Unsafe.cast(lock);
 	}
 
-	private synchronized static void release(Object owner, SyncObject<?> lock) {
-		if (lock.isFree()) LOCKS.remove(owner);
+	private static void release(Object owner) {
+		LOCKS.computeIfPresent(owner, (o, l) -> --l.invokers == 0 ? null : l);
 	}
 
 	private static class SyncObject<R> {
-		private final Lock lock = new ReentrantLock();
-		private final AtomicInteger invokers = new AtomicInteger();
+		private final ReentrantLock lock = new ReentrantLock();
+		private int invokers; // guarded by the lock table entry
 
 		public <O, E extends Throwable> R execute(O owner, ParametricCallable<O, R, E> callable) throws E{
-			invokers.incrementAndGet();
-			lock.lock();
+			lock();
 			try {
 				return callable.call(owner);
 			} finally {
-				invokers.decrementAndGet();
 				lock.unlock();
 			}
 		}
 
 		public <O, E extends Throwable> void execute(O owner, ParametricRunnable<O, E> runnable) throws E{
-			invokers.incrementAndGet();
-			lock.lock();
+			lock();
 			try {
 				runnable.run(owner);
 			} finally {
-				invokers.decrementAndGet();
 				lock.unlock();
 			}
 		}
 
-		public boolean isFree() {
-			return invokers.get() == 0;
+		private void lock() {
+			STATISTICS.acquisitions.increment();
+			if (lock.tryLock()) return;
+
+			long start = System.nanoTime();
+			lock.lock();
+			STATISTICS.contentions.increment();
+			STATISTICS.waitNanos.add(System.nanoTime() - start);
 		}
 	}
-}
 
+	public static final class Statistics {
+		private final LongAdder acquisitions = new LongAdder();
+		private final LongAdder contentions = new LongAdder();
+		private final LongAdder waitNanos = new LongAdder();
+
+		/**
+		 * Total number of keyed lock acquisitions
+		 */
+		public long acquisitions() {
+			return acquisitions.sum();
+		}
+
+		/**
+		 * Number of acquisitions which had to wait for another invoker of the same key
+		 */
+		public long contentions() {
+			return contentions.sum();
+		}
+
+		/**
+		 * Total time spent waiting for contended keys
+		 */
+		public long waitTimeMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+		}
+
+		/**
+		 * Number of keys currently locked or waited for
+		 */
+		public int activeKeys() {
+			return LOCKS.size();
+		}
+
+		@Override
+		public String toString() {
+			return "acquisitions=" + acquisitions() + " contentions=" + contentions() + " waitTime=" + waitTimeMillis() + "ms activeKeys=" + activeKeys();
+		}
+	}
+}
@@ -20,6 +20,8 @@ public final class Threads {
     private static final ExecutorService TIMEOUT_DAEMON_EXECUTOR     = newThreadPool("DBN - Timeout Execution Daemon",  true,  5, 200);
     private static final ExecutorService CODE_COMPLETION_EXECUTOR    = newThreadPool("DBN - Code Completion Thread",    true,  5, 100);
     private static final ExecutorService OBJECT_LOOKUP_EXECUTOR      = newThreadPool("DBN - Object Lookup Thread",      true,  5, 100);
+    private static final ScheduledExecutorService CLEANUP_EXECUTOR   = newScheduledThreadPool("DBN - Cleanup Thread", 1);
+    private static final ForkJoinPool DATA_SEARCH_POOL               = newForkJoinPool("DBN - Data Search Thread", Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
     public static final long DELAY = TimeUnit.MILLISECONDS.toNanos(1);
 
     @NotNull
@@ -45,6 +47,23 @@ public final class Threads {
         return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, 1L, TimeUnit.MINUTES, queue, threadFactory);
     }
 
+    private static ScheduledExecutorService newScheduledThreadPool(String name, int corePoolSize) {
+        ThreadFactory threadFactory = createThreadFactory(name, true);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(corePoolSize, threadFactory);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static ForkJoinPool newForkJoinPool(String name, int parallelism) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + " " + thread.getPoolIndex());
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
 
     public static ExecutorService timeoutExecutor(boolean daemon) {
         return daemon ? TIMEOUT_DAEMON_EXECUTOR : TIMEOUT_EXECUTOR;
@@ -74,6 +93,14 @@ public final class Threads {
         return OBJECT_LOOKUP_EXECUTOR;
     }
 
+    public static ScheduledExecutorService cleanupExecutor() {
+        return CLEANUP_EXECUTOR;
+    }
+
+    public static ForkJoinPool dataSearchPool() {
+        return DATA_SEARCH_POOL;
+    }
+
     static void delay(Object sync) {
         LockSupport.parkNanos(sync, DELAY);
     }
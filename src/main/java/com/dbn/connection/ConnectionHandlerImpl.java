@@ -32,6 +32,8 @@ import com.dbn.database.interfaces.DatabaseInterfaceQueue;
 import com.dbn.database.interfaces.DatabaseInterfaces;
 import com.dbn.database.interfaces.queue.InterfaceQueue;
 import com.dbn.debugger.DatabaseDebuggerManager;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
 import com.dbn.execution.statement.StatementExecutionQueue;
 import com.dbn.language.common.DBLanguage;
 import com.dbn.language.common.DBLanguageDialect;
@@ -96,7 +98,11 @@ public class ConnectionHandlerImpl extends StatefulDisposableBase implements Con
             () -> new DBSessionBrowserVirtualFile(this));
 
     private final Latent<Cache> metaDataCache = Latent.basic(
-            () -> new Cache(TimeUtil.Millis.ONE_MINUTE));
+            () -> {
+                DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(getProject());
+                DiagnosticBundle<String> diagnostics = diagnosticsManager.getMetadataCacheDiagnostics(getConnectionId());
+                return new Cache(TimeUtil.Millis.ONE_MINUTE, Cache.DEFAULT_MAX_WEIGHT, Cache.DEFAULT_MAX_SIZE, diagnostics.get("Metadata"));
+            });
 
     private final Latent<AuthenticationInfo> temporaryAuthenticationInfo = Latent.basic(
             () -> {
@@ -31,6 +31,7 @@ import com.dbn.connection.transaction.ui.IdleConnectionDialog;
 import com.dbn.connection.ui.ConnectionAuthenticationDialog;
 import com.dbn.execution.ExecutionManager;
 import com.dbn.execution.method.MethodExecutionManager;
+import com.dbn.object.lookup.DBObjectRef;
 import com.dbn.options.ConfigId;
 import com.dbn.options.ProjectSettingsManager;
 import com.dbn.vfs.DatabaseFileManager;
@@ -86,6 +87,10 @@ public class ConnectionManager extends ProjectComponentBase implements Persisten
                 ConnectionConfigListener.TOPIC,
                 ConnectionConfigListener.whenChanged(id -> refreshObjects(id)));
 
+        ProjectEvents.subscribe(project, this,
+                ConnectionConfigListener.TOPIC,
+                ConnectionConfigListener.whenRemoved(id -> DBObjectRef.releaseInterned(id)));
+
         idleConnectionCleaner = new Timer("DBN - Idle Connection Cleaner");
         idleConnectionCleaner.schedule(new CloseIdleConnectionTask(), TimeUtil.Millis.ONE_MINUTE, TimeUtil.Millis.ONE_MINUTE);
 
@@ -191,10 +191,14 @@ public final class ConnectionPool extends StatefulDisposableBase implements Noti
                 long lastAccess = getLastAccess();
                 ConnectionDetailSettings detailSettings = connection.getSettings().getDetailSettings();
                 int minutesToDisconnect = detailSettings.getIdleMinutesToDisconnectPool();
+                DBNConnectionPool connectionPool = getConnectionPool();
                 if (lastAccess > 0 && isOlderThan(lastAccess, minutesToDisconnect, TimeUnit.MINUTES)) {
-                    getConnectionPool().clean(conn -> !conn.isActive() && !conn.isReserved());
+                    connectionPool.clean(conn -> !conn.isActive() && !conn.isReserved());
                 }
 
+                // validate the idle connections ahead of acquisition
+                connectionPool.validate(conn -> !conn.isActive() && !conn.isReserved() && connectionPool.requiresValidation(conn));
+
             } finally {
                 status.set(ConnectionHandlerStatus.CLEANING, false);
             }
@@ -28,12 +28,15 @@ public class ConnectionDetailSettings extends BasicProjectConfiguration<Connecti
     private boolean enableSessionManagement = true;
     private boolean enableDdlFileBinding = true;
     private boolean enableDatabaseLogging = true;
+    private boolean prefetchSchemaMetadata = false;
+    private boolean enableMetadataSnapshot = false;
     private boolean connectAutomatically = true;
     private boolean restoreWorkspace = true;
     private boolean restoreWorkspaceDeep = false;
     private int connectivityTimeoutSeconds = 30; // default to 30 seconds instead of 5 to support longer ADB connect times
     private int idleMinutesToDisconnect = 30;
     private int idleMinutesToDisconnectPool = 5;
+    private int idleSecondsToValidatePool = 60;
     private int credentialExpiryMinutes = 10;
     private int maxConnectionPoolSize = 7;
 
@@ -90,6 +93,8 @@ public class ConnectionDetailSettings extends BasicProjectConfiguration<Connecti
         enableSessionManagement = getBoolean(element, "session-management", enableSessionManagement);
         enableDdlFileBinding = getBoolean(element, "ddl-file-binding", enableDdlFileBinding);
         enableDatabaseLogging = getBoolean(element, "database-logging", enableDatabaseLogging);
+        prefetchSchemaMetadata = getBoolean(element, "prefetch-schema-metadata", prefetchSchemaMetadata);
+        enableMetadataSnapshot = getBoolean(element, "metadata-snapshot", enableMetadataSnapshot);
         connectAutomatically = getBoolean(element, "connect-automatically", connectAutomatically);
         restoreWorkspace = getBoolean(element, "restore-workspace", restoreWorkspace);
         restoreWorkspaceDeep = getBoolean(element, "restore-workspace-deep", restoreWorkspaceDeep);
@@ -97,6 +102,7 @@ public class ConnectionDetailSettings extends BasicProjectConfiguration<Connecti
         connectivityTimeoutSeconds = getInteger(element, "connectivity-timeout", connectivityTimeoutSeconds);
         idleMinutesToDisconnect = getInteger(element, "idle-time-to-disconnect", idleMinutesToDisconnect);
         idleMinutesToDisconnectPool = getInteger(element, "idle-time-to-disconnect-pool", idleMinutesToDisconnectPool);
+        idleSecondsToValidatePool = getInteger(element, "idle-time-to-validate-pool", idleSecondsToValidatePool);
         credentialExpiryMinutes = getInteger(element, "credential-expiry-time", credentialExpiryMinutes);
         maxConnectionPoolSize = getInteger(element, "max-connection-pool-size", maxConnectionPoolSize);
         alternativeStatementDelimiter = getString(element, "alternative-statement-delimiter", null);
@@ -109,6 +115,8 @@ public class ConnectionDetailSettings extends BasicProjectConfiguration<Connecti
         setBoolean(element, "session-management", enableSessionManagement);
         setBoolean(element, "ddl-file-binding", enableDdlFileBinding);
         setBoolean(element, "database-logging", enableDatabaseLogging);
+        setBoolean(element, "prefetch-schema-metadata", prefetchSchemaMetadata);
+        setBoolean(element, "metadata-snapshot", enableMetadataSnapshot);
         setBoolean(element, "connect-automatically", connectAutomatically);
         setBoolean(element, "restore-workspace", restoreWorkspace);
         setBoolean(element, "restore-workspace-deep", restoreWorkspaceDeep);
@@ -116,6 +124,7 @@ public class ConnectionDetailSettings extends BasicProjectConfiguration<Connecti
         setInteger(element, "connectivity-timeout", connectivityTimeoutSeconds);
         setInteger(element, "idle-time-to-disconnect", idleMinutesToDisconnect);
         setInteger(element, "idle-time-to-disconnect-pool", idleMinutesToDisconnectPool);
+        setInteger(element, "idle-time-to-validate-pool", idleSecondsToValidatePool);
         setInteger(element, "credential-expiry-time", credentialExpiryMinutes);
         setInteger(element, "max-connection-pool-size", maxConnectionPoolSize);
         setString(element, "alternative-statement-delimiter", Commons.nvl(alternativeStatementDelimiter, ""));
@@ -42,9 +42,12 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
     private JTextField maxPoolSizeTextField;
     private JTextField idleTimeTextField;
     private JTextField idleTimePoolTextField;
+    private JTextField idleTimeValidatePoolTextField;
     private JTextField alternativeStatementDelimiterTextField;
     private JTextField passwordExpiryTextField;
     private JCheckBox databaseLoggingCheckBox;
+    private JCheckBox prefetchSchemaMetadataCheckBox;
+    private JCheckBox metadataSnapshotCheckBox;
     private JCheckBox sessionManagementCheckBox;
     private JCheckBox ddlFileBindingCheckBox;
     private JCheckBox autoConnectCheckBox;
@@ -167,15 +170,19 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         configuration.setEnableSessionManagement(sessionManagementCheckBox.isSelected());
         configuration.setEnableDdlFileBinding(ddlFileBindingCheckBox.isSelected());
         configuration.setEnableDatabaseLogging(databaseLoggingCheckBox.isSelected());
+        configuration.setPrefetchSchemaMetadata(prefetchSchemaMetadataCheckBox.isSelected());
+        configuration.setEnableMetadataSnapshot(metadataSnapshotCheckBox.isSelected());
         configuration.setAlternativeStatementDelimiter(alternativeStatementDelimiterTextField.getText());
         int connectivityTimeout = ConfigurationEditors.validateIntegerValue(connectivityTimeoutTextField, txt("cfg.connection.field.ConnectivityTimeout"), true, 0, 30, "");
         int idleTimeToDisconnect = ConfigurationEditors.validateIntegerValue(idleTimeTextField, txt("cfg.connection.field.IdleTimeToDisconnect"), true, 0, 60, "");
         int idleTimeToDisconnectPool = ConfigurationEditors.validateIntegerValue(idleTimePoolTextField, txt("cfg.connection.field.IdleTimeToDisconnectPool"), true, 1, 60, "");
+        int idleTimeToValidatePool = ConfigurationEditors.validateIntegerValue(idleTimeValidatePoolTextField, txt("cfg.connection.field.IdleTimeToValidatePool"), true, 0, 3600, "");
         int passwordExpiryTime = ConfigurationEditors.validateIntegerValue(passwordExpiryTextField, txt("cfg.connection.field.IdleTimeToRequestPassword"), true, 0, 60, "");
         int maxPoolSize = ConfigurationEditors.validateIntegerValue(maxPoolSizeTextField, txt("cfg.connection.field.MaxConnectionPoolSize"), true, 3, 20, "");
         configuration.setConnectivityTimeoutSeconds(connectivityTimeout);
         configuration.setIdleMinutesToDisconnect(idleTimeToDisconnect);
         configuration.setIdleMinutesToDisconnectPool(idleTimeToDisconnectPool);
+        configuration.setIdleSecondsToValidatePool(idleTimeToValidatePool);
         configuration.setCredentialExpiryMinutes(passwordExpiryTime);
         configuration.setMaxConnectionPoolSize(maxPoolSize);
     }
@@ -187,6 +194,8 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         sessionManagementCheckBox.setSelected(configuration.isEnableSessionManagement());
         ddlFileBindingCheckBox.setSelected(configuration.isEnableDdlFileBinding());
         databaseLoggingCheckBox.setSelected(configuration.isEnableDatabaseLogging());
+        prefetchSchemaMetadataCheckBox.setSelected(configuration.isPrefetchSchemaMetadata());
+        metadataSnapshotCheckBox.setSelected(configuration.isEnableMetadataSnapshot());
         autoConnectCheckBox.setSelected(configuration.isConnectAutomatically());
         restoreWorkspaceCheckBox.setSelected(configuration.isRestoreWorkspace());
         restoreWorkspaceDeepCheckBox.setSelected(configuration.isRestoreWorkspaceDeep());
@@ -194,6 +203,7 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         connectivityTimeoutTextField.setText(Integer.toString(configuration.getConnectivityTimeoutSeconds()));
         idleTimeTextField.setText(Integer.toString(configuration.getIdleMinutesToDisconnect()));
         idleTimePoolTextField.setText(Integer.toString(configuration.getIdleMinutesToDisconnectPool()));
+        idleTimeValidatePoolTextField.setText(Integer.toString(configuration.getIdleSecondsToValidatePool()));
         passwordExpiryTextField.setText(Integer.toString(configuration.getCredentialExpiryMinutes()));
         maxPoolSizeTextField.setText(Integer.toString(configuration.getMaxConnectionPoolSize()));
         alternativeStatementDelimiterTextField.setText(configuration.getAlternativeStatementDelimiter());
@@ -287,6 +287,10 @@ public class DBNConnection extends DBNConnectionBase {
         return (int) (idleTimeMillis / TimeUtil.Millis.ONE_MINUTE);
     }
 
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
     public static Connection getInner(Connection connection) {
         if (connection instanceof DBNConnection) {
             DBNConnection dbnConnection = (DBNConnection) connection;
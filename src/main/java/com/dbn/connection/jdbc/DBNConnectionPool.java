@@ -5,37 +5,48 @@ import com.dbn.common.exception.Exceptions;
 import com.dbn.common.notification.NotificationGroup;
 import com.dbn.common.pool.ObjectPoolBase;
 import com.dbn.common.thread.Background;
+import com.dbn.common.util.TimeUtil;
 import com.dbn.connection.*;
 import com.dbn.connection.config.ConnectionConfigListener;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.dbn.common.notification.NotificationSupport.sendInfoNotification;
+import static com.dbn.common.util.TimeUtil.millisSince;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 
 @Slf4j
 public class DBNConnectionPool extends ObjectPoolBase<DBNConnection, SQLException> {
     private final String identifier;
     private final ConnectionRef connection;
     private final AtomicLong lastAccess = new AtomicLong();
+    private final Map<DBNConnection, Long> validations = new ConcurrentHashMap<>();
     private int maxSize;
+    private int validationIdleSeconds;
 
     public DBNConnectionPool(ConnectionHandler connection) {
         super(connection);
         this.connection = ConnectionRef.of(connection);
         this.identifier = connection.getName();
         this.maxSize = loadMaxPoolSize();
+        this.validationIdleSeconds = loadValidationIdleSeconds();
 
         ProjectEvents.subscribe(connection.getProject(), this,
                 ConnectionConfigListener.TOPIC,
                 ConnectionConfigListener.whenChanged(id -> {
                     if (id == connection.getConnectionId()) {
                         maxSize = loadMaxPoolSize();
+                        validationIdleSeconds = loadValidationIdleSeconds();
                     }
                 }));
 
@@ -45,6 +56,10 @@ public class DBNConnectionPool extends ObjectPoolBase<DBNConnection, SQLExceptio
         return getConnection().getSettings().getDetailSettings().getMaxConnectionPoolSize();
     }
 
+    private int loadValidationIdleSeconds() {
+        return getConnection().getSettings().getDetailSettings().getIdleSecondsToValidatePool();
+    }
+
     @NotNull
     public ConnectionHandler getConnection() {
         return connection.ensure();
@@ -59,13 +74,35 @@ public class DBNConnectionPool extends ObjectPoolBase<DBNConnection, SQLExceptio
     }
 
     public final DBNConnection acquire(boolean readonly) throws SQLException {
-        DBNConnection conn = acquire(30, TimeUnit.SECONDS);
+        long start = System.currentTimeMillis();
+        DiagnosticBundle<String> diagnostics = getDiagnostics();
+        String identifier = readonly ? "Acquire (read-only)" : "Acquire (read-write)";
+
+        DBNConnection conn;
+        try {
+            conn = acquire(30, TimeUnit.SECONDS);
+            diagnostics.log(identifier, false, false, millisSince(start));
+        } catch (SQLTimeoutException e) {
+            conditionallyLog(e);
+            diagnostics.log(identifier, false, true, millisSince(start));
+            throw e;
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            diagnostics.log(identifier, true, false, millisSince(start));
+            throw e;
+        }
 
         Resources.setAutoCommit(conn, readonly);
         Resources.setReadonly(conn, readonly);
         return conn;
     }
 
+    private DiagnosticBundle<String> getDiagnostics() {
+        ConnectionHandler connection = getConnection();
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(connection.getProject());
+        return diagnosticsManager.getConnectionPoolDiagnostics(connection.getConnectionId());
+    }
+
 
     @Override
     protected DBNConnection create() throws SQLException{
@@ -88,9 +125,32 @@ public class DBNConnectionPool extends ObjectPoolBase<DBNConnection, SQLExceptio
         return conn;
     }
 
+    /**
+     * Connections used or validated within the configured idle time are trusted without probing the database.
+     * Broken connections are learned from the {@link java.sql.SQLRecoverableException}s raised while using them
+     * (marking them invalid and closed), and idle connections are validated in background by the pool cleaner
+     */
     @Override
     protected boolean check(@Nullable DBNConnection conn) {
-        return conn != null && !conn.isClosed() && conn.isValid();
+        if (conn == null || conn.isClosed()) return false;
+        if (conn.isNot(ResourceStatus.VALID)) return false;
+        if (!requiresValidation(conn)) return true;
+        return validate(conn);
+    }
+
+    @Override
+    protected boolean validate(@Nullable DBNConnection conn) {
+        if (conn == null || conn.isClosed()) return false;
+
+        boolean valid = conn.isValid();
+        if (valid) validations.put(conn, System.currentTimeMillis());
+        return valid;
+    }
+
+    public boolean requiresValidation(DBNConnection conn) {
+        long lastValidation = validations.getOrDefault(conn, 0L);
+        long lastConfirmed = Math.max(conn.getLastAccess(), lastValidation);
+        return TimeUtil.isOlderThan(lastConfirmed, validationIdleSeconds, TimeUnit.SECONDS);
     }
 
     @Override
@@ -144,6 +204,7 @@ public class DBNConnectionPool extends ObjectPoolBase<DBNConnection, SQLExceptio
 
     @Override
     protected DBNConnection whenDropped(DBNConnection conn) {
+        validations.remove(conn);
         Background.run(null, () -> Resources.close(conn));
         return conn;
     }
@@ -33,7 +33,8 @@ public class DataExportInstructions implements PersistentStateElement, Cloneable
 
     public enum Scope{
         GLOBAL,
-        SELECTION
+        SELECTION,
+        DATASET
     }
 
     public enum Destination{
@@ -4,10 +4,22 @@ import com.dbn.DatabaseNavigator;
 import com.dbn.common.component.PersistentState;
 import com.dbn.common.component.ProjectComponentBase;
 import com.dbn.common.notification.NotificationGroup;
+import com.dbn.common.util.Commons;
 import com.dbn.common.util.Messages;
 import com.dbn.connection.ConnectionHandler;
+import com.dbn.connection.Resources;
+import com.dbn.connection.jdbc.DBNConnection;
+import com.dbn.connection.jdbc.DBNResultSet;
+import com.dbn.connection.jdbc.DBNStatement;
+import com.dbn.connection.jdbc.ResourceStatus;
 import com.dbn.data.export.processor.*;
 import com.dbn.data.grid.ui.table.sortable.SortableTable;
+import com.dbn.data.sorting.SortingState;
+import com.dbn.editor.data.filter.DatasetFilter;
+import com.dbn.editor.data.filter.DatasetFilterManager;
+import com.dbn.editor.data.options.DataEditorSettings;
+import com.dbn.editor.data.ui.table.DatasetEditorTable;
+import com.dbn.object.DBDataset;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
@@ -20,6 +32,8 @@ import org.jetbrains.annotations.Nullable;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 import static com.dbn.common.component.Components.projectService;
@@ -70,13 +84,19 @@ public class DataExportManager extends ProjectComponentBase implements Persisten
             ConnectionHandler connection,
             @NotNull Runnable successCallback) {
         Project project = getProject();
-        boolean isSelection = instructions.getScope() == DataExportInstructions.Scope.SELECTION;
-        DataExportModel exportModel = new SortableTableExportModel(isSelection, table);
         try {
             DataExportProcessor processor = getExportProcessor(instructions.getFormat());
             if (processor == null) return;
 
-            processor.export(exportModel, instructions, connection);
+            DataExportModel exportModel;
+            if (instructions.getScope() == DataExportInstructions.Scope.DATASET) {
+                exportModel = exportDatasetContent(table, processor, instructions, connection);
+            } else {
+                boolean isSelection = instructions.getScope() == DataExportInstructions.Scope.SELECTION;
+                exportModel = new SortableTableExportModel(isSelection, table);
+                processor.export(exportModel, instructions, connection);
+            }
+
             DataExportInstructions.Destination destination = instructions.getDestination();
             List<String> warnings = exportModel.getWarnings();
 
@@ -147,6 +167,55 @@ public class DataExportManager extends ProjectComponentBase implements Persisten
         }
     }
 
+    /**
+     * Re-runs the select statement of the dataset (honoring active filter and sorting) on a pool connection
+     * and streams the rows straight from the forward-only cursor through the export processor
+     */
+    private DataExportModel exportDatasetContent(
+            SortableTable table,
+            DataExportProcessor processor,
+            DataExportInstructions instructions,
+            ConnectionHandler connection) throws DataExportException {
+
+        if (!(table instanceof DatasetEditorTable)) throw new DataExportException("Dataset export is only supported for dataset editors");
+        if (!DataExportFeature.DATASET_STREAMING.isSupported(processor)) throw new DataExportException("Dataset export is not supported for " + processor.getFormat() + " format");
+
+        Project project = getProject();
+        DatasetEditorTable datasetTable = (DatasetEditorTable) table;
+        DBDataset dataset = datasetTable.getDataset();
+        SortingState sortingState = datasetTable.getModel().getSortingState();
+        DatasetFilterManager filterManager = DatasetFilterManager.getInstance(project);
+        DatasetFilter filter = Commons.nvl(filterManager.getActiveFilter(dataset), DatasetFilterManager.EMPTY_FILTER);
+        String selectStatement = filter.createSelectStatement(dataset, sortingState);
+        int fetchBlockSize = DataEditorSettings.getInstance(project).getGeneralSettings().getFetchBlockSize().value();
+
+        DBNConnection conn = null;
+        DBNStatement statement = null;
+        DBNResultSet resultSet = null;
+        try {
+            conn = connection.getPoolConnection(dataset.getSchemaId(), true);
+            conn.set(ResourceStatus.ACTIVE, true);
+
+            statement = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchBlockSize);
+            resultSet = statement.executeQuery(selectStatement);
+
+            DataExportModel exportModel = new ResultSetExportModel(connection, dataset.getName(), resultSet);
+            processor.export(exportModel, instructions, connection);
+            return exportModel;
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            throw new DataExportException("Failed to load content of " + dataset.getQualifiedNameWithType() + ".\nCause: " + e.getMessage());
+        } finally {
+            Resources.close(resultSet);
+            Resources.close(statement);
+            if (conn != null) {
+                connection.freePoolConnection(conn);
+                conn.set(ResourceStatus.ACTIVE, false);
+            }
+        }
+    }
+
     private void openFile(Project project, File file) {
         try {
             Desktop.getDesktop().open(file);
@@ -9,6 +9,16 @@ public interface DataExportModel {
     String getTableName();
     int getColumnCount();
     int getRowCount();
+
+    /**
+     * Checks whether a row exists at the given index.
+     * Forward-only models (streaming straight from a database cursor) can not report the row count upfront
+     * and rely on this being invoked sequentially, advancing the underlying cursor one row at a time
+     */
+    default boolean hasRow(int rowIndex) {
+        return rowIndex < getRowCount();
+    }
+
     Object getValue(int rowIndex, int columnIndex);
     String getColumnName(int columnIndex);
     String getColumnFriendlyName(int columnIndex);
@@ -0,0 +1,126 @@
+package com.dbn.data.export;
+
+import com.dbn.common.load.ProgressMonitor;
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.connection.jdbc.DBNResultSet;
+import com.dbn.data.model.resultSet.ResultSetColumnInfo;
+import com.dbn.data.type.DBDataType;
+import com.dbn.data.type.DBNativeDataType;
+import com.dbn.data.type.GenericDataType;
+import com.intellij.openapi.project.Project;
+import lombok.Getter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dbn.common.exception.Exceptions.toRuntimeException;
+
+/**
+ * Forward-only {@link DataExportModel} reading straight from a database cursor.
+ * Only the values of the current row are held in memory, allowing datasets of any size to be exported in bounded memory.
+ * Rows must be accessed sequentially (see {@link #hasRow(int)})
+ */
+@Getter
+public class ResultSetExportModel implements DataExportModel {
+    private static final int PROGRESS_UPDATE_INTERVAL = 1000;
+
+    private final Project project;
+    private final String tableName;
+    private final DBNResultSet resultSet;
+    private final ResultSetColumnInfo[] columns;
+
+    private final Map<String, String> columnFriendlyNames = new HashMap<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    private final Object[] values;
+    private int rowIndex = -1;
+    private boolean exhausted;
+
+    public ResultSetExportModel(ConnectionHandler connection, String tableName, DBNResultSet resultSet) throws SQLException {
+        this.project = connection.getProject();
+        this.tableName = tableName;
+        this.resultSet = resultSet;
+
+        int columnCount = resultSet.getMetaData().getColumnCount();
+        this.columns = new ResultSetColumnInfo[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = new ResultSetColumnInfo(connection, resultSet, i);
+        }
+        this.values = new Object[columnCount];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the number of rows read so far (the total row count is only known once the cursor is exhausted)
+     */
+    @Override
+    public int getRowCount() {
+        return rowIndex + 1;
+    }
+
+    @Override
+    public boolean hasRow(int rowIndex) {
+        if (rowIndex <= this.rowIndex) return true;
+        if (exhausted) return false;
+        if (rowIndex > this.rowIndex + 1) throw new IllegalStateException("Forward-only export model must be accessed sequentially");
+
+        ProgressMonitor.checkCancelled();
+        try {
+            if (!resultSet.next()) {
+                exhausted = true;
+                return false;
+            }
+
+            for (int i = 0; i < columns.length; i++) {
+                ResultSetColumnInfo column = columns[i];
+                DBDataType dataType = column.getDataType();
+                values[i] = dataType.getValueFromResultSet(resultSet, column.getResultSetIndex());
+            }
+        } catch (SQLException e) {
+            throw toRuntimeException(e);
+        }
+
+        this.rowIndex = rowIndex;
+        if (rowIndex % PROGRESS_UPDATE_INTERVAL == 0) {
+            ProgressMonitor.setProgressDetail("Exported " + rowIndex + " records");
+        }
+        return true;
+    }
+
+    @Override
+    public Object getValue(int rowIndex, int columnIndex) {
+        if (rowIndex != this.rowIndex) throw new IllegalStateException("Row " + rowIndex + " is not the current row of the forward-only export model");
+        return values[columnIndex];
+    }
+
+    @Override
+    public String getColumnName(int columnIndex) {
+        return columns[columnIndex].getName();
+    }
+
+    @Override
+    public String getColumnFriendlyName(int columnIndex) {
+        String columnName = getColumnName(columnIndex);
+        return columnFriendlyNames.computeIfAbsent(columnName, n -> SortableTableExportModel.produceColumnFriendlyName(n));
+    }
+
+    @Override
+    public GenericDataType getGenericDataType(int columnIndex) {
+        DBNativeDataType nativeDataType = columns[columnIndex].getDataType().getNativeType();
+        return nativeDataType == null ?
+                GenericDataType.LITERAL :
+                nativeDataType.getGenericDataType();
+    }
+
+    @Override
+    public void addWarning(String warning) {
+        if (!warnings.contains(warning)) warnings.add(warning);
+    }
+}
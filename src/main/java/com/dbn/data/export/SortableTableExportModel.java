@@ -85,7 +85,7 @@ public class SortableTableExportModel implements DataExportModel{
     }
 
     @Nullable
-    private static String produceColumnFriendlyName(String key) {
+    static String produceColumnFriendlyName(String key) {
         if (Strings.isNotEmpty(key)) {
             key = cachedUpperCase(key.trim());
             if (key.matches("[A-Z][A-Z0-9_]*")) {
@@ -8,6 +8,9 @@ import com.dbn.data.export.DataExportFormat;
 import com.dbn.data.export.DataExportInstructions;
 import com.dbn.data.export.DataExportModel;
 
+import java.io.IOException;
+import java.io.Writer;
+
 public class CustomDataExportProcessor extends DataExportProcessor{
     @Override
     public DataExportFormat getFormat() {
@@ -22,7 +25,8 @@ public class CustomDataExportProcessor extends DataExportProcessor{
                 DataExportFeature.EXPORT_TO_FILE,
                 DataExportFeature.EXPORT_TO_CLIPBOARD,
                 DataExportFeature.VALUE_QUOTING,
-                DataExportFeature.FILE_ENCODING);
+                DataExportFeature.FILE_ENCODING,
+                DataExportFeature.DATASET_STREAMING);
     }
 
     @Override
@@ -32,15 +36,18 @@ public class CustomDataExportProcessor extends DataExportProcessor{
 
     @Override
     public void performExport(DataExportModel model, DataExportInstructions instructions, ConnectionHandler connection) throws DataExportException {
-        StringBuilder buffer = new StringBuilder();
         Formatter formatter = getFormatter(connection.getProject());
 
-        createHeader(model, instructions, buffer);
-        createContent(model, instructions, formatter, buffer);
-        writeContent(instructions, buffer.toString());
+        try (Writer writer = createContentWriter(instructions)) {
+            createHeader(model, instructions, writer);
+            createContent(model, instructions, formatter, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw writeFailure(instructions, e);
+        }
     }
 
-    private void createHeader(DataExportModel model, DataExportInstructions instructions, StringBuilder buffer) throws DataExportException {
+    private void createHeader(DataExportModel model, DataExportInstructions instructions, Writer writer) throws DataExportException, IOException {
         if (!instructions.isCreateHeader()) return;
 
         String beginQuote = instructions.getBeginQuote();
@@ -61,7 +68,7 @@ public class CustomDataExportProcessor extends DataExportProcessor{
             }
 
             if (columnIndex > 0) {
-                buffer.append(separator);
+                writer.write(separator);
             }
 
             if (quote) {
@@ -70,21 +77,21 @@ public class CustomDataExportProcessor extends DataExportProcessor{
                             "Can not quote columns header.\n" +
                             "Column " + columnName + " contains quotes.");
                 }
-                buffer.append(beginQuote);
-                buffer.append(columnName);
-                buffer.append(endQuote);
+                writer.write(beginQuote);
+                writer.write(columnName);
+                writer.write(endQuote);
             } else {
-                buffer.append(columnName);
+                writer.write(columnName);
             }
         }
-        buffer.append('\n');
+        writer.write('\n');
     }
 
-    private void createContent(DataExportModel model, DataExportInstructions instructions, Formatter formatter, StringBuilder buffer) throws DataExportException {
+    private void createContent(DataExportModel model, DataExportInstructions instructions, Formatter formatter, Writer writer) throws DataExportException, IOException {
         String beginQuote = instructions.getBeginQuote();
         String endQuote = instructions.getEndQuote();
 
-        for (int r = 0; r < model.getRowCount(); r++) {
+        for (int r = 0; model.hasRow(r); r++) {
             for (int c = 0; c < model.getColumnCount(); c++) {
                 ProgressMonitor.checkCancelled();
                 String columnName = getColumnName(model, instructions, c);
@@ -105,7 +112,7 @@ public class CustomDataExportProcessor extends DataExportProcessor{
                 }
 
                 if (c > 0) {
-                    buffer.append(separator);
+                    writer.write(separator);
                 }
 
                 if (quote) {
@@ -114,14 +121,14 @@ public class CustomDataExportProcessor extends DataExportProcessor{
                                 "Can not quote value of " + columnName + " at row " + (r + 1) + ".\n" +
                                 "Value contains quotes itself.");
                     }
-                    buffer.append(beginQuote);
-                    buffer.append(value);
-                    buffer.append(endQuote);
+                    writer.write(beginQuote);
+                    writer.write(value);
+                    writer.write(endQuote);
                 } else {
-                    buffer.append(value);
+                    writer.write(value);
                 }
             }
-            buffer.append('\n');
+            writer.write('\n');
         }
     }
 
@@ -9,7 +9,8 @@ public enum DataExportFeature implements Constant<DataExportFeature> {
     EXPORT_TO_FILE,
     EXPORT_TO_CLIPBOARD,
     VALUE_QUOTING,
-    FILE_ENCODING;
+    FILE_ENCODING,
+    DATASET_STREAMING;
 
     public boolean isSupported(@Nullable DataExportProcessor processor) {
         return processor != null && processor.supports(this);
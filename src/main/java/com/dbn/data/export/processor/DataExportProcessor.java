@@ -20,6 +20,10 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,8 +33,13 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 public abstract class DataExportProcessor {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     public abstract boolean supports(DataExportFeature feature);
 
     public abstract void performExport(DataExportModel model, DataExportInstructions instructions, ConnectionHandler connection) throws DataExportException;
@@ -55,15 +64,34 @@ public abstract class DataExportProcessor {
             performExport(model, instructions, connection);
         } catch (ProcessCanceledException e) {
             conditionallyLog(e);
+            deletePartialFile(instructions);
+            throw e;
         } catch (DataExportException e) {
             conditionallyLog(e);
+            deletePartialFile(instructions);
             throw e;
         } catch (Throwable e) {
             conditionallyLog(e);
+            deletePartialFile(instructions);
             throw new DataExportException(e.getMessage());
         }
     }
 
+    /**
+     * Removes the incomplete output of a cancelled or failed export (file content is streamed while being produced)
+     */
+    private static void deletePartialFile(DataExportInstructions instructions) {
+        if (instructions.getDestination() != DataExportInstructions.Destination.FILE) return;
+
+        File file = instructions.getFile();
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            conditionallyLog(e);
+        }
+    }
+
     public abstract DataExportFormat getFormat();
 
     void writeContent(DataExportInstructions instructions, String content) throws DataExportException {
@@ -74,6 +102,42 @@ public abstract class DataExportProcessor {
         }
     }
 
+    /**
+     * Opens a writer for the export destination.
+     * File content is streamed to a buffered file channel while it is being produced (no full content buffer on heap).
+     * Clipboard content is collected and handed over to the clipboard on {@link Writer#flush()}
+     */
+    Writer createContentWriter(DataExportInstructions instructions) throws DataExportException {
+        if (instructions.getDestination() == DataExportInstructions.Destination.CLIPBOARD) {
+            return new ClipboardContentWriter();
+        }
+
+        File file = instructions.getFile();
+        try {
+            FileChannel channel = FileChannel.open(file.toPath(), CREATE, WRITE, TRUNCATE_EXISTING);
+            Writer writer = Channels.newWriter(channel, instructions.getCharset());
+            return new BufferedWriter(writer, WRITE_BUFFER_SIZE);
+        } catch (IOException e) {
+            conditionallyLog(e);
+            throw new DataExportException("Could not write file " + file.getPath() + ".\nCause: " + e.getMessage());
+        }
+    }
+
+    static DataExportException writeFailure(DataExportInstructions instructions, IOException e) {
+        conditionallyLog(e);
+        String target = instructions.getDestination() == DataExportInstructions.Destination.CLIPBOARD ?
+                "clipboard content" :
+                "file " + instructions.getFile().getPath();
+        return new DataExportException("Could not write " + target + ".\nCause: " + e.getMessage());
+    }
+
+    private class ClipboardContentWriter extends StringWriter {
+        @Override
+        public void flush() {
+            writeToClipboard(toString());
+        }
+    }
+
     private void writeToFile(File file, String content, Charset charset) throws DataExportException {
         // TODO (java 11+) Files.writeString(file.toPath(), content, charset);
         Path filePath = file.toPath();
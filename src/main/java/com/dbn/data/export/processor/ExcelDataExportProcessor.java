@@ -8,6 +8,7 @@ import com.dbn.data.export.DataExportException;
 import com.dbn.data.export.DataExportFormat;
 import com.dbn.data.export.DataExportInstructions;
 import com.dbn.data.export.DataExportModel;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.hssf.usermodel.HSSFRichTextString;
@@ -68,7 +69,13 @@ public class ExcelDataExportProcessor extends DataExportProcessor{
 
             Formatter formatter = getFormatter(connection.getProject());
             CellStyleCache cellStyleCache = new CellStyleCache(workbook, model.getProject());
-            for (int r = 0; r < model.getRowCount(); r++) {
+            int maxRows = workbook.getSpreadsheetVersion().getMaxRows();
+            for (int r = 0; model.hasRow(r); r++) {
+                if (r + 1 >= maxRows) {
+                    throw new DataExportException(
+                            "Export exceeds the maximum of " + (maxRows - 1) + " data rows per sheet supported by the " + getFormat() + " format.\n" +
+                            "Restrict the exported content (e.g. by filtering the data) or use a different format.");
+                }
                 Row row = sheet.createRow(r + 1);
                 for (int c = 0; c < model.getColumnCount(); c++) {
                     createDataCell(model, formatter, cellStyleCache, row, r, c);
@@ -80,6 +87,9 @@ public class ExcelDataExportProcessor extends DataExportProcessor{
             }
 
             createFile(workbook, instructions);
+        } catch (ProcessCanceledException e) {
+            conditionallyLog(e);
+            throw e;
         } catch (DataExportException e) {
             conditionallyLog(e);
             throw e;
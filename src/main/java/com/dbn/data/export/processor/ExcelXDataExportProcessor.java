@@ -11,6 +11,12 @@ public class ExcelXDataExportProcessor extends ExcelDataExportProcessor{
         return DataExportFormat.EXCELX;
     }
 
+    @Override
+    public boolean supports(DataExportFeature feature) {
+        // SXSSF keeps only a sliding window of rows in memory
+        return feature == DataExportFeature.DATASET_STREAMING || super.supports(feature);
+    }
+
     @Override
     public String getFileExtension() {
         return "xlsx";
@@ -15,6 +15,8 @@ import com.dbn.database.interfaces.DatabaseMetadataInterface;
 import com.dbn.language.sql.SQLLanguage;
 import com.intellij.openapi.project.Project;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Date;
 
 
@@ -34,7 +36,8 @@ public class SQLDataExportProcessor extends DataExportProcessor{
         return feature.isOneOf(
                 DataExportFeature.EXPORT_TO_FILE,
                 DataExportFeature.EXPORT_TO_CLIPBOARD,
-                DataExportFeature.FILE_ENCODING);
+                DataExportFeature.FILE_ENCODING,
+                DataExportFeature.DATASET_STREAMING);
     }
 
     @Override
@@ -52,11 +55,19 @@ public class SQLDataExportProcessor extends DataExportProcessor{
         CodeStyleCaseOption kco = styleCaseSettings.getKeywordCaseOption();
         CodeStyleCaseOption oco = styleCaseSettings.getObjectCaseOption();
 
-        StringBuilder buffer = new StringBuilder();
-        for (int rowIndex=0; rowIndex < model.getRowCount(); rowIndex++) {
-            buffer.append(kco.format("insert into "));
-            buffer.append(oco.format(model.getTableName()));
-            buffer.append(" (");
+        try (Writer writer = createContentWriter(instructions)) {
+            createContent(model, connection, kco, oco, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw writeFailure(instructions, e);
+        }
+    }
+
+    private static void createContent(DataExportModel model, ConnectionHandler connection, CodeStyleCaseOption kco, CodeStyleCaseOption oco, Writer writer) throws IOException {
+        for (int rowIndex=0; model.hasRow(rowIndex); rowIndex++) {
+            writer.append(kco.format("insert into "));
+            writer.append(oco.format(model.getTableName()));
+            writer.append(" (");
 
             int realColumnIndex = 0;
             for (int columnIndex=0; columnIndex < model.getColumnCount(); columnIndex++){
@@ -64,12 +75,12 @@ public class SQLDataExportProcessor extends DataExportProcessor{
                 if (genericDataType == GenericDataType.LITERAL ||
                         genericDataType == GenericDataType.NUMERIC ||
                         genericDataType == GenericDataType.DATE_TIME) {
-                    if (realColumnIndex > 0) buffer.append(", ");
-                    buffer.append(oco.format(model.getColumnName(columnIndex)));
+                    if (realColumnIndex > 0) writer.append(", ");
+                    writer.append(oco.format(model.getColumnName(columnIndex)));
                     realColumnIndex++;
                 }
             }
-            buffer.append(kco.format(") values ("));
+            writer.append(kco.format(") values ("));
 
             realColumnIndex = 0;
             for (int columnIndex=0; columnIndex < model.getColumnCount(); columnIndex++){
@@ -78,32 +89,31 @@ public class SQLDataExportProcessor extends DataExportProcessor{
                 if (genericDataType == GenericDataType.LITERAL ||
                         genericDataType == GenericDataType.NUMERIC ||
                         genericDataType == GenericDataType.DATE_TIME) {
-                    if (columnIndex > 0) buffer.append(", ");
+                    if (columnIndex > 0) writer.append(", ");
                     Object object = model.getValue(rowIndex, columnIndex);
                     String value = object == null ? null : object.toString();
                     if (value == null) {
-                        buffer.append(kco.format("null"));
+                        writer.append(kco.format("null"));
                     } else {
                         if (genericDataType == GenericDataType.LITERAL) {
-                            buffer.append("'");
+                            writer.append("'");
                             value = Strings.replace(value, "'", "''");
-                            buffer.append(value);
-                            buffer.append("'");
+                            writer.append(value);
+                            writer.append("'");
                         } else if (genericDataType == GenericDataType.NUMERIC) {
-                            buffer.append(value);
+                            writer.append(value);
                         } else if (genericDataType == GenericDataType.DATE_TIME) {
                             Date date = (Date) object;
                             DatabaseMetadataInterface metadata = connection.getMetadataInterface();
                             String dateString = metadata.createDateString(date);
-                            buffer.append(dateString);
+                            writer.append(dateString);
                         }
                     }
                     realColumnIndex++;
                 }
             }
 
-            buffer.append(");\n\n");
+            writer.append(");\n\n");
         }
-        writeContent(instructions, buffer.toString());
     }
 }
@@ -13,6 +13,8 @@ import com.dbn.data.export.DataExportModel;
 import com.dbn.data.type.GenericDataType;
 
 import java.awt.datatransfer.Transferable;
+import java.io.IOException;
+import java.io.Writer;
 
 
 public class XMLDataExportProcessor extends DataExportProcessor{
@@ -31,7 +33,8 @@ public class XMLDataExportProcessor extends DataExportProcessor{
         return feature.isOneOf(
                 DataExportFeature.EXPORT_TO_FILE,
                 DataExportFeature.EXPORT_TO_CLIPBOARD,
-                DataExportFeature.FILE_ENCODING);
+                DataExportFeature.FILE_ENCODING,
+                DataExportFeature.DATASET_STREAMING);
     }
 
     @Override
@@ -49,16 +52,24 @@ public class XMLDataExportProcessor extends DataExportProcessor{
 
     @Override
     public void performExport(DataExportModel model, DataExportInstructions instructions, ConnectionHandler connection) throws DataExportException {
-        StringBuilder buffer = new StringBuilder();
-        buffer.append("<table name=\"");
-        buffer.append(model.getTableName());
-        buffer.append("\">\n");
         Formatter formatter = getFormatter(connection.getProject());
+        try (Writer writer = createContentWriter(instructions)) {
+            createContent(model, instructions, formatter, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw writeFailure(instructions, e);
+        }
+    }
+
+    private void createContent(DataExportModel model, DataExportInstructions instructions, Formatter formatter, Writer writer) throws DataExportException, IOException {
+        writer.append("<table name=\"");
+        writer.append(model.getTableName());
+        writer.append("\">\n");
 
-        for (int rowIndex=0; rowIndex < model.getRowCount(); rowIndex++) {
-            buffer.append("    <row index=\"");
-            buffer.append(rowIndex);
-            buffer.append("\">\n");
+        for (int rowIndex=0; model.hasRow(rowIndex); rowIndex++) {
+            writer.append("    <row index=\"");
+            writer.append(Integer.toString(rowIndex));
+            writer.append("\">\n");
             for (int columnIndex=0; columnIndex < model.getColumnCount(); columnIndex++){
                 ProgressMonitor.checkCancelled();
                 String columnName = getColumnName(model, instructions, columnIndex);
@@ -84,28 +95,25 @@ public class XMLDataExportProcessor extends DataExportProcessor{
                 boolean isCDATA = Strings.containsOneOf(value, "\n", "<", ">");
                 boolean isWrap = isCDATA || value.length() > 100;
 
-                buffer.append("        <column name=\"");
-                buffer.append(columnName);
-                buffer.append("\">");
+                writer.append("        <column name=\"");
+                writer.append(columnName);
+                writer.append("\">");
                 if (isWrap) {
-                    buffer.append("\n");
+                    writer.append("\n");
                 }
                 
                 if (isCDATA) {
-                    buffer.append("<![CDATA[");
-                    buffer.append(value);
-                    buffer.append("]]>");
+                    writer.append("<![CDATA[");
+                    writer.append(value);
+                    writer.append("]]>");
                 } else {
-                    buffer.append(value);
+                    writer.append(value);
                 }
-                buffer.append(isWrap ? "\n        </column>\n" : "</column>\n");
+                writer.append(isWrap ? "\n        </column>\n" : "</column>\n");
             }
 
-            buffer.append("    </row>\n");
+            writer.append("    </row>\n");
         }
-        buffer.append("</table>\n");
-
-
-        writeContent(instructions, buffer.toString());
+        writer.append("</table>\n");
     }
 }
@@ -15,6 +15,7 @@ import com.dbn.data.export.DataExportManager;
 import com.dbn.data.export.ExportQuotePair;
 import com.dbn.data.export.processor.DataExportFeature;
 import com.dbn.data.export.processor.DataExportProcessor;
+import com.dbn.object.DBDataset;
 import com.dbn.object.DBTable;
 import com.dbn.object.common.DBObject;
 import com.dbn.object.common.DBSchemaObject;
@@ -44,6 +45,7 @@ public class ExportDataForm extends DBNFormBase {
     private JPanel mainPanel;
     private JRadioButton scopeGlobalRadioButton;
     private JRadioButton scopeSelectionRadioButton;
+    private JRadioButton scopeDatasetRadioButton;
     private JRadioButton formatSQLRadioButton;
     private JRadioButton formatHTMLRadioButton;
     private JRadioButton formatXMLRadioButton;
@@ -90,6 +92,7 @@ public class ExportDataForm extends DBNFormBase {
         ActionListener actionListener = e -> enableDisableFields();
         scopeGlobalRadioButton.addActionListener(actionListener);
         scopeSelectionRadioButton.addActionListener(actionListener);
+        scopeDatasetRadioButton.addActionListener(actionListener);
         formatSQLRadioButton.addActionListener(actionListener);
         formatHTMLRadioButton.addActionListener(actionListener);
         formatXMLRadioButton.addActionListener(actionListener);
@@ -109,6 +112,7 @@ public class ExportDataForm extends DBNFormBase {
         scopeSelectionRadioButton.setEnabled(hasSelection);
         scopeSelectionRadioButton.setSelected(hasSelection);
         scopeGlobalRadioButton.setSelected(!hasSelection);
+        scopeDatasetRadioButton.setVisible(sourceObject instanceof DBDataset);
 
         formatSQLRadioButton.setEnabled(sourceObject instanceof DBTable);
 
@@ -193,8 +197,9 @@ public class ExportDataForm extends DBNFormBase {
     }
 
     DataExportInstructions getExportInstructions() {
-        instructions.setScope(scopeSelectionRadioButton.isSelected() ?
-                DataExportInstructions.Scope.SELECTION  :
+        instructions.setScope(
+                scopeSelectionRadioButton.isSelected() ? DataExportInstructions.Scope.SELECTION :
+                scopeDatasetRadioButton.isSelected() ? DataExportInstructions.Scope.DATASET :
                 DataExportInstructions.Scope.GLOBAL);
         instructions.setCreateHeader(createHeaderCheckBox.isSelected());
         instructions.setFriendlyHeaders(friendlyHeadersCheckBox.isSelected());
@@ -286,8 +291,15 @@ public class ExportDataForm extends DBNFormBase {
         boolean supportsValueQuoting      = DataExportFeature.VALUE_QUOTING.isSupported(processor);
         boolean supportsExportToClipboard = DataExportFeature.EXPORT_TO_CLIPBOARD.isSupported(processor);
         boolean supportsFileEncoding      = DataExportFeature.FILE_ENCODING.isSupported(processor);
+        boolean supportsDatasetStreaming  = DataExportFeature.DATASET_STREAMING.isSupported(processor);
 
-        destinationClipboardRadioButton.setEnabled(supportsExportToClipboard);
+        scopeDatasetRadioButton.setEnabled(supportsDatasetStreaming);
+        if (!scopeDatasetRadioButton.isEnabled() && scopeDatasetRadioButton.isSelected()) {
+            scopeGlobalRadioButton.setSelected(true);
+        }
+
+        // dataset content is streamed to file only (no in-memory clipboard buffer)
+        destinationClipboardRadioButton.setEnabled(supportsExportToClipboard && !scopeDatasetRadioButton.isSelected());
         quoteValuesCheckBox.setEnabled(supportsValueQuoting);
         quoteAllValuesCheckBox.setEnabled(supportsValueQuoting);
         createHeaderCheckBox.setEnabled(supportsCreateHeader);
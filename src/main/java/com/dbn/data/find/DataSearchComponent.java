@@ -151,6 +151,7 @@ public class DataSearchComponent extends DBNFormBase implements SelectionListene
 
     @Override
     public void modelChanged() {
+        searchResultController.invalidateResult();
         searchResultController.updateResult(findModel);
     }
 
@@ -0,0 +1,274 @@
+package com.dbn.data.find;
+
+import com.dbn.common.locale.Formatter;
+import com.dbn.common.thread.Threads;
+import com.dbn.common.util.Strings;
+import com.dbn.data.model.DataModel;
+import com.dbn.data.model.DataModelCell;
+import com.dbn.data.model.DataModelRow;
+import com.dbn.data.model.resultSet.ResultSetDataModelRow;
+import com.intellij.find.FindManager;
+import com.intellij.find.FindModel;
+import com.intellij.find.FindResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Parallel search over the cells of a data model.
+ * The rows are split in chunks searched on the {@link Threads#dataSearchPool()}. Matches of the completed
+ * leading chunks are published while the remaining chunks are still being searched.
+ * <br>
+ * Presentable values of cells not materialized yet (see {@link ResultSetDataModelRow#isStoredValue(int)})
+ * are formatted once per distinct value of the column and cached.
+ * If the query only grows (plain text search), the cells matched by the previous search are the only candidates
+ */
+class DataSearchEngine {
+    private static final int CHUNK_SIZE = 256;
+    private static final long PUBLISH_INTERVAL = 200;
+    private static final int MAX_CACHED_VALUES = 10000;
+
+    private final Map<Integer, Map<Object, String>> presentableValues = new ConcurrentHashMap<>();
+    private FindModel lastQuery;
+    private List<DataModelCell> lastCells;
+
+    /**
+     * Model content changed - previous matches and cached presentable values are no longer valid
+     */
+    synchronized void invalidate() {
+        presentableValues.clear();
+        lastQuery = null;
+        lastCells = null;
+    }
+
+    /**
+     * Searches the data model and returns all matches in row / column order.
+     * Partial results are handed over to the given consumer as they grow
+     */
+    List<DataSearchResultMatch> search(
+            DataModel<?, ?> dataModel,
+            FindModel findModel,
+            DataSearchResult searchResult,
+            long timestamp,
+            Consumer<List<DataSearchResultMatch>> partialResultConsumer) {
+
+        FindModel query = new FindModel();
+        query.copyFrom(findModel);
+
+        FindManager findManager = FindManager.getInstance(dataModel.getProject());
+        List<DataModelCell> candidates = getCandidates(query);
+
+        SearchContext context = new SearchContext(dataModel, query, findManager, searchResult, timestamp);
+        List<?> targets = candidates == null ? new ArrayList<>(dataModel.getRows()) : candidates;
+        int chunkCount = (targets.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        ChunkResults results = new ChunkResults(chunkCount, partialResultConsumer);
+        if (chunkCount > 0) {
+            SearchTask task = new SearchTask(context, targets, results, 0, chunkCount);
+            Threads.dataSearchPool().invoke(task);
+        }
+
+        List<DataSearchResultMatch> matches = results.collect(chunkCount);
+        remember(query, matches);
+        return matches;
+    }
+
+    @Nullable
+    private synchronized List<DataModelCell> getCandidates(FindModel query) {
+        if (lastQuery == null || lastCells == null) return null;
+        if (!isNarrowing(lastQuery, query)) return null;
+        return lastCells;
+    }
+
+    private synchronized void remember(FindModel query, List<DataSearchResultMatch> matches) {
+        List<DataModelCell> cells = new ArrayList<>();
+        DataModelCell previous = null;
+        for (DataSearchResultMatch match : matches) {
+            DataModelCell cell = match.getCell();
+            if (cell != previous) cells.add(cell);
+            previous = cell;
+        }
+        lastQuery = query;
+        lastCells = cells;
+    }
+
+    /**
+     * A plain text query only narrows the previous result if it contains the previous text.
+     * Whole-word and regex matches do not have this property
+     */
+    private static boolean isNarrowing(FindModel previous, FindModel current) {
+        if (previous.isRegularExpressions() || current.isRegularExpressions()) return false;
+        if (previous.isWholeWordsOnly() || current.isWholeWordsOnly()) return false;
+        if (previous.isCaseSensitive() != current.isCaseSensitive()) return false;
+
+        String previousText = previous.getStringToFind();
+        String currentText = current.getStringToFind();
+        if (Strings.isEmpty(previousText) || Strings.isEmpty(currentText)) return false;
+
+        return current.isCaseSensitive() ?
+                currentText.contains(previousText) :
+                currentText.toLowerCase().contains(previousText.toLowerCase());
+    }
+
+    @Nullable
+    private String getPresentableValue(DataModelRow<?, ?> row, int columnIndex) {
+        if (row instanceof ResultSetDataModelRow) {
+            ResultSetDataModelRow<?, ?> resultSetRow = (ResultSetDataModelRow<?, ?>) row;
+            if (resultSetRow.isStoredValue(columnIndex)) {
+                Object value = resultSetRow.getStoredValue(columnIndex);
+                if (value == null) return null;
+
+                Formatter formatter = resultSetRow.getModel().getFormatter();
+                if (!(value instanceof Number || value instanceof Date)) return formatter.formatObject(value);
+
+                Map<Object, String> cache = presentableValues.computeIfAbsent(columnIndex, i -> new ConcurrentHashMap<>());
+                String presentableValue = cache.get(value);
+                if (presentableValue == null) {
+                    presentableValue = formatter.formatObject(value);
+                    if (cache.size() < MAX_CACHED_VALUES) cache.put(value, presentableValue);
+                }
+                return presentableValue;
+            }
+        }
+
+        DataModelCell cell = row.getCellAtIndex(columnIndex);
+        return cell == null ? null : cell.getPresentableValue();
+    }
+
+    private static class SearchContext {
+        private final DataModel<?, ?> dataModel;
+        private final FindModel query;
+        private final FindManager findManager;
+        private final DataSearchResult searchResult;
+        private final long timestamp;
+
+        private SearchContext(DataModel<?, ?> dataModel, FindModel query, FindManager findManager, DataSearchResult searchResult, long timestamp) {
+            this.dataModel = dataModel;
+            this.query = query;
+            this.findManager = findManager;
+            this.searchResult = searchResult;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private class SearchTask extends RecursiveAction {
+        private final SearchContext context;
+        private final List<?> targets;
+        private final ChunkResults results;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private SearchTask(SearchContext context, List<?> targets, ChunkResults results, int fromChunk, int toChunk) {
+            this.context = context;
+            this.targets = targets;
+            this.results = results;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(
+                        new SearchTask(context, targets, results, fromChunk, middle),
+                        new SearchTask(context, targets, results, middle, toChunk));
+                return;
+            }
+
+            int from = fromChunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, targets.size());
+
+            List<DataSearchResultMatch> matches = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                context.searchResult.checkTimestamp(context.timestamp);
+                Object target = targets.get(i);
+                if (target instanceof DataModelRow) {
+                    searchRow((DataModelRow<?, ?>) target, matches);
+                } else {
+                    DataModelCell cell = (DataModelCell) target;
+                    searchValue(cell.getPresentableValue(), cell.getRow(), cell.getIndex(), cell, matches);
+                }
+            }
+            results.complete(fromChunk, matches);
+        }
+
+        private void searchRow(DataModelRow<?, ?> row, List<DataSearchResultMatch> matches) {
+            int columnCount = context.dataModel.getColumnCount();
+            for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+                String presentableValue = getPresentableValue(row, columnIndex);
+                searchValue(presentableValue, row, columnIndex, null, matches);
+            }
+        }
+
+        private void searchValue(@Nullable String presentableValue, DataModelRow<?, ?> row, int columnIndex, @Nullable DataModelCell cell, List<DataSearchResultMatch> matches) {
+            if (Strings.isEmpty(presentableValue)) return;
+
+            int findOffset = 0;
+            while (true) {
+                FindResult findResult = context.findManager.findString(presentableValue, findOffset, context.query);
+                if (!findResult.isStringFound()) break;
+
+                // only matching cells get materialized
+                if (cell == null) cell = row.getCellAtIndex(columnIndex);
+                if (cell == null) break;
+
+                int startOffset = findResult.getStartOffset();
+                int endOffset = findResult.getEndOffset();
+                matches.add(new DataSearchResultMatch(cell, startOffset, endOffset));
+                if (endOffset <= findOffset) break;
+                findOffset = endOffset;
+            }
+        }
+    }
+
+    /**
+     * Collects the matches per chunk and hands over the matches of the leading completed chunks,
+     * the first ones as soon as they are available, further ones in intervals
+     */
+    private static class ChunkResults {
+        private final List<DataSearchResultMatch>[] chunks;
+        private final Consumer<List<DataSearchResultMatch>> partialResultConsumer;
+        private int completedChunks;
+        private int publishedMatches;
+        private long lastPublished;
+
+        @SuppressWarnings("unchecked")
+        private ChunkResults(int chunkCount, Consumer<List<DataSearchResultMatch>> partialResultConsumer) {
+            this.chunks = new List[chunkCount];
+            this.partialResultConsumer = partialResultConsumer;
+        }
+
+        private synchronized void complete(int chunk, List<DataSearchResultMatch> matches) {
+            chunks[chunk] = matches;
+            while (completedChunks < chunks.length && chunks[completedChunks] != null) {
+                completedChunks++;
+            }
+            if (completedChunks == chunks.length) return;
+
+            List<DataSearchResultMatch> partialResult = collect(completedChunks);
+            if (partialResult.size() == publishedMatches) return;
+
+            long now = System.currentTimeMillis();
+            if (publishedMatches > 0 && now - lastPublished < PUBLISH_INTERVAL) return;
+
+            publishedMatches = partialResult.size();
+            lastPublished = now;
+            partialResultConsumer.accept(partialResult);
+        }
+
+        private synchronized List<DataSearchResultMatch> collect(int chunkCount) {
+            List<DataSearchResultMatch> matches = new ArrayList<>();
+            for (int i = 0; i < chunkCount; i++) {
+                matches.addAll(chunks[i]);
+            }
+            return matches;
+        }
+    }
+}
@@ -10,14 +10,17 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
 public class DataSearchResult implements Disposable {
     private final Listeners<DataSearchResultListener> listeners = Listeners.create(this);
     private List<DataSearchResultMatch> matches = Collections.emptyList();
+    private Map<DataModelCell, Integer> matchIndexes = Collections.emptyMap();
     private DataSearchResultMatch selectedMatch;
     private int matchesLimit;
     private long updateTimestamp = 0;
@@ -26,6 +29,19 @@ public class DataSearchResult implements Disposable {
     public void clear() {
         selectedMatch = null;
         matches = Collections.emptyList();
+        matchIndexes = Collections.emptyMap();
+    }
+
+    /**
+     * Sets the matches (ordered by row and column) and indexes the position of the first match of every cell
+     */
+    public void setMatches(List<DataSearchResultMatch> matches) {
+        Map<DataModelCell, Integer> matchIndexes = new IdentityHashMap<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            matchIndexes.putIfAbsent(matches.get(i).getCell(), i);
+        }
+        this.matchIndexes = matchIndexes;
+        this.matches = matches;
     }
 
     public int size() {
@@ -51,22 +67,24 @@ public class DataSearchResult implements Disposable {
     }
 
     public Iterator<DataSearchResultMatch> getMatches(DataModelCell cell) {
-        DataSearchResultMatch first = matches.isEmpty() ? null : findMatch(null, cell);
-        if (first == null) return null;
+        List<DataSearchResultMatch> matches = this.matches;
+        Integer first = matchIndexes.get(cell);
+        if (first == null || first >= matches.size()) return null;
 
         return new Iterator<>() {
-            private DataSearchResultMatch next = first;
+            private int next = first;
 
             @Override
             public boolean hasNext() {
-                return next != null;
+                if (next >= matches.size()) return false;
+
+                DataSearchResultMatch match = matches.get(next);
+                return match != null && match.getCell() == cell;
             }
 
             @Override
             public DataSearchResultMatch next() {
-                DataSearchResultMatch current = next;
-                next = findMatch(next, cell);
-                return current;
+                return matches.get(next++);
             }
 
             @Override
@@ -74,20 +92,6 @@ public class DataSearchResult implements Disposable {
         };
     }
 
-    private DataSearchResultMatch findMatch(DataSearchResultMatch previous, DataModelCell cell) {
-        int index = previous == null ? 0 : matches.indexOf(previous) + 1;
-        for (int i = index; i< matches.size(); i++) {
-            DataSearchResultMatch match = matches.get(i);
-            if (match != null && match.getCell() == cell) {
-                return match;
-
-            } else if (previous != null) {
-                return null;
-            }
-        }
-        return null;
-    }
-
     public DataSearchResultMatch selectFirst(int fromRowIndex, int fromColumnIndex, DataSearchResultScrollPolicy scrollPolicy) {
         if (updating) return null;
         return next(fromRowIndex, fromColumnIndex, scrollPolicy);
@@ -165,6 +169,7 @@ public class DataSearchResult implements Disposable {
     @Override
     public void dispose() {
         matches = Disposer.replace(matches, Collections.emptyList());
+        matchIndexes = Collections.emptyMap();
         selectedMatch = null;
     }
 
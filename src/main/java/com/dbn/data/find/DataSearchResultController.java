@@ -6,18 +6,13 @@ import com.dbn.common.thread.Background;
 import com.dbn.common.thread.Dispatch;
 import com.dbn.common.thread.PooledThread;
 import com.dbn.common.ui.util.UserInterface;
-import com.dbn.common.util.Strings;
 import com.dbn.data.grid.ui.table.basic.BasicTable;
 import com.dbn.data.model.DataModel;
 import com.dbn.data.model.DataModelCell;
-import com.dbn.data.model.DataModelRow;
 import com.dbn.data.model.basic.BasicDataModel;
-import com.intellij.find.FindManager;
-import com.intellij.find.FindResult;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -27,6 +22,7 @@ import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 public class DataSearchResultController {
     private final WeakRef<SearchableDataComponent> searchableComponent;
     private final AtomicReference<PooledThread> searchHandle = new AtomicReference<>();
+    private final DataSearchEngine searchEngine = new DataSearchEngine();
 
     DataSearchResultController(SearchableDataComponent searchableComponent) {
         this.searchableComponent = WeakRef.of(searchableComponent);
@@ -88,34 +84,10 @@ public class DataSearchResultController {
                 long updateTimestamp = System.currentTimeMillis();
                 searchResult.startUpdating(updateTimestamp);
 
-                FindManager findManager = FindManager.getInstance(table.getProject());
-
-                List<DataSearchResultMatch> matches = new ArrayList<>();
-                for (Object r : dataModel.getRows()) {
-                    DataModelRow row = (DataModelRow) r;
-                    for (Object c : row.getCells()) {
-                        DataModelCell cell = (DataModelCell) c;
-                        String userValue = cell.getPresentableValue();
-                        if (Strings.isNotEmpty(userValue)) {
-                            int findOffset = 0;
-                            while (true) {
-                                FindResult findResult = findManager.findString(userValue, findOffset, findModel);
-                                if (findResult.isStringFound()) {
-                                    int startOffset = findResult.getStartOffset();
-                                    int endOffset = findResult.getEndOffset();
-
-                                    searchResult.checkTimestamp(updateTimestamp);
-                                    DataSearchResultMatch match = new DataSearchResultMatch(cell, startOffset, endOffset);
-                                    matches.add(match);
-
-                                    findOffset = endOffset;
-                                } else {
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                }
+                List<DataSearchResultMatch> matches = searchEngine.search(dataModel, findModel, searchResult, updateTimestamp,
+                        partialMatches -> publishMatches(table, searchResult, updateTimestamp, partialMatches));
+
+                searchResult.checkTimestamp(updateTimestamp);
                 searchResult.setMatches(matches);
             } catch (ConcurrentModificationException e){
                 conditionallyLog(e);
@@ -139,4 +111,20 @@ public class DataSearchResultController {
             });
         });
     }
+
+    /**
+     * Data model changed - the next search can not build on the previous result
+     */
+    void invalidateResult() {
+        searchEngine.invalidate();
+    }
+
+    private static void publishMatches(BasicTable table, DataSearchResult searchResult, long updateTimestamp, List<DataSearchResultMatch> matches) {
+        searchResult.checkTimestamp(updateTimestamp);
+        searchResult.setMatches(matches);
+        Dispatch.run(() -> {
+            UserInterface.repaint(table);
+            searchResult.notifyListeners();
+        });
+    }
 }
@@ -30,7 +30,14 @@ public class BasicDataModelRow<
     private int index;
 
     public BasicDataModelRow(M model) {
-        cells = new CompactArrayList<>(model.getColumnCount());
+        this(model, new CompactArrayList<>(model.getColumnCount()));
+    }
+
+    /**
+     * Row with the given cells, or without cells if null is passed (cells created on demand, see {@link #setCells(List)})
+     */
+    protected BasicDataModelRow(M model, @Nullable List<C> cells) {
+        this.cells = cells;
         this.model = model;
     }
 
@@ -48,7 +55,7 @@ public class BasicDataModelRow<
     @Override
     public final C getCell(String columnName) {
         int columnIndex = getModel().getHeader().getColumnIndex(columnName);
-        return columnIndex == -1 || columnIndex >= cells.size() ? null : cells.get(columnIndex);
+        return getCellAtIndex(columnIndex);
     }
 
     @Override
@@ -63,7 +70,7 @@ public class BasicDataModelRow<
     @Nullable
     @Override
     public C getCellAtIndex(int index) {
-        return index > -1 && cells.size() > index ? cells.get(index) : null;
+        return index > -1 && cells != null && cells.size() > index ? cells.get(index) : null;
     }
 
     public Project getProject() {
@@ -0,0 +1,496 @@
+package com.dbn.data.model.resultSet;
+
+import com.dbn.data.model.sortable.SortableDataModelCell;
+import com.dbn.data.type.DBDataType;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column oriented value storage for the read-only {@link ResultSetDataModel}.
+ * Integral, boolean, floating point, decimal and date-time values are held in primitive arrays,
+ * strings are dictionary encoded (until the cardinality makes the dictionary pointless) and nulls are tracked in a bitmap.
+ * Columns receiving values not matching their primitive representation are degraded to plain object storage.
+ * <br>
+ * Rows hold the index of their values in the store and materialize cells only when accessed
+ */
+public class ResultSetColumnStore {
+    private final ResultSetColumnInfo[] columnInfos;
+    private final ColumnVector[] columns;
+    private int size;
+
+    ResultSetColumnStore(ResultSetDataModel<?, ?> model) {
+        int columnCount = model.getColumnCount();
+        columnInfos = new ResultSetColumnInfo[columnCount];
+        columns = new ColumnVector[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            ResultSetColumnInfo columnInfo = (ResultSetColumnInfo) model.getColumnInfo(i);
+            columnInfos[i] = columnInfo;
+            columns[i] = createVector(columnInfo.getDataType().getTypeClass());
+        }
+    }
+
+    /**
+     * Store for columns of the given value types, filled through {@link #append(Object...)}
+     */
+    ResultSetColumnStore(Class<?>... typeClasses) {
+        columnInfos = null;
+        columns = new ColumnVector[typeClasses.length];
+        for (int i = 0; i < typeClasses.length; i++) {
+            columns[i] = createVector(typeClasses[i]);
+        }
+    }
+
+    /**
+     * Reads the values of the current result set row and returns the store index of the row
+     */
+    synchronized int append(ResultSet resultSet) throws SQLException {
+        int index = size;
+        for (int i = 0; i < columns.length; i++) {
+            ResultSetColumnInfo columnInfo = columnInfos[i];
+            DBDataType dataType = columnInfo.getDataType();
+            Object value = dataType.getValueFromResultSet(resultSet, columnInfo.getResultSetIndex());
+            columns[i] = columns[i].add(value);
+        }
+        size++;
+        return index;
+    }
+
+    /**
+     * Appends the given row values and returns the store index of the row
+     */
+    synchronized int append(Object... values) {
+        int index = size;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].add(values[i]);
+        }
+        size++;
+        return index;
+    }
+
+    @Nullable
+    synchronized Object getValue(int index, int columnIndex) {
+        return columns[columnIndex].get(index);
+    }
+
+    /**
+     * Compares the values of the given column for the two store indexes,
+     * following the same rules as {@link SortableDataModelCell#compareTo}
+     */
+    synchronized int compare(int columnIndex, int index1, int index2, boolean nullsFirst) {
+        ColumnVector column = columns[columnIndex];
+        boolean null1 = column.isNull(index1);
+        boolean null2 = column.isNull(index2);
+
+        if (null1 && null2) return 0;
+        if (null1) return nullsFirst ? -1 : 1;
+        if (null2) return nullsFirst ? 1 : -1;
+        return column.compare(index1, index2);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static ColumnVector createVector(Class<?> typeClass) {
+        if (typeClass == Byte.class ||
+                typeClass == Short.class ||
+                typeClass == Integer.class ||
+                typeClass == Long.class ||
+                typeClass == Boolean.class) return new LongVector(typeClass);
+
+        if (typeClass == Float.class || typeClass == Double.class) return new DoubleVector(typeClass);
+        if (typeClass == BigDecimal.class) return new DecimalVector();
+        if (typeClass == Date.class || typeClass == Time.class || typeClass == Timestamp.class) return new TimeVector(typeClass);
+        if (typeClass == String.class) return new StringVector();
+        return new ObjectVector(typeClass, 0);
+    }
+
+    /*********************************************************
+     *                     Column vectors                    *
+     *********************************************************/
+    private abstract static class ColumnVector {
+        private static final int INITIAL_CAPACITY = 64;
+
+        protected final Class<?> typeClass;
+        private final BitSet nulls = new BitSet();
+        protected int size;
+
+        ColumnVector(Class<?> typeClass) {
+            this.typeClass = typeClass;
+        }
+
+        /**
+         * Appends the value and returns the vector holding it (this or the object vector this one degraded to)
+         */
+        final ColumnVector add(@Nullable Object value) {
+            if (value != null && !accepts(value)) return degrade().add(value);
+
+            int capacity = capacity();
+            if (size == capacity) grow(Math.max(INITIAL_CAPACITY, capacity * 2));
+
+            if (value == null) {
+                nulls.set(size);
+            } else {
+                store(size, value);
+            }
+            size++;
+            return this;
+        }
+
+        @Nullable
+        final Object get(int index) {
+            return isNull(index) ? null : load(index);
+        }
+
+        final boolean isNull(int index) {
+            return nulls.get(index);
+        }
+
+        private ColumnVector degrade() {
+            ObjectVector vector = new ObjectVector(typeClass, capacity());
+            for (int i = 0; i < size; i++) {
+                vector.add(get(i));
+            }
+            return vector;
+        }
+
+        abstract boolean accepts(Object value);
+
+        abstract int capacity();
+
+        abstract void grow(int capacity);
+
+        abstract void store(int index, Object value);
+
+        abstract Object load(int index);
+
+        abstract int compare(int index1, int index2);
+    }
+
+    /**
+     * Byte, Short, Integer, Long and Boolean values
+     */
+    private static class LongVector extends ColumnVector {
+        private long[] values = new long[0];
+
+        LongVector(Class<?> typeClass) {
+            super(typeClass);
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == typeClass;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int index, Object value) {
+            values[index] = value instanceof Boolean ?
+                    ((Boolean) value ? 1 : 0) :
+                    ((Number) value).longValue();
+        }
+
+        @Override
+        Object load(int index) {
+            long value = values[index];
+            return
+                typeClass == Long.class ? Long.valueOf(value) :
+                typeClass == Integer.class ? Integer.valueOf((int) value) :
+                typeClass == Short.class ? Short.valueOf((short) value) :
+                typeClass == Byte.class ? Byte.valueOf((byte) value) :
+                        Boolean.valueOf(value != 0);
+        }
+
+        @Override
+        int compare(int index1, int index2) {
+            return Long.compare(values[index1], values[index2]);
+        }
+    }
+
+    /**
+     * Float and Double values (floats widen to double without loss)
+     */
+    private static class DoubleVector extends ColumnVector {
+        private double[] values = new double[0];
+
+        DoubleVector(Class<?> typeClass) {
+            super(typeClass);
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == typeClass;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int index, Object value) {
+            values[index] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        Object load(int index) {
+            double value = values[index];
+            // no conditional expression here, binary numeric promotion would box floats as doubles
+            if (typeClass == Float.class) return Float.valueOf((float) value);
+            return Double.valueOf(value);
+        }
+
+        @Override
+        int compare(int index1, int index2) {
+            return Double.compare(values[index1], values[index2]);
+        }
+    }
+
+    /**
+     * BigDecimal values with unscaled values fitting a long
+     */
+    private static class DecimalVector extends ColumnVector {
+        private long[] unscaledValues = new long[0];
+        private int[] scales = new int[0];
+
+        DecimalVector() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == BigDecimal.class && ((BigDecimal) value).unscaledValue().bitLength() < Long.SIZE;
+        }
+
+        @Override
+        int capacity() {
+            return unscaledValues.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            unscaledValues = Arrays.copyOf(unscaledValues, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+        }
+
+        @Override
+        void store(int index, Object value) {
+            BigDecimal decimal = (BigDecimal) value;
+            unscaledValues[index] = decimal.unscaledValue().longValue();
+            scales[index] = decimal.scale();
+        }
+
+        @Override
+        Object load(int index) {
+            return BigDecimal.valueOf(unscaledValues[index], scales[index]);
+        }
+
+        @Override
+        int compare(int index1, int index2) {
+            if (scales[index1] == scales[index2]) return Long.compare(unscaledValues[index1], unscaledValues[index2]);
+            return ((BigDecimal) load(index1)).compareTo((BigDecimal) load(index2));
+        }
+    }
+
+    /**
+     * Date, Time and Timestamp values as epoch millis (plus nanos for timestamps)
+     */
+    private static class TimeVector extends ColumnVector {
+        private long[] millis = new long[0];
+        private int[] nanos;
+
+        TimeVector(Class<?> typeClass) {
+            super(typeClass);
+            if (typeClass == Timestamp.class) nanos = new int[0];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value.getClass() == typeClass;
+        }
+
+        @Override
+        int capacity() {
+            return millis.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            millis = Arrays.copyOf(millis, capacity);
+            if (nanos != null) nanos = Arrays.copyOf(nanos, capacity);
+        }
+
+        @Override
+        void store(int index, Object value) {
+            millis[index] = ((java.util.Date) value).getTime();
+            if (nanos != null) nanos[index] = ((Timestamp) value).getNanos();
+        }
+
+        @Override
+        Object load(int index) {
+            long value = millis[index];
+            if (typeClass == Date.class) return new Date(value);
+            if (typeClass == Time.class) return new Time(value);
+
+            Timestamp timestamp = new Timestamp(value);
+            timestamp.setNanos(nanos[index]);
+            return timestamp;
+        }
+
+        @Override
+        int compare(int index1, int index2) {
+            int result = Long.compare(millis[index1], millis[index2]);
+            if (result != 0 || nanos == null) return result;
+            return Integer.compare(nanos[index1], nanos[index2]);
+        }
+    }
+
+    /**
+     * Dictionary encoded strings. Falls back to a plain string array once the
+     * number of distinct values makes the dictionary more expensive than the values it replaces
+     */
+    private static class StringVector extends ColumnVector {
+        private static final int MAX_DICTIONARY_SIZE = 4096;
+
+        private Map<String, Integer> codes = new HashMap<>();
+        private List<String> dictionary = new ArrayList<>();
+        private int[] references = new int[0];
+        private String[] values;
+
+        StringVector() {
+            super(String.class);
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof String;
+        }
+
+        @Override
+        int capacity() {
+            return values == null ? references.length : values.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            if (values == null) {
+                references = Arrays.copyOf(references, capacity);
+            } else {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        @Override
+        void store(int index, Object value) {
+            String string = (String) value;
+            if (values != null) {
+                values[index] = string;
+                return;
+            }
+
+            Integer code = codes.get(string);
+            if (code == null) {
+                if (dictionary.size() >= MAX_DICTIONARY_SIZE && dictionary.size() > index / 2) {
+                    decode();
+                    values[index] = string;
+                    return;
+                }
+                code = dictionary.size();
+                dictionary.add(string);
+                codes.put(string, code);
+            }
+            references[index] = code;
+        }
+
+        private void decode() {
+            String[] values = new String[references.length];
+            for (int i = 0; i < size; i++) {
+                if (!isNull(i)) values[i] = dictionary.get(references[i]);
+            }
+            this.values = values;
+            this.references = null;
+            this.dictionary = null;
+            this.codes = null;
+        }
+
+        @Override
+        Object load(int index) {
+            return values == null ? dictionary.get(references[index]) : values[index];
+        }
+
+        @Override
+        int compare(int index1, int index2) {
+            String value1 = (String) load(index1);
+            String value2 = (String) load(index2);
+            return value1.compareTo(value2);
+        }
+    }
+
+    /**
+     * Plain object storage for complex, large-object and inconsistently typed columns
+     */
+    private static class ObjectVector extends ColumnVector {
+        private Object[] values;
+
+        ObjectVector(Class<?> typeClass, int capacity) {
+            super(typeClass);
+            values = new Object[capacity];
+        }
+
+        @Override
+        boolean accepts(Object value) {
+            return true;
+        }
+
+        @Override
+        int capacity() {
+            return values.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void store(int index, Object value) {
+            values[index] = value;
+        }
+
+        @Override
+        Object load(int index) {
+            return values[index];
+        }
+
+        @Override
+        int compare(int index1, int index2) {
+            return SortableDataModelCell.compareValues(values[index1], values[index2], false, typeClass);
+        }
+    }
+}
@@ -35,6 +35,7 @@ public class ResultSetDataModel<
 
     private final ConnectionRef connection;
     private DBNResultSet resultSet;
+    private ResultSetColumnStore columnStore;
     private boolean resultSetExhausted = false;
     private long executeDuration = -1; // execute duration, -1 unknown
     private long fetchDuration = -1;   // fetch duration, -1 unknown
@@ -59,7 +60,21 @@ public class ResultSetDataModel<
     }
 
     protected R createRow(int resultSetRowIndex) throws SQLException {
-        return (R) new ResultSetDataModelRow(this, getResultSet(), resultSetRowIndex);
+        ResultSetColumnStore columnStore = getColumnStore();
+        int columnStoreIndex = columnStore.append(getResultSet());
+        return (R) new ResultSetDataModelRow(this, columnStore, columnStoreIndex, resultSetRowIndex);
+    }
+
+    /**
+     * Values of the read-only model are held column-wise, the rows materialize their cells on demand.
+     * Subclasses creating their own (editable) rows and cells do not use the store
+     */
+    @NotNull
+    public ResultSetColumnStore getColumnStore() {
+        if (columnStore == null) {
+            columnStore = new ResultSetColumnStore(this);
+        }
+        return columnStore;
     }
 
     @NotNull
@@ -93,6 +108,7 @@ public class ResultSetDataModel<
         if (resultSetExhausted) return originalRowCount;
 
         int initialIndex = reset ? 0 : originalRowCount;
+        if (reset) columnStore = null;
         int count = 0;
 
         final List<R> oldRows = getRows();
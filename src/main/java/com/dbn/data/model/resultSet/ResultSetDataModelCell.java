@@ -24,6 +24,10 @@ public class ResultSetDataModelCell<
         }
     }
 
+    public ResultSetDataModelCell(R row, Object userValue, ResultSetColumnInfo columnInfo) {
+        super(row, userValue, columnInfo.getIndex());
+    }
+
     @NotNull
     @Override
     public M getModel() {
@@ -8,6 +8,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.AbstractList;
 import java.util.List;
 
 
@@ -18,6 +19,9 @@ public class ResultSetDataModelRow<
 
     private int resultSetRowIndex;
 
+    private ResultSetColumnStore columnStore;
+    private int columnStoreIndex = -1;
+
     public ResultSetDataModelRow(M model, ResultSet resultSet, int resultSetRowIndex) throws SQLException {
         super(model);
         this.resultSetRowIndex = resultSetRowIndex;
@@ -32,6 +36,16 @@ public class ResultSetDataModelRow<
         this.setCells(cells);
     }
 
+    /**
+     * Row backed by the column store of the model. Cells are materialized on first access
+     */
+    public ResultSetDataModelRow(M model, ResultSetColumnStore columnStore, int columnStoreIndex, int resultSetRowIndex) {
+        super(model, null);
+        this.resultSetRowIndex = resultSetRowIndex;
+        this.columnStore = columnStore;
+        this.columnStoreIndex = columnStoreIndex;
+    }
+
     @NotNull
     @Override
     public M getModel() {
@@ -51,9 +65,81 @@ public class ResultSetDataModelRow<
         return (C) new ResultSetDataModelCell(this, resultSet, (ResultSetColumnInfo) columnInfo);
     }
 
+    @NotNull
+    protected C createCell(Object userValue, ColumnInfo columnInfo) {
+        return (C) new ResultSetDataModelCell(this, userValue, (ResultSetColumnInfo) columnInfo);
+    }
+
     @Nullable
     @Override
     public C getCellAtIndex(int index) {
-        return super.getCellAtIndex(index);
+        C cell = super.getCellAtIndex(index);
+        if (cell == null && columnStore != null && index > -1 && index < getModel().getColumnCount()) {
+            cell = materializeCell(index);
+        }
+        return cell;
+    }
+
+    /**
+     * For rows backed by the column store, a view materializing the cells as they are accessed
+     */
+    @Override
+    public List<C> getCells() {
+        if (columnStore == null) return super.getCells();
+        return new AbstractList<C>() {
+            @Override
+            public C get(int index) {
+                return getCellAtIndex(index);
+            }
+
+            @Override
+            public int size() {
+                return getModel().getColumnCount();
+            }
+        };
+    }
+
+    /**
+     * Returns true if the value at the given index is still held by the column store only (no cell materialized yet)
+     */
+    public boolean isStoredValue(int index) {
+        return columnStore != null && super.getCellAtIndex(index) == null;
+    }
+
+    /**
+     * Reads the value at the given index from the column store without materializing the cell
+     */
+    @Nullable
+    public Object getStoredValue(int index) {
+        return columnStore == null ? null : columnStore.getValue(columnStoreIndex, index);
+    }
+
+    private synchronized C materializeCell(int index) {
+        List<C> cells = super.getCells();
+        if (cells == null) {
+            cells = new CompactArrayList<>(getModel().getColumnCount());
+            setCells(cells);
+        }
+        C cell = cells.get(index);
+        if (cell == null) {
+            ColumnInfo columnInfo = getModel().getColumnInfo(index);
+            Object userValue = columnStore.getValue(columnStoreIndex, index);
+            cell = createCell(userValue, columnInfo);
+            cells.set(index, cell);
+        }
+        return cell;
+    }
+
+    @Override
+    protected int compareColumn(SortableDataModelRow row, int columnIndex, int compareIndex) {
+        if (row instanceof ResultSetDataModelRow) {
+            // compare the stored values without materializing the cells
+            ResultSetDataModelRow<?, ?> remote = (ResultSetDataModelRow<?, ?>) row;
+            if (columnStore != null && columnStore == remote.columnStore) {
+                boolean nullsFirst = getModel().isSortingNullsFirst();
+                return compareIndex * columnStore.compare(columnIndex, columnStoreIndex, remote.columnStoreIndex, nullsFirst);
+            }
+        }
+        return super.compareColumn(row, columnIndex, compareIndex);
     }
 }
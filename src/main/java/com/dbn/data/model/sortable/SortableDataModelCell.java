@@ -32,7 +32,11 @@ public class SortableDataModelCell<
         Object remote = cell.getUserValue();
 
         boolean nullsFirst = getModel().isSortingNullsFirst();
+        Class typeClass = cell.getColumnInfo().getDataType().getTypeClass();
+        return compareValues(local, remote, nullsFirst, typeClass);
+    }
 
+    public static int compareValues(Object local, Object remote, boolean nullsFirst, Class typeClass) {
         if (local == null && remote == null) return 0;
         if (local == null) return nullsFirst ? -1 : 1;
         if (remote == null) return nullsFirst ? 1 : -1;
@@ -46,7 +50,6 @@ public class SortableDataModelCell<
             Comparable remoteComparable = (Comparable) remote;
             return localComparable.compareTo(remoteComparable);
         } else {
-            Class typeClass = cell.getColumnInfo().getDataType().getTypeClass();
             return localClass.equals(typeClass) ? 1 :
                    remoteClass.equals(typeClass) ? -1 : 0;
         }
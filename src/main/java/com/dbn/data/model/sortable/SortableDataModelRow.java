@@ -6,6 +6,8 @@ import com.dbn.data.model.basic.BasicDataModelRow;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public class SortableDataModelRow<
         M extends SortableDataModel<? extends SortableDataModelRow<M, C>, C>,
         C extends SortableDataModelCell<? extends SortableDataModelRow<M, C>, M>>
@@ -16,6 +18,10 @@ public class SortableDataModelRow<
         super(model);
     }
 
+    protected SortableDataModelRow(M model, @Nullable List<C> cells) {
+        super(model, cells);
+    }
+
     @NotNull
     @Override
     public M getModel() {
@@ -38,17 +44,8 @@ public class SortableDataModelRow<
             int columnIndex = model.getColumnIndex(sortingInstruction.getColumnName());
 
             if (columnIndex > -1) {
-                SortableDataModelCell local = getCellAtIndex(columnIndex);
-                SortableDataModelCell remote = row.getCellAtIndex(columnIndex);
-
                 int compareIndex = sortingInstruction.getDirection().getCompareAdj();
-
-                int result =
-                        remote == null && local == null ? 0 :
-                        local == null ? -compareIndex :
-                        remote == null ? columnIndex :
-                                compareIndex * local.compareTo(remote);
-
+                int result = compareColumn(row, columnIndex, compareIndex);
                 if (result != 0) return result;
             }
         }
@@ -74,4 +71,15 @@ public class SortableDataModelRow<
 */
     }
 
+    protected int compareColumn(SortableDataModelRow row, int columnIndex, int compareIndex) {
+        SortableDataModelCell local = getCellAtIndex(columnIndex);
+        SortableDataModelCell remote = row.getCellAtIndex(columnIndex);
+
+        return
+                remote == null && local == null ? 0 :
+                local == null ? -compareIndex :
+                remote == null ? columnIndex :
+                        compareIndex * local.compareTo(remote);
+    }
+
 }
@@ -12,6 +12,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 
+import static com.dbn.common.util.Commons.nvl;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 
 public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceBase implements DatabaseMetadataInterface {
@@ -331,6 +332,11 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceBas
         return executeQuery(connection, "referencing-objects", ownerName, objectName);
     }
 
+    @Override
+    public ResultSet loadSchemaDependencies(String ownerName, DBNConnection connection) throws SQLException {
+        return executeQuery(connection, "schema-dependencies", ownerName);
+    }
+
     @Override
     public ResultSet loadReferencingSchemas(String ownerName, String objectName, DBNConnection connection) throws SQLException {
         return executeQuery(connection, "referencing-schemas", ownerName, objectName);
@@ -378,6 +384,11 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceBas
         return executeQuery(connection, "object-change-timestamp", ownerName, objectName, objectType);
     }
 
+    @Override
+    public ResultSet loadSchemaChangeTimestamp(String ownerName, DBNConnection connection) throws SQLException {
+        return executeQuery(connection, "schema-change-timestamp", ownerName);
+    }
+
     @Override
     public ResultSet loadInvalidObjects(String ownerName, DBNConnection connection) throws SQLException {
         return executeQuery(connection, "invalid-objects", ownerName);
@@ -425,8 +436,8 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceBas
     }
 
     @Override
-    public ResultSet loadSessions(DBNConnection connection) throws SQLException {
-        return executeQuery(connection, "sessions");
+    public ResultSet loadSessions(String user, String host, String status, DBNConnection connection) throws SQLException {
+        return executeQuery(connection, "sessions", nvl(user, ""), nvl(host, ""), nvl(status, ""));
     }
 
     @Override
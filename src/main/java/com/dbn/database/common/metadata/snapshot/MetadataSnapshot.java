@@ -0,0 +1,281 @@
+package com.dbn.database.common.metadata.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.readString;
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.writeString;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+/**
+ * On-disk snapshot of the metadata result sets loaded for one scope (connection or schema).
+ * <pre>
+ * file := MAGIC VERSION entry* index indexOffset:long
+ * index := count:int (key:string offset:int length:int changeTimestamp:long)*
+ * </pre>
+ * The file is memory mapped and only the index is read eagerly. Entries are decoded on demand, row by row.
+ * Entries recorded during the session are kept pending and merged into a new file on {@link #save()}.
+ * Every entry carries the dictionary change timestamp taken before its content was loaded,
+ * to be checked against the database when restored.
+ * <br>
+ * Snapshots are written as generation files ({@code <name>.<generation>}) and the latest generation wins.
+ * A mapped file is never replaced (which fails on Windows as long as the mapping is not garbage collected),
+ * superseded generations are deleted once they can be
+ */
+@Slf4j
+class MetadataSnapshot {
+    static final int MAGIC = 0x44424E4D; // DBNM
+    static final int VERSION = 2;
+    static final long UNKNOWN_TIMESTAMP = -1;
+    private static final int SAVE_THRESHOLD = 8 * 1024 * 1024;
+
+    private final Path file;
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+    private final Set<String> restored = ConcurrentHashMap.newKeySet();
+    private Map<String, Segment> index;
+    private ByteBuffer mapping;
+    private long generation = -1;
+    private long pendingSize;
+
+    private static class Segment {
+        private final int offset;
+        private final int length;
+        private final long changeTimestamp;
+
+        private Segment(int offset, int length, long changeTimestamp) {
+            this.offset = offset;
+            this.length = length;
+            this.changeTimestamp = changeTimestamp;
+        }
+    }
+
+    private static class Entry {
+        private final byte[] bytes;
+        private final long changeTimestamp;
+
+        private Entry(byte[] bytes, long changeTimestamp) {
+            this.bytes = bytes;
+            this.changeTimestamp = changeTimestamp;
+        }
+    }
+
+    MetadataSnapshot(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the snapshot entry for the given key. Every key is restored at most once per session,
+     * subsequent loads of the same content are expected to hit the database (and record a fresh entry)
+     */
+    @Nullable
+    synchronized MetadataSnapshotResultSet restore(String key) {
+        if (!restored.add(key)) return null;
+
+        Entry entry = pending.get(key);
+        if (entry != null) return new MetadataSnapshotResultSet(ByteBuffer.wrap(entry.bytes), entry.changeTimestamp);
+
+        ensureMapped();
+        Segment segment = index.get(key);
+        if (segment == null) return null;
+
+        ByteBuffer buffer = mapping.duplicate();
+        buffer.position(segment.offset);
+        buffer.limit(segment.offset + segment.length);
+        return new MetadataSnapshotResultSet(buffer.slice(), segment.changeTimestamp);
+    }
+
+    /**
+     * Stores the given entry and returns true if enough pending data accumulated to justify a {@link #save()}
+     * @param changeTimestamp the dictionary change timestamp taken before the entry content was loaded
+     */
+    synchronized boolean store(String key, byte[] entry, long changeTimestamp) {
+        Entry previous = pending.put(key, new Entry(entry, changeTimestamp));
+        if (previous != null) pendingSize -= previous.bytes.length;
+        pendingSize += entry.length;
+        return pendingSize > SAVE_THRESHOLD;
+    }
+
+    synchronized void save() {
+        if (pending.isEmpty()) return;
+        ensureMapped();
+
+        long nextGeneration = generation + 1;
+        Path generationFile = generationFile(nextGeneration);
+        Path tempFile = file.resolveSibling(generationFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            Map<String, Segment> segments = new LinkedHashMap<>();
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+
+                for (Map.Entry<String, Segment> existing : index.entrySet()) {
+                    String key = existing.getKey();
+                    if (pending.containsKey(key)) continue;
+
+                    Segment segment = existing.getValue();
+                    segments.put(key, new Segment(output.size(), segment.length, segment.changeTimestamp));
+                    writeSegment(output, segment);
+                }
+
+                for (Map.Entry<String, Entry> entry : pending.entrySet()) {
+                    Entry pendingEntry = entry.getValue();
+                    byte[] bytes = pendingEntry.bytes;
+                    segments.put(entry.getKey(), new Segment(output.size(), bytes.length, pendingEntry.changeTimestamp));
+                    output.write(bytes);
+                }
+
+                long indexOffset = output.size();
+                output.writeInt(segments.size());
+                for (Map.Entry<String, Segment> entry : segments.entrySet()) {
+                    Segment segment = entry.getValue();
+                    writeString(output, entry.getKey());
+                    output.writeInt(segment.offset);
+                    output.writeInt(segment.length);
+                    output.writeLong(segment.changeTimestamp);
+                }
+                output.writeLong(indexOffset);
+            }
+
+            Files.move(tempFile, generationFile, StandardCopyOption.ATOMIC_MOVE);
+            mapping = null;
+            index = null;
+            generation = nextGeneration;
+            pending.clear();
+            pendingSize = 0;
+            deleteSupersededGenerations();
+        } catch (IOException e) {
+            conditionallyLog(e);
+            log.warn("Failed to save metadata snapshot {}", file, e);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void writeSegment(DataOutputStream output, Segment segment) throws IOException {
+        ByteBuffer buffer = mapping.duplicate();
+        buffer.position(segment.offset);
+        buffer.limit(segment.offset + segment.length);
+
+        byte[] chunk = new byte[Math.min(segment.length, 64 * 1024)];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            output.write(chunk, 0, length);
+        }
+    }
+
+    private void ensureMapped() {
+        if (index != null) return;
+
+        index = new HashMap<>();
+        generation = Math.max(generation, latestGeneration());
+        if (generation < 0) return;
+
+        Path file = generationFile(generation);
+        if (!Files.isRegularFile(file)) return;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            index = readIndex(buffer);
+            mapping = buffer;
+        } catch (Exception e) {
+            // corrupt or incompatible snapshot - start over
+            conditionallyLog(e);
+            log.warn("Discarding unreadable metadata snapshot {}", file);
+            index = new HashMap<>();
+            mapping = null;
+            deleteQuietly(file);
+        }
+    }
+
+    private Path generationFile(long generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    /**
+     * Highest generation of the snapshot found on disk, or -1 if none
+     */
+    private long latestGeneration() {
+        long latest = -1;
+        for (long generation : generations()) {
+            latest = Math.max(latest, generation);
+        }
+        return latest;
+    }
+
+    private List<Long> generations() {
+        List<Long> generations = new ArrayList<>();
+        Path directory = file.getParent();
+        if (!Files.isDirectory(directory)) return generations;
+
+        String prefix = file.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path generationFile : files) {
+                String suffix = generationFile.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    generations.add(Long.parseLong(suffix));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            conditionallyLog(e);
+        }
+        return generations;
+    }
+
+    /**
+     * Deletes the generations older than the current one.
+     * Files still mapped by this session may fail to delete on Windows, they are retried on the next save
+     */
+    private void deleteSupersededGenerations() {
+        for (long superseded : generations()) {
+            if (superseded < generation) deleteQuietly(generationFile(superseded));
+        }
+    }
+
+    @NotNull
+    private static Map<String, Segment> readIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) throw new IOException("Incompatible snapshot format");
+
+        int indexOffset = (int) buffer.getLong(buffer.limit() - Long.BYTES);
+        buffer.position(indexOffset);
+
+        int count = buffer.getInt();
+        Map<String, Segment> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            int offset = buffer.getInt();
+            int length = buffer.getInt();
+            long changeTimestamp = buffer.getLong();
+            index.put(key, new Segment(offset, length, changeTimestamp));
+        }
+        return index;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            conditionallyLog(e);
+        }
+    }
+}
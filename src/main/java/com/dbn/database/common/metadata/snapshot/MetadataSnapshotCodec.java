@@ -0,0 +1,43 @@
+package com.dbn.database.common.metadata.snapshot;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary encoding of the metadata snapshot entries
+ * <pre>
+ * entry := columnCount:int columnName:string* (ROW value:string*)* END
+ * string := length:int (-1 for null) utf8:byte*
+ * </pre>
+ */
+@UtilityClass
+class MetadataSnapshotCodec {
+    static final byte ROW = 1;
+    static final byte END = 0;
+
+    static void writeString(DataOutput output, @Nullable String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @Nullable
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
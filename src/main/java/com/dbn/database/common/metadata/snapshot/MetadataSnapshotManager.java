@@ -0,0 +1,236 @@
+package com.dbn.database.common.metadata.snapshot;
+
+import com.dbn.common.Priority;
+import com.dbn.common.component.ProjectComponentBase;
+import com.dbn.common.component.ProjectManagerListener;
+import com.dbn.common.content.DynamicContent;
+import com.dbn.common.event.ProjectEvents;
+import com.dbn.common.thread.Background;
+import com.dbn.common.thread.Synchronized;
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.connection.ConnectionId;
+import com.dbn.connection.DatabaseEntity;
+import com.dbn.connection.Resources;
+import com.dbn.connection.config.ConnectionConfigListener;
+import com.dbn.connection.jdbc.DBNConnection;
+import com.dbn.connection.jdbc.DBNResultSet;
+import com.dbn.database.interfaces.DatabaseInterfaceInvoker;
+import com.dbn.database.interfaces.DatabaseMetadataInterface;
+import com.dbn.object.DBSchema;
+import com.dbn.object.common.DBObjectBundle;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.dbn.common.component.Components.projectService;
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshot.UNKNOWN_TIMESTAMP;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Persistent on-disk snapshot of the connection and schema level metadata lists.
+ * Lists loaded from the database are recorded while being read and saved on project close.
+ * On the first load after restart the content is restored from the snapshot and checked against the data dictionary in background.
+ * It is reloaded from the database only if the dictionary reports newer changes or invalid objects for the schema
+ * (connection level lists, having no change timestamp to check against, are always reloaded)
+ */
+@Slf4j
+public class MetadataSnapshotManager extends ProjectComponentBase implements ProjectManagerListener {
+    public static final String COMPONENT_NAME = "DBNavigator.Project.MetadataSnapshotManager";
+
+    private final Map<ConnectionId, Map<String, MetadataSnapshot>> snapshots = new ConcurrentHashMap<>();
+
+    private MetadataSnapshotManager(@NotNull Project project) {
+        super(project, COMPONENT_NAME);
+        ProjectEvents.subscribe(project, this, ConnectionConfigListener.TOPIC, ConnectionConfigListener.whenChangedOrRemoved(id -> discardSnapshots(id)));
+    }
+
+    public static MetadataSnapshotManager getInstance(@NotNull Project project) {
+        return projectService(project, MetadataSnapshotManager.class);
+    }
+
+    /**
+     * Returns the snapshot result set for the given content if available, and schedules the background freshness check of the content
+     */
+    @Nullable
+    public ResultSet restore(DynamicContent<?> content, String key) {
+        MetadataSnapshot snapshot = getSnapshot(content);
+        if (snapshot == null) return null;
+
+        MetadataSnapshotResultSet resultSet = snapshot.restore(key);
+        if (resultSet == null) return null;
+
+        // the restore happens inside the content load (content lock is held)
+        // check and reload are deferred until the current load completed
+        long changeTimestamp = resultSet.getChangeTimestamp();
+        Background.run(getProject(), () -> {
+            if (isOutdated(content, changeTimestamp)) Synchronized.on(content, c -> c.reload());
+        });
+        return resultSet;
+    }
+
+    /**
+     * Loads the change timestamp the content is to be recorded with. Must be invoked before the content is loaded,
+     * for changes happening while loading to be detected on the next restore
+     */
+    public long loadChangeTimestamp(DynamicContent<?> content, DBNConnection conn) {
+        if (getSnapshot(content) == null) return UNKNOWN_TIMESTAMP;
+
+        DatabaseEntity parent = content.getParentEntity();
+        if (!(parent instanceof DBSchema)) return UNKNOWN_TIMESTAMP;
+
+        DatabaseMetadataInterface metadata = content.getConnection().getMetadataInterface();
+        return loadChangeTimestamp(metadata, parent.getName(), conn);
+    }
+
+    /**
+     * Wraps the given database result set to have its rows recorded in the snapshot
+     * @param changeTimestamp the change timestamp as returned by {@link #loadChangeTimestamp(DynamicContent, DBNConnection)}
+     */
+    public ResultSet record(DynamicContent<?> content, String key, ResultSet resultSet, long changeTimestamp) {
+        if (!(resultSet instanceof DBNResultSet)) return resultSet;
+
+        MetadataSnapshot snapshot = getSnapshot(content);
+        if (snapshot == null) return resultSet;
+
+        try {
+            return new MetadataSnapshotRecorder(resultSet, entry -> store(snapshot, key, entry, changeTimestamp));
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            return resultSet;
+        }
+    }
+
+    private void store(MetadataSnapshot snapshot, String key, byte[] entry, long changeTimestamp) {
+        if (snapshot.store(key, entry, changeTimestamp)) {
+            Background.run(getProject(), () -> snapshot.save());
+        }
+    }
+
+    /**
+     * Checks the data dictionary for changes since the given (recorded) change timestamp
+     * @return true if the dictionary reports newer changes or invalid objects, or if it cannot tell
+     */
+    private boolean isOutdated(DynamicContent<?> content, long changeTimestamp) {
+        if (changeTimestamp == UNKNOWN_TIMESTAMP) return true;
+        if (content.isDisposed()) return false;
+
+        DatabaseEntity parent = content.getParentEntity();
+        if (!(parent instanceof DBSchema)) return true;
+
+        String schemaName = parent.getName();
+        ConnectionHandler connection = content.getConnection();
+        try {
+            return DatabaseInterfaceInvoker.load(Priority.LOW,
+                    "Loading data dictionary",
+                    "Checking changes in schema " + schemaName,
+                    getProject(),
+                    connection.getConnectionId(),
+                    conn -> {
+                        DatabaseMetadataInterface metadata = connection.getMetadataInterface();
+                        long timestamp = loadChangeTimestamp(metadata, schemaName, conn);
+                        return timestamp == UNKNOWN_TIMESTAMP ||
+                                timestamp > changeTimestamp ||
+                                hasInvalidObjects(metadata, schemaName, conn);
+                    });
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            return true;
+        }
+    }
+
+    private static long loadChangeTimestamp(DatabaseMetadataInterface metadata, String schemaName, DBNConnection conn) {
+        ResultSet resultSet = null;
+        try {
+            resultSet = metadata.loadSchemaChangeTimestamp(schemaName, conn);
+            Timestamp timestamp = resultSet.next() ? resultSet.getTimestamp(1) : null;
+            return timestamp == null ? UNKNOWN_TIMESTAMP : timestamp.getTime();
+        } catch (SQLException e) {
+            // not supported for the database type
+            conditionallyLog(e);
+            return UNKNOWN_TIMESTAMP;
+        } finally {
+            Resources.close(resultSet);
+        }
+    }
+
+    private static boolean hasInvalidObjects(DatabaseMetadataInterface metadata, String schemaName, DBNConnection conn) {
+        ResultSet resultSet = null;
+        try {
+            resultSet = metadata.loadInvalidObjects(schemaName, conn);
+            return resultSet != null && resultSet.next();
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            return true;
+        } finally {
+            Resources.close(resultSet);
+        }
+    }
+
+    @Nullable
+    private MetadataSnapshot getSnapshot(DynamicContent<?> content) {
+        ConnectionHandler connection = content.getConnection();
+        if (!connection.getSettings().getDetailSettings().isEnableMetadataSnapshot()) return null;
+
+        String scope = getScope(content);
+        if (scope == null) return null;
+
+        ConnectionId connectionId = connection.getConnectionId();
+        return snapshots
+                .computeIfAbsent(connectionId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(scope, s -> new MetadataSnapshot(getSnapshotFile(connectionId, s)));
+    }
+
+    /**
+     * Only the lists of the connection object bundle and of the schemas are persisted.
+     * The child lists of individual objects are resolved from the schema-level grouped lists
+     */
+    @Nullable
+    private static String getScope(DynamicContent<?> content) {
+        DatabaseEntity parent = content.getParentEntity();
+        if (parent instanceof DBObjectBundle) return "connection";
+        if (parent instanceof DBSchema) return "schema-" + URLEncoder.encode(parent.getName(), UTF_8);
+        return null;
+    }
+
+    private static Path getSnapshotFile(ConnectionId connectionId, String scope) {
+        return getSnapshotDirectory(connectionId).resolve(scope + ".snapshot");
+    }
+
+    private static Path getSnapshotDirectory(ConnectionId connectionId) {
+        return Paths.get(PathManager.getSystemPath(), "dbn", "metadata", connectionId.id());
+    }
+
+    /**
+     * Connection setup changed or removed - the snapshots may no longer reflect the database behind the connection
+     */
+    private void discardSnapshots(ConnectionId connectionId) {
+        snapshots.remove(connectionId);
+        Background.run(getProject(), () -> FileUtil.delete(getSnapshotDirectory(connectionId).toFile()));
+    }
+
+    @Override
+    public void projectClosed() {
+        for (Map<String, MetadataSnapshot> snapshots : snapshots.values()) {
+            snapshots.values().forEach(s -> s.save());
+        }
+    }
+
+    @Override
+    public void disposeInner() {
+        snapshots.clear();
+        super.disposeInner();
+    }
+}
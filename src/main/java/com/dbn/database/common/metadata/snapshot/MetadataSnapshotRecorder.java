@@ -0,0 +1,80 @@
+package com.dbn.database.common.metadata.snapshot;
+
+import com.dbn.common.util.Strings;
+import com.dbn.database.common.util.WrappedResultSet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.*;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+/**
+ * {@link ResultSet} wrapper encoding the rows as they are being iterated by the content loader.
+ * The encoded entry is handed over to the consumer only if the result set was read to the end
+ * (partial loads, e.g. cancelled or failed, are never persisted)
+ */
+@Slf4j
+class MetadataSnapshotRecorder extends WrappedResultSet<ResultSet> {
+    private static final int MAX_ENTRY_SIZE = 64 * 1024 * 1024;
+
+    private final Consumer<byte[]> consumer;
+    private final int columnCount;
+    private ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+    private DataOutputStream output = new DataOutputStream(bytes);
+
+    MetadataSnapshotRecorder(ResultSet inner, Consumer<byte[]> consumer) throws SQLException {
+        super(inner);
+        this.consumer = consumer;
+
+        ResultSetMetaData metaData = inner.getMetaData();
+        this.columnCount = metaData.getColumnCount();
+        try {
+            output.writeInt(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                writeString(output, Strings.toUpperCase(metaData.getColumnLabel(i)));
+            }
+        } catch (IOException e) {
+            discard(e);
+        }
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        boolean next = super.next();
+        if (output == null) return next;
+
+        try {
+            if (next) {
+                output.writeByte(ROW);
+                for (int i = 1; i <= columnCount; i++) {
+                    writeString(output, inner.getString(i));
+                }
+                if (output.size() > MAX_ENTRY_SIZE) {
+                    log.warn("Metadata snapshot entry exceeds {} bytes. Skipping", MAX_ENTRY_SIZE);
+                    discard(null);
+                }
+            } else {
+                output.writeByte(END);
+                byte[] entry = bytes.toByteArray();
+                discard(null);
+                consumer.accept(entry);
+            }
+        } catch (IOException e) {
+            discard(e);
+        }
+        return next;
+    }
+
+    private void discard(Throwable cause) {
+        if (cause != null) conditionallyLog(cause);
+        bytes = null;
+        output = null;
+    }
+}
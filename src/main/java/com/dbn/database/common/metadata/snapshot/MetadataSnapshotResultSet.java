@@ -0,0 +1,178 @@
+package com.dbn.database.common.metadata.snapshot;
+
+import com.dbn.common.util.Strings;
+import com.dbn.database.common.util.ResultSetStub;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.ROW;
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.readString;
+
+/**
+ * Forward-only replay of a metadata snapshot entry.
+ * Rows are decoded one at a time from the (memory mapped) entry buffer.
+ * Holds no resources, closing (or disposing) it only marks it as such
+ */
+class MetadataSnapshotResultSet implements ResultSetStub {
+    private final ByteBuffer buffer;
+    private final long changeTimestamp;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final String[] values;
+    private boolean exhausted;
+    private boolean closed;
+    private boolean wasNull;
+
+    MetadataSnapshotResultSet(ByteBuffer buffer, long changeTimestamp) {
+        this.buffer = buffer;
+        this.changeTimestamp = changeTimestamp;
+        int columnCount = buffer.getInt();
+        for (int i = 1; i <= columnCount; i++) {
+            columnIndexes.put(readString(buffer), i);
+        }
+        this.values = new String[columnCount];
+    }
+
+    /**
+     * The dictionary change timestamp at the time the entry was recorded
+     * (or {@link MetadataSnapshot#UNKNOWN_TIMESTAMP} if not available)
+     */
+    long getChangeTimestamp() {
+        return changeTimestamp;
+    }
+
+    @Override
+    public boolean next() {
+        if (exhausted) return false;
+        if (buffer.get() != ROW) {
+            exhausted = true;
+            return false;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(buffer);
+        }
+        return true;
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        Integer index = columnIndexes.get(Strings.toUpperCase(columnLabel));
+        if (index == null) throw new SQLException("Invalid column name " + columnLabel);
+        return index;
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        String value = values[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public Object getObject(int columnIndex) {
+        return getString(columnIndex);
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getString(columnLabel);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        String value = getString(columnIndex);
+        if (value == null) return null;
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid numeric value " + value, e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.longValue();
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.intValue();
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.shortValue();
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        String value = getString(columnIndex);
+        return value != null && Strings.isOneOfIgnoreCase(value.trim(), "true", "1", "Y");
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return closed;
+    }
+
+    @Override
+    public void setDisposed(boolean disposed) {
+        closed = disposed;
+    }
+
+    @Override
+    public void disposeInner() {
+    }
+}
@@ -0,0 +1,223 @@
+package com.dbn.database.common.statement;
+
+import com.dbn.common.dispose.StatefulDisposableBase;
+import com.dbn.common.util.Strings;
+import com.dbn.database.common.util.ResultSetStub;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory rows of one member of a batched statement execution (see {@link StatementBatcher}).
+ * Values are held both as returned by {@link java.sql.ResultSet#getObject(int)} and {@link java.sql.ResultSet#getString(int)}
+ * to serve the typed accessors the same way the driver would have
+ */
+class StatementBatchResultSet extends StatefulDisposableBase implements ResultSetStub {
+    private final Map<String, Integer> columnIndexes;
+    private final List<Object[]> objects;
+    private final List<String[]> strings;
+    private int cursor = -1;
+    private boolean closed;
+    private boolean wasNull;
+
+    StatementBatchResultSet(Map<String, Integer> columnIndexes, List<Object[]> objects, List<String[]> strings) {
+        this.columnIndexes = columnIndexes;
+        this.objects = objects;
+        this.strings = strings;
+    }
+
+    @Override
+    public boolean next() {
+        if (cursor >= objects.size()) return false;
+        cursor++;
+        return cursor < objects.size();
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        Integer index = columnIndexes.get(Strings.toUpperCase(columnLabel));
+        if (index == null) throw new SQLException("Invalid column name " + columnLabel);
+        return index;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) {
+        Object value = objects.get(cursor)[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        String value = strings.get(cursor)[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        if (value == null) return null;
+        if (value instanceof BigDecimal) return (BigDecimal) value;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+
+        String string = getString(columnIndex);
+        try {
+            return new BigDecimal(string.trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid numeric value " + string, e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.longValue();
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.intValue();
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.shortValue();
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        BigDecimal value = getBigDecimal(columnIndex);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        Object value = getObject(columnIndex);
+        if (value == null) return false;
+        if (value instanceof Boolean) return (Boolean) value;
+        if (value instanceof Number) return ((Number) value).intValue() != 0;
+
+        String string = getString(columnIndex);
+        return Strings.isOneOfIgnoreCase(string.trim(), "true", "1", "Y");
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        if (value == null) return null;
+        if (value instanceof Timestamp) return (Timestamp) value;
+        if (value instanceof java.util.Date) return new Timestamp(((java.util.Date) value).getTime());
+        if (value instanceof LocalDateTime) return Timestamp.valueOf((LocalDateTime) value);
+        if (value instanceof LocalDate) return Timestamp.valueOf(((LocalDate) value).atStartOfDay());
+        if (value instanceof OffsetDateTime) return Timestamp.from(((OffsetDateTime) value).toInstant());
+        if (value instanceof ZonedDateTime) return Timestamp.from(((ZonedDateTime) value).toInstant());
+
+        String string = getString(columnIndex);
+        try {
+            return Timestamp.valueOf(string.trim());
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid timestamp value " + string, e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        Timestamp value = getTimestamp(columnIndex);
+        return value == null ? null : new Date(value.getTime());
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        Timestamp value = getTimestamp(columnIndex);
+        return value == null ? null : new Time(value.getTime());
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void disposeInner() {
+        nullify();
+    }
+}
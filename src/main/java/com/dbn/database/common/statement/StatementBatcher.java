@@ -0,0 +1,278 @@
+package com.dbn.database.common.statement;
+
+import com.dbn.common.thread.Timeout;
+import com.dbn.common.util.Strings;
+import com.dbn.connection.Resources;
+import com.dbn.connection.jdbc.DBNConnection;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.dbn.common.exception.Exceptions.causeOf;
+import static com.dbn.common.exception.Exceptions.toSqlException;
+import static com.dbn.common.exception.Exceptions.toSqlTimeoutException;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+/**
+ * Merges concurrent executions of a batchable query (same statement definition, same connection session)
+ * into one database round trip.
+ * <br>
+ * The first request opens a batch and submits it for execution. Requests arriving until the batch is picked up
+ * by the database interface thread join it. While other executions of the same statement are in flight (i.e. during
+ * a burst of loads) the first request additionally holds the batch open for a short gather window
+ * ({@link #GATHER_WINDOW_MILLIS}) before submitting it. The batch is executed as union of the statement for every
+ * member (see {@link StatementDefinition#prepareBatchStatement}), and the rows are demultiplexed in in-memory
+ * result sets handed over to the individual callers.
+ * <br>
+ * The round trips saved are logged under the "BATCH" qualifier of the metadata interface diagnostics
+ */
+class StatementBatcher {
+    static final int MAX_BATCH_SIZE = 32;
+    static final int GATHER_WINDOW_MILLIS = 2;
+
+    private final Map<List<Object>, Batch> openBatches = new HashMap<>();
+    private final Map<List<Object>, Integer> executions = new HashMap<>();
+
+    @FunctionalInterface
+    interface BatchExecution {
+        ResultSet execute(List<Object[]> batchArguments) throws SQLException;
+    }
+
+    /**
+     * Execution environment of a batch (see {@link StatementExecutor} and {@link StatementExecutorContext})
+     */
+    interface BatchContext {
+        int getTimeout();
+
+        <T> T execute(Callable<T> callable) throws SQLException;
+
+        void log(String qualifier, boolean failure, boolean timeout, long value);
+    }
+
+    ResultSet executeQuery(
+            StatementDefinition definition,
+            StatementExecutorContext context,
+            Object[] arguments,
+            BatchExecution execution) throws SQLException {
+
+        DBNConnection connection = context.getConnection();
+        List<Object> key = Arrays.asList(definition, connection.getId(), connection.getSessionId());
+        BatchContext batchContext = new BatchContext() {
+            @Override
+            public int getTimeout() {
+                return context.getTimeout();
+            }
+
+            @Override
+            public <T> T execute(Callable<T> callable) throws SQLException {
+                return StatementExecutor.execute(context, callable);
+            }
+
+            @Override
+            public void log(String qualifier, boolean failure, boolean timeout, long value) {
+                context.log(qualifier, failure, timeout, value);
+            }
+        };
+        return executeQuery(key, arguments, batchContext, execution);
+    }
+
+    ResultSet executeQuery(List<Object> key, Object[] arguments, BatchContext context, BatchExecution execution) throws SQLException {
+        Batch batch;
+        int member;
+        synchronized (openBatches) {
+            batch = openBatches.get(key);
+            member = batch == null ? -1 : batch.join(arguments);
+            if (member == -1) {
+                batch = new Batch(arguments);
+                openBatches.put(key, batch);
+            } else if (batch.isFull()) {
+                openBatches.notifyAll();
+            }
+        }
+
+        return member == -1 ?
+                executeBatch(key, batch, context, execution) :
+                awaitMember(batch, member, context);
+    }
+
+    private ResultSet executeBatch(List<Object> key, Batch batch, BatchContext context, BatchExecution execution) throws SQLException {
+        gather(key, batch);
+        try {
+            return context.execute(() -> {
+                List<Object[]> members = seal(key, batch);
+                if (members == null) return null; // timed out before being picked up
+
+                ResultSet resultSet = execution.execute(members);
+                if (members.size() == 1 || resultSet == null) return resultSet;
+
+                List<ResultSet> results = demultiplex(resultSet, members.size());
+                context.log("BATCH", false, false, members.size() - 1);
+                batch.results.complete(results);
+                return results.get(0);
+            });
+        } catch (SQLException | RuntimeException | Error e) {
+            conditionallyLog(e);
+            batch.results.completeExceptionally(e);
+            throw e;
+        } finally {
+            seal(key, batch);
+            if (!batch.results.isDone()) {
+                batch.results.completeExceptionally(new SQLException("Batch execution returned no result"));
+            }
+            synchronized (openBatches) {
+                executions.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    /**
+     * Holds the batch open for joiners for the gather window if other executions of the statement are in flight
+     */
+    private void gather(List<Object> key, Batch batch) {
+        synchronized (openBatches) {
+            boolean burst = executions.containsKey(key);
+            executions.merge(key, 1, Integer::sum);
+            if (!burst) return;
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(GATHER_WINDOW_MILLIS);
+            try {
+                while (!batch.isFull()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    TimeUnit.NANOSECONDS.timedWait(openBatches, remaining);
+                }
+            } catch (InterruptedException e) {
+                conditionallyLog(e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nullable
+    private List<Object[]> seal(List<Object> key, Batch batch) {
+        synchronized (openBatches) {
+            if (openBatches.get(key) == batch) openBatches.remove(key);
+            return batch.seal();
+        }
+    }
+
+    private static ResultSet awaitMember(Batch batch, int member, BatchContext context) throws SQLException {
+        long start = System.currentTimeMillis();
+        int timeout = context.getTimeout();
+        try {
+            List<ResultSet> results = Timeout.waitFor(batch.results, timeout, TimeUnit.SECONDS);
+            context.log("QUERY", false, false, System.currentTimeMillis() - start);
+            return results.get(member);
+
+        } catch (TimeoutException | InterruptedException e) {
+            conditionallyLog(e);
+            context.log("QUERY", false, true, System.currentTimeMillis() - start);
+            throw toSqlTimeoutException(e, "Operation timed out (timeout = " + timeout + "s)");
+
+        } catch (ExecutionException e) {
+            conditionallyLog(e);
+            context.log("QUERY", true, false, System.currentTimeMillis() - start);
+            Throwable cause = causeOf(e);
+            throw toSqlException(cause, "Error processing request: " + cause.getMessage());
+        }
+    }
+
+    /**
+     * Reads the union result to the end and splits the rows by the leading batch member column
+     */
+    static List<ResultSet> demultiplex(ResultSet resultSet, int memberCount) throws SQLException {
+        try {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount() - 1;
+
+            Map<String, Integer> columnIndexes = new HashMap<>();
+            boolean[] temporal = new boolean[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                columnIndexes.putIfAbsent(Strings.toUpperCase(metaData.getColumnLabel(i + 1)), i);
+                temporal[i - 1] = isTemporal(metaData.getColumnType(i + 1));
+            }
+
+            List<List<Object[]>> objects = new ArrayList<>(memberCount);
+            List<List<String[]>> strings = new ArrayList<>(memberCount);
+            for (int i = 0; i < memberCount; i++) {
+                objects.add(new ArrayList<>());
+                strings.add(new ArrayList<>());
+            }
+
+            while (resultSet.next()) {
+                int member = resultSet.getInt(1);
+                Object[] rowObjects = new Object[columnCount];
+                String[] rowStrings = new String[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    // let the driver convert its own temporal types (e.g. oracle.sql.TIMESTAMP)
+                    rowObjects[i] = temporal[i] ? resultSet.getTimestamp(i + 2) : resultSet.getObject(i + 2);
+                    rowStrings[i] = resultSet.getString(i + 2);
+                }
+                objects.get(member).add(rowObjects);
+                strings.get(member).add(rowStrings);
+            }
+
+            List<ResultSet> results = new ArrayList<>(memberCount);
+            for (int i = 0; i < memberCount; i++) {
+                results.add(new StatementBatchResultSet(columnIndexes, objects.get(i), strings.get(i)));
+            }
+            return results;
+        } finally {
+            Resources.close(resultSet);
+        }
+    }
+
+    private static boolean isTemporal(int sqlType) {
+        switch (sqlType) {
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.TIME_WITH_TIMEZONE:
+            case Types.TIMESTAMP_WITH_TIMEZONE: return true;
+            default: return false;
+        }
+    }
+
+    private static class Batch {
+        private final List<Object[]> members = new ArrayList<>();
+        private final CompletableFuture<List<ResultSet>> results = new CompletableFuture<>();
+        private boolean sealed;
+
+        private Batch(Object[] arguments) {
+            members.add(arguments);
+        }
+
+        /**
+         * Adds the arguments to the batch and returns the member index, or -1 if the batch does not accept members anymore
+         */
+        private int join(Object[] arguments) {
+            if (sealed || isFull()) return -1;
+            members.add(arguments);
+            return members.size() - 1;
+        }
+
+        private boolean isFull() {
+            return members.size() >= MAX_BATCH_SIZE;
+        }
+
+        @Nullable
+        private List<Object[]> seal() {
+            if (sealed) return null;
+            sealed = true;
+            return members;
+        }
+    }
+}
@@ -7,12 +7,14 @@ import lombok.Getter;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 
 @Getter
 public class StatementDefinition {
     private static final String DBN_PARAM_PLACEHOLDER = "DBN_PARAM_PLACEHOLDER";
+    static final String DBN_BATCH_MEMBER = "DBN_BATCH_MEMBER";
     private final String statementText;
     private final Integer[] placeholderIndexes;
 
@@ -70,6 +72,46 @@ public class StatementDefinition {
         return statementText;
     }
 
+    /**
+     * Prepares the union of the statement for every member of the batch.
+     * The rows of each member are tagged with the member index in the leading {@link #DBN_BATCH_MEMBER} column
+     */
+    DBNPreparedStatement<?> prepareBatchStatement(DBNConnection connection, List<Object[]> batchArguments) throws SQLException {
+        if (batchArguments.size() == 1) return prepareStatement(connection, batchArguments.get(0));
+
+        List<String> statements = Collections.nCopies(batchArguments.size(), statementText);
+        DBNPreparedStatement<?> preparedStatement = connection.prepareStatementCached(unionStatementText(statements));
+
+        int parameterIndex = 1;
+        for (Object[] arguments : batchArguments) {
+            for (Integer argumentIndex : placeholderIndexes) {
+                preparedStatement.setObject(parameterIndex, arguments[argumentIndex]);
+                parameterIndex++;
+            }
+        }
+        return preparedStatement;
+    }
+
+    String prepareBatchStatementText(List<Object[]> batchArguments) {
+        if (batchArguments.size() == 1) return prepareStatementText(batchArguments.get(0));
+
+        List<String> statements = new ArrayList<>(batchArguments.size());
+        for (Object[] arguments : batchArguments) {
+            statements.add(prepareStatementText(arguments));
+        }
+        return unionStatementText(statements);
+    }
+
+    private static String unionStatementText(List<String> statements) {
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            if (i > 0) buffer.append(" union all ");
+            buffer.append("select ").append(i).append(" as ").append(DBN_BATCH_MEMBER).append(", m.* from (");
+            buffer.append(statements.get(i));
+            buffer.append(") m");
+        }
+        return buffer.toString();
+    }
 
     @Override
     public String toString() {
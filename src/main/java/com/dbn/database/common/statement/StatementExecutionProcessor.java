@@ -20,6 +20,7 @@ import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLRecoverableException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.StringTokenizer;
 
@@ -37,6 +38,7 @@ public class StatementExecutionProcessor {
     private final String id;
     private final boolean query;
     private final boolean prepared;
+    private final StatementBatcher batcher;
     private int timeout = 30;
     private List<StatementDefinition> statementDefinitions = new ArrayList<>();
 
@@ -46,6 +48,7 @@ public class StatementExecutionProcessor {
         this.id = stringAttribute(element, "id");
         this.query = booleanAttribute(element, "is-query", false);
         this.prepared = booleanAttribute(element, "is-prepared-statement", false);
+        this.batcher = query && booleanAttribute(element, "is-batchable", false) ? new StatementBatcher() : null;
         String customTimeout = element.getAttributeValue("timeout");
         if (Strings.isNotEmpty(customTimeout)) {
             timeout = Integer.parseInt(customTimeout);
@@ -107,78 +110,12 @@ public class StatementExecutionProcessor {
         DatabaseActivityTrace activityTrace = compatibility.getActivityTrace(definition.getId());
 
         if (force || activityTrace.canExecute()) {
+            if (batcher != null) {
+                return batcher.executeQuery(definition, context, arguments,
+                        batchArguments -> executeQuery(definition, context, activityTrace, batchArguments));
+            }
             return StatementExecutor.execute(context,
-                    () -> {
-                        DBNStatement statement = null;
-                        ResultSet resultSet = null;
-                        String statementText = null;
-                        try {
-                            activityTrace.init();
-                            if (isDatabaseAccessDebug()) {
-                                statementText = definition.prepareStatementText(arguments);
-                                log.info("[DBN] Executing statement: " + statementText);
-                            }
-
-                            DBNConnection connection = context.getConnection();
-                            if (prepared) {
-                                DBNPreparedStatement preparedStatement = definition.prepareStatement(connection, arguments);
-                                statement = preparedStatement;
-                                context.setStatement(statement);
-                                preparedStatement.setQueryTimeout(timeout);
-                                resultSet = preparedStatement.executeQuery();
-                                context.log("FETCH_BLOCK", false, false, resultSet.getFetchSize());
-                                DBNResultSet.setIdentifier(resultSet, context.getIdentifier());
-                                return resultSet;
-                            } else {
-                                if (statementText == null)
-                                    statementText = definition.prepareStatementText(arguments);
-                                statement = connection.createStatement();
-                                context.setStatement(statement);
-                                statement.setQueryTimeout(timeout);
-                                statement.execute(statementText);
-                                if (query) {
-                                    try {
-                                        resultSet = statement.getResultSet();
-                                        context.log("FETCH_BLOCK", false, false, resultSet.getFetchSize());
-                                        DBNResultSet.setIdentifier(resultSet, context.getIdentifier());
-                                        return resultSet;
-                                    } catch (SQLException e) {
-                                        conditionallyLog(e);
-                                        Resources.close(statement);
-                                        return null;
-                                    }
-                                } else {
-                                    Resources.close(statement);
-                                    return null;
-                                }
-                            }
-                        } catch (SQLException e) {
-                            conditionallyLog(e);
-                            Resources.close(statement);
-                            String message = e.getMessage();
-                            if (isDatabaseAccessDebug()) log.warn("[DBN] Error executing statement: " + statementText + "\nCause: " + message);
-
-                            boolean unsupported = interfaces.getMessageParserInterface().isModelException(e);
-                            String traceMessage = unsupported ?
-                                    "Model exception received while executing query '" + id +"'. " + message :
-                                    "Too many failed attempts of executing query '" + id +"'. " + message;
-
-                            SQLException traceException = new SQLException(traceMessage, e.getSQLState(), e.getErrorCode(), e);
-
-                            activityTrace.fail(traceException, unsupported);
-                            throw e;
-                        } finally {
-                            activityTrace.release();
-                            if (resultSet == null && statement != null) {
-                                if (statement.isCached()) {
-                                    statement.park();
-                                } else {
-                                    Resources.close(statement);
-                                }
-
-                            }
-                        }
-                    });
+                    () -> executeQuery(definition, context, activityTrace, Collections.singletonList(arguments)));
         } else {
             throw Commons.nvl(
                     activityTrace.getException(),
@@ -186,6 +123,83 @@ public class StatementExecutionProcessor {
         }
     }
 
+    private ResultSet executeQuery(
+            @NotNull StatementDefinition definition,
+            @NotNull StatementExecutorContext context,
+            @NotNull DatabaseActivityTrace activityTrace,
+            List<Object[]> batchArguments) throws SQLException {
+
+        DBNStatement statement = null;
+        ResultSet resultSet = null;
+        String statementText = null;
+        try {
+            activityTrace.init();
+            if (isDatabaseAccessDebug()) {
+                statementText = definition.prepareBatchStatementText(batchArguments);
+                log.info("[DBN] Executing statement: " + statementText);
+            }
+
+            DBNConnection connection = context.getConnection();
+            if (prepared) {
+                DBNPreparedStatement preparedStatement = definition.prepareBatchStatement(connection, batchArguments);
+                statement = preparedStatement;
+                context.setStatement(statement);
+                preparedStatement.setQueryTimeout(timeout);
+                resultSet = preparedStatement.executeQuery();
+                context.log("FETCH_BLOCK", false, false, resultSet.getFetchSize());
+                DBNResultSet.setIdentifier(resultSet, context.getIdentifier());
+                return resultSet;
+            } else {
+                if (statementText == null)
+                    statementText = definition.prepareBatchStatementText(batchArguments);
+                statement = connection.createStatement();
+                context.setStatement(statement);
+                statement.setQueryTimeout(timeout);
+                statement.execute(statementText);
+                if (query) {
+                    try {
+                        resultSet = statement.getResultSet();
+                        context.log("FETCH_BLOCK", false, false, resultSet.getFetchSize());
+                        DBNResultSet.setIdentifier(resultSet, context.getIdentifier());
+                        return resultSet;
+                    } catch (SQLException e) {
+                        conditionallyLog(e);
+                        Resources.close(statement);
+                        return null;
+                    }
+                } else {
+                    Resources.close(statement);
+                    return null;
+                }
+            }
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            Resources.close(statement);
+            String message = e.getMessage();
+            if (isDatabaseAccessDebug()) log.warn("[DBN] Error executing statement: " + statementText + "\nCause: " + message);
+
+            boolean unsupported = interfaces.getMessageParserInterface().isModelException(e);
+            String traceMessage = unsupported ?
+                    "Model exception received while executing query '" + id +"'. " + message :
+                    "Too many failed attempts of executing query '" + id +"'. " + message;
+
+            SQLException traceException = new SQLException(traceMessage, e.getSQLState(), e.getErrorCode(), e);
+
+            activityTrace.fail(traceException, unsupported);
+            throw e;
+        } finally {
+            activityTrace.release();
+            if (resultSet == null && statement != null) {
+                if (statement.isCached()) {
+                    statement.park();
+                } else {
+                    Resources.close(statement);
+                }
+
+            }
+        }
+    }
+
     public <T extends CallableStatementOutput> T executeCall(
             @NotNull DBNConnection connection,
             @Nullable T outputReader,
@@ -1,5 +1,6 @@
 package com.dbn.database.common.util;
 
+import com.dbn.common.cache.Weighable;
 import com.dbn.common.data.Data;
 import com.dbn.common.dispose.StatefulDisposableBase;
 import com.dbn.common.util.Lists;
@@ -22,7 +23,7 @@ import static com.dbn.common.util.Strings.cachedUpperCase;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 
 @Slf4j
-public class CachedResultSet extends StatefulDisposableBase implements ResultSetStub {
+public class CachedResultSet extends StatefulDisposableBase implements ResultSetStub, Weighable {
     private List<CachedResultSetRow> rows = new ArrayList<>();
     private List<String> columnNames;
 
@@ -109,6 +110,11 @@ public class CachedResultSet extends StatefulDisposableBase implements ResultSet
         return rows.get(index);
     }
 
+    @Override
+    public int getCacheWeight() {
+        return rows.size() + 1;
+    }
+
     public boolean isEmpty() {
         return rows.isEmpty();
     }
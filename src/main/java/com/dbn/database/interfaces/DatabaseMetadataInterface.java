@@ -578,6 +578,18 @@ public interface DatabaseMetadataInterface extends DatabaseInterface{
      */
     ResultSet loadReferencingObjects(String ownerName, String objectName, DBNConnection connection) throws SQLException;
 
+    /**
+     * Loads all dependencies touching the given schema (objects of the schema and the objects they reference)
+     * Column names of the returned ResultSet
+     *  <li> OBJECT_OWNER (char)
+     *  <li> OBJECT_NAME (char)
+     *  <li> OBJECT_TYPE (char)
+     *  <li> REFERENCED_OWNER (char)
+     *  <li> REFERENCED_NAME (char)
+     *  <li> REFERENCED_TYPE (char)
+     */
+    ResultSet loadSchemaDependencies(String ownerName, DBNConnection connection) throws SQLException;
+
 
     void setCurrentSchema(String schemaName, DBNConnection connection) throws SQLException;
 
@@ -633,6 +645,12 @@ public interface DatabaseMetadataInterface extends DatabaseInterface{
 
     ResultSet loadObjectChangeTimestamp(String ownerName, String objectName, String objectType, DBNConnection connection) throws SQLException;
 
+    /**
+     * Loads the latest change timestamp of the objects of the given owner.
+     * ResultSet should contain only one row with one timestamp column (name is not relevant)
+     */
+    ResultSet loadSchemaChangeTimestamp(String ownerName, DBNConnection connection) throws SQLException;
+
     void enableTrigger(String ownerName, String triggerName, DBNConnection connection) throws SQLException;
 
     void disableTrigger(String ownerName, String triggerName, DBNConnection connection) throws SQLException;
@@ -641,7 +659,11 @@ public interface DatabaseMetadataInterface extends DatabaseInterface{
 
     void disableConstraint(String ownerName, String tableName, String constraintName, DBNConnection connection) throws SQLException;
 
-    ResultSet loadSessions(DBNConnection connection) throws SQLException;
+    /**
+     * Loads the sessions matching the given user, host and status (empty string or null for no restriction).
+     * Database types not supporting the restrictions return all sessions
+     */
+    ResultSet loadSessions(String user, String host, String status, DBNConnection connection) throws SQLException;
 
     ResultSet loadSessionCurrentSql(Object sessionId, DBNConnection connection) throws SQLException;
 
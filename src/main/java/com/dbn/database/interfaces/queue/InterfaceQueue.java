@@ -8,6 +8,8 @@ import com.dbn.common.thread.Threads;
 import com.dbn.connection.ConnectionHandler;
 import com.dbn.connection.ConnectionRef;
 import com.dbn.database.interfaces.DatabaseInterfaceQueue;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
 import com.intellij.openapi.project.Project;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -15,24 +17,21 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.TimeUnit;
 
 import static com.dbn.common.load.ProgressMonitor.isProgressThread;
-import static com.dbn.database.interfaces.queue.InterfaceTask.COMPARATOR;
 import static com.dbn.database.interfaces.queue.InterfaceTaskStatus.*;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 
 @Slf4j
 public class InterfaceQueue extends StatefulDisposableBase implements DatabaseInterfaceQueue {
     private static final ExecutorService MONITORS = Threads.newCachedThreadPool("DBN - Database Interface Monitor", true);
 
-    private final BlockingQueue<InterfaceTask<?>> queue = new PriorityBlockingQueue<>(11, COMPARATOR);
+    private final InterfaceTaskLanes queue = new InterfaceTaskLanes();
     private final Consumer<InterfaceTask<?>> consumer;
     private final InterfaceCounters counters = new InterfaceCounters();
     private final ConnectionRef connection;
-    private volatile Thread monitor;
 
     public InterfaceQueue(ConnectionHandler connection) {
         this(connection, null);
@@ -69,10 +68,6 @@ public class InterfaceQueue extends StatefulDisposableBase implements DatabaseIn
         return counters;
     }
 
-    private boolean maxActiveTasksExceeded() {
-        return counters.running().get() >= maxActiveTasks();
-    }
-
     @Override
     public int maxActiveTasks() {
         if (connection == null || isDisposed()) return 10;
@@ -111,58 +106,68 @@ public class InterfaceQueue extends StatefulDisposableBase implements DatabaseIn
 
     /**
      * Start monitoring the queue
+     * (waits for tasks dispatchable within the active task limit - see {@link InterfaceTaskLanes})
      */
     @SneakyThrows
     private void monitorQueue() {
-        monitor = Thread.currentThread();
-
         while (!isDisposed()) {
             checkDisposed();
-            parkMonitor();
 
-            InterfaceTask<?> task = queue.take();
+            InterfaceTask<?> task = queue.take(maxActiveTasks(), 1, TimeUnit.SECONDS);
+            if (task == null) continue;
 
-            // increment "running" as early as possible (decision whether to park or unpark the monitor depends on the running counter)
+            // the lane slot of the task is taken from here on, until the task is finished (see finishTask)
             counters.running().increment();
             counters.queued().decrement();
             task.changeStatus(DEQUEUED);
 
-            consumer.accept(task);
-            task.changeStatus(SCHEDULED);
+            try {
+                consumer.accept(task);
+                task.changeStatus(SCHEDULED);
+            } catch (Throwable e) {
+                // task could not be dispatched: fail it and free its slot, keep monitoring
+                conditionallyLog(e);
+                log.warn("Failed to dispatch database interface task", e);
+                task.reject(e);
+                finishTask(task, System.currentTimeMillis());
+            }
         }
     }
 
     void executeTask(InterfaceTask<?> task) {
+        long start = System.currentTimeMillis();
         try {
             task.execute();
         } finally {
-            counters.running().decrement();
-            counters.finished().increment();
             InterfaceThreadMonitor.finish(isProgressThread());
-            task.changeStatus(FINISHED);
-            unparkMonitor();
+            finishTask(task, start);
         }
     }
 
-    private void parkMonitor() {
-        // monitor thread parking itself
-        if (maxActiveTasksExceeded()) {
-            LockSupport.park();
-        }
-
+    private void finishTask(InterfaceTask<?> task, long start) {
+        queue.release(task);
+        counters.finished().increment();
+        counters.running().decrement();
+        task.changeStatus(FINISHED);
+        logDiagnostics(task, start);
     }
 
-    private void unparkMonitor() {
-        // background thread unparking the monitor
-        if (!maxActiveTasksExceeded()) {
-            LockSupport.unpark(monitor);
-        }
+    private void logDiagnostics(InterfaceTask<?> task, long start) {
+        if (connection == null || isDisposed()) return;
+
+        ConnectionHandler connection = getConnection();
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(connection.getProject());
+        DiagnosticBundle<String> diagnostics = diagnosticsManager.getInterfaceQueueDiagnostics(connection.getConnectionId());
+
+        String source = task.getPriority() + (task.getSource().isWaiting() ? "" : " (async)");
+        boolean failure = task.getException() != null;
+        diagnostics.log(source, "WAIT", false, false, start - task.getTimestamp());
+        diagnostics.log(source, "RUN", failure, false, System.currentTimeMillis() - start);
     }
 
     @Override
     public void disposeInner() {
-        while(queue.peek() != null) {
-            InterfaceTask<?> task = queue.remove();
+        for (InterfaceTask<?> task : queue.drain()) {
             task.changeStatus(CANCELLED);
         }
         counters.queued().reset();
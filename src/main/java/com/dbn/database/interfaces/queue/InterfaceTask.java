@@ -11,7 +11,6 @@ import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.SQLException;
-import java.util.Comparator;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.LockSupport;
@@ -23,7 +22,6 @@ import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 @Slf4j
 @Getter
 class InterfaceTask<R> implements TimeAware {
-    public static final Comparator<InterfaceTask<?>> COMPARATOR = (t1, t2) -> t2.request.getPriority().compareTo(t1.request.getPriority());
     private static final long TEN_SECONDS = TimeUnit.SECONDS.toNanos(10);
     private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
 
@@ -61,6 +59,15 @@ class InterfaceTask<R> implements TimeAware {
         return this.response;
     }
 
+    /**
+     * Completes the task with the given failure, without executing it (e.g. if it could not be dispatched)
+     */
+    final void reject(Throwable e) {
+        this.exception = e;
+        status.change(FINISHED);
+        LockSupport.unpark(source.getThread());
+    }
+
     final void awaitCompletion() throws SQLException {
         if (!source.isWaiting()) return;
 
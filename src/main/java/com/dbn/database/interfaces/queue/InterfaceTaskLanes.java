@@ -0,0 +1,128 @@
+package com.dbn.database.interfaces.queue;
+
+import com.dbn.common.Priority;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-{@link Priority} FIFO lanes of {@link InterfaceTask}s with slot accounting.
+ * Tasks are dispatched from the highest priority lane having an available slot.
+ * Lanes below {@link Priority#HIGH} (background loads) can never occupy all slots,
+ * keeping capacity available for interactive work queued behind a burst of background tasks
+ */
+class InterfaceTaskLanes {
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int RESERVED_SLOTS = 1;
+
+    private final ArrayDeque<InterfaceTask<?>>[] lanes;
+    private final int[] running = new int[PRIORITIES.length];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dispatchable = lock.newCondition();
+    private volatile int size;
+
+    @SuppressWarnings("unchecked")
+    InterfaceTaskLanes() {
+        lanes = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    void add(InterfaceTask<?> task) {
+        lock.lock();
+        try {
+            lanes[laneIndex(task)].add(task);
+            size++;
+            dispatchable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until a task can be dispatched within the given slot limit and claims a slot for it.
+     * Returns null if nothing became dispatchable within the given timeout (allows the caller to re-evaluate limits and disposal)
+     */
+    InterfaceTask<?> take(int slots, long timeout, TimeUnit timeUnit) throws InterruptedException {
+        long nanos = timeUnit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (true) {
+                InterfaceTask<?> task = poll(slots);
+                if (task != null) return task;
+                if (nanos <= 0) return null;
+                nanos = dispatchable.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slot claimed by the given task
+     */
+    void release(InterfaceTask<?> task) {
+        lock.lock();
+        try {
+            int laneIndex = laneIndex(task);
+            if (running[laneIndex] > 0) running[laneIndex]--;
+            dispatchable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<InterfaceTask<?>> drain() {
+        lock.lock();
+        try {
+            List<InterfaceTask<?>> tasks = new ArrayList<>(size);
+            for (ArrayDeque<InterfaceTask<?>> lane : lanes) {
+                tasks.addAll(lane);
+                lane.clear();
+            }
+            size = 0;
+            return tasks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private InterfaceTask<?> poll(int slots) {
+        int totalRunning = 0;
+        int backgroundRunning = 0;
+        for (int i = 0; i < running.length; i++) {
+            totalRunning += running[i];
+            if (isBackground(i)) backgroundRunning += running[i];
+        }
+        if (totalRunning >= slots) return null;
+
+        int backgroundSlots = slots > RESERVED_SLOTS ? slots - RESERVED_SLOTS : slots;
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            ArrayDeque<InterfaceTask<?>> lane = lanes[i];
+            if (lane.isEmpty()) continue;
+            if (isBackground(i) && backgroundRunning >= backgroundSlots) break;
+
+            running[i]++;
+            size--;
+            return lane.poll();
+        }
+        return null;
+    }
+
+    private static boolean isBackground(int laneIndex) {
+        return laneIndex < Priority.HIGH.ordinal();
+    }
+
+    private static int laneIndex(InterfaceTask<?> task) {
+        return task.getPriority().ordinal();
+    }
+}
@@ -1,5 +1,6 @@
 package com.dbn.database.sqlite.adapter;
 
+import com.dbn.common.cache.Weighable;
 import com.dbn.common.util.Commons;
 import com.dbn.common.util.Strings;
 import com.dbn.database.common.util.ResultSetReader;
@@ -177,7 +178,7 @@ public class SqliteRawMetaData {
         }
     }
 
-    private abstract static class RawMetaData<T> extends ResultSetReader {
+    private abstract static class RawMetaData<T> extends ResultSetReader implements Weighable {
         private List<T> rows;
         RawMetaData(ResultSet resultSet) throws SQLException {
             super(resultSet);
@@ -197,6 +198,11 @@ public class SqliteRawMetaData {
             return Commons.nvl(rows, Collections.emptyList());
         }
 
+        @Override
+        public int getCacheWeight() {
+            return getRows().size() + 1;
+        }
+
         protected abstract T createRow(ResultSet resultSet) throws SQLException;
     }
 }
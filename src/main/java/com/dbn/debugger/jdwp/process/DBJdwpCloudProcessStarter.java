@@ -49,10 +49,13 @@ import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 @Slf4j
 public abstract class DBJdwpCloudProcessStarter extends DBJdwpProcessStarter{
 
+    private static final byte[] HANDSHAKE = "JDWP-Handshake".getBytes(StandardCharsets.UTF_8);
+
     private String jdwpHostPort = null;
-    private NSTunnelConnectionProxy debugConnection = null;
-    private final ByteBuffer readBuffer = ByteBuffer.allocate(320000);
-    private final ByteBuffer writeBuffer = ByteBuffer.allocate(320000);
+    private volatile NSTunnelConnectionProxy debugConnection = null;
+    private final JdwpPacketRing readRing = new JdwpPacketRing(512 * 1024);
+    private final Object readLock = new Object();
+    private final Object writeLock = new Object();
 
     DBJdwpCloudProcessStarter(ConnectionHandler connection) {
         super(connection);
@@ -239,59 +242,42 @@ public abstract class DBJdwpCloudProcessStarter extends DBJdwpProcessStarter{
     }
 
     void doHandCheck() throws IOException {
-        System.out.println("handshake starts ...........");
-        byte[] hello = "JDWP-Handshake".getBytes(StandardCharsets.UTF_8);
-        readBuffer.clear();
-        writeBuffer.clear();
-        debugConnection.read(readBuffer);
-        byte[] hello_read = new byte[hello.length];
-        readBuffer.get(hello_read);
-        if (Arrays.compare(hello, hello_read) == 0) { // TODO java 8 compatibility issue
-            System.out.println("handshake not done");
+        log.info("JDWP handshake starts");
+        synchronized (readLock) {
+            readRing.reset();
+            byte[] hello = readRing.readFully(tunnel(), HANDSHAKE.length);
+            if (!Arrays.equals(HANDSHAKE, hello)) {
+                log.warn("Unexpected JDWP handshake {}", new String(hello, StandardCharsets.UTF_8));
+            }
         }
-        writePackets(hello);
-        readBuffer.clear();
-
-        System.out.println("handshake finishes ...........");
+        writePackets(HANDSHAKE);
+        log.info("JDWP handshake finishes");
     }
 
-    // read just one packet at each time called
-    // and buffer the rest
+    /**
+     * Reads one packet at a time, buffering the rest of the tunnel data in the read ring.
+     * Reads and writes are guarded by separate locks so the JDI reader and writer threads do not block each other
+     */
     byte[] readPackets() throws IOException {
-        if (readBuffer.position() > 0) {
-            // the buffer contains incomplete packet
-            int packetLength = readBuffer.getInt(0);
-            while(readBuffer.position() < packetLength) {
-                debugConnection.read(readBuffer);
-            }
-
-            readBuffer.flip();
-            byte[] packet = new byte[packetLength];
-            readBuffer.get(packet);
-
-            if (readBuffer.hasRemaining()) {
-                byte[] extra = new byte[readBuffer.limit() - readBuffer.position()];
-                readBuffer.get(extra);
-                readBuffer.clear();
-                readBuffer.put(extra);
-            } else {
-                readBuffer.clear();
+        synchronized (readLock) {
+            NSTunnelConnectionProxy tunnel = tunnel();
+            while (!readRing.hasPacket()) {
+                readRing.fill(tunnel);
             }
-
-            return packet;
+            return readRing.nextPacket();
         }
-
-        readBuffer.clear();
-        debugConnection.read(readBuffer);
-        return readPackets();
-
     }
 
+    void writePackets(byte[] bytes) throws IOException {
+        synchronized (writeLock) {
+            tunnel().write(ByteBuffer.wrap(bytes));
+        }
+    }
 
-    synchronized void writePackets(byte[] bytes) throws IOException {
-        writeBuffer.clear();
-        writeBuffer.put(bytes);
-        writeBuffer.flip();
-        debugConnection.write(writeBuffer);
+    @NotNull
+    private NSTunnelConnectionProxy tunnel() throws IOException {
+        NSTunnelConnectionProxy tunnel = debugConnection;
+        if (tunnel == null) throw new IOException("Debug connection closed");
+        return tunnel;
     }
 }
@@ -0,0 +1,140 @@
+package com.dbn.debugger.jdwp.process;
+
+import com.dbn.debugger.jdwp.process.tunnel.NSTunnelConnectionProxy;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Framing of the JDWP packets received through the cloud debugger tunnel.
+ * Tunnel reads land in a direct ring buffer and the packet boundaries are resolved from the length header in place,
+ * so the bytes of a packet are copied exactly once, from the ring into the packet handed to the JDI (see {@link #nextPacket()}).
+ * The ring grows (power of two) when a packet does not fit. Not thread safe, meant to be used by the JDI reader thread only
+ */
+final class JdwpPacketRing {
+    static final int HEADER_LENGTH = 11;
+
+    private ByteBuffer buffer;
+    private ByteBuffer fillView;
+    private ByteBuffer readView;
+    private int mask;
+    private long head; // consumed
+    private long tail; // filled
+
+    JdwpPacketRing(int capacity) {
+        allocate(capacity <= 16 ? 16 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private void allocate(int capacity) {
+        buffer = ByteBuffer.allocateDirect(capacity);
+        fillView = buffer.duplicate();
+        readView = buffer.duplicate();
+        mask = capacity - 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int available() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * Reads the next chunk of tunnel data into the contiguous free space of the ring
+     * @return the number of bytes read
+     */
+    int fill(NSTunnelConnectionProxy tunnel) throws IOException {
+        if (available() == capacity()) grow(capacity() << 1);
+
+        int start = index(tail);
+        int end = Math.min(capacity(), start + capacity() - available());
+        fillView.clear();
+        fillView.position(start).limit(end);
+
+        int result = tunnel.read(fillView);
+        int count = fillView.position() - start;
+        if (count == 0 && result < 0) throw new EOFException("Debugger tunnel closed");
+
+        tail += count;
+        return count;
+    }
+
+    /**
+     * Length of the next packet, parsed from the header in place
+     * @return the packet length or -1 if the length header is not yet received
+     */
+    int nextPacketLength() throws IOException {
+        if (available() < 4) return -1;
+
+        int length = 0;
+        for (int i = 0; i < 4; i++) {
+            length = (length << 8) | (buffer.get(index(head + i)) & 0xFF);
+        }
+        if (length < HEADER_LENGTH) throw new IOException("Invalid JDWP packet length " + length);
+        return length;
+    }
+
+    boolean hasPacket() throws IOException {
+        int length = nextPacketLength();
+        return length > 0 && available() >= length;
+    }
+
+    /**
+     * Consumes the next complete packet (see {@link #hasPacket()})
+     */
+    byte[] nextPacket() throws IOException {
+        int length = nextPacketLength();
+        if (length < 0 || available() < length) throw new IllegalStateException("No complete packet available");
+
+        byte[] packet = new byte[length];
+        consume(packet);
+        return packet;
+    }
+
+    /**
+     * Consumes the given number of raw bytes (e.g. the handshake), reading from the tunnel as needed
+     */
+    byte[] readFully(NSTunnelConnectionProxy tunnel, int length) throws IOException {
+        while (available() < length) {
+            fill(tunnel);
+        }
+        byte[] bytes = new byte[length];
+        consume(bytes);
+        return bytes;
+    }
+
+    void reset() {
+        head = 0;
+        tail = 0;
+    }
+
+    private void consume(byte[] target) {
+        int start = index(head);
+        int first = Math.min(target.length, capacity() - start);
+        readView.clear();
+        readView.position(start);
+        readView.get(target, 0, first);
+        if (first < target.length) {
+            readView.clear();
+            readView.get(target, first, target.length - first);
+        }
+        head += target.length;
+    }
+
+    private void grow(int capacity) {
+        byte[] content = new byte[available()];
+        consume(content);
+
+        allocate(capacity);
+        buffer.put(content);
+        buffer.clear();
+        head = 0;
+        tail = content.length;
+    }
+
+    private int index(long position) {
+        return (int) (position & mask);
+    }
+}
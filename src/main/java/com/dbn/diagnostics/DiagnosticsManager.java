@@ -9,9 +9,14 @@ import com.dbn.common.component.ProjectComponentBase;
 import com.dbn.common.dispose.Disposer;
 import com.dbn.common.ui.form.DBNForm;
 import com.dbn.common.util.Dialogs;
+import com.dbn.connection.ConnectionHandler;
 import com.dbn.connection.ConnectionId;
 import com.dbn.connection.SessionId;
 import com.dbn.diagnostics.data.DiagnosticBundle;
+import com.dbn.diagnostics.data.DiagnosticEntry;
+import com.dbn.diagnostics.data.DiagnosticHistogram;
+import com.dbn.diagnostics.data.DiagnosticHistogramWindow;
+import com.dbn.diagnostics.data.DiagnosticSnapshotEvent;
 import com.dbn.diagnostics.ui.ConnectionDiagnosticsForm;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
@@ -22,17 +27,33 @@ import com.intellij.ui.content.Content;
 import com.intellij.ui.content.ContentFactory;
 import com.intellij.ui.content.ContentManager;
 import com.intellij.util.Producer;
+import jdk.jfr.FlightRecorder;
+import lombok.extern.slf4j.Slf4j;
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static com.dbn.common.action.UserDataKeys.DIAGNOSTIC_CONTENT_CATEGORY;
 import static com.dbn.common.action.UserDataKeys.DIAGNOSTIC_CONTENT_FORM;
 import static com.dbn.common.component.Components.projectService;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 
+@Slf4j
 @State(
     name = DiagnosticsManager.COMPONENT_NAME,
     storages = @Storage(DatabaseNavigator.STORAGE_FILE)
@@ -43,9 +64,16 @@ public class DiagnosticsManager extends ProjectComponentBase implements Persiste
 
     private final Map<ConnectionId, DiagnosticBundle<String>> metadataInterfaceDiagnostics = new ConcurrentHashMap<>();
     private final Map<ConnectionId, DiagnosticBundle<SessionId>> connectivityDiagnostics = new ConcurrentHashMap<>();
+    private final Map<ConnectionId, DiagnosticBundle<String>> interfaceQueueDiagnostics = new ConcurrentHashMap<>();
+    private final Map<ConnectionId, DiagnosticBundle<String>> metadataCacheDiagnostics = new ConcurrentHashMap<>();
+    private final Map<ConnectionId, DiagnosticBundle<String>> connectionPoolDiagnostics = new ConcurrentHashMap<>();
+    private final Map<ConnectionId, DiagnosticBundle<String>> statementExecutionDiagnostics = new ConcurrentHashMap<>();
+
+    private final Runnable snapshotEventsEmitter = () -> emitSnapshotEvents();
 
     private DiagnosticsManager(@NotNull Project project) {
         super(project, COMPONENT_NAME);
+        registerSnapshotEvents();
     }
 
     public static DiagnosticsManager getInstance(@NotNull Project project) {
@@ -62,6 +90,154 @@ public class DiagnosticsManager extends ProjectComponentBase implements Persiste
                 computeIfAbsent(connectionId, id -> DiagnosticBundle.basic(DiagnosticType.DATABASE_CONNECTIVITY));
     }
 
+    public DiagnosticBundle<String> getInterfaceQueueDiagnostics(ConnectionId connectionId) {
+        return interfaceQueueDiagnostics.
+                computeIfAbsent(connectionId, id -> DiagnosticBundle.composite(DiagnosticType.INTERFACE_QUEUE));
+    }
+
+    public DiagnosticBundle<String> getMetadataCacheDiagnostics(ConnectionId connectionId) {
+        return metadataCacheDiagnostics.
+                computeIfAbsent(connectionId, id -> DiagnosticBundle.composite(DiagnosticType.METADATA_CACHE));
+    }
+
+    public DiagnosticBundle<String> getConnectionPoolDiagnostics(ConnectionId connectionId) {
+        return connectionPoolDiagnostics.
+                computeIfAbsent(connectionId, id -> DiagnosticBundle.basic(DiagnosticType.CONNECTION_POOL));
+    }
+
+    public DiagnosticBundle<String> getStatementExecutionDiagnostics(ConnectionId connectionId) {
+        return statementExecutionDiagnostics.
+                computeIfAbsent(connectionId, id -> DiagnosticBundle.basic(DiagnosticType.STATEMENT_EXECUTION));
+    }
+
+    private Map<ConnectionId, List<DiagnosticBundle<?>>> getAllDiagnostics() {
+        Map<ConnectionId, List<DiagnosticBundle<?>>> diagnostics = new TreeMap<>(Comparator.comparing(ConnectionId::id));
+        List<Map<ConnectionId, ? extends DiagnosticBundle<?>>> bundles = Arrays.asList(
+                metadataInterfaceDiagnostics,
+                connectivityDiagnostics,
+                interfaceQueueDiagnostics,
+                metadataCacheDiagnostics,
+                connectionPoolDiagnostics,
+                statementExecutionDiagnostics);
+
+        for (Map<ConnectionId, ? extends DiagnosticBundle<?>> bundle : bundles) {
+            bundle.forEach((id, b) -> diagnostics.computeIfAbsent(id, i -> new ArrayList<>()).add(b));
+        }
+        return diagnostics;
+    }
+
+    /**
+     * Writes the current state of the connection diagnostics as CSV, one line per diagnostic entry detail
+     * with the cumulated figures and the percentiles of the last minutes (see {@link DiagnosticHistogramWindow})
+     */
+    public void exportDiagnostics(@NotNull File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("Connection,Type,Identifier,Qualifier,Invocations,Failures,Timeouts,Average,Worst," +
+                    "P50,P95,P99,Window Count,Window P50,Window P95,Window P99,Window Max\n");
+
+            for (Map.Entry<ConnectionId, List<DiagnosticBundle<?>>> diagnostics : getAllDiagnostics().entrySet()) {
+                String connection = getConnectionName(diagnostics.getKey());
+                for (DiagnosticBundle<?> bundle : diagnostics.getValue()) {
+                    for (Object key : bundle.getKeys()) {
+                        DiagnosticEntry<?> entry = getEntry(bundle, key);
+                        for (Map.Entry<String, ? extends DiagnosticEntry<?>> detail : entry.getDetails().entrySet()) {
+                            DiagnosticEntry<?> e = detail.getValue();
+                            DiagnosticHistogram histogram = e.getHistogram();
+                            DiagnosticHistogramWindow.Snapshot snapshot = e.getWindow().snapshot();
+                            writer.write(String.join(",",
+                                    csv(connection),
+                                    csv(bundle.getType().name()),
+                                    csv(String.valueOf(key)),
+                                    csv(detail.getKey()),
+                                    Long.toString(e.getInvocations()),
+                                    Long.toString(e.getFailures()),
+                                    Long.toString(e.getTimeouts()),
+                                    Long.toString(e.getAverage()),
+                                    Long.toString(e.getWorst()),
+                                    Long.toString(histogram.getPercentile(50)),
+                                    Long.toString(histogram.getPercentile(95)),
+                                    Long.toString(histogram.getPercentile(99)),
+                                    Long.toString(snapshot.getCount()),
+                                    Long.toString(snapshot.getP50()),
+                                    Long.toString(snapshot.getP95()),
+                                    Long.toString(snapshot.getP99()),
+                                    Long.toString(snapshot.getMax())));
+                            writer.write("\n");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> DiagnosticEntry<T> getEntry(DiagnosticBundle<T> bundle, Object key) {
+        return bundle.get((T) key);
+    }
+
+    private static String getConnectionName(ConnectionId connectionId) {
+        ConnectionHandler connection = ConnectionHandler.get(connectionId);
+        return connection == null ? connectionId.id() : connection.getName();
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /*********************************************
+     *               Flight Recorder             *
+     *********************************************/
+    private void registerSnapshotEvents() {
+        if (!FlightRecorder.isAvailable()) return;
+        try {
+            FlightRecorder.addPeriodicEvent(DiagnosticSnapshotEvent.class, snapshotEventsEmitter);
+        } catch (Throwable e) {
+            conditionallyLog(e);
+            log.warn("Failed to register diagnostic snapshot events", e);
+        }
+    }
+
+    private void unregisterSnapshotEvents() {
+        if (!FlightRecorder.isAvailable()) return;
+        try {
+            FlightRecorder.removePeriodicEvent(snapshotEventsEmitter);
+        } catch (Throwable e) {
+            conditionallyLog(e);
+        }
+    }
+
+    /**
+     * Emits one {@link DiagnosticSnapshotEvent} for every diagnostic entry detail logged within the last minutes.
+     * Invoked by the flight recorder, only while a recording has the event enabled
+     */
+    private void emitSnapshotEvents() {
+        for (Map.Entry<ConnectionId, List<DiagnosticBundle<?>>> diagnostics : getAllDiagnostics().entrySet()) {
+            String connection = getConnectionName(diagnostics.getKey());
+            for (DiagnosticBundle<?> bundle : diagnostics.getValue()) {
+                for (Object key : bundle.getKeys()) {
+                    DiagnosticEntry<?> entry = getEntry(bundle, key);
+                    for (Map.Entry<String, ? extends DiagnosticEntry<?>> detail : entry.getDetails().entrySet()) {
+                        DiagnosticHistogramWindow.Snapshot snapshot = detail.getValue().getWindow().snapshot();
+                        if (snapshot.getCount() == 0) continue;
+
+                        DiagnosticSnapshotEvent event = new DiagnosticSnapshotEvent();
+                        event.connection = connection;
+                        event.type = bundle.getType().name();
+                        event.identifier = String.valueOf(key);
+                        event.qualifier = detail.getKey();
+                        event.count = snapshot.getCount();
+                        event.p50 = snapshot.getP50();
+                        event.p95 = snapshot.getP95();
+                        event.p99 = snapshot.getP99();
+                        event.max = snapshot.getMax();
+                        event.commit();
+                    }
+                }
+            }
+        }
+    }
+
     public void openDiagnosticsSettings() {
         Dialogs.show(() -> new DiagnosticSettingsDialog(getProject()));
     }
@@ -162,8 +338,13 @@ public class DiagnosticsManager extends ProjectComponentBase implements Persiste
 
     @Override
     public void disposeInner() {
+        unregisterSnapshotEvents();
         metadataInterfaceDiagnostics.clear();
         connectivityDiagnostics.clear();
+        interfaceQueueDiagnostics.clear();
+        metadataCacheDiagnostics.clear();
+        connectionPoolDiagnostics.clear();
+        statementExecutionDiagnostics.clear();
         super.disposeInner();
     }
 }
@@ -6,8 +6,10 @@ import com.dbn.common.component.ProjectComponentBase;
 import com.dbn.common.file.util.FileSearchRequest;
 import com.dbn.common.file.util.VirtualFiles;
 import com.dbn.common.notification.NotificationSupport;
+import com.dbn.common.thread.Dispatch;
 import com.dbn.common.thread.Progress;
 import com.dbn.common.thread.Read;
+import com.dbn.common.thread.Write;
 import com.dbn.common.util.Commons;
 import com.dbn.common.util.Lists;
 import com.dbn.diagnostics.data.DiagnosticCategory;
@@ -15,12 +17,16 @@ import com.dbn.diagnostics.data.ParserDiagnosticsFilter;
 import com.dbn.diagnostics.data.ParserDiagnosticsResult;
 import com.dbn.diagnostics.data.ParserDiagnosticsUtil;
 import com.dbn.diagnostics.ui.ParserDiagnosticsForm;
+import com.dbn.language.common.DBLanguageDialect;
 import com.dbn.language.common.DBLanguageFileType;
 import com.dbn.language.common.DBLanguagePsiFile;
+import com.dbn.language.common.StatementChunker;
+import com.dbn.language.common.element.StatementChunkElementType;
 import com.dbn.language.common.psi.PsiUtil;
 import com.dbn.language.common.psi.scrambler.DBLLanguageFileScrambler;
 import com.dbn.language.psql.PSQLFileType;
 import com.dbn.language.sql.SQLFileType;
+import com.intellij.lang.ASTNode;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.fileTypes.ExtensionFileNameMatcher;
@@ -31,6 +37,8 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.source.tree.TreeUtil;
+import com.intellij.psi.text.BlockSupport;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jdom.Element;
@@ -41,7 +49,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.dbn.common.component.Components.projectService;
 import static com.dbn.common.notification.NotificationGroup.DEVELOPER;
@@ -139,6 +149,115 @@ public class ParserDiagnosticsManager extends ProjectComponentBase implements Pe
         }
     }
 
+    /**
+     * Measures the full parse time of the large project files against the latency of single-character edits
+     * reparsed incrementally, at evenly distributed offsets in the file, per file and for the whole corpus.
+     * The measurements are performed on in-memory copies of the files
+     */
+    public void runReparseBenchmark(ProgressIndicator progress) {
+        try {
+            running = true;
+            String[] extensions = getFileExtensions();
+            FileSearchRequest searchRequest = FileSearchRequest.forExtensions(extensions);
+            VirtualFile[] files = VirtualFiles.findFiles(getProject(), searchRequest);
+
+            List<String> results = new ArrayList<>();
+            List<Long> corpusTimes = new ArrayList<>();
+            long corpusLength = 0;
+            for (int i = 0, filesLength = files.length; i < filesLength; i++) {
+                VirtualFile file = files[i];
+                progress.checkCanceled();
+                progress.setText(file.getPath());
+                progress.setFraction(Progress.progressOf(i, files.length));
+
+                DBLanguagePsiFile psiFile = ensureFileParsed(file);
+                if (psiFile == null) continue;
+
+                String text = Read.call(psiFile, f -> f.getText());
+                if (text.length() < StatementChunker.MIN_FILE_LENGTH) continue;
+
+                String result = runReparseBenchmark(psiFile, text, progress, corpusTimes);
+                if (result == null) continue;
+
+                log.info("Reparse benchmark {}: {}", file.getPath(), result);
+                results.add(file.getName() + ": " + result);
+                corpusLength += text.length();
+            }
+
+            if (!results.isEmpty()) {
+                corpusTimes.sort(null);
+                String result = results.size() + " files, " +
+                        corpusLength / 1024 + "KB, " +
+                        "reparse median " + corpusTimes.get(corpusTimes.size() / 2) + "ms, " +
+                        "max " + corpusTimes.get(corpusTimes.size() - 1) + "ms";
+
+                log.info("Reparse benchmark corpus: {}", result);
+                results.add(0, "Corpus: " + result);
+            }
+
+            String message = results.isEmpty() ?
+                    txt("ntf.diagnostics.info.ReparseBenchmarkNoFiles", StatementChunker.MIN_FILE_LENGTH / 1024) :
+                    txt("ntf.diagnostics.info.ReparseBenchmarkResult", String.join("\n", results));
+            NotificationSupport.sendInfoNotification(getProject(), DEVELOPER, message);
+        } finally {
+            running = false;
+        }
+    }
+
+    @Nullable
+    private String runReparseBenchmark(DBLanguagePsiFile psiFile, String text, ProgressIndicator progress, List<Long> corpusTimes) {
+        Project project = getProject();
+        DBLanguageDialect languageDialect = psiFile.getLanguageDialect();
+        if (languageDialect == null) return null;
+
+        long start = System.nanoTime();
+        DBLanguagePsiFile copy = DBLanguagePsiFile.createFromText(project, psiFile.getName(), languageDialect, text, psiFile.getConnection(), psiFile.getSchemaId());
+        if (copy == null) return null;
+        Read.run(() -> TreeUtil.ensureParsed(copy.getNode()));
+        long parseTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int chunks = Read.call(copy, f -> countStatementChunks(f));
+
+        int samples = 10;
+        long[] reparseTimes = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            progress.checkCanceled();
+            // each previous edit inserted one character ahead of the current offset
+            int offset = nextWhitespaceOffset(text, text.length() * (i + 1) / (samples + 1)) + i;
+            reparseTimes[i] = Dispatch.call(() -> Write.compute(() -> {
+                long reparseStart = System.nanoTime();
+                BlockSupport.getInstance(project).reparseRange(copy, offset, offset, " ");
+                copy.findElementAt(offset);
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - reparseStart);
+            }));
+            corpusTimes.add(reparseTimes[i]);
+        }
+        Arrays.sort(reparseTimes);
+
+        return text.length() / 1024 + "KB, " +
+                (chunks == 0 ? "not chunked, " : chunks + " chunks, ") +
+                "full parse " + parseTime + "ms, " +
+                "reparse median " + reparseTimes[samples / 2] + "ms, " +
+                "max " + reparseTimes[samples - 1] + "ms";
+    }
+
+    private static int countStatementChunks(DBLanguagePsiFile file) {
+        int count = 0;
+        for (ASTNode child = file.getNode().getFirstChildNode(); child != null; child = child.getTreeNext()) {
+            if (child.getElementType() instanceof StatementChunkElementType) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Edits are placed on whitespace, to leave the token structure of the file intact
+     */
+    private static int nextWhitespaceOffset(String text, int offset) {
+        for (int i = offset; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) return i;
+        }
+        return offset;
+    }
+
     public String[] getFileExtensions() {
         List<String> extensions = new ArrayList<>();
         collectFileExtensions(extensions, SQLFileType.INSTANCE);
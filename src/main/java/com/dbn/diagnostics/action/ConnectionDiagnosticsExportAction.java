@@ -0,0 +1,53 @@
+package com.dbn.diagnostics.action;
+
+import com.dbn.common.action.ProjectAction;
+import com.dbn.common.thread.Progress;
+import com.dbn.common.util.Messages;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.Presentation;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.fileChooser.FileSaverDialog;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+public class ConnectionDiagnosticsExportAction extends ProjectAction {
+    @Override
+    protected void actionPerformed(@NotNull AnActionEvent e, @NotNull Project project) {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(
+                "Export Connection Diagnostics",
+                "Select destination file for the connection diagnostics snapshot", "csv");
+
+        FileSaverDialog dialog = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project);
+        VirtualFileWrapper fileWrapper = dialog.save((VirtualFile) null, "connection-diagnostics.csv");
+        if (fileWrapper == null) return;
+
+        File file = fileWrapper.getFile();
+        Progress.prompt(project, null, false,
+                "Exporting diagnostics",
+                "Exporting connection diagnostics to " + file.getName(),
+                progress -> {
+                    try {
+                        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(project);
+                        diagnosticsManager.exportDiagnostics(file);
+                    } catch (IOException ex) {
+                        conditionallyLog(ex);
+                        Messages.showErrorDialog(project, "Could not export connection diagnostics to " + file.getName(), ex);
+                    }
+                });
+    }
+
+    @Override
+    protected void update(@NotNull AnActionEvent e, @NotNull Project project) {
+        Presentation presentation = e.getPresentation();
+        presentation.setText("Export Connection Diagnostics...");
+    }
+}
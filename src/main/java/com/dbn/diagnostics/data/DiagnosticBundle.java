@@ -30,6 +30,10 @@ public final class DiagnosticBundle<T extends Comparable<T>> {
         return new DiagnosticBundle<>(type, true);
     }
 
+    public DiagnosticType getType() {
+        return type;
+    }
+
     public int getSignature() {
         return signature;
     }
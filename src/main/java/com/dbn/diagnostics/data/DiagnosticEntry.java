@@ -1,5 +1,7 @@
 package com.dbn.diagnostics.data;
 
+import java.util.Map;
+
 public interface DiagnosticEntry<T> {
     String DEFAULT_QUALIFIER = "DEFAULT";
 
@@ -11,6 +13,11 @@ public interface DiagnosticEntry<T> {
 
     DiagnosticEntry<T> getDetail(String qualifier);
 
+    /**
+     * The detail entries by qualifier (the entry itself for non-composite entries)
+     */
+    Map<String, DiagnosticEntry<T>> getDetails();
+
     long getInvocations();
 
     long getFailures();
@@ -25,6 +32,10 @@ public interface DiagnosticEntry<T> {
 
     long getAverage();
 
+    DiagnosticHistogram getHistogram();
+
+    DiagnosticHistogramWindow getWindow();
+
     void log(boolean failure, boolean timeout, long value);
 
     class Delegate<T> implements DiagnosticEntry<T> {
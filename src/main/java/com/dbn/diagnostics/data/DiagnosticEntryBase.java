@@ -2,6 +2,8 @@ package com.dbn.diagnostics.data;
 
 import lombok.Getter;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -16,6 +18,8 @@ public class DiagnosticEntryBase<T> implements DiagnosticEntry<T> {
     private final AtomicLong total = new AtomicLong();
     private final AtomicLong best = new AtomicLong();
     private final AtomicLong worst = new AtomicLong();
+    private final DiagnosticHistogram histogram = new DiagnosticHistogram();
+    private final DiagnosticHistogramWindow window = new DiagnosticHistogramWindow();
 
     public DiagnosticEntryBase(T identifier) {
         this.identifier = identifier;
@@ -34,6 +38,11 @@ public class DiagnosticEntryBase<T> implements DiagnosticEntry<T> {
         return this;
     }
 
+    @Override
+    public Map<String, DiagnosticEntry<T>> getDetails() {
+        return Collections.singletonMap(qualifier, this);
+    }
+
     @Override
     public long getInvocations() {
         return invocations.get();
@@ -89,6 +98,8 @@ public class DiagnosticEntryBase<T> implements DiagnosticEntry<T> {
         }
 
         total.addAndGet(value);
+        histogram.record(value);
+        window.record(value);
     }
 
 
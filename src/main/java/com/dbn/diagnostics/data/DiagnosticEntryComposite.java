@@ -1,6 +1,7 @@
 package com.dbn.diagnostics.data;
 
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class DiagnosticEntryComposite<T extends Comparable<T>> extends DiagnosticEntry.Delegate<T> {
@@ -14,4 +15,9 @@ public class DiagnosticEntryComposite<T extends Comparable<T>> extends Diagnosti
     public DiagnosticEntry<T> getDetail(String qualifier) {
         return details.computeIfAbsent(qualifier, q -> new DiagnosticEntryBase<>(identifier));
     }
+
+    @Override
+    public Map<String, DiagnosticEntry<T>> getDetails() {
+        return new TreeMap<>(details);
+    }
 }
@@ -0,0 +1,103 @@
+package com.dbn.diagnostics.data;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram with fixed memory footprint.
+ * Values below {@link #LINEAR_LIMIT} are recorded exactly, larger values fall into
+ * {@link #SUB_BUCKETS} linear sub-buckets per power of two (max relative error 12.5%)
+ */
+public final class DiagnosticHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int LINEAR_BITS = Integer.numberOfTrailingZeros(LINEAR_LIMIT);
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (Long.SIZE - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+
+    public DiagnosticHistogram() {
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+    }
+
+    /**
+     * Histogram covering the values up to the given max value only.
+     * Larger values are recorded in the last bucket
+     */
+    DiagnosticHistogram(long maxValue) {
+        this.buckets = new AtomicLongArray(bucketIndex(maxValue) + 1);
+    }
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(Math.min(bucketIndex(value), buckets.length() - 1));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the (upper bound) value at the given percentile
+     * @param percentile value between 0 and 100
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[buckets.length()];
+        collect(counts);
+        return percentile(counts, percentile);
+    }
+
+    /**
+     * Adds the bucket counts of this histogram to the given counts
+     */
+    void collect(long[] counts) {
+        int length = Math.min(counts.length, buckets.length());
+        for (int i = 0; i < length; i++) {
+            counts[i] += buckets.get(i);
+        }
+    }
+
+    static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) return 0;
+
+        long threshold = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long cumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulated += counts[i];
+            if (cumulated >= threshold) return bucketUpperBound(i);
+        }
+        return bucketUpperBound(counts.length - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) return index;
+
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long lowerBound = (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + width - 1;
+    }
+}
@@ -0,0 +1,108 @@
+package com.dbn.diagnostics.data;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sliding time window over a {@link DiagnosticHistogram}: the values are recorded in a ring of one-minute slots,
+ * and the {@link Snapshot} merges the slots of the last {@link #SLOTS} minutes.
+ * Slots are allocated on first record within their minute and replaced (not reset) when the ring wraps around,
+ * so recording stays lock-free and idle entries do not hold any histogram memory beyond their last active minutes
+ */
+public final class DiagnosticHistogramWindow {
+    public static final int SLOTS = 5;
+    private static final long SLOT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long MAX_VALUE = TimeUnit.HOURS.toMillis(1);
+
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOTS);
+
+    public void record(long value) {
+        record(value, System.currentTimeMillis());
+    }
+
+    void record(long value, long timestamp) {
+        long epoch = timestamp / SLOT_MILLIS;
+        int index = (int) (epoch % SLOTS);
+
+        Slot slot = slots.get(index);
+        while (slot == null || slot.epoch < epoch) {
+            Slot newSlot = new Slot(epoch);
+            if (slots.compareAndSet(index, slot, newSlot)) {
+                slot = newSlot;
+            } else {
+                slot = slots.get(index);
+            }
+        }
+        slot.record(value);
+    }
+
+    public Snapshot snapshot() {
+        return snapshot(System.currentTimeMillis());
+    }
+
+    Snapshot snapshot(long timestamp) {
+        long epoch = timestamp / SLOT_MILLIS;
+        long[] counts = new long[DiagnosticHistogram.bucketIndex(MAX_VALUE) + 1];
+        long max = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            Slot slot = slots.get(i);
+            if (slot == null || slot.epoch <= epoch - SLOTS || slot.epoch > epoch) continue;
+
+            slot.histogram.collect(counts);
+            max = Math.max(max, slot.max.get());
+        }
+        return new Snapshot(counts, max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private static final class Slot {
+        private final long epoch;
+        private final DiagnosticHistogram histogram = new DiagnosticHistogram(MAX_VALUE);
+        private final AtomicLong max = new AtomicLong();
+
+        private Slot(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void record(long value) {
+            histogram.record(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Point in time view of the window. Percentiles are bucket upper bounds, capped at the max value
+     */
+    @Getter
+    public static final class Snapshot {
+        private final long count;
+        private final long max;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+
+        private Snapshot(long[] counts, long max) {
+            long count = 0;
+            for (long c : counts) count += c;
+
+            this.count = count;
+            this.max = max;
+            this.p50 = Math.min(max, DiagnosticHistogram.percentile(counts, 50));
+            this.p95 = Math.min(max, DiagnosticHistogram.percentile(counts, 95));
+            this.p99 = Math.min(max, DiagnosticHistogram.percentile(counts, 99));
+        }
+
+        @Override
+        public String toString() {
+            return count == 0 ? "-" : p50 + " / " + p95 + " / " + p99 + " / " + max;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dbn.diagnostics.data;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR custom event carrying the sliding window latency snapshot of a diagnostic entry.
+ * Emitted periodically while a flight recording with this event enabled is active (see {@link com.dbn.diagnostics.DiagnosticsManager})
+ */
+@Name("com.dbn.DiagnosticSnapshot")
+@Label("Diagnostic Snapshot")
+@Category({"Database Navigator", "Diagnostics"})
+@Description("Percentiles of the values logged in the last minutes for a database navigator diagnostic entry (times in milliseconds)")
+@Period("60 s")
+@StackTrace(false)
+public class DiagnosticSnapshotEvent extends jdk.jfr.Event {
+    @Label("Connection")
+    public String connection;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Identifier")
+    public String identifier;
+
+    @Label("Qualifier")
+    public String qualifier;
+
+    @Label("Count")
+    public long count;
+
+    @Label("p50")
+    public long p50;
+
+    @Label("p95")
+    public long p95;
+
+    @Label("p99")
+    public long p99;
+
+    @Label("Max")
+    public long max;
+}
@@ -3,5 +3,10 @@ package com.dbn.diagnostics.data;
 public enum DiagnosticType {
     METADATA_INTERFACE,
     DATABASE_CONNECTIVITY,
+    INTERFACE_QUEUE,
+    METADATA_CACHE,
     LANGUAGE_PARSER,
+    CONNECTION_POOL,
+    STATEMENT_EXECUTION,
+    KEYED_LOCKS,
 }
@@ -8,8 +8,13 @@ import com.dbn.common.ui.table.DBNMutableTableModel;
 import com.dbn.common.ui.table.DBNTable;
 import com.dbn.connection.ConnectionHandler;
 import com.dbn.diagnostics.ui.model.AbstractDiagnosticsTableModel;
+import com.dbn.diagnostics.ui.model.ConnectionPoolDiagnosticsTableModel;
 import com.dbn.diagnostics.ui.model.ConnectivityDiagnosticsTableModel;
+import com.dbn.diagnostics.ui.model.InterfaceQueueDiagnosticsTableModel;
+import com.dbn.diagnostics.ui.model.KeyedLockDiagnosticsTableModel;
+import com.dbn.diagnostics.ui.model.MetadataCacheDiagnosticsTableModel;
 import com.dbn.diagnostics.ui.model.MetadataDiagnosticsTableModel2;
+import com.dbn.diagnostics.ui.model.StatementExecutionDiagnosticsTableModel;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -20,6 +25,11 @@ import static com.dbn.common.dispose.Failsafe.nd;
 public class ConnectionDiagnosticsDetailsForm extends DBNFormBase {
     private final DBNTable<AbstractDiagnosticsTableModel> metadataTable;
     private final DBNTable<AbstractDiagnosticsTableModel> connectivityTable;
+    private final DBNTable<AbstractDiagnosticsTableModel> interfaceQueueTable;
+    private final DBNTable<AbstractDiagnosticsTableModel> metadataCacheTable;
+    private final DBNTable<AbstractDiagnosticsTableModel> connectionPoolTable;
+    private final DBNTable<AbstractDiagnosticsTableModel> statementExecutionTable;
+    private final DBNTable<AbstractDiagnosticsTableModel> keyedLockTable;
 
     private JPanel mainPanel;
     private JPanel headerPanel;
@@ -46,6 +56,30 @@ public class ConnectionDiagnosticsDetailsForm extends DBNFormBase {
         connectivityTable.getRowSorter().toggleSortOrder(0);
         addTab(connectivityTable, "Database Connectivity");
 
+        AbstractDiagnosticsTableModel interfaceQueueTableModel = new InterfaceQueueDiagnosticsTableModel(connection);
+        interfaceQueueTable = new DiagnosticsTable<>(this, interfaceQueueTableModel);
+        interfaceQueueTable.getRowSorter().toggleSortOrder(0);
+        addTab(interfaceQueueTable, "Interface Queue");
+
+        AbstractDiagnosticsTableModel metadataCacheTableModel = new MetadataCacheDiagnosticsTableModel(connection);
+        metadataCacheTable = new DiagnosticsTable<>(this, metadataCacheTableModel);
+        metadataCacheTable.getRowSorter().toggleSortOrder(0);
+        addTab(metadataCacheTable, "Metadata Cache");
+
+        AbstractDiagnosticsTableModel connectionPoolTableModel = new ConnectionPoolDiagnosticsTableModel(connection);
+        connectionPoolTable = new DiagnosticsTable<>(this, connectionPoolTableModel);
+        connectionPoolTable.getRowSorter().toggleSortOrder(0);
+        addTab(connectionPoolTable, "Connection Pool");
+
+        AbstractDiagnosticsTableModel statementExecutionTableModel = new StatementExecutionDiagnosticsTableModel(connection);
+        statementExecutionTable = new DiagnosticsTable<>(this, statementExecutionTableModel);
+        statementExecutionTable.getRowSorter().toggleSortOrder(0);
+        addTab(statementExecutionTable, "Statement Execution");
+
+        AbstractDiagnosticsTableModel keyedLockTableModel = new KeyedLockDiagnosticsTableModel(connection);
+        keyedLockTable = new DiagnosticsTable<>(this, keyedLockTableModel);
+        addTab(keyedLockTable, "Keyed Locks");
+
 
         diagnosticsTabs.addTabsListener(i -> {
             ConnectionDiagnosticsForm parentForm = nd(getParentComponent());
@@ -0,0 +1,20 @@
+package com.dbn.diagnostics.ui.model;
+
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
+import org.jetbrains.annotations.NotNull;
+
+public class ConnectionPoolDiagnosticsTableModel extends TimingDiagnosticsTableModel {
+
+    public ConnectionPoolDiagnosticsTableModel(ConnectionHandler connection) {
+        super(connection, "Operation");
+    }
+
+    @NotNull
+    @Override
+    protected DiagnosticBundle<String> resolveDiagnostics() {
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(getProject());
+        return diagnosticsManager.getConnectionPoolDiagnostics(getConnectionId());
+    }
+}
@@ -0,0 +1,58 @@
+package com.dbn.diagnostics.ui.model;
+
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
+import com.dbn.diagnostics.data.DiagnosticEntry;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Timings of the interface tasks, split in queue wait and run time ("WAIT" and "RUN" details of the entries)
+ */
+public class InterfaceQueueDiagnosticsTableModel extends TimingDiagnosticsTableModel {
+    private static final String[] COLUMN_NAMES = new String[]{
+            "Task Source",                         // 0
+            "Tasks",                               // 1
+            "Failures",                            // 2
+            "Queue Wait (p50 / p95 / p99 - ms)",   // 3
+            "Queue Wait (max - ms)",               // 4
+            "Run Time (p50 / p95 / p99 - ms)",     // 5
+            "Run Time (max - ms)",                 // 6
+            "Last 5 min Queue Wait (p50 / p95 / p99 / max - ms)",  // 7
+            "Last 5 min Run Time (p50 / p95 / p99 / max - ms)"};   // 8
+
+    public InterfaceQueueDiagnosticsTableModel(ConnectionHandler connection) {
+        super(connection, "Task Source");
+    }
+
+    @NotNull
+    @Override
+    protected String[] getColumnNames() {
+        return COLUMN_NAMES;
+    }
+
+    @NotNull
+    @Override
+    protected DiagnosticBundle<String> resolveDiagnostics() {
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(getProject());
+        return diagnosticsManager.getInterfaceQueueDiagnostics(getConnectionId());
+    }
+
+    @Override
+    public Object getValue(DiagnosticEntry<String> entry, int column) {
+        DiagnosticEntry<String> w = entry.getDetail("WAIT");
+        DiagnosticEntry<String> r = entry.getDetail("RUN");
+        switch (column) {
+            case 0: return r.getIdentifier();
+            case 1: return r.getInvocations();
+            case 2: return r.getFailures();
+            case 3: return percentiles(w.getHistogram());
+            case 4: return w.getWorst();
+            case 5: return percentiles(r.getHistogram());
+            case 6: return r.getWorst();
+            case 7: return w.getWindow().snapshot();
+            case 8: return r.getWindow().snapshot();
+        }
+        return "";
+    }
+}
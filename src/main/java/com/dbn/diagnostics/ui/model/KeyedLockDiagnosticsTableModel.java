@@ -0,0 +1,65 @@
+package com.dbn.diagnostics.ui.model;
+
+import com.dbn.common.thread.Synchronized;
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.diagnostics.data.DiagnosticBundle;
+import com.dbn.diagnostics.data.DiagnosticEntry;
+import com.dbn.diagnostics.data.DiagnosticType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Contention statistics of the keyed locks (see {@link Synchronized#statistics()}).
+ * The locks are shared by all connections, hence the single row, showing the live figures
+ */
+public class KeyedLockDiagnosticsTableModel extends AbstractDiagnosticsTableModel<String> {
+    private static final String SCOPE = "All connections";
+
+    private static final String[] COLUMN_NAMES = new String[]{
+            "Scope",                    // 0
+            "Acquisitions",             // 1
+            "Contended",                // 2
+            "Contention (%)",           // 3
+            "Wait Time (ms)",           // 4
+            "Active Keys"};             // 5
+
+    public KeyedLockDiagnosticsTableModel(ConnectionHandler connection) {
+        super(connection.getProject());
+    }
+
+    @NotNull
+    @Override
+    protected String[] getColumnNames() {
+        return COLUMN_NAMES;
+    }
+
+    @NotNull
+    @Override
+    protected DiagnosticBundle<String> resolveDiagnostics() {
+        DiagnosticBundle<String> diagnostics = DiagnosticBundle.basic(DiagnosticType.KEYED_LOCKS);
+        diagnostics.get(SCOPE);
+        return diagnostics;
+    }
+
+    @Override
+    public Object getValue(DiagnosticEntry<String> entry, int column) {
+        Synchronized.Statistics statistics = Synchronized.statistics();
+        switch (column) {
+            case 0: return entry.getIdentifier();
+            case 1: return statistics.acquisitions();
+            case 2: return statistics.contentions();
+            case 3: return contentionRatio(statistics.acquisitions(), statistics.contentions());
+            case 4: return statistics.waitTimeMillis();
+            case 5: return statistics.activeKeys();
+        }
+        return "";
+    }
+
+    private static long contentionRatio(long acquisitions, long contentions) {
+        return acquisitions == 0 ? 0 : contentions * 100 / acquisitions;
+    }
+
+    @Override
+    public String getPresentableValue(DiagnosticEntry<String> entry, int column) {
+        return getValue(entry, column).toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.dbn.diagnostics.ui.model;
+
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.connection.ConnectionRef;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
+import com.dbn.diagnostics.data.DiagnosticEntry;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+public class MetadataCacheDiagnosticsTableModel extends AbstractDiagnosticsTableModel<String> {
+    private final ConnectionRef connection;
+
+    private static final String[] COLUMN_NAMES = new String[]{
+            "Cache",                    // 0
+            "Hits",                     // 1
+            "Misses",                   // 2
+            "Hit Ratio (%)",            // 3
+            "Load Time (avg - ms)",     // 4
+            "Evictions",                // 5
+            "Evicted Weight",           // 6
+            "Expirations"};             // 7
+
+    public MetadataCacheDiagnosticsTableModel(ConnectionHandler connection) {
+        super(connection.getProject());
+        this.connection = connection.ref();
+    }
+
+    @NotNull
+    @Override
+    protected String[] getColumnNames() {
+        return COLUMN_NAMES;
+    }
+
+    @NotNull
+    @Override
+    protected DiagnosticBundle<String> resolveDiagnostics() {
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(getProject());
+        return diagnosticsManager.getMetadataCacheDiagnostics(connection.getConnectionId());
+    }
+
+    @Override
+    public Object getValue(DiagnosticEntry<String> entry, int column) {
+        DiagnosticEntry<String> hits = entry.getDetail("HIT");
+        DiagnosticEntry<String> misses = entry.getDetail("MISS");
+        DiagnosticEntry<String> evictions = entry.getDetail("EVICTION");
+        DiagnosticEntry<String> expirations = entry.getDetail("EXPIRY");
+        switch (column) {
+            case 0: return entry.getIdentifier();
+            case 1: return hits.getInvocations();
+            case 2: return misses.getInvocations();
+            case 3: return hitRatio(hits.getInvocations(), misses.getInvocations());
+            case 4: return misses.getAverage();
+            case 5: return evictions.getInvocations();
+            case 6: return evictions.getTotal();
+            case 7: return expirations.getInvocations();
+        }
+        return "";
+    }
+
+    private static long hitRatio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : hits * 100 / requests;
+    }
+
+    @Override
+    public String getPresentableValue(DiagnosticEntry<String> entry, int column) {
+        return getValue(entry, column).toString();
+    }
+
+    public ConnectionHandler getConnection() {
+        return connection.ensure();
+    }
+
+    @NotNull
+    public Project getProject() {
+        return getConnection().getProject();
+    }
+}
@@ -24,7 +24,8 @@ public class MetadataDiagnosticsTableModel extends AbstractDiagnosticsTableModel
             "Average Load (ms)",
             "Total Query (ms)",
             "Total Load (ms)",
-            "Fetch Block Size"};
+            "Fetch Block Size",
+            "Saved Round Trips"};
 
     public MetadataDiagnosticsTableModel(ConnectionHandler connection) {
         super(connection.getProject());
@@ -62,6 +63,7 @@ public class MetadataDiagnosticsTableModel extends AbstractDiagnosticsTableModel
             case 10: return q.getTotal();
             case 11: return l.getTotal();
             case 12: return entry.getDetail("FETCH_BLOCK").getAverage();
+            case 13: return entry.getDetail("BATCH").getTotal();
         }
         return "";
     }
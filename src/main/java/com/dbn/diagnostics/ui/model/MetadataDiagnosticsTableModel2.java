@@ -20,7 +20,10 @@ public class MetadataDiagnosticsTableModel2 extends AbstractDiagnosticsTableMode
             "Worst (Query / Load - ms)",   // 5
             "Average (Query / Load - ms)", // 6
             "Total (Query / Load - ms)",   // 7
-            "Fetch Block Size"};           // 8
+            "Fetch Block Size",            // 8
+            "Saved Round Trips",           // 9
+            "Last 5 min Query (p50 / p95 / p99 / max - ms)",  // 10
+            "Last 5 min Load (p50 / p95 / p99 / max - ms)"};  // 11
 
     public MetadataDiagnosticsTableModel2(ConnectionHandler connection) {
         super(connection.getProject());
@@ -54,6 +57,9 @@ public class MetadataDiagnosticsTableModel2 extends AbstractDiagnosticsTableMode
             case 6: return q.getAverage() + " / " + l.getAverage();
             case 7: return q.getTotal() + " / " + l.getTotal();
             case 8: return entry.getDetail("FETCH_BLOCK").getAverage();
+            case 9: return entry.getDetail("BATCH").getTotal();
+            case 10: return q.getWindow().snapshot();
+            case 11: return l.getWindow().snapshot();
         }
         return "";
     }
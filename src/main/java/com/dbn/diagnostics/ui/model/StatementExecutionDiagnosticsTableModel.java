@@ -0,0 +1,20 @@
+package com.dbn.diagnostics.ui.model;
+
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
+import org.jetbrains.annotations.NotNull;
+
+public class StatementExecutionDiagnosticsTableModel extends TimingDiagnosticsTableModel {
+
+    public StatementExecutionDiagnosticsTableModel(ConnectionHandler connection) {
+        super(connection, "Statement");
+    }
+
+    @NotNull
+    @Override
+    protected DiagnosticBundle<String> resolveDiagnostics() {
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(getProject());
+        return diagnosticsManager.getStatementExecutionDiagnostics(getConnectionId());
+    }
+}
@@ -0,0 +1,76 @@
+package com.dbn.diagnostics.ui.model;
+
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.connection.ConnectionId;
+import com.dbn.connection.ConnectionRef;
+import com.dbn.diagnostics.data.DiagnosticEntry;
+import com.dbn.diagnostics.data.DiagnosticHistogram;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Connection diagnostics showing invocation counts and timings (average, percentiles, max and the last minutes window) per entry
+ */
+public abstract class TimingDiagnosticsTableModel extends AbstractDiagnosticsTableModel<String> {
+    private final ConnectionRef connection;
+    private final String[] columnNames;
+
+    public TimingDiagnosticsTableModel(ConnectionHandler connection, String identifierColumnName) {
+        super(connection.getProject());
+        this.connection = connection.ref();
+        this.columnNames = new String[]{
+                identifierColumnName,                        // 0
+                "Invocations",                               // 1
+                "Failures",                                  // 2
+                "Timeouts",                                  // 3
+                "Average (ms)",                              // 4
+                "Time (p50 / p95 / p99 - ms)",               // 5
+                "Time (max - ms)",                           // 6
+                "Last 5 min (p50 / p95 / p99 / max - ms)"};  // 7
+    }
+
+    @NotNull
+    @Override
+    protected String[] getColumnNames() {
+        return columnNames;
+    }
+
+    @Override
+    public Object getValue(DiagnosticEntry<String> entry, int column) {
+        switch (column) {
+            case 0: return entry.getIdentifier();
+            case 1: return entry.getInvocations();
+            case 2: return entry.getFailures();
+            case 3: return entry.getTimeouts();
+            case 4: return entry.getAverage();
+            case 5: return percentiles(entry.getHistogram());
+            case 6: return entry.getWorst();
+            case 7: return entry.getWindow().snapshot();
+        }
+        return "";
+    }
+
+    protected static String percentiles(DiagnosticHistogram histogram) {
+        return histogram.getPercentile(50) + " / " +
+               histogram.getPercentile(95) + " / " +
+               histogram.getPercentile(99);
+    }
+
+    @Override
+    public String getPresentableValue(DiagnosticEntry<String> entry, int column) {
+        return getValue(entry, column).toString();
+    }
+
+    protected ConnectionId getConnectionId() {
+        return connection.getConnectionId();
+    }
+
+    public ConnectionHandler getConnection() {
+        return connection.ensure();
+    }
+
+    @NotNull
+    public Project getProject() {
+        return getConnection().getProject();
+    }
+}
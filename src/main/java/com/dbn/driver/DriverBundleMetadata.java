@@ -33,11 +33,20 @@ public class DriverBundleMetadata implements PersistentStateElement {
 
     private long calculateChecksum() {
         try {
-            // rudimentary checksum logic to detect changes in library bundles
+            // content checksum of the jars of the bundle (see DriverLibrary#checksum)
             if (library.isDirectory()) {
-                List<String> fileNames = Arrays.stream(library.listFiles()).map(f -> f.getPath()).collect(Collectors.toList());
-                return String.join(";", fileNames).hashCode();
+                File[] files = library.listFiles();
+                if (files == null) return library.getPath().hashCode();
+
+                long checksum = 0;
+                List<File> jars = Arrays.stream(files).filter(f -> f.getName().endsWith(".jar")).sorted().collect(Collectors.toList());
+                for (File jar : jars) {
+                    checksum = 31 * checksum + jar.getName().hashCode();
+                    checksum = 31 * checksum + DriverLibrary.checksum(jar);
+                }
+                return checksum;
             }
+            return DriverLibrary.checksum(library);
         } catch (Throwable e) {
             log.error("Failed to evaluate driver library checksum", e);
         }
@@ -0,0 +1,129 @@
+package com.dbn.driver;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Type header of a class file (name, super class, interfaces and access flags), read from the bytecode
+ * without loading the class. Used to discover the {@link java.sql.Driver} implementations of a driver library
+ */
+@Getter
+class DriverClassHeader {
+    private static final String DRIVER_TYPE = "java.sql.Driver";
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private final String name;
+    private final String superName;
+    private final String[] interfaceNames;
+    private final int access;
+
+    private DriverClassHeader(String name, String superName, String[] interfaceNames, int access) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaceNames = interfaceNames;
+        this.access = access;
+    }
+
+    public boolean isConcrete() {
+        return (access & (ACC_INTERFACE | ACC_ABSTRACT)) == 0;
+    }
+
+    /**
+     * Reads the header of the given class file stream, consuming the constant pool only
+     * @return the class header or null if the stream is not a class file
+     */
+    @Nullable
+    static DriverClassHeader read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != 0xCAFEBABE) return null;
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        int constantCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantCount];
+        int[] classes = new int[constantCount];
+        for (int i = 1; i < constantCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: utf8[i] = in.readUTF(); break;             // Utf8
+                case 7: classes[i] = in.readUnsignedShort(); break; // Class
+                case 8:                                              // String
+                case 16:                                             // MethodType
+                case 19:                                             // Module
+                case 20: skip(in, 2); break;                         // Package
+                case 15: skip(in, 3); break;                         // MethodHandle
+                case 3:                                              // Integer
+                case 4:                                              // Float
+                case 9:                                              // Fieldref
+                case 10:                                             // Methodref
+                case 11:                                             // InterfaceMethodref
+                case 12:                                             // NameAndType
+                case 17:                                             // Dynamic
+                case 18: skip(in, 4); break;                         // InvokeDynamic
+                case 5:                                              // Long
+                case 6: skip(in, 8); i++; break;                     // Double (two slots)
+                default: throw new IOException("Invalid constant pool tag " + tag);
+            }
+        }
+
+        int access = in.readUnsignedShort();
+        String name = className(utf8, classes, in.readUnsignedShort());
+        String superName = className(utf8, classes, in.readUnsignedShort());
+        String[] interfaceNames = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaceNames[i] = className(utf8, classes, in.readUnsignedShort());
+        }
+        return name == null ? null : new DriverClassHeader(name, superName, interfaceNames, access);
+    }
+
+    /**
+     * Whether the given type implements {@link java.sql.Driver}, resolving the type hierarchy through the given headers.
+     * Types outside the headers (e.g. jdk types) are considered not to implement it
+     */
+    static boolean isDriverType(String typeName, Map<String, DriverClassHeader> headers, Map<String, Boolean> resolved, Set<String> visiting) {
+        if (typeName == null) return false;
+        if (typeName.equals(DRIVER_TYPE)) return true;
+
+        Boolean driverType = resolved.get(typeName);
+        if (driverType != null) return driverType;
+
+        DriverClassHeader header = headers.get(typeName);
+        if (header == null || !visiting.add(typeName)) return false;
+
+        boolean result = isDriverType(header.superName, headers, resolved, visiting);
+        for (int i = 0; !result && i < header.interfaceNames.length; i++) {
+            result = isDriverType(header.interfaceNames[i], headers, resolved, visiting);
+        }
+
+        visiting.remove(typeName);
+        resolved.put(typeName, result);
+        return result;
+    }
+
+    @Nullable
+    private static String className(String[] utf8, int[] classes, int index) {
+        if (index <= 0 || index >= classes.length) return null;
+
+        String internalName = utf8[classes[index]];
+        return internalName == null ? null : internalName.replace('/', '.');
+    }
+
+    private static void skip(DataInputStream in, int bytes) throws IOException {
+        int skipped = 0;
+        while (skipped < bytes) {
+            int count = in.skipBytes(bytes - skipped);
+            if (count <= 0) {
+                in.readByte();
+                count = 1;
+            }
+            skipped += count;
+        }
+    }
+}
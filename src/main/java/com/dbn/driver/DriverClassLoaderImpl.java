@@ -1,7 +1,9 @@
 package com.dbn.driver;
 
 import com.dbn.common.load.ProgressMonitor;
+import com.dbn.common.thread.Threads;
 import com.dbn.common.util.Measured;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,9 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.sql.Driver;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static com.dbn.common.util.Unsafe.cast;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
@@ -27,6 +32,9 @@ class DriverClassLoaderImpl extends URLClassLoader implements DriverClassLoader
     private final Set<String> classNames = new HashSet<>();
     private final Map<String, Class> loadedClasses = new HashMap<>();
 
+    @Getter(AccessLevel.NONE)
+    private volatile boolean scanFailed;
+
     public DriverClassLoaderImpl(DriverBundleMetadata metadata) {
         super(getUrls(metadata.getLibrary()), DriverClassLoader.class.getClassLoader());
         this.metadata = metadata;
@@ -44,45 +52,78 @@ class DriverClassLoaderImpl extends URLClassLoader implements DriverClassLoader
             DriverLibrary driverLibrary = new DriverLibrary(jarFile);
             classNames.addAll(driverLibrary.getClassNames());
             libraries.add(driverLibrary);
+            jars.add(jarFile);
         }
 
-        for (DriverLibrary library : libraries) {
-            Measured.run("loading library " + library.getJar(), () -> load(library));
+        DriverBundleMetadata previousMetadata = getPreviousMetadata();
+        Set<String> driverClassNames = previousMetadata == null ?
+                Measured.call("scanning library " + getLibrary(), () -> scan(libraries)) :
+                previousMetadata.getDriverClassNames();
+
+        for (String className : driverClassNames) {
+            load(className);
         }
 
-        if (!metadata.isEmpty()) {
+        // metadata of incomplete scans is not cached (failed libraries get scanned again on next load)
+        if (!metadata.isEmpty() && !scanFailed) {
             DatabaseDriverManager driverManager = DatabaseDriverManager.getInstance();
             driverManager.setDriverMetadata(getLibrary(), metadata);
         }
 
     }
 
-    private void load(DriverLibrary library) {
-        File jar = library.getJar();
-        jars.add(jar);
+    /**
+     * Discovers the driver classes of the given jars without loading any classes: the drivers registered as services
+     * plus the concrete classes implementing {@link Driver} according to their bytecode headers.
+     * The jars are scanned in parallel, the type hierarchy is resolved across all jars of the bundle
+     */
+    private Set<String> scan(List<DriverLibrary> libraries) throws Exception {
+        Set<String> serviceDrivers = ConcurrentHashMap.newKeySet();
+        Map<String, DriverClassHeader> headers = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Threads.backgroundExecutor();
+        List<Future<?>> scans = new ArrayList<>();
+        for (DriverLibrary library : libraries) {
+            scans.add(executor.submit(() -> scan(library, serviceDrivers, headers)));
+        }
+        for (Future<?> scan : scans) {
+            scan.get();
+        }
 
+        Set<String> driverClassNames = new LinkedHashSet<>(new TreeSet<>(serviceDrivers));
+        Map<String, Boolean> resolved = new HashMap<>();
+        Set<String> visiting = new HashSet<>();
+        headers.values().
+                stream().
+                filter(header -> header.isConcrete()).
+                map(header -> header.getName()).
+                filter(className -> DriverClassHeader.isDriverType(className, headers, resolved, visiting)).
+                sorted().
+                forEach(className -> driverClassNames.add(className));
+        return driverClassNames;
+    }
+
+    private void scan(DriverLibrary library, Set<String> serviceDrivers, Map<String, DriverClassHeader> headers) {
         try {
+            library.scan(serviceDrivers, headers);
+        } catch (Throwable e) {
+            conditionallyLog(e);
+            scanFailed = true;
+            log.debug("Failed to scan drivers in library {}", library.getJar(), e);
+        }
+    }
 
-            DriverBundleMetadata previousMetadata = getPreviousMetadata();
-
-            for (String className : library.getClassNames()) {
-                if (previousMetadata != null && !previousMetadata.isDriverClass(className)) continue;
-
-                try {
-                    Class<?> clazz = loadClass(className);
-                    if (Driver.class.isAssignableFrom(clazz)) {
-                        Class<Driver> driver = cast(clazz);
-                        drivers.add(driver);
-                        metadata.getDriverClassNames().add(driver.getName());
-                    }
-                } catch (Throwable e) {
-                    conditionallyLog(e);
-                    log.debug("Failed to load driver " + className + " from library " + jar, e);
-                }
+    private void load(String className) {
+        try {
+            Class<?> clazz = loadClass(className);
+            if (Driver.class.isAssignableFrom(clazz)) {
+                Class<Driver> driver = cast(clazz);
+                drivers.add(driver);
+                metadata.getDriverClassNames().add(driver.getName());
             }
         } catch (Throwable e) {
             conditionallyLog(e);
-            log.debug("Failed to load drivers from library {}", jar, e);
+            log.debug("Failed to load driver " + className + " from library " + getLibrary(), e);
         }
     }
 
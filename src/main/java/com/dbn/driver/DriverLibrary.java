@@ -2,17 +2,29 @@ package com.dbn.driver;
 
 import lombok.Getter;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+@Slf4j
 @Getter
 public class DriverLibrary {
+    private static final String DRIVER_SERVICES = "META-INF/services/java.sql.Driver";
+
     private final File jar;
     private final Set<String> classNames = new LinkedHashSet<>();
 
@@ -20,15 +32,79 @@ public class DriverLibrary {
     public DriverLibrary(File jar) {
         this.jar = jar;
         try (JarFile jarFile = new JarFile(jar)) {
-            List<String> classNames = Collections.list(jarFile.entries())
-                    .stream()
-                    .map(e -> e.getName())
-                    .filter(n -> n.endsWith(".class"))
-                    .map(n -> n.replaceAll("/", "."))
-                    .map(n -> n.substring(0, n.length() - 6))
-                    .collect(Collectors.toList());
-
-            this.classNames.addAll(classNames);
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                String name = entry.getName();
+                if (name.endsWith(".class")) {
+                    classNames.add(toClassName(name));
+                }
+            }
+        }
+    }
+
+    /**
+     * Content checksum of the given jar, evaluated from the entry table of the jar (names, sizes and entry checksums)
+     * without inflating any of the entries
+     */
+    public static long checksum(File jar) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                updateChecksum(checksum, entry);
+            }
+        }
+        return checksum.getValue();
+    }
+
+    private static void updateChecksum(CRC32 checksum, JarEntry entry) {
+        checksum.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+        long size = entry.getSize();
+        long crc = entry.getCrc();
+        for (int i = 0; i < 8; i++) {
+            checksum.update((int) (size >>> (i * 8)));
+            checksum.update((int) (crc >>> (i * 8)));
+        }
+    }
+
+    /**
+     * Reads the driver classes declared in the service registry of the jar (META-INF/services/java.sql.Driver)
+     * and the type headers of the classes of the jar, without loading any of the classes
+     */
+    void scan(Set<String> serviceDrivers, Map<String, DriverClassHeader> headers) throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            JarEntry servicesEntry = jarFile.getJarEntry(DRIVER_SERVICES);
+            if (servicesEntry != null) {
+                try (InputStream in = jarFile.getInputStream(servicesEntry)) {
+                    readServices(in, serviceDrivers);
+                }
+            }
+
+            for (JarEntry entry : Collections.list(jarFile.entries())) {
+                String name = entry.getName();
+                if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")) continue;
+
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    DriverClassHeader header = DriverClassHeader.read(in);
+                    if (header != null) headers.put(header.getName(), header);
+                } catch (IOException e) {
+                    conditionallyLog(e);
+                    log.debug("Failed to read class header {} from library {}", name, jar, e);
+                }
+            }
         }
     }
+
+    private static void readServices(InputStream in, Set<String> serviceDrivers) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int commentIndex = line.indexOf('#');
+            if (commentIndex > -1) line = line.substring(0, commentIndex);
+            line = line.trim();
+            if (!line.isEmpty()) serviceDrivers.add(line);
+        }
+    }
+
+    private static String toClassName(String entryName) {
+        return entryName.substring(0, entryName.length() - 6).replace('/', '.');
+    }
 }
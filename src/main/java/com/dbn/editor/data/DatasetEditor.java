@@ -282,6 +282,41 @@ public class DatasetEditor extends DisposableUserDataHolderBase implements
         }
     }
 
+    /**
+     * Loads the records around the visible rows of a keyset paginated editor (see {@link DatasetEditorModel#isKeysetPaginated()}).
+     * The model keeps a window of records in memory, so records are released at the opposite end,
+     * and the viewport gets shifted by the number of rows added or released at the top
+     */
+    public void prefetchRecords(int firstVisibleRow, int lastVisibleRow) {
+        if (isLoading() || isInserting() || isDirty() || status.is(PREFETCHING)) return;
+
+        DatasetEditorModel model = getTableModel();
+        if (!model.isKeysetPaginated()) return;
+
+        int fetchBlockSize = settings.getGeneralSettings().getFetchBlockSize().value();
+        int threshold = fetchBlockSize / 2;
+        boolean forward = !model.isResultSetExhausted() && lastVisibleRow >= model.getRowCount() - threshold;
+        boolean backward = !forward && model.hasPreviousRecords() && firstVisibleRow <= threshold;
+        if (!forward && !backward) return;
+
+        status.set(PREFETCHING, true);
+        Background.run(getProject(), () -> {
+            try {
+                int shift = forward ?
+                        -model.fetchNextRecordsWindowed(fetchBlockSize) :
+                        model.fetchPreviousRecordsWindowed(fetchBlockSize);
+
+                if (shift != 0) Dispatch.run(() -> getEditorForm().shiftViewport(shift));
+                dataLoadError = null;
+            } catch (SQLException e) {
+                Diagnostics.conditionallyLog(e);
+                dataLoadError = e.getMessage();
+            } finally {
+                status.set(PREFETCHING, false);
+            }
+        });
+    }
+
     public void loadData(final DatasetLoadInstructions instructions) {
         if (status.isNot(LOADING)) {
             ConnectionAction.invoke("loading table data", false, this,
@@ -5,7 +5,8 @@ import com.dbn.common.property.Property;
 public enum DatasetEditorStatus implements Property.IntBase {
     CONNECTED,
     LOADING,
-    LOADED;
+    LOADED,
+    PREFETCHING;
 
     public static final DatasetEditorStatus[] VALUES = values();
 
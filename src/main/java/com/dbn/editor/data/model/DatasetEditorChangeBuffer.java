@@ -0,0 +1,241 @@
+package com.dbn.editor.data.model;
+
+import com.dbn.common.routine.ThrowableConsumer;
+import com.dbn.connection.Resources;
+import com.dbn.connection.jdbc.DBNConnection;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+/**
+ * Buffer for the row changes (updates and deletes) of the {@link ReadonlyResultSetAdapter} issued in bulk operations.
+ * The changes are grouped by statement shape (i.e. same dml text for same changed and key columns) and flushed
+ * group by group, with one reusable prepared statement and one jdbc batch per group, all in one transaction.
+ * <br>
+ * If a batch fails, the group is rolled back to the state before the batch and re-executed row by row
+ * (each row under its own savepoint if the database requires it) in order to attribute the errors to the individual rows.
+ * Without savepoints (not required by the database, or not available on the connection) a failed batch cannot be undone,
+ * hence it is not replayed and the batch error is reported for every row of the group.
+ * Groups are flushed in the order of their first change, so changes of different rows never overtake each other within a group
+ *
+ * @param <R> the changed rows (i.e. {@link DatasetEditorModelRow}), used to report the errors per row
+ */
+@Slf4j
+class DatasetEditorChangeBuffer<R> {
+    private final Transaction transaction;
+    private final boolean useSavePoints;
+    private final Map<String, List<Change<R>>> changes = new LinkedHashMap<>();
+    private final Map<R, SQLException> errors = new LinkedHashMap<>();
+
+    private @Getter(AccessLevel.PACKAGE) int batchedRows;
+    private @Getter(AccessLevel.PACKAGE) int singleRows;
+    private long batchedTime;
+    private long singleTime;
+
+    DatasetEditorChangeBuffer(DBNConnection connection, boolean useSavePoints) {
+        this(new ConnectionTransaction(connection), useSavePoints);
+    }
+
+    DatasetEditorChangeBuffer(Transaction transaction, boolean useSavePoints) {
+        this.transaction = transaction;
+        this.useSavePoints = useSavePoints;
+    }
+
+    void add(String sql, R row, ThrowableConsumer<PreparedStatement, SQLException> parameters) {
+        changes.computeIfAbsent(sql, s -> new ArrayList<>()).add(new Change<>(row, parameters));
+    }
+
+    boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Executes the pending changes in one transaction (committed right away if the connection is in auto-commit mode)
+     * @return the rows which failed to be changed, with their individual error
+     */
+    @NotNull
+    Map<R, SQLException> flush() throws SQLException {
+        if (changes.isEmpty()) return errors;
+
+        boolean autoCommit = transaction.isAutoCommit();
+        if (autoCommit) transaction.setAutoCommit(false);
+        try {
+            for (Map.Entry<String, List<Change<R>>> entry : changes.entrySet()) {
+                execute(entry.getKey(), entry.getValue());
+            }
+            if (autoCommit) transaction.commit();
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            if (autoCommit) transaction.rollback();
+            throw e;
+        } finally {
+            changes.clear();
+            if (autoCommit) transaction.setAutoCommit(true);
+            logThroughput();
+        }
+        return errors;
+    }
+
+    private void execute(String sql, List<Change<R>> group) throws SQLException {
+        PreparedStatement statement = transaction.prepareStatement(sql);
+        if (group.size() == 1) {
+            executeSingle(statement, group);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Savepoint savepoint = useSavePoints ? transaction.createSavepoint() : null;
+        boolean executed = false;
+        try {
+            for (Change<R> change : group) {
+                change.parameters.accept(statement);
+                statement.addBatch();
+            }
+            executed = true;
+            statement.executeBatch();
+            batchedRows += group.size();
+            batchedTime += System.currentTimeMillis() - start;
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            statement.clearBatch();
+            if (executed && savepoint == null) {
+                // partial batch results are driver specific and cannot be undone
+                // replaying the rows one by one may apply some of them twice
+                for (Change<R> change : group) errors.put(change.row, e);
+                return;
+            }
+
+            // failed binding (nothing executed yet) or undoable execution
+            // undo the whole batch and find the failing rows one by one
+            transaction.rollback(savepoint);
+            executeSingle(statement, group);
+        } finally {
+            transaction.releaseSavepoint(savepoint);
+        }
+    }
+
+    private void executeSingle(PreparedStatement statement, List<Change<R>> group) throws SQLException {
+        long start = System.currentTimeMillis();
+        for (Change<R> change : group) {
+            Savepoint savepoint = useSavePoints ? transaction.createSavepoint() : null;
+            try {
+                change.parameters.accept(statement);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                conditionallyLog(e);
+                transaction.rollback(savepoint);
+                errors.put(change.row, e);
+            } finally {
+                transaction.releaseSavepoint(savepoint);
+            }
+        }
+        singleRows += group.size();
+        singleTime += System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Throughput of the flush, batched vs row-by-row execution (rows per second)
+     */
+    private void logThroughput() {
+        if (!log.isDebugEnabled()) return;
+        log.debug("[DBN] Flushed data changes: " +
+                "batched " + batchedRows + " rows (" + throughput(batchedRows, batchedTime) + " rows/s), " +
+                "row-by-row " + singleRows + " rows (" + throughput(singleRows, singleTime) + " rows/s)");
+    }
+
+    private static long throughput(int rows, long millis) {
+        return rows == 0 ? 0 : rows * 1000L / Math.max(1, millis);
+    }
+
+    /**
+     * Transaction control of the flush, decoupled from the {@link DBNConnection} resource handling (see {@link Resources})
+     */
+    interface Transaction {
+        boolean isAutoCommit() throws SQLException;
+
+        void setAutoCommit(boolean autoCommit) throws SQLException;
+
+        void commit() throws SQLException;
+
+        void rollback();
+
+        PreparedStatement prepareStatement(String sql) throws SQLException;
+
+        @Nullable
+        Savepoint createSavepoint();
+
+        void rollback(@Nullable Savepoint savepoint);
+
+        void releaseSavepoint(@Nullable Savepoint savepoint);
+    }
+
+    private static class ConnectionTransaction implements Transaction {
+        private final DBNConnection connection;
+
+        ConnectionTransaction(DBNConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return connection.isAutoCommit();
+        }
+
+        @Override
+        public void setAutoCommit(boolean autoCommit) throws SQLException {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        @Override
+        public void commit() throws SQLException {
+            connection.commit();
+        }
+
+        @Override
+        public void rollback() {
+            Resources.rollbackSilently(connection);
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) {
+            return connection.prepareStatementCached(sql);
+        }
+
+        @Override
+        public Savepoint createSavepoint() {
+            return Resources.createSavepoint(connection);
+        }
+
+        @Override
+        public void rollback(@Nullable Savepoint savepoint) {
+            Resources.rollbackSilently(connection, savepoint);
+        }
+
+        @Override
+        public void releaseSavepoint(@Nullable Savepoint savepoint) {
+            Resources.releaseSavepoint(connection, savepoint);
+        }
+    }
+
+    private static class Change<R> {
+        private final R row;
+        private final ThrowableConsumer<PreparedStatement, SQLException> parameters;
+
+        Change(R row, ThrowableConsumer<PreparedStatement, SQLException> parameters) {
+            this.row = row;
+            this.parameters = parameters;
+        }
+    }
+}
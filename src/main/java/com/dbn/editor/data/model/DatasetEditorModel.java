@@ -1,6 +1,7 @@
 package com.dbn.editor.data.model;
 
 import com.dbn.common.dispose.AlreadyDisposedException;
+import com.dbn.common.dispose.BackgroundDisposer;
 import com.dbn.common.dispose.Disposer;
 import com.dbn.common.dispose.Failsafe;
 import com.dbn.common.environment.EnvironmentManager;
@@ -17,6 +18,7 @@ import com.dbn.connection.jdbc.DBNConnection;
 import com.dbn.connection.jdbc.DBNResultSet;
 import com.dbn.connection.jdbc.DBNStatement;
 import com.dbn.data.model.resultSet.ResultSetDataModel;
+import com.dbn.data.sorting.SortingState;
 import com.dbn.database.DatabaseFeature;
 import com.dbn.editor.DBContentType;
 import com.dbn.editor.data.DatasetEditor;
@@ -43,7 +45,10 @@ import javax.swing.event.ListSelectionListener;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -57,6 +62,8 @@ import static com.dbn.editor.data.model.RecordStatus.*;
 public class DatasetEditorModel
         extends ResultSetDataModel<DatasetEditorModelRow, DatasetEditorModelCell>
         implements ListSelectionListener {
+    private static final int KEYSET_WINDOW_BLOCKS = 5;
+    private static final int KEYSET_WINDOW_MIN_SIZE = 500;
 
     private final boolean isResultSetUpdatable;
     private final WeakRef<DatasetEditor> datasetEditor;
@@ -65,6 +72,10 @@ public class DatasetEditorModel
 
     private CancellableDatabaseCall<Object> loaderCall;
     private ResultSetAdapter resultSetAdapter;
+    private KeysetPager keysetPager;
+    private boolean keysetHeadReleased;
+    private int firstResultSetRowIndex;
+    private int lastResultSetRowIndex;
 
     private final List<DatasetEditorModelRow> changedRows = new ArrayList<>();
     private final Latent<List<DBColumn>> uniqueKeyColumns = Latent.basic(() -> loadUniqueKeyColumns());
@@ -138,7 +149,7 @@ public class DatasetEditorModel
 
         ConnectionHandler connection = getConnection();
         resultSetAdapter = Disposer.replace(resultSetAdapter,
-                DatabaseFeature.UPDATABLE_RESULT_SETS.isSupported(connection) ?
+                keysetPager == null && DatabaseFeature.UPDATABLE_RESULT_SETS.isSupported(connection) ?
                     new EditableResultSetAdapter(this, resultSet) :
                     new ReadonlyResultSetAdapter(this, resultSet));
 
@@ -178,7 +189,23 @@ public class DatasetEditorModel
             if (filter == null) filter = DatasetFilterManager.EMPTY_FILTER;
         }
 
-        String selectStatement = filter.createSelectStatement(dataset, getState().getSortingState());
+        // keyset pages are ordered by the key (no sorting clause in the paged statement)
+        boolean keysetPaginated = isKeysetPaginationApplicable();
+        SortingState sortingState = keysetPaginated ? new SortingState() : getState().getSortingState();
+        String selectStatement = filter.createSelectStatement(dataset, sortingState);
+        keysetPager = null;
+        keysetHeadReleased = false;
+        firstResultSetRowIndex = 0;
+        lastResultSetRowIndex = 0;
+        if (keysetPaginated) {
+            int fetchBlockSize = getSettings().getGeneralSettings().getFetchBlockSize().value();
+            List<DBColumn> keyColumns = ((DBTable) dataset).getPrimaryKeyColumns();
+            keysetPager = new KeysetPager(conn, selectStatement, keyColumns, fetchBlockSize, timeout);
+            ResultSet resultSet = keysetPager.open();
+            statementRef.set(keysetPager.getStatement());
+            return new DBNResultSet(resultSet, conn);
+        }
+
         DBNStatement statement = null;
         if (isReadonly()) {
             statement = conn.createStatement();
@@ -223,6 +250,136 @@ public class DatasetEditorModel
         return statement.executeQuery(selectStatement);
     }
 
+    /**
+     * Keyset pagination applies to tables having a primary key, as long as the data is not sorted by other columns
+     * (the pages are ordered by the key)
+     */
+    private boolean isKeysetPaginationApplicable() {
+        if (!getSettings().getGeneralSettings().getKeysetPagination().value()) return false;
+
+        DBDataset dataset = getDataset();
+        if (!(dataset instanceof DBTable)) return false;
+
+        DBTable table = (DBTable) dataset;
+        if (table.getPrimaryKeyColumns().isEmpty()) return false;
+
+        SortingState sortingState = getState().getSortingState();
+        return sortingState.getInstructions().stream().allMatch(i -> i.getDirection().isIndefinite());
+    }
+
+    public boolean isKeysetPaginated() {
+        return keysetPager != null;
+    }
+
+    /**
+     * Tells if records preceding the loaded ones were released from memory (see {@link #fetchNextRecordsWindowed(int)})
+     */
+    public boolean hasPreviousRecords() {
+        return keysetPager != null && keysetHeadReleased;
+    }
+
+    @Override
+    public int fetchNextRecords(int records, boolean reset) throws SQLException {
+        try {
+            return super.fetchNextRecords(records, reset);
+        } finally {
+            // do not hold the page cursor open while the editor is idle
+            if (keysetPager != null) keysetPager.suspend();
+        }
+    }
+
+    /**
+     * Fetches the next records and releases the leading (unchanged) records exceeding the keyset window.
+     * @return the number of records released at the top of the model
+     */
+    public int fetchNextRecordsWindowed(int records) throws SQLException {
+        fetchNextRecords(records, false);
+        if (keysetPager == null) return 0;
+
+        List<DatasetEditorModelRow> rows = new ArrayList<>(getRows());
+        int released = 0;
+        int excess = rows.size() - getKeysetWindowSize();
+        while (released < excess && isReleasable(rows.get(released))) released++;
+        if (released == 0) return 0;
+
+        List<DatasetEditorModelRow> releasedRows = new ArrayList<>(rows.subList(0, released));
+        rows.subList(0, released).clear();
+        updateRowIndexes(rows, 0);
+        setRows(rows);
+        keysetHeadReleased = true;
+
+        notifyRowsDeleted(0, released - 1);
+        BackgroundDisposer.queue(() -> Disposer.disposeCollection(releasedRows));
+        return released;
+    }
+
+    /**
+     * Reloads records preceding the first loaded one (previously released by {@link #fetchNextRecordsWindowed(int)})
+     * and releases the trailing (unchanged) records exceeding the keyset window.
+     * @return the number of records added at the top of the model
+     */
+    public int fetchPreviousRecordsWindowed(int records) throws SQLException {
+        if (!hasPreviousRecords()) return 0;
+
+        List<DatasetEditorModelRow> rows = new ArrayList<>(getRows());
+        if (rows.isEmpty()) return 0;
+
+        List<DatasetEditorModelRow> previousRows = new ArrayList<>();
+        DBNResultSet resultSet = keysetPager.openPrevious(keyOf(rows.get(0)), records);
+        try {
+            while (previousRows.size() < records && resultSet.next()) {
+                checkDisposed();
+                previousRows.add(new DatasetEditorModelRow(this, resultSet, --firstResultSetRowIndex));
+            }
+        } finally {
+            Resources.close(resultSet);
+        }
+        if (previousRows.size() < records) keysetHeadReleased = false;
+        if (previousRows.isEmpty()) return 0;
+
+        Collections.reverse(previousRows);
+        rows.addAll(0, previousRows);
+
+        int released = 0;
+        int excess = rows.size() - getKeysetWindowSize();
+        while (released < excess && isReleasable(rows.get(rows.size() - 1 - released))) released++;
+
+        List<DatasetEditorModelRow> releasedRows = new ArrayList<>(rows.subList(rows.size() - released, rows.size()));
+        rows.subList(rows.size() - released, rows.size()).clear();
+        updateRowIndexes(rows, 0);
+        setRows(rows);
+
+        if (released > 0) {
+            setResultSetExhausted(false);
+            keysetPager.resumeAfter(keyOf(rows.get(rows.size() - 1)));
+            BackgroundDisposer.queue(() -> Disposer.disposeCollection(releasedRows));
+        }
+
+        int added = previousRows.size();
+        notifyRowsInserted(0, added - 1);
+        if (released > 0) notifyRowsDeleted(rows.size(), rows.size() + released - 1);
+        return added;
+    }
+
+    private int getKeysetWindowSize() {
+        int fetchBlockSize = getSettings().getGeneralSettings().getFetchBlockSize().value();
+        return Math.max(KEYSET_WINDOW_BLOCKS * fetchBlockSize, KEYSET_WINDOW_MIN_SIZE);
+    }
+
+    private static boolean isReleasable(DatasetEditorModelRow row) {
+        return !row.isModified() && row.isNot(INSERTING) && row.isNot(INSERTED) && row.isNot(DELETED);
+    }
+
+    private Object[] keyOf(DatasetEditorModelRow row) {
+        List<DBColumn> keyColumns = ((DBTable) getDataset()).getPrimaryKeyColumns();
+        Object[] key = new Object[keyColumns.size()];
+        for (int i = 0; i < key.length; i++) {
+            DatasetEditorModelCell cell = row.getCellForColumn(keyColumns.get(i));
+            if (cell != null) key[i] = cell.isModified() ? cell.getOriginalUserValue() : cell.getUserValue();
+        }
+        return key;
+    }
+
     public boolean isDirty() {
         return is(DIRTY);
     }
@@ -301,6 +458,10 @@ public class DatasetEditorModel
 
     @Override
     protected DatasetEditorModelRow createRow(int resultSetRowIndex) throws SQLException {
+        if (keysetPager != null) {
+            // rows get released and reloaded at both ends of the keyset window, the indexes must stay unique
+            resultSetRowIndex = ++lastResultSetRowIndex;
+        }
         return new DatasetEditorModelRow(this, getResultSet(), resultSetRowIndex);
     }
 
@@ -365,26 +526,99 @@ public class DatasetEditorModel
                 "Deleting records from " + dataset.getQualifiedNameWithType(),
                 progress -> {
             progress.setIndeterminate(false);
-            for (int index : rowIndexes) {
-                progress.setFraction(Progress.progressOf(index, rowIndexes.length));
-                DatasetEditorModelRow row = getRowAtIndex(index);
-                if (progress.isCanceled()) break;
-
-                if (row != null && row.isNot(DELETED)) {
-                    int rsRowIndex = row.getResultSetRowIndex();
-                    row.delete();
-                    if (row.is(DELETED)) {
-                        shiftResultSetRowIndex(rsRowIndex, -1);
-                        notifyRowUpdated(index);
+            ResultSetAdapter resultSetAdapter = getResultSetAdapter();
+            boolean batch = resultSetAdapter.startBatch();
+            List<DatasetEditorModelRow> deletedRows = new ArrayList<>();
+            try {
+                for (int index : rowIndexes) {
+                    progress.setFraction(Progress.progressOf(index, rowIndexes.length));
+                    DatasetEditorModelRow row = getRowAtIndex(index);
+                    if (progress.isCanceled()) break;
+
+                    if (row != null && row.isNot(DELETED)) {
+                        int rsRowIndex = row.getResultSetRowIndex();
+                        row.delete();
+                        if (row.is(DELETED)) {
+                            if (batch) {
+                                deletedRows.add(row);
+                            } else {
+                                if (keysetPager == null) shiftResultSetRowIndex(rsRowIndex, -1);
+                                notifyRowUpdated(index);
+                            }
+                        }
                     }
+                    setModified(true);
                 }
-                setModified(true);
+            } finally {
+                if (batch) executeDeleteBatch(resultSetAdapter, deletedRows);
             }
             DBNConnection conn = getResultConnection();
             conn.notifyDataChanges(dataset.getVirtualFile());
         });
     }
 
+    /**
+     * Executes the deletes collected by the result set adapter and reverts the status of the rows which failed to be deleted
+     */
+    private void executeDeleteBatch(ResultSetAdapter resultSetAdapter, List<DatasetEditorModelRow> deletedRows) {
+        Map<DatasetEditorModelRow, SQLException> errors;
+        try {
+            errors = resultSetAdapter.executeBatch();
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            for (DatasetEditorModelRow row : deletedRows) row.set(DELETED, false);
+            Messages.showErrorDialog(getProject(), "Cannot delete records", "Could not delete the selected records.\nCause: " + e.getMessage());
+            return;
+        }
+
+        // shift the result set indexes bottom-up (indexes of the remaining deleted rows stay valid)
+        deletedRows.sort(Comparator.comparingInt(row -> -row.getResultSetRowIndex()));
+        for (DatasetEditorModelRow row : deletedRows) {
+            if (errors.containsKey(row)) {
+                row.set(DELETED, false);
+            } else if (keysetPager == null) {
+                shiftResultSetRowIndex(row.getResultSetRowIndex(), -1);
+            }
+            notifyRowUpdated(row.getIndex());
+        }
+
+        if (errors.isEmpty()) return;
+        StringBuilder message = new StringBuilder();
+        message.append("Could not delete ").append(errors.size()).append(" of ").append(deletedRows.size()).append(" records.");
+        errors.entrySet().stream().limit(10).forEach(entry -> message.
+                append("\nRow at index ").append(entry.getKey().getIndex()).
+                append(": ").append(entry.getValue().getMessage()));
+
+        Messages.showErrorDialog(getProject(), "Cannot delete records", message.toString());
+    }
+
+    /**
+     * Updates the given cells to the same user value, executing the row changes in batch if supported by the result set adapter.
+     * Errors are reported on the failing rows without popups
+     */
+    public void updateCellValues(List<DatasetEditorModelCell> cells, @Nullable Object userValue) {
+        ResultSetAdapter resultSetAdapter = getResultSetAdapter();
+        boolean batch = resultSetAdapter.startBatch();
+        try {
+            for (DatasetEditorModelCell cell : cells) {
+                cell.updateUserValue(userValue, true);
+            }
+        } finally {
+            if (batch) executeUpdateBatch(resultSetAdapter);
+        }
+    }
+
+    private void executeUpdateBatch(ResultSetAdapter resultSetAdapter) {
+        ConnectionHandler connection = getConnection();
+        try {
+            Map<DatasetEditorModelRow, SQLException> errors = resultSetAdapter.executeBatch();
+            errors.forEach((row, e) -> row.notifyError(new DatasetEditorError(connection, e), false, false));
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            Messages.showErrorDialog(getProject(), "Cannot update records", "Could not update the selected records.\nCause: " + e.getMessage());
+        }
+    }
+
     public void insertRecord(int rowIndex) {
         ResultSetAdapter resultSetAdapter = getResultSetAdapter();
         DatasetEditorTable editorTable = getEditorTable();
@@ -0,0 +1,275 @@
+package com.dbn.editor.data.model;
+
+import com.dbn.connection.Resources;
+import com.dbn.connection.jdbc.DBNConnection;
+import com.dbn.connection.jdbc.DBNPreparedStatement;
+import com.dbn.connection.jdbc.DBNResultSet;
+import com.dbn.object.DBColumn;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Keyset pagination of the dataset editor content.
+ * The records are loaded in pages ordered by the primary key of the table, each page being a separate query
+ * restricted to the keys following (or preceding) the boundary key of the previous page.
+ * The page cursor is closed as soon as the model stops fetching (see {@link #suspend()}),
+ * so no server cursor is held open while the editor is idle, no matter how large the table is.
+ * <br>
+ * The pages are served to the model as one continuous forward-only {@link ResultSet} (see {@link #open()})
+ * <br>
+ * The given select statement is wrapped as inline view of the page statements. Any top level ORDER BY clause of it is dropped,
+ * as it is meaningless there (the pages are ordered by the key) and not even allowed in inline views by some databases (e.g. SQL Server)
+ */
+class KeysetPager {
+    private static final String ALIAS = "DBN_KEYSET";
+
+    private final DBNConnection connection;
+    private final String selectStatement;
+    private final List<DBColumn> keyColumns;
+    private final int pageSize;
+    private final int timeout;
+
+    private @Getter DBNPreparedStatement statement;
+    private DBNResultSet page;
+    private ResultSetMetaData metaData;
+    private int[] keyIndexes;
+    private Object[] lastKey;
+    private int pageRows;
+    private boolean exhausted;
+    private boolean closed;
+
+    KeysetPager(DBNConnection connection, String selectStatement, List<DBColumn> keyColumns, int pageSize, int timeout) {
+        this.connection = connection;
+        this.selectStatement = stripOrderBy(selectStatement);
+        this.keyColumns = keyColumns;
+        this.pageSize = pageSize;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Opens the first page and returns the continuous result set over all pages
+     */
+    ResultSet open() throws SQLException {
+        openPage();
+        metaData = page.getMetaData();
+        keyIndexes = new int[keyColumns.size()];
+        for (int i = 0; i < keyIndexes.length; i++) {
+            keyIndexes[i] = page.findColumn(keyColumns.get(i).getName());
+        }
+
+        Class<?>[] interfaces = {ResultSet.class};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, (proxy, method, args) -> invoke(proxy, method, args));
+    }
+
+    /**
+     * Closes the current page. Next read continues with a new page after the last key read
+     */
+    synchronized void suspend() {
+        closePage();
+    }
+
+    /**
+     * Continues the forward paging after the given key (i.e. after the records following it were released by the model)
+     */
+    synchronized void resumeAfter(@NotNull Object[] key) {
+        closePage();
+        lastKey = key;
+        exhausted = false;
+    }
+
+    /**
+     * Executes the query for the given number of records preceding the given key, in descending key order.
+     * The caller is responsible for closing the returned result set
+     */
+    DBNResultSet openPrevious(@NotNull Object[] firstKey, int records) throws SQLException {
+        DBNPreparedStatement statement = prepare(firstKey, false, records);
+        return statement.executeQuery();
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next": return next();
+            case "close": close(); return null;
+            case "isClosed": return closed;
+            case "getMetaData": return metaData;
+            case "getStatement": return null;
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            case "toString": return "Keyset result set (" + selectStatement + ")";
+        }
+
+        DBNResultSet page = this.page;
+        if (page == null) throw new SQLException("No current record");
+        try {
+            return method.invoke(page, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private synchronized boolean next() throws SQLException {
+        while (!closed) {
+            if (page == null) {
+                if (exhausted) return false;
+                openPage();
+            }
+
+            if (page.next()) {
+                pageRows++;
+                lastKey = readKey(page);
+                return true;
+            }
+
+            boolean lastPage = pageRows < pageSize;
+            closePage();
+            if (lastPage) {
+                exhausted = true;
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Object[] readKey(ResultSet resultSet) throws SQLException {
+        Object[] key = new Object[keyIndexes.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = resultSet.getObject(keyIndexes[i]);
+        }
+        return key;
+    }
+
+    private void openPage() throws SQLException {
+        statement = prepare(lastKey, true, pageSize);
+        page = statement.executeQuery();
+        pageRows = 0;
+    }
+
+    private void closePage() {
+        Resources.close(page);
+        page = null;
+    }
+
+    private synchronized void close() {
+        closePage();
+        closed = true;
+    }
+
+    private DBNPreparedStatement prepare(@Nullable Object[] key, boolean forward, int records) throws SQLException {
+        String sql = createPageStatement(key != null, forward);
+        DBNPreparedStatement statement = connection.prepareStatement(sql);
+        if (timeout > 0) statement.setQueryTimeout(timeout);
+        statement.setMaxRows(records);
+        statement.setFetchSize(records);
+
+        if (key != null) bindKey(statement, key);
+        return statement;
+    }
+
+    /**
+     * Binds the key values to the parameters of the key condition (see {@link #createPageStatement(boolean, boolean)}):
+     * (k1 > ?) or (k1 = ? and k2 > ?) or ...
+     */
+    static void bindKey(PreparedStatement statement, Object[] key) throws SQLException {
+        int index = 0;
+        for (int i = 0; i < key.length; i++) {
+            for (int j = 0; j <= i; j++) {
+                statement.setObject(++index, key[j]);
+            }
+        }
+    }
+
+    String createPageStatement(boolean bounded, boolean forward) {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("select ");
+        buffer.append(ALIAS);
+        buffer.append(".* from (");
+        buffer.append(selectStatement);
+        buffer.append(") ");
+        buffer.append(ALIAS);
+
+        if (bounded) {
+            buffer.append(" where ");
+            String operator = forward ? " > ?" : " < ?";
+            for (int i = 0; i < keyColumns.size(); i++) {
+                if (i > 0) buffer.append(" or ");
+                buffer.append("(");
+                for (int j = 0; j < i; j++) {
+                    buffer.append(columnName(j));
+                    buffer.append(" = ? and ");
+                }
+                buffer.append(columnName(i));
+                buffer.append(operator);
+                buffer.append(")");
+            }
+        }
+
+        buffer.append(" order by ");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) buffer.append(", ");
+            buffer.append(columnName(i));
+            if (!forward) buffer.append(" desc");
+        }
+        return buffer.toString();
+    }
+
+    private String columnName(int index) {
+        return ALIAS + "." + keyColumns.get(index).getQuotedName(false);
+    }
+
+    /**
+     * Removes the trailing ORDER BY clause of the statement, if any.
+     * Clauses nested in parentheses, quoted text and comments are not considered
+     */
+    static String stripOrderBy(String statement) {
+        int orderByIndex = -1;
+        int depth = 0;
+        int length = statement.length();
+        for (int i = 0; i < length; i++) {
+            char chr = statement.charAt(i);
+            if (chr == '\'' || chr == '"') {
+                int end = statement.indexOf(chr, i + 1);
+                i = end == -1 ? length : end;
+            } else if (statement.startsWith("--", i)) {
+                int end = statement.indexOf('\n', i);
+                i = end == -1 ? length : end;
+            } else if (statement.startsWith("/*", i)) {
+                int end = statement.indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 1;
+            } else if (chr == '(') {
+                depth++;
+            } else if (chr == ')') {
+                if (depth > 0) depth--;
+            } else if (depth == 0 && isOrderBy(statement, i)) {
+                orderByIndex = i;
+            }
+        }
+        return orderByIndex == -1 ? statement : statement.substring(0, orderByIndex).trim();
+    }
+
+    private static boolean isOrderBy(String statement, int index) {
+        if (index > 0 && isIdentifierPart(statement.charAt(index - 1))) return false;
+        if (!statement.regionMatches(true, index, "order", 0, 5)) return false;
+
+        int i = index + 5;
+        int length = statement.length();
+        if (i == length || !Character.isWhitespace(statement.charAt(i))) return false;
+        while (i < length && Character.isWhitespace(statement.charAt(i))) i++;
+
+        if (!statement.regionMatches(true, i, "by", 0, 2)) return false;
+        return i + 2 == length || !isIdentifierPart(statement.charAt(i + 2));
+    }
+
+    private static boolean isIdentifierPart(char chr) {
+        return Character.isLetterOrDigit(chr) || chr == '_' || chr == '$' || chr == '#';
+    }
+}
@@ -1,6 +1,7 @@
 package com.dbn.editor.data.model;
 
 import com.dbn.common.dispose.AlreadyDisposedException;
+import com.dbn.common.routine.ThrowableConsumer;
 import com.dbn.common.util.Lists;
 import com.dbn.connection.Resources;
 import com.dbn.connection.Savepoints;
@@ -18,13 +19,16 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class ReadonlyResultSetAdapter extends ResultSetAdapter {
     private DBNConnection connection;
     private Row currentRow;
+    private DatasetEditorChangeBuffer<DatasetEditorModelRow> changeBuffer;
 
     ReadonlyResultSetAdapter(DatasetEditorModel model, DBNResultSet resultSet) {
         super(model);
@@ -41,7 +45,7 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
             throw new SQLException("Could not scroll to row index " + rowIndex);
         }
 
-        currentRow = new Row();
+        currentRow = new Row(modelRow);
         List<DatasetEditorModelCell> modelCells = modelRow.getCells();
         for (DatasetEditorModelCell modelCell : modelCells) {
             DatasetEditorColumnInfo columnInfo = modelCell.getColumnInfo();
@@ -56,7 +60,7 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
         if (isInsertMode()) return;
         if (isObsolete()) return;
 
-        if (isUseSavePoints()) {
+        if (isUseSavePoints() && changeBuffer == null) {
             Savepoints.run(connection, () -> this.executeUpdate());
         } else {
             executeUpdate();
@@ -75,7 +79,7 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
         if (isObsolete()) return;
 
         setInsertMode(true);
-        currentRow = new Row();
+        currentRow = new Row(null);
     }
 
     @Override
@@ -108,13 +112,33 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
         if (isInsertMode()) return;
         if (isObsolete()) return;
 
-        if (isUseSavePoints()) {
+        if (isUseSavePoints() && changeBuffer == null) {
             Savepoints.run(connection, () -> executeDelete());
         } else {
             executeDelete();
         }
     }
 
+    @Override
+    public synchronized boolean startBatch() {
+        if (isInsertMode()) return false;
+        if (isObsolete()) return false;
+
+        changeBuffer = new DatasetEditorChangeBuffer<>(connection, isUseSavePoints());
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public synchronized Map<DatasetEditorModelRow, SQLException> executeBatch() throws SQLException {
+        DatasetEditorChangeBuffer<DatasetEditorModelRow> changeBuffer = this.changeBuffer;
+        if (changeBuffer == null) return Collections.emptyMap();
+
+        this.changeBuffer = null;
+        if (isObsolete()) return Collections.emptyMap();
+        return changeBuffer.flush();
+    }
+
     private boolean isObsolete() {
         return Resources.isObsolete(connection);
     }
@@ -164,19 +188,15 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
             }
         }
 
-        PreparedStatement preparedStatement = connection.prepareStatement(buffer.toString());
-        int paramIndex = 0;
-        for (Cell cell : changedCells) {
-            paramIndex++;
-            DBNativeDataType nativeDataType = cell.getDataType();
-            nativeDataType.setValueToStatement(preparedStatement, paramIndex, cell.getValue());
+        if (changeBuffer != null && changedCells.stream().anyMatch(cell -> cell.isPrimaryKey())) {
+            // subsequent changes of the row are addressed by the new key
+            changeBuffer.flush();
         }
-        for (Cell cell : keyCells) {
-            paramIndex++;
-            DBNativeDataType nativeDataType = cell.getDataType();
-            nativeDataType.setValueToStatement(preparedStatement, paramIndex, cell.getValue());
-        }
-        preparedStatement.executeUpdate();
+
+        execute(buffer.toString(), true, statement -> {
+            int paramIndex = setParameters(statement, 0, changedCells);
+            setParameters(statement, paramIndex, keyCells);
+        });
     }
 
     private void executeInsert() throws SQLException {
@@ -205,14 +225,7 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
         buffer.append(")");
 
 
-        PreparedStatement preparedStatement = connection.prepareStatement(buffer.toString());
-        int paramIndex = 0;
-        for (Cell cell : changedCells) {
-            paramIndex++;
-            DBNativeDataType nativeDataType = cell.getDataType();
-            nativeDataType.setValueToStatement(preparedStatement, paramIndex, cell.getValue());
-        }
-        preparedStatement.executeUpdate();
+        execute(buffer.toString(), false, statement -> setParameters(statement, 0, changedCells));
     }
 
     private void executeDelete() throws SQLException {
@@ -228,17 +241,36 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
 
         for (Cell cell : keyCells) {
             buffer.append(cell.getColumnName());
-            buffer.append(" = ? ");
+            buffer.append(" = ?");
+            if (!Lists.isLast(keyCells, cell)) {
+                buffer.append(" and ");
+            }
         }
 
-        PreparedStatement preparedStatement = connection.prepareStatement(buffer.toString());
-        int paramIndex = 0;
-        for (Cell cell : keyCells) {
+        execute(buffer.toString(), true, statement -> setParameters(statement, 0, keyCells));
+    }
+
+    /**
+     * Executes the statement right away, or defers it to the change buffer if a batch was started (and the statement is batchable)
+     */
+    private void execute(String sql, boolean batchable, ThrowableConsumer<PreparedStatement, SQLException> parameters) throws SQLException {
+        if (batchable && changeBuffer != null) {
+            changeBuffer.add(sql, currentRow.getModelRow(), parameters);
+            return;
+        }
+
+        PreparedStatement preparedStatement = connection.prepareStatementCached(sql);
+        parameters.accept(preparedStatement);
+        preparedStatement.executeUpdate();
+    }
+
+    private static int setParameters(PreparedStatement preparedStatement, int paramIndex, List<Cell> cells) throws SQLException {
+        for (Cell cell : cells) {
             paramIndex++;
             DBNativeDataType nativeDataType = cell.getDataType();
             nativeDataType.setValueToStatement(preparedStatement, paramIndex, cell.getValue());
         }
-        preparedStatement.executeUpdate();
+        return paramIndex;
     }
 
     @Getter
@@ -265,12 +297,25 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
         public String getColumnName() {
             return columnInfo.getName();
         }
+
+        public boolean isPrimaryKey() {
+            return columnInfo instanceof DatasetEditorColumnInfo && ((DatasetEditorColumnInfo) columnInfo).isPrimaryKey();
+        }
     }
 
     private static class Row {
+        private final DatasetEditorModelRow modelRow;
         private final Set<Cell> keyCells = new HashSet<>();
         private final Set<Cell> changedCells = new HashSet<>();
 
+        Row(@Nullable DatasetEditorModelRow modelRow) {
+            this.modelRow = modelRow;
+        }
+
+        DatasetEditorModelRow getModelRow() {
+            return modelRow;
+        }
+
         List<Cell> getKeyCells() {
             return new ArrayList<>(keyCells);
         }
@@ -295,6 +340,7 @@ public class ReadonlyResultSetAdapter extends ResultSetAdapter {
     @Override
     public void disposeInner() {
         currentRow = null;
+        changeBuffer = null;
         connection = null;
         super.disposeInner();
     }
@@ -13,6 +13,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -48,4 +50,22 @@ public abstract class ResultSetAdapter extends ResultSets implements StatefulDis
     public abstract void setValue(int columnIndex, @NotNull ValueAdapter valueAdapter, @Nullable Object value) throws SQLException;
 
     public abstract void setValue(int columnIndex, @NotNull DBDataType dataType, @Nullable Object value) throws SQLException;
+
+    /**
+     * Starts collecting the row changes instead of executing them one by one (if supported by the adapter).
+     * The collected changes are executed in bulk by {@link #executeBatch()}
+     * @return true if the changes are collected, false if they are still executed one by one
+     */
+    public boolean startBatch() {
+        return false;
+    }
+
+    /**
+     * Executes the row changes collected since {@link #startBatch()}
+     * @return the rows which could not be changed, with their individual error
+     */
+    @NotNull
+    public Map<DatasetEditorModelRow, SQLException> executeBatch() throws SQLException {
+        return Collections.emptyMap();
+    }
 }
@@ -18,6 +18,7 @@ public class DataEditorGeneralSettings extends BasicConfiguration<DataEditorSett
     private final BooleanSetting convertEmptyStringsToNull = new BooleanSetting("convert-empty-strings-to-null", true);
     private final BooleanSetting selectContentOnCellEdit = new BooleanSetting("select-content-on-cell-edit", true);
     private final BooleanSetting largeValuePreviewActive = new BooleanSetting("large-value-preview-active", true);
+    private final BooleanSetting keysetPagination = new BooleanSetting("keyset-pagination", false);
 
     DataEditorGeneralSettings(DataEditorSettings parent) {
         super(parent);
@@ -55,6 +56,7 @@ public class DataEditorGeneralSettings extends BasicConfiguration<DataEditorSett
         convertEmptyStringsToNull.readConfiguration(element);
         selectContentOnCellEdit.readConfiguration(element);
         largeValuePreviewActive.readConfiguration(element);
+        keysetPagination.readConfiguration(element);
     }
 
     @Override
@@ -65,6 +67,7 @@ public class DataEditorGeneralSettings extends BasicConfiguration<DataEditorSett
         convertEmptyStringsToNull.writeConfiguration(element);
         selectContentOnCellEdit.writeConfiguration(element);
         largeValuePreviewActive.writeConfiguration(element);
+        keysetPagination.writeConfiguration(element);
     }
 
 }
@@ -16,6 +16,7 @@ public class DataEditorGeneralSettingsForm extends ConfigurationEditorForm<DataE
     private JCheckBox convertEmptyToNullCheckBox;
     private JCheckBox selectContentOnEditCheckBox;
     private JCheckBox largeValuePreviewActiveCheckBox;
+    private JCheckBox keysetPaginationCheckBox;
 
     public DataEditorGeneralSettingsForm(DataEditorGeneralSettings settings) {
         super(settings);
@@ -42,6 +43,7 @@ public class DataEditorGeneralSettingsForm extends ConfigurationEditorForm<DataE
         settings.getConvertEmptyStringsToNull().to(convertEmptyToNullCheckBox);
         settings.getSelectContentOnCellEdit().to(selectContentOnEditCheckBox);
         settings.getLargeValuePreviewActive().to(largeValuePreviewActiveCheckBox);
+        settings.getKeysetPagination().to(keysetPaginationCheckBox);
     }
 
     @Override
@@ -53,5 +55,6 @@ public class DataEditorGeneralSettingsForm extends ConfigurationEditorForm<DataE
         settings.getConvertEmptyStringsToNull().from(convertEmptyToNullCheckBox);
         settings.getSelectContentOnCellEdit().from(selectContentOnEditCheckBox);
         settings.getLargeValuePreviewActive().from(largeValuePreviewActiveCheckBox);
+        settings.getKeysetPagination().from(keysetPaginationCheckBox);
     }
 }
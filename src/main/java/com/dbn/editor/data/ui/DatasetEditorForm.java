@@ -83,6 +83,7 @@ public class DatasetEditorForm extends DBNFormBase implements SearchableDataComp
             datasetTablePanel.setBorder(Borders.tableBorder(1, 0, 0, 0));
             datasetEditorTable = new DatasetEditorTable(this, datasetEditor);
             datasetTableScrollPane.setViewportView(datasetEditorTable);
+            datasetTableScrollPane.getVerticalScrollBar().addAdjustmentListener(e -> prefetchRecords());
             datasetEditorTable.initTableGutter();
 
             ActionToolbar actionToolbar = Actions.createActionToolbar(actionsPanel, "DBNavigator.ActionGroup.DataEditor", "", true);
@@ -155,6 +156,28 @@ public class DatasetEditorForm extends DBNFormBase implements SearchableDataComp
         }
     }
 
+    private void prefetchRecords() {
+        DatasetEditorTable editorTable = getEditorTable();
+        if (!editorTable.getModel().isKeysetPaginated()) return;
+
+        Rectangle visibleRect = editorTable.getVisibleRect();
+        int firstRow = editorTable.rowAtPoint(new Point(0, visibleRect.y));
+        int lastRow = editorTable.rowAtPoint(new Point(0, visibleRect.y + visibleRect.height - 1));
+        if (firstRow == -1) return;
+        if (lastRow == -1) lastRow = editorTable.getRowCount() - 1;
+
+        getDatasetEditor().prefetchRecords(firstRow, lastRow);
+    }
+
+    /**
+     * Keeps the visible records in place when rows were added (positive) or released (negative) at the top of the table
+     */
+    public void shiftViewport(int rows) {
+        DatasetEditorTable editorTable = getEditorTable();
+        JScrollBar scrollBar = datasetTableScrollPane.getVerticalScrollBar();
+        scrollBar.setValue(scrollBar.getValue() + rows * editorTable.getRowHeight());
+    }
+
     @NotNull
     @Override
     public JPanel getMainComponent() {
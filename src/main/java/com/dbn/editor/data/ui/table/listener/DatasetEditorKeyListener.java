@@ -72,10 +72,7 @@ public class DatasetEditorKeyListener extends KeyAdapter {
                             }
                         }
                     }
-                    for (DatasetEditorModelCell cell : cells) {
-                        cell.updateUserValue(null, true);
-                    }
-
+                    model.updateCellValues(cells, null);
                 });
             }
         }
@@ -39,15 +39,22 @@ import javax.swing.*;
 import java.beans.PropertyChangeListener;
 import java.util.Timer;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.dbn.common.dispose.Failsafe.guarded;
 
 public class SessionBrowser extends DisposableUserDataHolderBase implements FileEditor, DatabaseContextBase, DataProvider {
+    private static final int LOAD_IDLE = 0;
+    private static final int LOAD_RUNNING = 1;
+    private static final int LOAD_RUNNING_RELOAD_PENDING = 2;
+
     private final WeakRef<DBSessionBrowserVirtualFile> databaseFile;
 
     private SessionBrowserForm browserForm;
     private boolean preventLoading = false;
     private boolean loading;
+    private final AtomicInteger loadState = new AtomicInteger(LOAD_IDLE);
+    private volatile SessionBrowserFilter loadedFilter; // filter applied in the database on last load
     private Timer refreshTimer;
     private FileEditorState cachedState;
 
@@ -89,25 +96,28 @@ public class SessionBrowser extends DisposableUserDataHolderBase implements File
         return preventLoading || editorTable.getSelectedRowCount() > 1;
     }
 
+    /**
+     * Loads the sessions in background and patches them into the current model (see {@link SessionBrowserModel#merge(SessionBrowserModel)}).
+     * Load requests issued while a load is running are coalesced: timed refreshes are dropped,
+     * forced loads (e.g. filter change or explicit reload) are executed once after the running load completes
+     */
     public void loadSessions(boolean force) {
-        if (!canLoad(force)) return;
+        if (isPreventLoading(force)) return;
 
         Project project = getProject();
         ConnectionAction.invoke("loading the sessions", false, this,
                 action -> Background.run(project, () -> {
-                    if (!canLoad(force)) return;
+                    if (isPreventLoading(force)) return;
+                    if (!startLoad(force)) return;
 
-                    DBSessionBrowserVirtualFile databaseFile = getDatabaseFile();
+                    boolean complete = false;
                     try {
-                        setLoading(true);
-                        SessionBrowserManager sessionBrowserManager = SessionBrowserManager.getInstance(project);
-                        SessionBrowserModel model = sessionBrowserManager.loadSessions(databaseFile);
-                        replaceModel(model);
+                        while (!complete) {
+                            doLoadSessions(project);
+                            complete = finishLoad();
+                        }
                     } finally {
-                        ProjectEvents.notify(project,
-                                SessionBrowserLoadListener.TOPIC,
-                                (listener) -> listener.sessionsLoaded(databaseFile));
-                        setLoading(false);
+                        if (!complete) loadState.set(LOAD_IDLE);
                     }
                 }),
                 action -> {
@@ -117,20 +127,74 @@ public class SessionBrowser extends DisposableUserDataHolderBase implements File
                 null);
     }
 
-    private boolean canLoad(boolean force) {
-        return !loading && !isPreventLoading(force);
+    private void doLoadSessions(Project project) {
+        DBSessionBrowserVirtualFile databaseFile = getDatabaseFile();
+        try {
+            setLoading(true);
+            SessionBrowserManager sessionBrowserManager = SessionBrowserManager.getInstance(project);
+            SessionBrowserFilter filter = getFilter();
+            SessionBrowserModel model = sessionBrowserManager.loadSessions(databaseFile, filter);
+            loadedFilter = filter;
+            mergeModel(model);
+        } finally {
+            ProjectEvents.notify(project,
+                    SessionBrowserLoadListener.TOPIC,
+                    (listener) -> listener.sessionsLoaded(databaseFile));
+            setLoading(false);
+        }
+    }
+
+    /**
+     * Claims the load for the caller, or, if a load is running, marks forced requests as pending reload
+     * @return true if the caller is to run the load
+     */
+    private boolean startLoad(boolean force) {
+        while (true) {
+            int state = loadState.get();
+            if (state == LOAD_IDLE) {
+                if (loadState.compareAndSet(LOAD_IDLE, LOAD_RUNNING)) return true;
+            } else if (!force || state == LOAD_RUNNING_RELOAD_PENDING) {
+                return false;
+            } else if (loadState.compareAndSet(LOAD_RUNNING, LOAD_RUNNING_RELOAD_PENDING)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Releases the load, unless a reload was requested while loading
+     * @return true if the load is complete, false if the caller is to run the pending reload
+     */
+    private boolean finishLoad() {
+        if (loadState.compareAndSet(LOAD_RUNNING, LOAD_IDLE)) return true;
+
+        loadState.set(LOAD_RUNNING);
+        return false;
+    }
+
+    @Nullable
+    private SessionBrowserFilter getFilter() {
+        SessionBrowserModel model = getTableModel();
+        SessionBrowserFilter filter = model == null ? null : model.getFilter();
+        return filter == null ? null : filter.clone();
     }
 
-    private void replaceModel(SessionBrowserModel newModel) {
+    private void mergeModel(SessionBrowserModel newModel) {
         if (newModel != null) {
             Dispatch.run(() -> {
                 SessionBrowserTable editorTable = getBrowserTable();
                 SessionBrowserModel oldModel = editorTable.getModel();
-                SessionBrowserState state = oldModel.getState();
-                newModel.setState(state);
-                editorTable.setModel(newModel);
-                refreshTable();
-                Disposer.dispose(oldModel);
+                if (oldModel.merge(newModel)) {
+                    editorTable.restoreSelection();
+                    refreshLoadTimestamp();
+                    Disposer.dispose(newModel);
+                } else {
+                    SessionBrowserState state = oldModel.getState();
+                    newModel.setState(state);
+                    editorTable.setModel(newModel);
+                    refreshTable();
+                    Disposer.dispose(oldModel);
+                }
             });
         }
     }
@@ -144,6 +208,22 @@ public class SessionBrowser extends DisposableUserDataHolderBase implements File
         }
     }
 
+    /**
+     * Applies a change of the filter. The sessions are reloaded if configured so,
+     * or if the filter got less restrictive than the filter applied in the database on last load
+     */
+    public void applyFilterChange() {
+        SessionBrowserFilter filter = getFilter();
+        if (filter != null && !filter.isNarrowerThan(loadedFilter)) {
+            refreshTable();
+            loadSessions(true);
+        } else if (getSettings().isReloadOnFilterChange()) {
+            loadSessions(false);
+        } else {
+            refreshTable();
+        }
+    }
+
     public void refreshTable() {
         SessionBrowserTable editorTable = getBrowserTable();
         UserInterface.repaint(editorTable);
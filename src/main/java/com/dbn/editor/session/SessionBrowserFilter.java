@@ -7,6 +7,7 @@ import com.dbn.editor.session.model.SessionBrowserModelRow;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -58,6 +59,18 @@ public class SessionBrowserFilter implements Filter<SessionBrowserModelRow>, Clo
         }
     }
 
+    /**
+     * Whether all sessions accepted by this filter are also accepted by the given filter
+     */
+    public boolean isNarrowerThan(@Nullable SessionBrowserFilter filter) {
+        if (filter == null) return true;
+        for (SessionBrowserFilterType filterType : SessionBrowserFilterType.values()) {
+            String value = filter.getFilterValue(filterType);
+            if (Strings.isNotEmpty(value) && !Objects.equals(value, getFilterValue(filterType))) return false;
+        }
+        return true;
+    }
+
     public void clear() {
         user = null;
         host = null;
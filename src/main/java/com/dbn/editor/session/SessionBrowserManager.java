@@ -114,8 +114,15 @@ public class SessionBrowserManager extends ProjectComponentBase implements Persi
                 });
     }
 
-    public SessionBrowserModel loadSessions(DBSessionBrowserVirtualFile sessionBrowserFile) {
+    /**
+     * Loads the sessions of the connection of the given session browser file.
+     * The restrictions of the given filter are applied in the database (if supported by the database type)
+     */
+    public SessionBrowserModel loadSessions(DBSessionBrowserVirtualFile sessionBrowserFile, @Nullable SessionBrowserFilter filter) {
         ConnectionHandler connection = sessionBrowserFile.getConnection();
+        String user = filter == null ? null : filter.getUser();
+        String host = filter == null ? null : filter.getHost();
+        String status = filter == null ? null : filter.getStatus();
         try {
             return DatabaseInterfaceInvoker.load(HIGH,
                     "Loading sessions",
@@ -126,7 +133,7 @@ public class SessionBrowserManager extends ProjectComponentBase implements Persi
                         DBNResultSet resultSet = null;
                         try {
                             DatabaseMetadataInterface metadata = connection.getMetadataInterface();
-                            resultSet = (DBNResultSet) metadata.loadSessions(conn);
+                            resultSet = (DBNResultSet) metadata.loadSessions(user, host, status, conn);
                             return new SessionBrowserModel(connection, resultSet);
                         } finally {
                             Resources.close(resultSet);
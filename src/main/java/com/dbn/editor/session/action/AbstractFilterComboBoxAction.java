@@ -10,7 +10,6 @@ import com.dbn.editor.session.SessionBrowser;
 import com.dbn.editor.session.SessionBrowserFilter;
 import com.dbn.editor.session.SessionBrowserFilterType;
 import com.dbn.editor.session.model.SessionBrowserModel;
-import com.dbn.editor.session.options.SessionBrowserSettings;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
@@ -119,12 +118,7 @@ public abstract class AbstractFilterComboBoxAction extends DBNComboBoxAction imp
             if (modelFilter == null) return;
 
             modelFilter.setFilterValue(filterType, filterValue);
-            SessionBrowserSettings sessionBrowserSettings = sessionBrowser.getSettings();
-            if (sessionBrowserSettings.isReloadOnFilterChange()) {
-                sessionBrowser.loadSessions(false);
-            } else {
-                sessionBrowser.refreshTable();
-            }
+            sessionBrowser.applyFilterChange();
         }
 
         @Override
@@ -4,7 +4,6 @@ import com.dbn.common.icon.Icons;
 import com.dbn.editor.session.SessionBrowser;
 import com.dbn.editor.session.SessionBrowserFilter;
 import com.dbn.editor.session.model.SessionBrowserModel;
-import com.dbn.editor.session.options.SessionBrowserSettings;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.Presentation;
 import org.jetbrains.annotations.NotNull;
@@ -16,12 +15,7 @@ public class ClearFiltersAction extends AbstractSessionBrowserAction {
         SessionBrowser sessionBrowser = getSessionBrowser(e);
         if (sessionBrowser != null) {
             sessionBrowser.clearFilter();
-            SessionBrowserSettings sessionBrowserSettings = sessionBrowser.getSettings();
-            if (sessionBrowserSettings.isReloadOnFilterChange()) {
-                sessionBrowser.loadSessions(false);
-            } else {
-                sessionBrowser.refreshTable();
-            }
+            sessionBrowser.applyFilterChange();
         }
     }
 
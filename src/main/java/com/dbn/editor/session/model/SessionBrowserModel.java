@@ -1,7 +1,8 @@
 package com.dbn.editor.session.model;
 
+import com.dbn.common.dispose.BackgroundDisposer;
+import com.dbn.common.dispose.Disposer;
 import com.dbn.common.list.FilteredList;
-import com.dbn.common.util.Strings;
 import com.dbn.connection.ConnectionHandler;
 import com.dbn.connection.jdbc.DBNResultSet;
 import com.dbn.data.model.DataModelState;
@@ -10,17 +11,25 @@ import com.dbn.data.model.sortable.SortableDataModelState;
 import com.dbn.editor.session.SessionBrowserState;
 import com.dbn.editor.session.SessionBrowserFilter;
 import com.dbn.editor.session.SessionBrowserFilterType;
+import com.dbn.editor.session.SessionIdentifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.TableModelEvent;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 public class SessionBrowserModel extends ResultSetDataModel<SessionBrowserModelRow, SessionBrowserModelCell>{
-    private final long timestamp = System.currentTimeMillis();
+    private long timestamp = System.currentTimeMillis();
     private String loadError;
+    private final Map<SessionBrowserFilterType, SessionFilterValues> filterValues = new EnumMap<>(SessionBrowserFilterType.class);
 
     public SessionBrowserModel(ConnectionHandler connection) {
         super(connection);
@@ -34,6 +43,7 @@ public class SessionBrowserModel extends ResultSetDataModel<SessionBrowserModelR
         setResultSet(resultSet);
         setResultSetExhausted(false);
         fetchNextRecords(10000, true);
+        updateFilterValues();
     }
 
     public String getLoadError() {
@@ -87,28 +97,96 @@ public class SessionBrowserModel extends ResultSetDataModel<SessionBrowserModelR
     }
 
     public List<String> getDistinctValues(SessionBrowserFilterType filterType, String selectedValue) {
+        return getFilterValues(filterType).getValues(selectedValue);
+    }
+
+    /**
+     * Registers the filter values of the loaded sessions (see {@link SessionFilterValues})
+     */
+    private void updateFilterValues() {
+        List<SessionBrowserModelRow> rows = FilteredList.unwrap(getRows());
+        for (SessionBrowserFilterType filterType : SessionBrowserFilterType.values()) {
+            String columnName = getFilterColumnName(filterType);
+            List<String> values = new ArrayList<>(rows.size());
+            for (SessionBrowserModelRow row : rows) {
+                values.add((String) row.getCellValue(columnName));
+            }
+            getFilterValues(filterType).update(values);
+        }
+    }
+
+    private SessionFilterValues getFilterValues(SessionBrowserFilterType filterType) {
+        return filterValues.computeIfAbsent(filterType, t -> new SessionFilterValues());
+    }
+
+    private static String getFilterColumnName(SessionBrowserFilterType filterType) {
         switch (filterType) {
-            case USER: return getDistinctValues("USER", selectedValue);
-            case HOST: return getDistinctValues("HOST", selectedValue);
-            case STATUS: return getDistinctValues("STATUS", selectedValue);
+            case USER: return "USER";
+            case HOST: return "HOST";
+            case STATUS: return "STATUS";
         }
-        return null;
+        throw new IllegalArgumentException("Unsupported filter type " + filterType);
     }
 
-    private List<String> getDistinctValues(String columnName, String selectedValue) {
-        ArrayList<String> values = new ArrayList<>();
-        List<SessionBrowserModelRow> rows = FilteredList.unwrap(getRows());
-        for (SessionBrowserModelRow row : rows) {
-            String value = (String) row.getCellValue(columnName);
-            if (Strings.isNotEmpty(value) && !values.contains(value)) {
-                values.add(value);
+    /**
+     * Patches the sessions of this model with the freshly loaded sessions of the given model
+     * instead of replacing the model: sessions are matched by {@link SessionIdentifier},
+     * rows of ended sessions are removed, rows of new sessions are taken over from the given model
+     * and the rows of the remaining sessions are updated in place where their values changed.
+     * Only the changed rows are notified, unless sessions were added, removed or reordered.
+     *
+     * @return false if the models are not compatible (different columns or load error), i.e. the model has to be replaced
+     */
+    public boolean merge(@NotNull SessionBrowserModel model) {
+        if (loadError != null || model.loadError != null) return false;
+        if (!isCompatible(model)) return false;
+
+        SessionRowsDelta<SessionBrowserModelRow, SessionIdentifier> delta = SessionRowsDelta.compute(
+                FilteredList.unwrap(getRows()),
+                FilteredList.unwrap(model.getRows()),
+                SessionBrowserModelRow::getSessionIdentifier,
+                SessionBrowserModelRow::update);
+
+        for (SessionBrowserModelRow row : delta.getAddedRows()) {
+            row.setModel(this);
+        }
+
+        List<SessionBrowserModelRow> visibleRows = getRows();
+        List<SessionBrowserModelRow> previousVisibleRows = new ArrayList<>(visibleRows);
+
+        List<SessionBrowserModelRow> newRows = delta.getRows();
+        sort(newRows);
+        setRows(newRows);
+        timestamp = model.timestamp;
+        updateFilterValues();
+
+        // hand back the rows not taken over (disposed with the loaded model)
+        model.setRows(delta.getUnusedRows());
+        Collection<SessionBrowserModelRow> removedRows = delta.getRemovedRows();
+        BackgroundDisposer.queue(() -> Disposer.disposeCollection(removedRows));
+
+        Set<SessionBrowserModelRow> updatedRows = delta.getUpdatedRows();
+
+        visibleRows = getRows();
+        if (!previousVisibleRows.equals(visibleRows)) {
+            // sessions added, removed or reordered
+            notifyListeners(new ListDataEvent(this, ListDataEvent.CONTENTS_CHANGED, 0, Math.max(0, visibleRows.size() - 1)), new TableModelEvent(this));
+        } else if (!updatedRows.isEmpty()) {
+            for (int i = 0; i < visibleRows.size(); i++) {
+                if (updatedRows.contains(visibleRows.get(i))) notifyRowUpdated(i);
             }
         }
-        if (Strings.isNotEmpty(selectedValue) && !values.contains(selectedValue)) {
-            values.add(selectedValue);
+        return true;
+    }
+
+    private boolean isCompatible(SessionBrowserModel model) {
+        int columnCount = getColumnCount();
+        if (columnCount != model.getColumnCount()) return false;
+
+        for (int i = 0; i < columnCount; i++) {
+            if (!Objects.equals(getColumnName(i), model.getColumnName(i))) return false;
         }
-        Collections.sort(values);
-        return values;
+        return true;
     }
 
 
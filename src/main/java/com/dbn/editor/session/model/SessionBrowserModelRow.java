@@ -11,6 +11,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Objects;
 
 public class SessionBrowserModelRow
         extends ResultSetDataModelRow<SessionBrowserModel, SessionBrowserModelCell> {
@@ -31,6 +32,27 @@ public class SessionBrowserModelRow
         return super.getModel();
     }
 
+    /**
+     * Takes over the values of the given row (same session, freshly loaded)
+     * @return true if any of the values changed
+     */
+    boolean update(SessionBrowserModelRow row) {
+        boolean changed = false;
+        int columnCount = getModel().getColumnCount();
+        for (int i = 0; i < columnCount; i++) {
+            SessionBrowserModelCell cell = getCellAtIndex(i);
+            SessionBrowserModelCell loadedCell = row.getCellAtIndex(i);
+            if (cell == null || loadedCell == null) continue;
+
+            Object value = loadedCell.getUserValue();
+            if (!Objects.equals(cell.getUserValue(), value)) {
+                cell.setUserValue(value);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     public String getUser() {
         return (String) getCellValue("USER");
     }
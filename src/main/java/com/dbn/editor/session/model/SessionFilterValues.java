@@ -0,0 +1,41 @@
+package com.dbn.editor.session.model;
+
+import com.dbn.common.util.Strings;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distinct values of a filter column of the session browser. Values seen in previous loads are kept,
+ * since the sessions may be restricted by the filter in the database, but only for the last {@link #MAX_LOAD_AGE} loads
+ */
+final class SessionFilterValues {
+    static final int MAX_LOAD_AGE = 10;
+
+    private final Map<String, Integer> values = new HashMap<>(); // value -> load it was last seen in
+    private int load;
+
+    /**
+     * Registers the values of a (re)load and drops the values not seen in the last {@link #MAX_LOAD_AGE} loads
+     */
+    void update(Iterable<String> loadedValues) {
+        load++;
+        for (String value : loadedValues) {
+            if (Strings.isNotEmpty(value)) values.put(value, load);
+        }
+        values.values().removeIf(valueLoad -> load - valueLoad >= MAX_LOAD_AGE);
+    }
+
+    List<String> getValues(@Nullable String selectedValue) {
+        List<String> distinctValues = new ArrayList<>(values.keySet());
+        if (Strings.isNotEmpty(selectedValue) && !values.containsKey(selectedValue)) {
+            distinctValues.add(selectedValue);
+        }
+        Collections.sort(distinctValues);
+        return distinctValues;
+    }
+}
@@ -0,0 +1,69 @@
+package com.dbn.editor.session.model;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Matching of the current rows of the session browser with the freshly loaded rows (see {@link SessionBrowserModel#merge(SessionBrowserModel)}).
+ * Rows are matched by session identifier. Current rows of the loaded sessions are kept and updated in place,
+ * loaded rows of new sessions are taken over and current rows of ended sessions are dropped.
+ *
+ * @param <R> the rows
+ * @param <K> the session identifier of the rows
+ */
+@Getter
+final class SessionRowsDelta<R, K> {
+    /** merged rows in the order of the loaded rows */
+    private final List<R> rows;
+    /** loaded rows of new sessions, taken over as they are */
+    private final List<R> addedRows = new ArrayList<>();
+    /** current rows of the loaded sessions whose values changed */
+    private final Set<R> updatedRows = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** current rows of the ended sessions */
+    private final Collection<R> removedRows;
+    /** loaded rows of the known sessions, not taken over */
+    private final List<R> unusedRows = new ArrayList<>();
+
+    private SessionRowsDelta(List<R> currentRows, List<R> loadedRows, Function<R, K> identifier, BiPredicate<R, R> update) {
+        Map<K, R> rowsByIdentifier = new HashMap<>(currentRows.size());
+        for (R row : currentRows) {
+            rowsByIdentifier.put(identifier.apply(row), row);
+        }
+
+        rows = new ArrayList<>(loadedRows.size());
+        for (R loadedRow : loadedRows) {
+            R row = rowsByIdentifier.remove(identifier.apply(loadedRow));
+            if (row == null) {
+                addedRows.add(loadedRow);
+                rows.add(loadedRow);
+            } else {
+                if (update.test(row, loadedRow)) updatedRows.add(row);
+                unusedRows.add(loadedRow);
+                rows.add(row);
+            }
+        }
+        removedRows = rowsByIdentifier.values();
+    }
+
+    /**
+     * @param currentRows the rows currently shown
+     * @param loadedRows the freshly loaded rows
+     * @param identifier the session identifier of a row
+     * @param update takes over the values of the loaded row (second argument) into the current row (first argument), returns true if any value changed
+     */
+    @NotNull
+    static <R, K> SessionRowsDelta<R, K> compute(List<R> currentRows, List<R> loadedRows, Function<R, K> identifier, BiPredicate<R, R> update) {
+        return new SessionRowsDelta<>(currentRows, loadedRows, identifier, update);
+    }
+}
@@ -0,0 +1,197 @@
+package com.dbn.execution.compiler;
+
+import com.dbn.common.load.ProgressMonitor;
+import com.dbn.editor.DBContentType;
+import com.dbn.object.common.DBObject;
+import com.dbn.object.common.DBSchemaObject;
+import com.dbn.object.common.status.DBObjectStatus;
+import com.dbn.object.common.status.DBObjectStatusHolder;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+/**
+ * Compile plan for a set of invalid objects.
+ * Builds the dependency graph of the objects (restricted to the objects in the set, as resolved by
+ * {@link DBSchemaObject#getReferencedObjects()}) and splits it in topological waves:
+ * every object is placed in the wave following the last wave of the objects it depends on,
+ * so that objects of the same wave are independent of each other and can be compiled in parallel.
+ * <br>
+ * Objects involved in dependency cycles are grouped in one component, compiled sequentially
+ * within the wave, and the objects depending on them follow in later waves
+ */
+@Slf4j
+class CompilePlanner {
+    private final Map<DBSchemaObject, Set<DBSchemaObject>> dependencies = new LinkedHashMap<>();
+
+    CompilePlanner(Collection<? extends DBSchemaObject> objects) {
+        for (DBSchemaObject object : objects) {
+            dependencies.put(object, new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Resolves the dependencies between the planned objects (one metadata lookup per object)
+     */
+    void resolveDependencies() {
+        for (Map.Entry<DBSchemaObject, Set<DBSchemaObject>> entry : dependencies.entrySet()) {
+            ProgressMonitor.checkCancelled();
+            DBSchemaObject object = entry.getKey();
+            try {
+                for (DBObject referencedObject : object.getReferencedObjects()) {
+                    if (referencedObject == object) continue;
+                    if (!dependencies.containsKey(referencedObject)) continue; // valid or not planned
+
+                    entry.getValue().add((DBSchemaObject) referencedObject);
+                }
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Exception e) {
+                conditionallyLog(e);
+                log.warn("Failed to load dependencies of {}", object.getQualifiedNameWithType(), e);
+            }
+        }
+    }
+
+    /**
+     * Compile waves of the planned objects, each wave holding independent groups of objects (see {@link #plan(Map)})
+     */
+    List<List<List<DBSchemaObject>>> getWaves() {
+        return plan(dependencies);
+    }
+
+    /**
+     * Condenses the dependency graph in strongly connected components and splits the components in topological waves.
+     * Every component is placed in the wave following the last wave of the components it depends on,
+     * so that the components of one wave are independent of each other.
+     * Mutually dependent objects end up in the same component (in their original order) and must be compiled
+     * sequentially, while the objects depending on a cycle are placed in the waves following it
+     * @param dependencies the objects (in planning order) and the objects they depend on
+     * @return the waves, as lists of components
+     */
+    static <T> List<List<List<T>>> plan(Map<T, ? extends Collection<T>> dependencies) {
+        List<List<T>> components = components(dependencies);
+        Map<T, Integer> componentIndex = new HashMap<>();
+        for (int i = 0; i < components.size(); i++) {
+            for (T object : components.get(i)) componentIndex.put(object, i);
+        }
+
+        // components come out of the scc resolution in reverse topological order (dependencies first)
+        int[] levels = new int[components.size()];
+        List<List<List<T>>> waves = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            int level = 0;
+            for (T object : components.get(i)) {
+                for (T dependency : dependencies.get(object)) {
+                    Integer dependencyIndex = componentIndex.get(dependency);
+                    if (dependencyIndex == null || dependencyIndex == i) continue;
+                    level = Math.max(level, levels[dependencyIndex] + 1);
+                }
+            }
+            levels[i] = level;
+            if (level == waves.size()) waves.add(new ArrayList<>());
+            waves.get(level).add(components.get(i));
+        }
+        return waves;
+    }
+
+    /**
+     * Strongly connected components of the dependency graph (iterative Tarjan), dependencies before dependents.
+     * The objects of a component keep their planning order
+     */
+    private static <T> List<List<T>> components(Map<T, ? extends Collection<T>> dependencies) {
+        Map<T, Integer> order = new HashMap<>();
+        for (T object : dependencies.keySet()) order.put(object, order.size());
+
+        Map<T, Integer> index = new HashMap<>();
+        Map<T, Integer> lowLink = new HashMap<>();
+        Set<T> onStack = new HashSet<>();
+        Deque<T> stack = new ArrayDeque<>();
+        List<List<T>> components = new ArrayList<>();
+
+        for (T root : dependencies.keySet()) {
+            if (index.containsKey(root)) continue;
+
+            Deque<T> callStack = new ArrayDeque<>();
+            Deque<Iterator<T>> iterators = new ArrayDeque<>();
+            visit(root, index, lowLink, onStack, stack);
+            callStack.push(root);
+            iterators.push(dependencies.get(root).iterator());
+
+            while (!callStack.isEmpty()) {
+                T object = callStack.peek();
+                Iterator<T> iterator = iterators.peek();
+                if (iterator.hasNext()) {
+                    T dependency = iterator.next();
+                    if (!dependencies.containsKey(dependency)) continue;
+
+                    if (!index.containsKey(dependency)) {
+                        visit(dependency, index, lowLink, onStack, stack);
+                        callStack.push(dependency);
+                        iterators.push(dependencies.get(dependency).iterator());
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.put(object, Math.min(lowLink.get(object), index.get(dependency)));
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                iterators.pop();
+                T parent = callStack.peek();
+                if (parent != null) lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(object)));
+
+                if (lowLink.get(object).equals(index.get(object))) {
+                    List<T> component = new ArrayList<>();
+                    T member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (member != object);
+                    component.sort(Comparator.comparing(order::get));
+                    components.add(component);
+                }
+            }
+        }
+        return components;
+    }
+
+    private static <T> void visit(T object, Map<T, Integer> index, Map<T, Integer> lowLink, Set<T> onStack, Deque<T> stack) {
+        index.put(object, index.size());
+        lowLink.put(object, index.get(object));
+        stack.push(object);
+        onStack.add(object);
+    }
+
+    /**
+     * Content types of the object which are still invalid (i.e. need compiling)
+     */
+    static List<DBContentType> getInvalidContentTypes(DBSchemaObject object) {
+        List<DBContentType> contentTypes = new ArrayList<>();
+        DBObjectStatusHolder objectStatus = object.getStatus();
+        DBContentType objectContentType = object.getContentType();
+        if (objectContentType.isBundle()) {
+            for (DBContentType contentType : objectContentType.getSubContentTypes()) {
+                if (objectStatus.isNot(contentType, DBObjectStatus.VALID)) contentTypes.add(contentType);
+            }
+        } else if (objectStatus.isNot(DBObjectStatus.VALID)) {
+            contentTypes.add(objectContentType);
+        }
+        return contentTypes;
+    }
+}
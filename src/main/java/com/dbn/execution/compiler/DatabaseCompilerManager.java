@@ -5,6 +5,9 @@ import com.dbn.common.event.ProjectEvents;
 import com.dbn.common.routine.Consumer;
 import com.dbn.common.thread.Background;
 import com.dbn.common.thread.Progress;
+import com.dbn.common.thread.ThreadInfo;
+import com.dbn.common.thread.ThreadMonitor;
+import com.dbn.common.thread.Threads;
 import com.dbn.common.util.Dialogs;
 import com.dbn.connection.ConnectionAction;
 import com.dbn.connection.ConnectionHandler;
@@ -23,25 +26,34 @@ import com.dbn.object.DBSchema;
 import com.dbn.object.common.DBSchemaObject;
 import com.dbn.object.common.status.DBObjectStatus;
 import com.dbn.object.common.status.DBObjectStatusHolder;
+import com.dbn.object.status.ObjectStatusManager;
 import com.dbn.vfs.file.DBEditableObjectVirtualFile;
 import com.dbn.vfs.file.DBSourceCodeVirtualFile;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.dbn.common.Priority.HIGH;
 import static com.dbn.common.Priority.LOW;
 import static com.dbn.common.component.Components.projectService;
+import static com.dbn.common.thread.ThreadProperty.BACKGROUND;
 import static com.dbn.common.util.Strings.cachedUpperCase;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 import static com.dbn.object.common.property.DBObjectProperty.COMPILABLE;
 import static com.dbn.object.common.status.DBObjectStatus.COMPILING;
 
+@Slf4j
 public class DatabaseCompilerManager extends ProjectComponentBase {
     private DatabaseCompilerManager(@NotNull Project project) {
         super(project, "DBNavigator.Project.CompilerManager");
@@ -238,11 +250,7 @@ public class DatabaseCompilerManager extends ProjectComponentBase {
                                 "Compiling invalid objects in " + schema.getQualifiedNameWithType(),
                                 progress -> {
                                     progress.setIndeterminate(false);
-                                    doCompileInvalidObjects(schema.getPackages(), "packages", progress, type);
-                                    doCompileInvalidObjects(schema.getFunctions(), "functions", progress, type);
-                                    doCompileInvalidObjects(schema.getProcedures(), "procedures", progress, type);
-                                    doCompileInvalidObjects(schema.getDatasetTriggers(), "dataset triggers", progress, type);
-                                    doCompileInvalidObjects(schema.getDatabaseTriggers(), "database triggers", progress, type);
+                                    doCompileInvalidObjects(schema, progress, type);
                                     ConnectionHandler connection = schema.getConnection();
                                     ProjectEvents.notify(project,
                                             CompileManagerListener.TOPIC,
@@ -256,34 +264,107 @@ public class DatabaseCompilerManager extends ProjectComponentBase {
                 });
     }
 
-    private void doCompileInvalidObjects(List<? extends DBSchemaObject> objects, String description, ProgressIndicator progress, CompileType compileType) {
-        if (progress.isCanceled()) return;
-
-        progress.setText("Compiling invalid " + description + "...");
+    /**
+     * Compiles the invalid objects of the schema in dependency order (see {@link CompilePlanner}).
+     * The independent components of one wave are compiled in parallel (each compilation acquiring its own pooled connection),
+     * the mutually dependent objects of a component sequentially, and the object status is refreshed after every wave, so that the objects revalidated as a side effect
+     * of compiling their dependencies are not compiled again
+     */
+    private void doCompileInvalidObjects(DBSchema schema, ProgressIndicator progress, CompileType compileType) {
+        List<DBSchemaObject> objects = new ArrayList<>();
+        collectInvalidObjects(schema.getPackages(), objects);
+        collectInvalidObjects(schema.getFunctions(), objects);
+        collectInvalidObjects(schema.getProcedures(), objects);
+        collectInvalidObjects(schema.getDatasetTriggers(), objects);
+        collectInvalidObjects(schema.getDatabaseTriggers(), objects);
+        if (objects.isEmpty() || progress.isCanceled()) return;
+
+        progress.setText("Resolving dependencies of invalid objects...");
+        CompilePlanner planner = new CompilePlanner(objects);
+        planner.resolveDependencies();
+        List<List<List<DBSchemaObject>>> waves = planner.getWaves();
+
+        ObjectStatusManager statusManager = ObjectStatusManager.getInstance(getProject());
         int count = objects.size();
-        for (int i=0; i< count; i++) {
-            if (progress.isCanceled() || objects.size() == 0 /* may be disposed meanwhile*/) {
-                break;
-            } else {
-                DBSchemaObject object = objects.get(i);
-                progress.setFraction(Progress.progressOf(i, count));
-                DBObjectStatusHolder objectStatus = object.getStatus();
-                DBContentType objectContentType = object.getContentType();
-                if (objectContentType.isBundle()) {
-                    for (DBContentType contentType : objectContentType.getSubContentTypes()) {
-                        if (objectStatus.isNot(contentType, DBObjectStatus.VALID)) {
-                            CompilerAction compilerAction = new CompilerAction(CompilerActionSource.BULK_COMPILE, contentType);
-                            doCompileObject(object, compileType, compilerAction);
-                            progress.setText("Compiling " + object.getQualifiedNameWithType());
-                        }
-                    }
-                } else {
-                    if (objectStatus.isNot(DBObjectStatus.VALID)) {
-                        CompilerAction compilerAction = new CompilerAction(CompilerActionSource.BULK_COMPILE, objectContentType);
-                        doCompileObject(object, compileType, compilerAction);
-                        progress.setText("Compiling " + object.getQualifiedNameWithType());
+        int compiled = 0;
+        for (int i = 0; i < waves.size(); i++) {
+            if (progress.isCanceled()) break;
+            List<List<DBSchemaObject>> wave = waves.get(i);
+            if (i > 0) {
+                try {
+                    statusManager.refreshObjectsStatusAndWait(schema);
+                } catch (SQLException e) {
+                    conditionallyLog(e);
+                }
+            }
+
+            progress.setText("Compiling invalid objects (wave " + (i + 1) + " of " + waves.size() + ")...");
+            progress.setFraction(Progress.progressOf(compiled, count));
+            compileWave(wave, compileType, progress);
+            for (List<DBSchemaObject> component : wave) compiled += component.size();
+        }
+    }
+
+    private static void collectInvalidObjects(List<? extends DBSchemaObject> objects, List<DBSchemaObject> invalidObjects) {
+        for (DBSchemaObject object : objects) {
+            if (!CompilePlanner.getInvalidContentTypes(object).isEmpty()) invalidObjects.add(object);
+        }
+    }
+
+    private void compileWave(List<List<DBSchemaObject>> wave, CompileType compileType, ProgressIndicator progress) {
+        Project project = getProject();
+        ThreadInfo threadInfo = ThreadInfo.copy();
+        ExecutorService executor = Threads.backgroundExecutor();
+        CountDownLatch latch = new CountDownLatch(wave.size());
+
+        for (List<DBSchemaObject> component : wave) {
+            try {
+                executor.submit(() -> {
+                    try {
+                        ThreadMonitor.surround(project, threadInfo, BACKGROUND, () -> compileComponent(component, compileType, progress));
+                    } catch (ProcessCanceledException e) {
+                        conditionallyLog(e);
+                    } catch (Throwable e) {
+                        conditionallyLog(e);
+                        log.warn("Failed to compile {}", component, e);
+                    } finally {
+                        latch.countDown();
                     }
+                });
+            } catch (RejectedExecutionException e) {
+                conditionallyLog(e);
+                latch.countDown();
+            }
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            conditionallyLog(e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Compiles the objects of a dependency component one after the other
+     */
+    private void compileComponent(List<DBSchemaObject> component, CompileType compileType, ProgressIndicator progress) {
+        for (DBSchemaObject object : component) {
+            // skip the objects made valid by previous compilations
+            List<DBContentType> contentTypes = CompilePlanner.getInvalidContentTypes(object);
+            if (contentTypes.isEmpty()) continue;
+            if (progress.isCanceled()) return;
+
+            try {
+                for (DBContentType contentType : contentTypes) {
+                    CompilerAction compilerAction = new CompilerAction(CompilerActionSource.BULK_COMPILE, contentType);
+                    doCompileObject(object, compileType, compilerAction);
                 }
+            } catch (ProcessCanceledException e) {
+                throw e;
+            } catch (Throwable e) {
+                conditionallyLog(e);
+                log.warn("Failed to compile {}", object.getQualifiedNameWithType(), e);
             }
         }
     }
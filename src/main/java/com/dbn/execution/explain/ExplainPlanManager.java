@@ -1,22 +1,35 @@
 package com.dbn.execution.explain;
 
+import com.dbn.DatabaseNavigator;
+import com.dbn.common.component.PersistentState;
 import com.dbn.common.component.ProjectComponentBase;
+import com.dbn.common.event.ProjectEvents;
 import com.dbn.common.routine.Consumer;
 import com.dbn.common.thread.Progress;
 import com.dbn.connection.ConnectionAction;
 import com.dbn.connection.ConnectionHandler;
 import com.dbn.connection.Resources;
 import com.dbn.connection.SchemaId;
+import com.dbn.connection.config.ConnectionConfigListener;
 import com.dbn.connection.mapping.FileConnectionContextManager;
 import com.dbn.database.interfaces.DatabaseCompatibilityInterface;
 import com.dbn.database.interfaces.DatabaseInterfaceInvoker;
 import com.dbn.database.interfaces.DatabaseMetadataInterface;
 import com.dbn.execution.ExecutionManager;
+import com.dbn.execution.common.options.ExecutionEngineSettings;
+import com.dbn.execution.explain.history.ExplainPlanDiff;
+import com.dbn.execution.explain.history.ExplainPlanHistory;
+import com.dbn.execution.explain.history.ExplainPlanSnapshot;
 import com.dbn.execution.explain.result.ExplainPlanResult;
+import com.dbn.execution.statement.options.StatementExecutionSettings;
 import com.dbn.language.common.DBLanguagePsiFile;
 import com.dbn.language.common.psi.ExecutablePsiElement;
 import com.intellij.openapi.actionSystem.DataContext;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
+import lombok.Getter;
+import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,13 +39,22 @@ import java.sql.Statement;
 
 import static com.dbn.common.Priority.HIGH;
 import static com.dbn.common.component.Components.projectService;
+import static com.dbn.common.notification.NotificationGroup.EXECUTION;
+import static com.dbn.common.options.setting.Settings.newElement;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 
-public class ExplainPlanManager extends ProjectComponentBase {
+@State(
+    name = ExplainPlanManager.COMPONENT_NAME,
+    storages = @Storage(DatabaseNavigator.STORAGE_FILE)
+)
+public class ExplainPlanManager extends ProjectComponentBase implements PersistentState {
     public static final String COMPONENT_NAME = "DBNavigator.Project.ExplainPlanManager";
 
+    private final @Getter ExplainPlanHistory planHistory = new ExplainPlanHistory();
+
     private ExplainPlanManager(Project project) {
         super(project, COMPONENT_NAME);
+        ProjectEvents.subscribe(project, this, ConnectionConfigListener.TOPIC, ConnectionConfigListener.whenRemoved(id -> planHistory.clear(id)));
         //EventManager.subscribe(project, PsiDocumentTransactionListener.TOPIC, psiDocumentTransactionListener);
     }
 
@@ -70,6 +92,7 @@ public class ExplainPlanManager extends ProjectComponentBase {
                                 progress -> {
                                     ConnectionHandler connection = action.getConnection();
                                     ExplainPlanResult explainPlanResult = createExplainPlan(executable, connection);
+                                    recordExplainPlan(explainPlanResult);
 
                                     if (callback == null) {
                                         ExecutionManager executionManager = ExecutionManager.getInstance(project);
@@ -80,6 +103,36 @@ public class ExplainPlanManager extends ProjectComponentBase {
                                 })));
     }
 
+    /**
+     * Adds the plan to the plan history of the statement and compares it with the previous plan,
+     * flagging the result as cost regression if the cost increased beyond the configured threshold
+     */
+    private void recordExplainPlan(ExplainPlanResult explainPlanResult) {
+        if (explainPlanResult.isError()) return;
+
+        ExplainPlanSnapshot plan = ExplainPlanSnapshot.of(explainPlanResult);
+        if (plan == null) return;
+
+        String statementText = explainPlanResult.getStatementText();
+        ExplainPlanSnapshot previousPlan = planHistory.record(explainPlanResult.getConnectionId(), statementText, plan);
+        if (previousPlan == null) return;
+
+        ExplainPlanDiff planDiff = new ExplainPlanDiff(previousPlan, plan);
+        explainPlanResult.setPreviousPlanDiff(planDiff);
+
+        StatementExecutionSettings settings = ExecutionEngineSettings.getInstance(getProject()).getStatementExecutionSettings();
+        int threshold = settings.getCostRegressionThreshold();
+        if (threshold > 0 && planDiff.isCostRegression(threshold)) {
+            explainPlanResult.setCostRegression(true);
+            sendWarningNotification(EXECUTION, txt("ntf.execution.warning.ExplainPlanCostRegression",
+                    explainPlanResult.getName(),
+                    previousPlan.getCost(),
+                    plan.getCost(),
+                    planDiff.getCostChange(),
+                    planDiff));
+        }
+    }
+
     private static ExplainPlanResult createExplainPlan(@NotNull ExecutablePsiElement executable, ConnectionHandler connection) {
         try {
             return DatabaseInterfaceInvoker.load(HIGH,
@@ -117,4 +170,19 @@ public class ExplainPlanManager extends ProjectComponentBase {
             return new ExplainPlanResult(executable, e.getMessage());
         }
     }
+
+    /*********************************************************
+     *                PersistentStateComponent               *
+     *********************************************************/
+    @Override
+    public Element getComponentState() {
+        Element element = newElement("state");
+        planHistory.writeState(newElement(element, "plan-history"));
+        return element;
+    }
+
+    @Override
+    public void loadComponentState(@NotNull Element element) {
+        planHistory.readState(element.getChild("plan-history"));
+    }
 }
@@ -0,0 +1,176 @@
+package com.dbn.execution.explain.history;
+
+import com.dbn.execution.explain.history.ExplainPlanSnapshot.Step;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Structural diff of two explain plans of the same statement.
+ * The plan trees are aligned top-down: the children of two aligned steps are matched by access path
+ * (operation, options and object) in order, remaining children accessing the same object are matched as access path changes,
+ * and whatever is left is reported as removed (from the old plan) or added (to the new plan) including the whole subtree
+ */
+@Getter
+public final class ExplainPlanDiff {
+    private final ExplainPlanSnapshot oldPlan;
+    private final ExplainPlanSnapshot newPlan;
+    private final List<Change> changes = new ArrayList<>();
+
+    public ExplainPlanDiff(@NotNull ExplainPlanSnapshot oldPlan, @NotNull ExplainPlanSnapshot newPlan) {
+        this.oldPlan = oldPlan;
+        this.newPlan = newPlan;
+
+        Step oldRoot = oldPlan.getRoot();
+        Step newRoot = newPlan.getRoot();
+        if (oldRoot != null && newRoot != null) {
+            compare(oldRoot, newRoot);
+        } else if (oldRoot != null) {
+            changes.add(new Change(ChangeType.REMOVED, oldRoot, null));
+        } else if (newRoot != null) {
+            changes.add(new Change(ChangeType.ADDED, null, newRoot));
+        }
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Relative cost change of the plan in percent, null if one of the plans has no cost
+     */
+    @Nullable
+    public BigDecimal getCostChange() {
+        return percentChange(oldPlan.getCost(), newPlan.getCost());
+    }
+
+    /**
+     * Whether the plan cost increased by more than the given percentage
+     */
+    public boolean isCostRegression(int thresholdPercent) {
+        BigDecimal costChange = getCostChange();
+        return costChange != null && costChange.compareTo(BigDecimal.valueOf(thresholdPercent)) > 0;
+    }
+
+    private void compare(Step oldStep, Step newStep) {
+        if (!Objects.equals(oldStep.getAccessPath(), newStep.getAccessPath())) {
+            changes.add(new Change(ChangeType.ACCESS_PATH, oldStep, newStep));
+        } else if (!equal(oldStep.getCost(), newStep.getCost()) || !equal(oldStep.getCardinality(), newStep.getCardinality())) {
+            changes.add(new Change(ChangeType.ESTIMATES, oldStep, newStep));
+        }
+
+        List<Step> oldChildren = new ArrayList<>(oldStep.getChildren());
+        List<Step> newChildren = new ArrayList<>(newStep.getChildren());
+        List<Step[]> matches = new ArrayList<>();
+
+        // same access path, in order
+        int start = 0;
+        for (Step oldChild : new ArrayList<>(oldChildren)) {
+            for (int i = start; i < newChildren.size(); i++) {
+                Step newChild = newChildren.get(i);
+                if (Objects.equals(oldChild.getAccessPath(), newChild.getAccessPath())) {
+                    matches.add(new Step[]{oldChild, newChild});
+                    oldChildren.remove(oldChild);
+                    newChildren.remove(i);
+                    start = i;
+                    break;
+                }
+            }
+        }
+
+        // same object, different access (e.g. full scan replaced by index range scan)
+        for (Step oldChild : new ArrayList<>(oldChildren)) {
+            for (Step newChild : newChildren) {
+                if (oldChild.isSameObject(newChild)) {
+                    matches.add(new Step[]{oldChild, newChild});
+                    oldChildren.remove(oldChild);
+                    newChildren.remove(newChild);
+                    break;
+                }
+            }
+        }
+
+        for (Step[] match : matches) {
+            compare(match[0], match[1]);
+        }
+        for (Step oldChild : oldChildren) {
+            changes.add(new Change(ChangeType.REMOVED, oldChild, null));
+        }
+        for (Step newChild : newChildren) {
+            changes.add(new Change(ChangeType.ADDED, null, newChild));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+        for (Change change : changes) {
+            if (buffer.length() > 0) buffer.append('\n');
+            buffer.append(change);
+        }
+        return buffer.toString();
+    }
+
+    private static boolean equal(@Nullable BigDecimal value1, @Nullable BigDecimal value2) {
+        if (value1 == null || value2 == null) return value1 == value2;
+        return value1.compareTo(value2) == 0;
+    }
+
+    @Nullable
+    private static BigDecimal percentChange(@Nullable BigDecimal oldValue, @Nullable BigDecimal newValue) {
+        if (oldValue == null || newValue == null) return null;
+        if (oldValue.signum() == 0) return newValue.signum() == 0 ? BigDecimal.ZERO : null;
+        return newValue.subtract(oldValue).multiply(BigDecimal.valueOf(100)).divide(oldValue, 1, RoundingMode.HALF_UP);
+    }
+
+    public enum ChangeType {
+        ADDED,
+        REMOVED,
+        ACCESS_PATH,
+        ESTIMATES
+    }
+
+    @Getter
+    public static final class Change {
+        private final ChangeType type;
+        private final Step oldStep;
+        private final Step newStep;
+
+        private Change(ChangeType type, @Nullable Step oldStep, @Nullable Step newStep) {
+            this.type = type;
+            this.oldStep = oldStep;
+            this.newStep = newStep;
+        }
+
+        @Nullable
+        public BigDecimal getCostChange() {
+            return oldStep == null || newStep == null ? null : percentChange(oldStep.getCost(), newStep.getCost());
+        }
+
+        @Nullable
+        public BigDecimal getCardinalityChange() {
+            return oldStep == null || newStep == null ? null : percentChange(oldStep.getCardinality(), newStep.getCardinality());
+        }
+
+        @Override
+        public String toString() {
+            switch (type) {
+                case ADDED: return "+ " + newStep;
+                case REMOVED: return "- " + oldStep;
+                case ACCESS_PATH: return "~ " + oldStep + " -> " + newStep + estimates();
+                default: return "~ " + newStep + estimates();
+            }
+        }
+
+        private String estimates() {
+            return " (cost " + oldStep.getCost() + " -> " + newStep.getCost() +
+                    ", cardinality " + oldStep.getCardinality() + " -> " + newStep.getCardinality() + ")";
+        }
+    }
+}
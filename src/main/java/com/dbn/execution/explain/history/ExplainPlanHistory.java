@@ -0,0 +1,160 @@
+package com.dbn.execution.explain.history;
+
+import com.dbn.common.state.PersistentStateElement;
+import com.dbn.connection.ConnectionId;
+import lombok.EqualsAndHashCode;
+import org.jdom.Element;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static com.dbn.common.options.setting.Settings.connectionIdAttribute;
+import static com.dbn.common.options.setting.Settings.newElement;
+
+/**
+ * Local store of the explain plans produced for the statements of a project.
+ * Plans are kept per connection and normalized statement text (see {@link #normalize(String)}),
+ * the most recent {@link #MAX_PLANS} plans per statement, for the {@link #MAX_STATEMENTS} most recently explained statements
+ */
+public final class ExplainPlanHistory implements PersistentStateElement {
+    public static final int MAX_STATEMENTS = 100;
+    public static final int MAX_PLANS = 5;
+
+    private final Map<Key, LinkedList<ExplainPlanSnapshot>> plans = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Adds the plan to the history of the statement
+     * @return the previous plan of the statement, if any
+     */
+    @Nullable
+    public synchronized ExplainPlanSnapshot record(@NotNull ConnectionId connectionId, @NotNull String statementText, @NotNull ExplainPlanSnapshot plan) {
+        Key key = new Key(connectionId, normalize(statementText));
+        LinkedList<ExplainPlanSnapshot> statementPlans = plans.computeIfAbsent(key, k -> new LinkedList<>());
+        ExplainPlanSnapshot previous = statementPlans.peekLast();
+
+        statementPlans.addLast(plan);
+        if (statementPlans.size() > MAX_PLANS) statementPlans.removeFirst();
+        trim();
+        return previous;
+    }
+
+    /**
+     * The plans of the given statement, oldest first
+     */
+    @NotNull
+    public synchronized List<ExplainPlanSnapshot> getPlans(@NotNull ConnectionId connectionId, @NotNull String statementText) {
+        LinkedList<ExplainPlanSnapshot> statementPlans = plans.get(new Key(connectionId, normalize(statementText)));
+        return statementPlans == null ? Collections.emptyList() : new ArrayList<>(statementPlans);
+    }
+
+    public synchronized void clear(@Nullable ConnectionId connectionId) {
+        plans.keySet().removeIf(key -> connectionId == null || connectionId.equals(key.connectionId));
+    }
+
+    private void trim() {
+        while (plans.size() > MAX_STATEMENTS) {
+            Key eldest = plans.keySet().iterator().next();
+            plans.remove(eldest);
+        }
+    }
+
+    /**
+     * Normalizes the statement text for plan lookup: comments are removed, whitespace is collapsed
+     * and everything outside string literals and quoted identifiers is lower-cased
+     */
+    public static String normalize(String statementText) {
+        StringBuilder buffer = new StringBuilder(statementText.length());
+        int length = statementText.length();
+        boolean whitespace = false;
+        for (int i = 0; i < length; i++) {
+            char chr = statementText.charAt(i);
+            char next = i + 1 < length ? statementText.charAt(i + 1) : 0;
+
+            if (chr == '-' && next == '-') {
+                // line comment
+                while (i < length && statementText.charAt(i) != '\n') i++;
+                whitespace = true;
+
+            } else if (chr == '/' && next == '*') {
+                // block comment
+                int end = statementText.indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 1;
+                whitespace = true;
+
+            } else if (chr == '\'' || chr == '"') {
+                // literal or quoted identifier (doubled quotes are handled as two adjacent literals)
+                int end = statementText.indexOf(chr, i + 1);
+                if (end == -1) end = length - 1;
+                if (whitespace && buffer.length() > 0) buffer.append(' ');
+                buffer.append(statementText, i, end + 1);
+                whitespace = false;
+                i = end;
+
+            } else if (Character.isWhitespace(chr)) {
+                whitespace = true;
+
+            } else {
+                if (whitespace && buffer.length() > 0) buffer.append(' ');
+                buffer.append(Character.toLowerCase(chr));
+                whitespace = false;
+            }
+        }
+
+        // trailing statement delimiter
+        int last = buffer.length() - 1;
+        if (last >= 0 && buffer.charAt(last) == ';') buffer.setLength(last);
+        return buffer.toString().trim();
+    }
+
+    /*********************************************************
+     *                PersistentStateElement                 *
+     *********************************************************/
+    @Override
+    public synchronized void readState(Element element) {
+        plans.clear();
+        if (element == null) return;
+
+        for (Element statementElement : element.getChildren("statement")) {
+            ConnectionId connectionId = connectionIdAttribute(statementElement, "connection-id");
+            String statementText = statementElement.getChildText("text");
+            if (connectionId == null || statementText == null) continue;
+
+            LinkedList<ExplainPlanSnapshot> statementPlans = new LinkedList<>();
+            for (Element planElement : statementElement.getChildren("plan")) {
+                statementPlans.add(ExplainPlanSnapshot.from(planElement));
+            }
+            plans.put(new Key(connectionId, statementText), statementPlans);
+        }
+        trim();
+    }
+
+    @Override
+    public synchronized void writeState(Element element) {
+        for (Map.Entry<Key, LinkedList<ExplainPlanSnapshot>> entry : plans.entrySet()) {
+            Key key = entry.getKey();
+            Element statementElement = newElement(element, "statement");
+            statementElement.setAttribute("connection-id", key.connectionId.id());
+            newElement(statementElement, "text").setText(key.statementText);
+            for (ExplainPlanSnapshot plan : entry.getValue()) {
+                plan.writeState(newElement(statementElement, "plan"));
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final ConnectionId connectionId;
+        private final String statementText;
+
+        private Key(ConnectionId connectionId, String statementText) {
+            this.connectionId = connectionId;
+            this.statementText = statementText;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.dbn.execution.explain.history;
+
+import com.dbn.common.state.PersistentStateElement;
+import com.dbn.execution.explain.result.ExplainPlanEntry;
+import com.dbn.execution.explain.result.ExplainPlanResult;
+import com.dbn.object.lookup.DBObjectRef;
+import lombok.Getter;
+import org.jdom.Element;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static com.dbn.common.options.setting.Settings.integerAttribute;
+import static com.dbn.common.options.setting.Settings.longAttribute;
+import static com.dbn.common.options.setting.Settings.newElement;
+import static com.dbn.common.options.setting.Settings.stringAttribute;
+
+/**
+ * Compact, detached copy of an explain plan tree (see {@link ExplainPlanResult}), as kept in the {@link ExplainPlanHistory}.
+ * Holds the plan steps with their cost figures and access paths only (no predicates, projections or object references)
+ */
+@Getter
+public final class ExplainPlanSnapshot implements PersistentStateElement {
+    private long timestamp;
+    private Step root;
+
+    private ExplainPlanSnapshot() {}
+
+    @Nullable
+    public static ExplainPlanSnapshot of(@NotNull ExplainPlanResult result) {
+        ExplainPlanEntry root = result.getRoot();
+        if (root == null) return null;
+
+        ExplainPlanSnapshot snapshot = new ExplainPlanSnapshot();
+        snapshot.timestamp = System.currentTimeMillis();
+        snapshot.root = new Step(root);
+        return snapshot;
+    }
+
+    public static ExplainPlanSnapshot from(Element element) {
+        ExplainPlanSnapshot snapshot = new ExplainPlanSnapshot();
+        snapshot.readState(element);
+        return snapshot;
+    }
+
+    @Nullable
+    public BigDecimal getCost() {
+        return root == null ? null : root.cost;
+    }
+
+    @Override
+    public void readState(Element element) {
+        timestamp = longAttribute(element, "timestamp", 0);
+        Element rootElement = element.getChild("step");
+        root = rootElement == null ? null : new Step(rootElement);
+    }
+
+    @Override
+    public void writeState(Element element) {
+        element.setAttribute("timestamp", Long.toString(timestamp));
+        if (root != null) root.writeState(newElement(element, "step"));
+    }
+
+    @Getter
+    public static final class Step {
+        private final int id;
+        private final String operation;
+        private final String options;
+        private final String objectName;
+        private final BigDecimal cost;
+        private final BigDecimal cardinality;
+        private final BigDecimal bytes;
+        private final List<Step> children;
+
+        private Step(ExplainPlanEntry entry) {
+            DBObjectRef<?> objectRef = entry.getObjectRef();
+            id = entry.getId();
+            operation = entry.getOperation();
+            options = entry.getOperationOptions();
+            objectName = objectRef == null ? null : objectRef.getQualifiedName();
+            cost = entry.getCost();
+            cardinality = entry.getCardinality();
+            bytes = entry.getBytes();
+
+            List<ExplainPlanEntry> children = entry.getChildren();
+            if (children == null) {
+                this.children = Collections.emptyList();
+            } else {
+                this.children = new ArrayList<>(children.size());
+                for (ExplainPlanEntry child : children) {
+                    this.children.add(new Step(child));
+                }
+            }
+        }
+
+        private Step(Element element) {
+            id = integerAttribute(element, "id", 0);
+            operation = stringAttribute(element, "operation");
+            options = stringAttribute(element, "options");
+            objectName = stringAttribute(element, "object");
+            cost = decimalAttribute(element, "cost");
+            cardinality = decimalAttribute(element, "cardinality");
+            bytes = decimalAttribute(element, "bytes");
+
+            List<Element> childElements = element.getChildren("step");
+            children = new ArrayList<>(childElements.size());
+            for (Element childElement : childElements) {
+                children.add(new Step(childElement));
+            }
+        }
+
+        private void writeState(Element element) {
+            element.setAttribute("id", Integer.toString(id));
+            setAttribute(element, "operation", operation);
+            setAttribute(element, "options", options);
+            setAttribute(element, "object", objectName);
+            setAttribute(element, "cost", cost);
+            setAttribute(element, "cardinality", cardinality);
+            setAttribute(element, "bytes", bytes);
+            for (Step child : children) {
+                child.writeState(newElement(element, "step"));
+            }
+        }
+
+        /**
+         * Access path of the step (operation, options and accessed object), used to align steps of different plans
+         */
+        public String getAccessPath() {
+            StringBuilder buffer = new StringBuilder();
+            buffer.append(operation);
+            if (options != null) buffer.append(' ').append(options);
+            if (objectName != null) buffer.append(' ').append(objectName);
+            return buffer.toString();
+        }
+
+        boolean isSameObject(Step step) {
+            return objectName != null && Objects.equals(objectName, step.objectName);
+        }
+
+        @Override
+        public String toString() {
+            return getAccessPath();
+        }
+    }
+
+    @Nullable
+    private static BigDecimal decimalAttribute(Element element, String name) {
+        String value = element.getAttributeValue(name);
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static void setAttribute(Element element, String name, @Nullable Object value) {
+        if (value == null) return;
+        String string = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        element.setAttribute(name, string);
+    }
+}
@@ -6,6 +6,7 @@ import com.dbn.common.icon.Icons;
 import com.dbn.common.util.Commons;
 import com.dbn.connection.*;
 import com.dbn.execution.ExecutionResultBase;
+import com.dbn.execution.explain.history.ExplainPlanDiff;
 import com.dbn.execution.explain.result.ui.ExplainPlanResultForm;
 import com.dbn.language.common.DBLanguageDialect;
 import com.dbn.language.common.DBLanguagePsiFile;
@@ -41,6 +42,9 @@ public class ExplainPlanResult extends ExecutionResultBase<ExplainPlanResultForm
     private final String statementText;
     private final String resultName;
 
+    private ExplainPlanDiff previousPlanDiff; // changes since the previous plan of the statement
+    private boolean costRegression;
+
     public ExplainPlanResult(ExecutablePsiElement executablePsiElement, ResultSet resultSet) throws SQLException {
         this(executablePsiElement, (String) null);
         // entries must be sorted by PARENT_ID NULLS FIRST, ID
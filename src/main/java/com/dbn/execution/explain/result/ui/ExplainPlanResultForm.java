@@ -1,6 +1,7 @@
 package com.dbn.execution.explain.result.ui;
 
 import com.dbn.common.action.DataKeys;
+import com.dbn.common.icon.Icons;
 import com.dbn.common.ui.misc.DBNScrollPane;
 import com.dbn.common.ui.tree.Trees;
 import com.dbn.common.ui.util.Borders;
@@ -8,6 +9,7 @@ import com.dbn.common.util.Actions;
 import com.dbn.execution.ExecutionManager;
 import com.dbn.execution.ExecutionResult;
 import com.dbn.execution.common.result.ui.ExecutionResultFormBase;
+import com.dbn.execution.explain.history.ExplainPlanDiff;
 import com.dbn.execution.explain.result.ExplainPlanResult;
 import com.intellij.openapi.actionSystem.ActionToolbar;
 import com.intellij.openapi.project.Project;
@@ -15,11 +17,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.awt.*;
 
 public class ExplainPlanResultForm extends ExecutionResultFormBase<ExplainPlanResult> {
     private JPanel mainPanel;
     private JPanel actionsPanel;
     private JPanel resultPanel;
+    private JPanel diffPanel;
     private DBNScrollPane resultScrollPane;
 
     private final ExplainPlanTreeTable explainPlanTreeTable;
@@ -35,6 +39,36 @@ public class ExplainPlanResultForm extends ExecutionResultFormBase<ExplainPlanRe
         explainPlanTreeTable = new ExplainPlanTreeTable(this, treeTableModel);
 
         resultScrollPane.setViewportView(explainPlanTreeTable);
+        initDiffPanel(explainPlanResult);
+    }
+
+    /**
+     * Summary of the changes against the previous plan of the statement (see {@link ExplainPlanResult#getPreviousPlanDiff()})
+     */
+    private void initDiffPanel(ExplainPlanResult explainPlanResult) {
+        ExplainPlanDiff planDiff = explainPlanResult.getPreviousPlanDiff();
+        if (planDiff == null) {
+            diffPanel.setVisible(false);
+            return;
+        }
+
+        boolean costRegression = explainPlanResult.isCostRegression();
+        String costChange = planDiff.getCostChange() == null ? "?" : planDiff.getCostChange().toPlainString();
+        String summary = txt("app.execution.label.ExplainPlanCostChange",
+                planDiff.getOldPlan().getCost(),
+                planDiff.getNewPlan().getCost(),
+                costChange);
+        if (costRegression) summary = txt("app.execution.label.ExplainPlanCostRegression") + " - " + summary;
+
+        JLabel summaryLabel = new JLabel(summary, costRegression ? Icons.COMMON_WARNING : Icons.EXEC_MESSAGES_INFO, SwingConstants.LEFT);
+        diffPanel.add(summaryLabel, BorderLayout.NORTH);
+
+        JTextArea changesTextArea = new JTextArea(planDiff.isEmpty() ? txt("app.execution.label.ExplainPlanUnchanged") : planDiff.toString());
+        changesTextArea.setEditable(false);
+        changesTextArea.setOpaque(false);
+        changesTextArea.setFont(summaryLabel.getFont());
+        diffPanel.add(changesTextArea, BorderLayout.CENTER);
+        diffPanel.setBorder(Borders.insetBorder(4));
     }
 
     public void show() {
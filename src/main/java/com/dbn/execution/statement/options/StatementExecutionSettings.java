@@ -24,6 +24,7 @@ public class StatementExecutionSettings extends BasicProjectConfiguration<Execut
     private int debugExecutionTimeout = 600;
     private boolean focusResult = false;
     private boolean promptExecution = false;
+    private int costRegressionThreshold = 20; // percent cost increase of a re-explained statement
 
     public StatementExecutionSettings(ExecutionEngineSettings parent) {
         super(parent);
@@ -60,6 +61,7 @@ public class StatementExecutionSettings extends BasicProjectConfiguration<Execut
         debugExecutionTimeout = Settings.getInteger(element, "debug-execution-timeout", debugExecutionTimeout);
         focusResult = Settings.getBoolean(element, "focus-result", focusResult);
         promptExecution = Settings.getBoolean(element, "prompt-execution", promptExecution);
+        costRegressionThreshold = Settings.getInteger(element, "cost-regression-threshold", costRegressionThreshold);
     }
 
     @Override
@@ -69,5 +71,6 @@ public class StatementExecutionSettings extends BasicProjectConfiguration<Execut
         Settings.setInteger(element, "debug-execution-timeout", debugExecutionTimeout);
         Settings.setBoolean(element, "focus-result", focusResult);
         Settings.setBoolean(element, "prompt-execution", promptExecution);
+        Settings.setInteger(element, "cost-regression-threshold", costRegressionThreshold);
     }
 }
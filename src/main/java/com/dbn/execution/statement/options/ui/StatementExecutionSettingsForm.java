@@ -17,6 +17,7 @@ public class StatementExecutionSettingsForm extends ConfigurationEditorForm<Stat
     private JCheckBox focusResultCheckBox;
     private JTextField debugExecutionTimeoutTextField;
     private JCheckBox promptExecutionCheckBox;
+    private JTextField costRegressionThresholdTextField;
 
     public StatementExecutionSettingsForm(StatementExecutionSettings settings) {
         super(settings);
@@ -36,12 +37,14 @@ public class StatementExecutionSettingsForm extends ConfigurationEditorForm<Stat
         configuration.setResultSetFetchBlockSize(ConfigurationEditors.validateIntegerValue(fetchBlockSizeTextField, "Fetch block size", true, 1, 10000, null));
         int executionTimeout = ConfigurationEditors.validateIntegerValue(executionTimeoutTextField, "Execution timeout", true, 0, 6000, "\nUse value 0 for no timeout");
         int debugExecutionTimeout = ConfigurationEditors.validateIntegerValue(debugExecutionTimeoutTextField, "Debug execution timeout", true, 0, 6000, "\nUse value 0 for no timeout");
+        int costRegressionThreshold = ConfigurationEditors.validateIntegerValue(costRegressionThresholdTextField, "Explain plan cost regression", true, 0, 10000, "\nUse value 0 for no detection");
 
         configuration.setFocusResult(focusResultCheckBox.isSelected());
         configuration.setPromptExecution(promptExecutionCheckBox.isSelected());
 
         configuration.setExecutionTimeout(executionTimeout);
         configuration.setDebugExecutionTimeout(debugExecutionTimeout);
+        configuration.setCostRegressionThreshold(costRegressionThreshold);
     }
 
     @Override
@@ -50,6 +53,7 @@ public class StatementExecutionSettingsForm extends ConfigurationEditorForm<Stat
         fetchBlockSizeTextField.setText(Integer.toString(settings.getResultSetFetchBlockSize()));
         executionTimeoutTextField.setText(Integer.toString(settings.getExecutionTimeout()));
         debugExecutionTimeoutTextField.setText(Integer.toString(settings.getDebugExecutionTimeout()));
+        costRegressionThresholdTextField.setText(Integer.toString(settings.getCostRegressionThreshold()));
         focusResultCheckBox.setSelected(settings.isFocusResult());
         promptExecutionCheckBox.setSelected(settings.isPromptExecution());
     }
@@ -22,6 +22,8 @@ import com.dbn.connection.mapping.FileConnectionContextManager;
 import com.dbn.connection.session.DatabaseSession;
 import com.dbn.database.DatabaseFeature;
 import com.dbn.database.DatabaseMessage;
+import com.dbn.diagnostics.DiagnosticsManager;
+import com.dbn.diagnostics.data.DiagnosticBundle;
 import com.dbn.editor.DBContentType;
 import com.dbn.editor.EditorProviderId;
 import com.dbn.execution.ExecutionManager;
@@ -56,12 +58,14 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.concurrent.TimeUnit;
 
 import static com.dbn.common.dispose.Checks.isNotValid;
 import static com.dbn.common.dispose.Checks.isValid;
 import static com.dbn.common.navigation.NavigationInstruction.*;
 import static com.dbn.common.util.Strings.toUpperCase;
+import static com.dbn.common.util.TimeUtil.millisSince;
 import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 import static com.dbn.execution.ExecutionStatus.*;
 import static com.dbn.object.common.property.DBObjectProperty.COMPILABLE;
@@ -447,7 +451,26 @@ public class StatementExecutionBasicProcessor extends StatefulDisposableBase imp
                 }
             }
         };
-        return databaseCall.start();
+
+        long start = System.currentTimeMillis();
+        DiagnosticBundle<String> diagnostics = getDiagnostics(connection);
+        String identifier = getStatementName();
+        try {
+            StatementExecutionResult result = databaseCall.start();
+            diagnostics.log(identifier, false, false, millisSince(start));
+            return result;
+        } catch (SQLTimeoutException e) {
+            diagnostics.log(identifier, false, true, millisSince(start));
+            throw e;
+        } catch (SQLException e) {
+            diagnostics.log(identifier, true, false, millisSince(start));
+            throw e;
+        }
+    }
+
+    private static DiagnosticBundle<String> getDiagnostics(ConnectionHandler connection) {
+        DiagnosticsManager diagnosticsManager = DiagnosticsManager.getInstance(connection.getProject());
+        return diagnosticsManager.getStatementExecutionDiagnostics(connection.getConnectionId());
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.dbn.language.common;
 
 import com.dbn.common.util.XmlContents;
 import com.dbn.language.common.element.ElementTypeBundle;
+import com.dbn.language.common.element.StatementChunkElementType;
 import com.dbn.language.common.element.impl.NamedElementType;
 import com.dbn.language.common.element.parser.ParserBuilder;
 import com.dbn.language.common.element.parser.ParserContext;
@@ -26,6 +27,8 @@ public abstract class DBLanguageParser implements PsiParser {
 
     private final @Getter(lazy = true) TokenTypeBundle tokenTypes = loadTokenTypes();
     private final @Getter(lazy = true) ElementTypeBundle elementTypes = loadElementTypes();
+    private final @Getter(lazy = true) StatementChunker statementChunker = new StatementChunker(getTokenTypes());
+    private final @Getter(lazy = true) StatementChunkElementType statementChunkElementType = new StatementChunkElementType(languageDialect, getStatementChunker());
 
     public DBLanguageParser(DBLanguageDialect languageDialect, String tokenTypesFile, String elementTypesFile, String defaultParseRootId) {
         this.languageDialect = languageDialect;
@@ -54,6 +57,14 @@ public abstract class DBLanguageParser implements PsiParser {
         return getClass();
     }
 
+    /**
+     * Large files of languages supporting it are split in lazy statement chunks at top level,
+     * to have them reparsed incrementally (see {@link StatementChunker})
+     */
+    protected boolean isStatementChunkingSupported() {
+        return false;
+    }
+
     @Override
     @NotNull
     public ASTNode parse(@NotNull IElementType rootElementType, @NotNull PsiBuilder builder) {
@@ -62,6 +73,17 @@ public abstract class DBLanguageParser implements PsiParser {
 
     @NotNull
     public ASTNode parse(IElementType rootElementType, PsiBuilder psiBuilder, String parseRootId, double databaseVersion) {
+        if (parseRootId == null &&
+                rootElementType instanceof DBLanguageFileElementType &&
+                isStatementChunkingSupported() &&
+                getStatementChunker().isChunkable(psiBuilder)) {
+
+            PsiBuilder.Marker marker = psiBuilder.mark();
+            getStatementChunker().chunk(psiBuilder, getStatementChunkElementType());
+            marker.done(rootElementType);
+            return psiBuilder.getTreeBuilt();
+        }
+
         ParserContext context = new ParserContext(psiBuilder, languageDialect, databaseVersion);
         ParserBuilder builder = context.getBuilder();
         if (parseRootId == null ) parseRootId = defaultParseRootId;
@@ -22,6 +22,7 @@ import com.dbn.language.common.psi.PsiElementVisitors;
 import com.dbn.language.common.psi.PsiUtil;
 import com.dbn.language.common.psi.lookup.LookupAdapters;
 import com.dbn.language.common.psi.lookup.PsiLookupAdapter;
+import com.dbn.language.common.psi.lookup.PsiScopeIndex;
 import com.dbn.language.sql.SQLLanguage;
 import com.dbn.object.common.DBObject;
 import com.dbn.object.common.DBObjectPsiCache;
@@ -72,6 +73,7 @@ public abstract class DBLanguagePsiFile extends PsiFileImpl implements DatabaseC
     private final Language language;
     private final DBLanguageFileType fileType;
     private DBObjectRef<DBSchemaObject> underlyingObject;
+    private volatile PsiScopeIndex scopeIndex;
 
     @Override
     public PsiElement getPrevSibling() {
@@ -420,6 +422,25 @@ public abstract class DBLanguagePsiFile extends PsiFileImpl implements DatabaseC
         }
     }
 
+    /**
+     * Symbol table of the scopes of the file, built on first lookup and discarded on modification
+     */
+    @NotNull
+    public PsiScopeIndex getScopeIndex() {
+        PsiScopeIndex scopeIndex = this.scopeIndex;
+        if (scopeIndex == null || scopeIndex.getModificationStamp() != getModificationStamp()) {
+            scopeIndex = PsiScopeIndex.build(this);
+            this.scopeIndex = scopeIndex;
+        }
+        return scopeIndex;
+    }
+
+    @Override
+    public void subtreeChanged() {
+        super.subtreeChanged();
+        scopeIndex = null;
+    }
+
     /********************************************************
      *                    Disposable                        *
      ********************************************************/
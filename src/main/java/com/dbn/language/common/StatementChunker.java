@@ -0,0 +1,349 @@
+package com.dbn.language.common;
+
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the top level of large sql files in statement chunks (token sequences terminated by a semicolon outside parentheses,
+ * or by a slash on a line of its own, as in SQL*Plus scripts).
+ * The chunks are collapsed into lazy {@link com.dbn.language.common.element.StatementChunkElementType} nodes,
+ * which get reparsed in isolation when edited instead of the whole file.
+ * <br>
+ * PL/SQL blocks (anonymous blocks and CREATE statements of program units) contain semicolons not terminating the statement.
+ * They form one chunk each, which ends with the slash terminating the block. Files with blocks not terminated by a slash,
+ * or changing the statement delimiter (DELIMITER), are not chunked
+ */
+public class StatementChunker {
+    public static final int MIN_FILE_LENGTH = 64 * 1024;
+    private static final String[] BLOCK_KEYWORDS = {
+            "BEGIN",
+            "DECLARE"};
+    private static final String[] UNIT_KEYWORDS = {
+            "PACKAGE",
+            "PROCEDURE",
+            "FUNCTION",
+            "TRIGGER",
+            "TYPE",
+            "LIBRARY",
+            "JAVA"};
+    private static final String[] CREATE_MODIFIERS = {
+            "OR",
+            "REPLACE",
+            "EDITIONABLE",
+            "NONEDITIONABLE",
+            "AND",
+            "RESOLVE",
+            "COMPILE",
+            "NOFORCE"};
+
+    private final IElementType semicolon;
+    private final IElementType leftParenthesis;
+    private final IElementType rightParenthesis;
+    private final TokenSet ignoredTokens;
+
+    public StatementChunker(TokenTypeBundle tokenTypes) {
+        this(tokenTypes.getSharedTokenTypes());
+    }
+
+    private StatementChunker(SharedTokenTypeBundle sharedTokenTypes) {
+        this(sharedTokenTypes.getChrSemicolon(),
+                sharedTokenTypes.getChrLeftParenthesis(),
+                sharedTokenTypes.getChrRightParenthesis(),
+                TokenSet.orSet(sharedTokenTypes.getWhitespaceTokens(), sharedTokenTypes.getCommentTokens()));
+    }
+
+    StatementChunker(IElementType semicolon, IElementType leftParenthesis, IElementType rightParenthesis, TokenSet ignoredTokens) {
+        this.semicolon = semicolon;
+        this.leftParenthesis = leftParenthesis;
+        this.rightParenthesis = rightParenthesis;
+        this.ignoredTokens = ignoredTokens;
+    }
+
+    /**
+     * Checks if the (not yet advanced) builder holds a file worth chunking
+     */
+    boolean isChunkable(PsiBuilder builder) {
+        CharSequence text = builder.getOriginalText();
+        if (text.length() < MIN_FILE_LENGTH) return false;
+
+        return isChunkable(rawTokens(builder), text);
+    }
+
+    /**
+     * Checks if the given text can be chunked regardless of its length
+     */
+    boolean isChunkable(Lexer lexer, CharSequence text) {
+        lexer.start(text);
+        return isChunkable(tokens(lexer), text);
+    }
+
+    void chunk(PsiBuilder builder, IElementType chunkType) {
+        Tokens tokens = tokens(builder);
+        CharSequence text = builder.getOriginalText();
+        while (!builder.eof()) {
+            PsiBuilder.Marker marker = builder.mark();
+            skipChunk(tokens, text);
+            marker.collapse(chunkType);
+        }
+    }
+
+    /**
+     * The text ranges of the chunks {@link #chunk(PsiBuilder, IElementType)} would produce for the given text
+     * (leading whitespace and comments excluded)
+     */
+    List<TextRange> getChunkRanges(Lexer lexer, CharSequence text) {
+        lexer.start(text);
+        Tokens tokens = tokens(lexer);
+        List<TextRange> ranges = new ArrayList<>();
+        while (true) {
+            skipIgnored(tokens);
+            if (tokens.getTokenType() == null) return ranges;
+
+            int start = tokens.getTokenStart();
+            skipChunk(tokens, text);
+            ranges.add(new TextRange(start, tokens.chunkEnd));
+        }
+    }
+
+    /**
+     * Checks if the given text is exactly one chunk: a single statement terminated by a top level semicolon or slash,
+     * with no leading or trailing whitespace (these belong to the file level)
+     */
+    public boolean isSingleChunk(Lexer lexer, CharSequence text) {
+        if (!isChunkable(lexer, text)) return false;
+
+        lexer.start(text);
+        Tokens tokens = tokens(lexer);
+        IElementType token = tokens.getTokenType();
+        if (token == null || ignoredTokens.contains(token)) return false;
+
+        return skipChunk(tokens, text) && tokens.chunkEnd == text.length();
+    }
+
+    /**
+     * Checks if all the blocks are terminated by a slash (the last plain statement may be left unterminated)
+     * and the statement delimiter is not changed
+     */
+    private boolean isChunkable(Tokens tokens, CharSequence text) {
+        while (true) {
+            skipIgnored(tokens);
+            if (tokens.getTokenType() == null) return true;
+            if (matches(text, tokens, "DELIMITER")) return false;
+
+            boolean terminated = skipChunk(tokens, text);
+            if (!terminated && tokens.block) return false;
+        }
+    }
+
+    /**
+     * Advances past the end of the current chunk, recording the end offset of its last token (see {@link Tokens#chunkEnd})
+     * and whether the chunk is a PL/SQL block (see {@link Tokens#block})
+     * @return true if the chunk is terminated, false if it ends with the text
+     */
+    private boolean skipChunk(Tokens tokens, CharSequence text) {
+        int depth = 0;
+        int position = 0;
+        boolean create = false;
+        tokens.block = false;
+        for (IElementType token = tokens.getTokenType(); token != null; token = tokens.getTokenType()) {
+            if (ignoredTokens.contains(token)) {
+                tokens.advance();
+                continue;
+            }
+
+            int start = tokens.getTokenStart();
+            int end = tokens.getTokenEnd();
+            if (position == 0) {
+                tokens.block = isKeyword(text, start, end, BLOCK_KEYWORDS);
+                create = matchesIgnoreCase(text, start, end, "CREATE");
+            } else if (create) {
+                tokens.block = isKeyword(text, start, end, UNIT_KEYWORDS);
+                create = !tokens.block && isKeyword(text, start, end, CREATE_MODIFIERS);
+            }
+            position++;
+
+            boolean slash = isSlashTerminator(text, start, end);
+            tokens.chunkEnd = end;
+            tokens.advance();
+
+            if (slash) {
+                return true;
+            } else if (tokens.block) {
+                // semicolons and parentheses of the block body do not matter
+            } else if (token == leftParenthesis) {
+                depth++;
+            } else if (token == rightParenthesis) {
+                if (depth > 0) depth--;
+            } else if (token == semicolon && depth == 0) {
+                skipSlashTerminator(tokens, text);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consumes the slash following a semicolon terminated statement (sql*plus), if any
+     */
+    private void skipSlashTerminator(Tokens tokens, CharSequence text) {
+        skipIgnored(tokens);
+        IElementType token = tokens.getTokenType();
+        if (token != null && isSlashTerminator(text, tokens.getTokenStart(), tokens.getTokenEnd())) {
+            tokens.chunkEnd = tokens.getTokenEnd();
+            tokens.advance();
+        }
+    }
+
+    private void skipIgnored(Tokens tokens) {
+        IElementType token = tokens.getTokenType();
+        while (token != null && ignoredTokens.contains(token)) {
+            tokens.advance();
+            token = tokens.getTokenType();
+        }
+    }
+
+    /**
+     * Matches the token text rather than the token type, as not every dialect lexes the block keywords as such
+     */
+    private static boolean isKeyword(CharSequence text, int start, int end, String[] keywords) {
+        for (String keyword : keywords) {
+            if (matchesIgnoreCase(text, start, end, keyword)) return true;
+        }
+        return false;
+    }
+
+    private static boolean matches(CharSequence text, Tokens tokens, String keyword) {
+        return matchesIgnoreCase(text, tokens.getTokenStart(), tokens.getTokenEnd(), keyword);
+    }
+
+    /**
+     * A slash alone on its line terminates the statement (regardless of how the dialect lexes it)
+     */
+    private static boolean isSlashTerminator(CharSequence text, int start, int end) {
+        if (end - start != 1 || text.charAt(start) != '/') return false;
+
+        for (int i = start - 1; i >= 0 && text.charAt(i) != '\n'; i--) {
+            if (!Character.isWhitespace(text.charAt(i))) return false;
+        }
+        for (int i = end; i < text.length() && text.charAt(i) != '\n'; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean matchesIgnoreCase(CharSequence text, int start, int end, String keyword) {
+        if (end - start != keyword.length()) return false;
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toUpperCase(text.charAt(start + i)) != keyword.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /*********************************************************
+     *                      Token streams                    *
+     *********************************************************/
+
+    /**
+     * Token stream as far as the chunking is concerned, from a lexer or a psi builder
+     */
+    private abstract static class Tokens {
+        private int chunkEnd; // end offset of the last token of the current chunk
+        private boolean block; // the current chunk is a PL/SQL block
+
+        @Nullable
+        abstract IElementType getTokenType();
+
+        abstract int getTokenStart();
+
+        abstract int getTokenEnd();
+
+        abstract void advance();
+    }
+
+    private static Tokens tokens(Lexer lexer) {
+        return new Tokens() {
+            @Override
+            IElementType getTokenType() {
+                return lexer.getTokenType();
+            }
+
+            @Override
+            int getTokenStart() {
+                return lexer.getTokenStart();
+            }
+
+            @Override
+            int getTokenEnd() {
+                return lexer.getTokenEnd();
+            }
+
+            @Override
+            void advance() {
+                lexer.advance();
+            }
+        };
+    }
+
+    /**
+     * The (non-whitespace, non-comment) tokens of the builder, advancing the builder
+     */
+    private static Tokens tokens(PsiBuilder builder) {
+        return new Tokens() {
+            @Override
+            IElementType getTokenType() {
+                return builder.getTokenType();
+            }
+
+            @Override
+            int getTokenStart() {
+                return builder.getCurrentOffset();
+            }
+
+            @Override
+            int getTokenEnd() {
+                return builder.rawTokenTypeStart(1);
+            }
+
+            @Override
+            void advance() {
+                builder.advanceLexer();
+            }
+        };
+    }
+
+    /**
+     * All tokens of the builder, without advancing the builder
+     */
+    private static Tokens rawTokens(PsiBuilder builder) {
+        return new Tokens() {
+            private int index;
+
+            @Override
+            IElementType getTokenType() {
+                return builder.rawLookup(index);
+            }
+
+            @Override
+            int getTokenStart() {
+                return builder.rawTokenTypeStart(index);
+            }
+
+            @Override
+            int getTokenEnd() {
+                return builder.rawTokenTypeStart(index + 1);
+            }
+
+            @Override
+            void advance() {
+                index++;
+            }
+        };
+    }
+}
@@ -0,0 +1,246 @@
+package com.dbn.language.common.element;
+
+import com.dbn.code.common.style.formatting.FormattingDefinition;
+import com.dbn.common.thread.Read;
+import com.dbn.connection.ConnectionHandler;
+import com.dbn.language.common.DBLanguage;
+import com.dbn.language.common.DBLanguageDialect;
+import com.dbn.language.common.DBLanguageParser;
+import com.dbn.language.common.DBLanguageParserDefinition;
+import com.dbn.language.common.DBLanguagePsiFile;
+import com.dbn.language.common.StatementChunker;
+import com.dbn.language.common.TokenType;
+import com.dbn.language.common.element.cache.ElementTypeLookupCache;
+import com.dbn.language.common.element.impl.LeafElementType;
+import com.dbn.language.common.element.impl.NamedElementType;
+import com.dbn.language.common.element.impl.WrappingDefinition;
+import com.dbn.language.common.element.parser.Branch;
+import com.dbn.language.common.element.parser.ElementTypeParser;
+import com.dbn.language.common.element.path.LanguageNode;
+import com.dbn.language.common.element.util.ElementTypeAttribute;
+import com.dbn.object.type.DBObjectType;
+import com.dbn.language.common.psi.RootPsiElement;
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lang.PsiBuilder;
+import com.intellij.lang.PsiBuilderFactory;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Lazy, reparseable top level statement or PL/SQL block of a large sql or psql file (see {@link StatementChunker}).
+ * Edits inside the chunk only reparse the chunk itself, as long as the edited text remains one single statement or block.
+ * The chunk stands for the root element of the language: its psi element is a {@link RootPsiElement}
+ * and all {@link ElementType} features are delegated to the root element type
+ */
+public class StatementChunkElementType extends IReparseableElementType implements ElementType {
+    private final StatementChunker chunker;
+
+    public StatementChunkElementType(DBLanguageDialect languageDialect, StatementChunker chunker) {
+        super("statement chunk (" + languageDialect.getDisplayName() + ")", languageDialect, false);
+        this.chunker = chunker;
+    }
+
+    @Override
+    @NotNull
+    public DBLanguage getLanguage() {
+        return getLanguageDialect().getBaseLanguage();
+    }
+
+    @Override
+    public DBLanguageDialect getLanguageDialect() {
+        return (DBLanguageDialect) super.getLanguage();
+    }
+
+    private DBLanguageParser getLanguageParser() {
+        return getLanguageDialect().getParserDefinition().getParser();
+    }
+
+    @Override
+    protected ASTNode doParseContents(@NotNull ASTNode chunk, @NotNull PsiElement psi) {
+        Project project = psi.getProject();
+        DBLanguageDialect languageDialect = getLanguageDialect();
+        DBLanguageParserDefinition parserDefinition = languageDialect.getParserDefinition();
+        Lexer lexer = parserDefinition.createLexer(project);
+        PsiBuilder builder = Read.call(() -> createBuilder(chunk, project, lexer, languageDialect));
+
+        ASTNode node = getLanguageParser().parse(this, builder, null, getDatabaseVersion(psi));
+
+        // the root element is replaced by the chunk itself
+        ASTNode child = node.getFirstChildNode();
+        if (child != null && child.getTreeNext() == null && child.getElementType() == getRootElementType()) {
+            return child.getFirstChildNode();
+        }
+        return child;
+    }
+
+    @NotNull
+    private static PsiBuilder createBuilder(ASTNode chunk, Project project, Lexer lexer, DBLanguageDialect languageDialect) {
+        PsiBuilderFactory factory = PsiBuilderFactory.getInstance();
+        return factory.createBuilder(project, chunk, lexer, languageDialect, chunk.getChars());
+    }
+
+    private static double getDatabaseVersion(PsiElement psi) {
+        PsiFile file = psi.getContainingFile();
+        if (file instanceof DBLanguagePsiFile) {
+            ConnectionHandler connection = ((DBLanguagePsiFile) file).getConnection();
+            if (connection != null) return connection.getDatabaseVersion();
+        }
+        return 9999;
+    }
+
+    @Override
+    public boolean isParsable(@Nullable ASTNode parent, @NotNull CharSequence buffer, @NotNull Language fileLanguage, @NotNull Project project) {
+        Lexer lexer = getLanguageDialect().getParserDefinition().createLexer(project);
+        return chunker.isSingleChunk(lexer, buffer);
+    }
+
+    public NamedElementType getRootElementType() {
+        return getLanguageParser().getElementTypes().getRootElementType();
+    }
+
+    @Override
+    public PsiElement createPsiElement(ASTNode astNode) {
+        return new RootPsiElement(astNode, getRootElementType());
+    }
+
+    /*********************************************************
+     *                 Root element delegation               *
+     *********************************************************/
+
+    @NotNull
+    @Override
+    public String getId() {
+        return getRootElementType().getId();
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return getRootElementType().getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return getRootElementType().getDescription();
+    }
+
+    @Override
+    public Icon getIcon() {
+        return getRootElementType().getIcon();
+    }
+
+    @Override
+    public ElementType getParent() {
+        return null;
+    }
+
+    @Override
+    public ElementTypeLookupCache getLookupCache() {
+        return getRootElementType().getLookupCache();
+    }
+
+    @Override
+    public ElementTypeParser getParser() {
+        return getRootElementType().getParser();
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return false;
+    }
+
+    @Override
+    public boolean isVirtualObject() {
+        return getRootElementType().isVirtualObject();
+    }
+
+    @Override
+    public DBObjectType getVirtualObjectType() {
+        return getRootElementType().getVirtualObjectType();
+    }
+
+    @Override
+    public ElementTypeBundle getElementBundle() {
+        return getRootElementType().getElementBundle();
+    }
+
+    @Override
+    public FormattingDefinition getFormatting() {
+        return getRootElementType().getFormatting();
+    }
+
+    @Override
+    public void setDefaultFormatting(FormattingDefinition defaults) {
+        // formatting is the one of the root element type
+    }
+
+    @Override
+    public WrappingDefinition getWrapping() {
+        return getRootElementType().getWrapping();
+    }
+
+    @Override
+    public boolean isWrappingBegin(LeafElementType elementType) {
+        return getRootElementType().isWrappingBegin(elementType);
+    }
+
+    @Override
+    public boolean isWrappingBegin(TokenType tokenType) {
+        return getRootElementType().isWrappingBegin(tokenType);
+    }
+
+    @Override
+    public boolean isWrappingEnd(LeafElementType elementType) {
+        return getRootElementType().isWrappingEnd(elementType);
+    }
+
+    @Override
+    public boolean isWrappingEnd(TokenType tokenType) {
+        return getRootElementType().isWrappingEnd(tokenType);
+    }
+
+    @Override
+    public int getIndexInParent(LanguageNode node) {
+        return getRootElementType().getIndexInParent(node);
+    }
+
+    @Nullable
+    @Override
+    public Branch getBranch() {
+        return getRootElementType().getBranch();
+    }
+
+    @Override
+    public boolean isScopeDemarcation() {
+        return getRootElementType().isScopeDemarcation();
+    }
+
+    @Override
+    public boolean isScopeIsolation() {
+        return getRootElementType().isScopeIsolation();
+    }
+
+    @Override
+    public TokenType getTokenType() {
+        return getRootElementType().getTokenType();
+    }
+
+    @Override
+    public boolean is(ElementTypeAttribute attribute) {
+        return getRootElementType().is(attribute);
+    }
+
+    @Override
+    public boolean set(ElementTypeAttribute attribute, boolean value) {
+        // attributes are the ones of the root element type
+        return false;
+    }
+}
@@ -7,7 +7,7 @@ import com.dbn.common.dispose.AlreadyDisposedException;
 import com.dbn.common.dispose.Failsafe;
 import com.dbn.common.editor.BasicTextEditor;
 import com.dbn.common.navigation.NavigationInstructions;
-import com.dbn.common.ref.WeakRefCache;
+import com.dbn.common.ref.WeakRef;
 import com.dbn.common.thread.Read;
 import com.dbn.common.util.Editors;
 import com.dbn.common.util.Strings;
@@ -56,6 +56,7 @@ import com.intellij.psi.*;
 import com.intellij.psi.impl.source.tree.FileElement;
 import com.intellij.psi.search.LocalSearchScope;
 import com.intellij.psi.search.SearchScope;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
@@ -72,10 +73,6 @@ import static com.dbn.common.util.Unsafe.cast;
 @Getter
 @Setter
 public abstract class BasePsiElement<T extends ElementType> extends ASTWrapperPsiElement implements DatabaseContextBase, ItemPresentation, FormattingProviderPsiElement {
-    private static final WeakRefCache<BasePsiElement, DBVirtualObject> underlyingObjectCache = WeakRefCache.weakKey();
-    private static final WeakRefCache<BasePsiElement, FormattingAttributes> formattingAttributesCache = WeakRefCache.weakKey();
-    private static final WeakRefCache<BasePsiElement, BasePsiElement> enclosingScopePsiElements = WeakRefCache.weakKeyValue();
-
     // TODO: check if any other visitor relevant
     public static final PsiElementVisitors visitors = PsiElementVisitors.create(
             "SpellCheckingInspection",
@@ -84,6 +81,18 @@ public abstract class BasePsiElement<T extends ElementType> extends ASTWrapperPs
 
     private T elementType;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile DBVirtualObject virtualObject;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile FormattingAttributes formattingAttributes;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile WeakRef<BasePsiElement> enclosingScopeElement;
+
     public enum MatchType {
         STRONG,
         CACHED,
@@ -115,10 +124,17 @@ public abstract class BasePsiElement<T extends ElementType> extends ASTWrapperPs
         FormattingDefinition formatting = elementType.getFormatting();
         if (formatting == null) return null;
 
-        return formattingAttributesCache.get(this, e -> {
-            FormattingAttributes attributes = e.getElementType().getFormatting().getAttributes();
-            return FormattingAttributes.copy(attributes);
-        });
+        FormattingAttributes attributes = formattingAttributes;
+        if (attributes == null) {
+            synchronized (this) {
+                attributes = formattingAttributes;
+                if (attributes == null) {
+                    attributes = FormattingAttributes.copy(formatting.getAttributes());
+                    formattingAttributes = attributes;
+                }
+            }
+        }
+        return attributes;
     }
 
     @Override
@@ -523,7 +539,12 @@ public abstract class BasePsiElement<T extends ElementType> extends ASTWrapperPs
 
     @Nullable
     public <E extends BasePsiElement> E getEnclosingScopeElement() {
-        return cast(enclosingScopePsiElements.computeIfAbsent(this, e -> e.findEnclosingScopeElement()));
+        BasePsiElement scopeElement = WeakRef.get(enclosingScopeElement);
+        if (scopeElement == null || !scopeElement.isValid()) {
+            scopeElement = findEnclosingScopeElement();
+            enclosingScopeElement = WeakRef.of(scopeElement);
+        }
+        return cast(scopeElement);
     }
 
     @Nullable
@@ -655,13 +676,19 @@ public abstract class BasePsiElement<T extends ElementType> extends ASTWrapperPs
     public DBObject getUnderlyingObject() {
         if (!isVirtualObject()) return null;
 
-        return underlyingObjectCache.compute(this, (k, v) -> {
-            if (v != null && v.isValid()) return v;
+        DBVirtualObject virtualObject = this.virtualObject;
+        if (virtualObject != null && virtualObject.isValid()) return virtualObject;
+
+        synchronized (this) {
+            virtualObject = this.virtualObject;
+            if (virtualObject != null && virtualObject.isValid()) return virtualObject;
 
             Project project = getProject();
             VirtualObjectFactory factory = VirtualObjectFactory.getInstance(project);
-            return factory.createVirtualObject(k);
-        });
+            virtualObject = factory.createVirtualObject(this);
+            this.virtualObject = virtualObject;
+            return virtualObject;
+        }
     }
 
     public QuoteDefinition getIdentifierQuotes() {
@@ -1,6 +1,8 @@
 package com.dbn.language.common.psi.lookup;
 
+import com.dbn.language.common.DBLanguagePsiFile;
 import com.dbn.language.common.psi.BasePsiElement;
+import com.intellij.psi.PsiFile;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
@@ -20,9 +22,12 @@ public abstract class PsiLookupAdapter {
 
     @Nullable
     public final BasePsiElement findInParentScopeOf(BasePsiElement source) {
+        PsiScopeIndex index = getScopeIndex(source);
         AtomicReference<BasePsiElement> psiElement = new AtomicReference<>();
         PsiScopeVisitor.visit(source, scope -> {
-            BasePsiElement result = scope.findPsiElement(PsiLookupAdapter.this, 10);
+            BasePsiElement result = index != null && index.contains(scope) ?
+                    index.find(scope, PsiLookupAdapter.this, 10) :
+                    scope.findPsiElement(PsiLookupAdapter.this, 10);
             if (result == scope) result = null;
 
             psiElement.set(result);
@@ -42,12 +47,25 @@ public abstract class PsiLookupAdapter {
 
 
     public final void collectInParentScopeOf(@NotNull BasePsiElement source, Consumer<? super BasePsiElement> consumer) {
+        PsiScopeIndex index = getScopeIndex(source);
         PsiScopeVisitor.visit(source, scope -> {
-            scope.collectPsiElements(PsiLookupAdapter.this, 1, consumer);
+            if (index != null && index.contains(scope)) {
+                index.collect(scope, PsiLookupAdapter.this, 1, consumer);
+            } else {
+                scope.collectPsiElements(PsiLookupAdapter.this, 1, consumer);
+            }
             return false;
         });
     }
 
+    @Nullable
+    private PsiScopeIndex getScopeIndex(BasePsiElement source) {
+        if (!PsiScopeIndex.supports(this)) return null;
+
+        PsiFile file = source.getContainingFile();
+        return file instanceof DBLanguagePsiFile ? ((DBLanguagePsiFile) file).getScopeIndex() : null;
+    }
+
     public final void collectInScope(@NotNull BasePsiElement scope, @NotNull Consumer<? super BasePsiElement> consumer) {
         BasePsiElement collectScope = scope.isScopeBoundary() ? scope : scope.getEnclosingScopeElement();
         if (collectScope == null) return;
@@ -0,0 +1,202 @@
+package com.dbn.language.common.psi.lookup;
+
+import com.dbn.common.util.Strings;
+import com.dbn.language.common.element.util.IdentifierCategory;
+import com.dbn.language.common.psi.BasePsiElement;
+import com.dbn.language.common.psi.IdentifierPsiElement;
+import com.dbn.language.common.psi.SequencePsiElement;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Symbol table of a psi file: the declarations (definition identifiers and virtual objects) of the file
+ * in document order, the range of declarations enclosed by every scope and the identifier declarations by name.
+ * <br>
+ * Lookups of definitions in the parent scopes of an element (see {@link PsiLookupAdapter#findInParentScopeOf(BasePsiElement)})
+ * use the index instead of walking the psi tree of every scope. The results are the same as for the tree walk:
+ * same elements, same order, same scope crossing limits
+ */
+public final class PsiScopeIndex {
+    @Getter
+    private final long modificationStamp;
+    private final Entry[] entries;
+    private final Map<BasePsiElement, Range> scopes;
+    private final Map<String, int[]> names;
+
+    private PsiScopeIndex(long modificationStamp, Entry[] entries, Map<BasePsiElement, Range> scopes, Map<String, int[]> names) {
+        this.modificationStamp = modificationStamp;
+        this.entries = entries;
+        this.scopes = scopes;
+        this.names = names;
+    }
+
+    /**
+     * Whether the index can serve lookups of the given adapter.
+     * Only definition lookups of identifiers (including the virtual objects matched by object definition lookups)
+     * and virtual object lookups are indexed, all other lookups walk the psi tree
+     */
+    public static boolean supports(PsiLookupAdapter lookupAdapter) {
+        if (lookupAdapter instanceof IdentifierLookupAdapter) {
+            IdentifierLookupAdapter identifierLookupAdapter = (IdentifierLookupAdapter) lookupAdapter;
+            return identifierLookupAdapter.getIdentifierCategory() == IdentifierCategory.DEFINITION;
+        }
+        return lookupAdapter instanceof VirtualObjectLookupAdapter;
+    }
+
+    public boolean contains(BasePsiElement scope) {
+        return scopes.containsKey(scope);
+    }
+
+    /**
+     * Equivalent of {@link BasePsiElement#findPsiElement(PsiLookupAdapter, int)} invoked on the given scope
+     */
+    @Nullable
+    public BasePsiElement find(@NotNull BasePsiElement scope, @NotNull PsiLookupAdapter lookupAdapter, int scopeCrossCount) {
+        Range range = scopes.get(scope);
+        if (range == null) return null;
+
+        // the tree walk finds identifiers only, never the virtual object elements
+        if (!(lookupAdapter instanceof IdentifierLookupAdapter)) return null;
+
+        CharSequence identifierName = ((IdentifierLookupAdapter) lookupAdapter).getIdentifierName();
+        if (identifierName == null) {
+            for (int i = range.from; i < range.to; i++) {
+                BasePsiElement element = match(entries[i], range, lookupAdapter, scopeCrossCount);
+                if (element instanceof IdentifierPsiElement && element != scope) return element;
+            }
+        } else {
+            int[] positions = names.get(Strings.toLowerCase(identifierName));
+            if (positions == null) return null;
+
+            int start = Arrays.binarySearch(positions, range.from);
+            for (int i = start < 0 ? -start - 1 : start; i < positions.length && positions[i] < range.to; i++) {
+                BasePsiElement element = match(entries[positions[i]], range, lookupAdapter, scopeCrossCount);
+                if (element != null) return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Equivalent of {@link BasePsiElement#collectPsiElements(PsiLookupAdapter, int, Consumer)} invoked on the given scope
+     */
+    public void collect(@NotNull BasePsiElement scope, @NotNull PsiLookupAdapter lookupAdapter, int scopeCrossCount, Consumer<? super BasePsiElement> consumer) {
+        Range range = scopes.get(scope);
+        if (range == null) return;
+
+        if (range.self != null) {
+            BasePsiElement element = match(range.self, range, lookupAdapter, scopeCrossCount);
+            if (element != null) consumer.accept(element);
+        }
+        for (int i = range.from; i < range.to; i++) {
+            BasePsiElement element = match(entries[i], range, lookupAdapter, scopeCrossCount);
+            if (element != null) consumer.accept(element);
+        }
+    }
+
+    @Nullable
+    private static BasePsiElement match(Entry entry, Range range, PsiLookupAdapter lookupAdapter, int scopeCrossCount) {
+        if (entry.depth - range.depth > scopeCrossCount) return null;
+        return lookupAdapter.matches(entry.element) ? entry.element : null;
+    }
+
+    /*********************************************************
+     *                        Builder                        *
+     *********************************************************/
+
+    public static PsiScopeIndex build(@NotNull PsiFile file) {
+        Builder builder = new Builder();
+        PsiElement child = file.getFirstChild();
+        while (child != null) {
+            if (child instanceof BasePsiElement) builder.visit((BasePsiElement) child, 0);
+            child = child.getNextSibling();
+        }
+        return builder.build(file.getModificationStamp());
+    }
+
+    private static final class Builder {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<BasePsiElement, Range> scopes = new IdentityHashMap<>();
+        private final Map<String, List<Integer>> names = new HashMap<>();
+
+        /**
+         * Mirrors the lookup tree walk: only sequence elements are descended into, and every scope boundary
+         * on the way increases the scope depth of the declarations underneath
+         */
+        private void visit(BasePsiElement element, int depth) {
+            if (element.isScopeBoundary()) depth++;
+
+            if (element instanceof IdentifierPsiElement) {
+                IdentifierPsiElement identifier = (IdentifierPsiElement) element;
+                if (isDeclaration(identifier)) {
+                    String name = Strings.toLowerCase(identifier.getUnquotedText());
+                    names.computeIfAbsent(name, n -> new ArrayList<>()).add(entries.size());
+                    entries.add(new Entry(element, depth));
+                }
+
+            } else if (element instanceof SequencePsiElement) {
+                // the lookup on a scope element matches the scope itself before its children
+                Entry self = element.getElementType().getVirtualObjectType() == null ? null : new Entry(element, depth);
+                if (self != null) entries.add(self);
+                Range range = element.isScopeBoundary() ? new Range(self, depth, entries.size()) : null;
+
+                PsiElement child = element.getFirstChild();
+                while (child != null) {
+                    if (child instanceof BasePsiElement) visit((BasePsiElement) child, depth);
+                    child = child.getNextSibling();
+                }
+
+                if (range != null) {
+                    range.to = entries.size();
+                    scopes.put(element, range);
+                }
+            }
+        }
+
+        private static boolean isDeclaration(IdentifierPsiElement identifier) {
+            return identifier.getElementType().getIdentifierCategory() == IdentifierCategory.DEFINITION || identifier.isReferenceable();
+        }
+
+        private PsiScopeIndex build(long modificationStamp) {
+            Map<String, int[]> names = new HashMap<>(this.names.size());
+            for (Map.Entry<String, List<Integer>> entry : this.names.entrySet()) {
+                names.put(entry.getKey(), entry.getValue().stream().mapToInt(i -> i).toArray());
+            }
+            return new PsiScopeIndex(modificationStamp, entries.toArray(new Entry[0]), scopes, names);
+        }
+    }
+
+    private static final class Entry {
+        private final BasePsiElement element;
+        private final int depth;
+
+        private Entry(BasePsiElement element, int depth) {
+            this.element = element;
+            this.depth = depth;
+        }
+    }
+
+    private static final class Range {
+        private final Entry self;
+        private final int depth;
+        private final int from;
+        private int to;
+
+        private Range(@Nullable Entry self, int depth, int from) {
+            this.self = self;
+            this.depth = depth;
+            this.from = from;
+        }
+    }
+}
@@ -8,6 +8,11 @@ public class PSQLParser extends DBLanguageParser {
         super(languageDialect, tokenTypesFile, elementTypesFile, defaultParseRootId);
     }
 
+    @Override
+    protected boolean isStatementChunkingSupported() {
+        return true;
+    }
+
 /*
     @NotNull
     @Override
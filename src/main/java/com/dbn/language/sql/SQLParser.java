@@ -7,4 +7,9 @@ public class SQLParser extends DBLanguageParser {
     public SQLParser(DBLanguageDialect languageDialect, String tokenTypesFile, String elementTypesFile, String defaultParseRootId) {
         super(languageDialect, tokenTypesFile, elementTypesFile, defaultParseRootId);
     }
+
+    @Override
+    protected boolean isStatementChunkingSupported() {
+        return true;
+    }
 }
@@ -1,55 +1,59 @@
 package com.dbn.navigation.object;
 
-import com.dbn.common.consumer.SetCollector;
 import com.dbn.common.dispose.StatefulDisposableBase;
-import com.dbn.common.latent.Latent;
 import com.dbn.common.sign.Signed;
 import com.dbn.object.common.DBObject;
+import com.dbn.object.common.list.DBObjectNameIndex;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
 
 public class DBObjectLookupData extends StatefulDisposableBase implements Signed {
-    private final SetCollector<DBObject> data = SetCollector.concurrent();
-    private final Latent<String[]> names = Latent.mutable(() -> data.size(), () -> buildNames());
+    private static final String[] EMPTY_NAMES = new String[0];
+
+    private List<DBObjectNameIndex> indexes = Collections.emptyList();
+    private Predicate<DBObject> filter = o -> false;
+    private String[] names = EMPTY_NAMES;
 
     @Getter
     @Setter
     private int signature = -1;
 
-    private String[] buildNames() {
+    public void load(List<DBObjectNameIndex> indexes, Predicate<DBObject> filter) {
         checkDisposed();
-        return data.elements().
-                stream().
-                sorted().
-                map(object -> object.getName()).
-                distinct().
-                toArray(String[]::new);
+        Set<String> names = new TreeSet<>();
+        for (DBObjectNameIndex index : indexes) {
+            index.collectNames(names, filter);
+        }
+
+        this.indexes = indexes;
+        this.filter = filter;
+        this.names = names.toArray(EMPTY_NAMES);
     }
 
     public String[] names() {
-        return names.get();
+        return names;
     }
 
     public Object[] elements(String name) {
         checkDisposed();
-        return data.elements().
-                stream().
-                filter(object -> Objects.equals(object.getName(), name)).
-                sorted().
-                toArray();
+        List<DBObject> elements = new ArrayList<>();
+        for (DBObjectNameIndex index : indexes) {
+            index.collectObjects(name, filter, elements::add);
+        }
+        Collections.sort(elements);
+        return elements.toArray();
     }
 
-    public void accept(DBObject object) {
-        checkDisposed();
-        data.accept(object);
-    }
-
-
     @Override
     public void disposeInner() {
-        data.clear();
-        names.reset();
+        indexes = Collections.emptyList();
+        names = EMPTY_NAMES;
     }
 }
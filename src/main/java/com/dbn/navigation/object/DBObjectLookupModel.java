@@ -10,10 +10,13 @@ import com.dbn.common.sign.Signed;
 import com.dbn.connection.ConnectionHandler;
 import com.dbn.connection.ConnectionId;
 import com.dbn.connection.ConnectionLoadListener;
+import com.dbn.connection.ConnectionManager;
 import com.dbn.connection.ConnectionRef;
+import com.dbn.connection.SchemaId;
 import com.dbn.navigation.options.ObjectsLookupSettings;
 import com.dbn.object.DBSchema;
 import com.dbn.object.common.DBObject;
+import com.dbn.object.common.list.DBObjectNameIndex;
 import com.dbn.object.lookup.DBObjectRef;
 import com.dbn.object.type.DBObjectType;
 import com.dbn.options.ProjectSettings;
@@ -24,6 +27,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 import static com.dbn.common.dispose.Failsafe.guarded;
 
@@ -130,18 +137,48 @@ public class DBObjectLookupModel extends StatefulDisposableBase implements Choos
             }
             checkCancelled();
 
+            List<DBObjectNameIndex> nameIndexes = getNameIndexes();
+            int signature = this.signature;
+            for (DBObjectNameIndex nameIndex : nameIndexes) {
+                signature = 31 * signature + nameIndex.getSignature();
+            }
+
             if (data.getSignature() != signature) {
                 data.setSignature(signature);
-                DBObjectLookupScanner.scan(this, forceLoad);
+                data.load(nameIndexes, createFilter());
             }
 
             return data.names();
         });
     }
 
+    /**
+     * Name indexes of the connections in lookup scope (see {@link DBObjectNameIndex})
+     */
+    private List<DBObjectNameIndex> getNameIndexes() {
+        List<DBObjectNameIndex> nameIndexes = new ArrayList<>();
+        ConnectionHandler selectedConnection = getSelectedConnection();
+        if (selectedConnection == null || selectedConnection.isVirtual()) {
+            ConnectionManager connectionManager = ConnectionManager.getInstance(getProject());
+            for (ConnectionHandler connection : connectionManager.getConnections()) {
+                checkCancelled();
+                nameIndexes.add(connection.getObjectBundle().getNameIndex());
+            }
+        } else {
+            nameIndexes.add(selectedConnection.getObjectBundle().getNameIndex());
+        }
+        return nameIndexes;
+    }
+
+    private Predicate<DBObject> createFilter() {
+        DBSchema selectedSchema = getSelectedSchema();
+        if (selectedSchema == null) return object -> isObjectLookupEnabled(object.getObjectType());
 
-    public void accept(DBObject object) {
-        data.accept(object);
+        SchemaId schemaId = SchemaId.from(selectedSchema);
+        return object ->
+                isObjectLookupEnabled(object.getObjectType()) &&
+                !(object instanceof DBSchema) &&
+                Objects.equals(object.getSchemaId(), schemaId);
     }
 
     @NotNull
@@ -155,18 +192,6 @@ public class DBObjectLookupModel extends StatefulDisposableBase implements Choos
         return guarded(EMPTY_ARRAY, data, d -> d.elements(name));
     }
 
-    protected boolean isListLookupEnabled(DBObjectType objectType) {
-        boolean enabled = isObjectLookupEnabled(objectType);
-        if (enabled) return true;
-
-        for (DBObjectType childObjectType : objectType.getChildren()) {
-            if (isListLookupEnabled(childObjectType)) {
-                return true;
-            }
-        }
-        return enabled;
-    }
-
     protected boolean isObjectLookupEnabled(DBObjectType objectType) {
         return getSettings().isEnabled(objectType);
     }
@@ -10,6 +10,7 @@ import com.dbn.database.DatabaseObjectIdentifier;
 import com.dbn.object.*;
 import com.dbn.object.common.list.DBObjectList;
 import com.dbn.object.common.list.DBObjectListContainer;
+import com.dbn.object.common.list.DBObjectNameIndex;
 import com.dbn.object.type.DBObjectType;
 import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
@@ -85,6 +86,9 @@ public interface DBObjectBundle extends BrowserTreeNode, StatefulDisposable {
 
     DBObjectInitializer getObjectInitializer();
 
+    @NotNull
+    DBObjectNameIndex getNameIndex();
+
     <T extends DBObject> DBObjectList<T> getObjectList(DBObjectType objectType);
 
     PsiFile getFakeObjectFile();
@@ -32,6 +32,7 @@ import com.dbn.object.*;
 import com.dbn.object.common.list.DBObjectList;
 import com.dbn.object.common.list.DBObjectListContainer;
 import com.dbn.object.common.list.DBObjectListImpl;
+import com.dbn.object.common.list.DBObjectNameIndex;
 import com.dbn.object.impl.DBObjectLoaders;
 import com.dbn.object.status.ObjectStatusManager;
 import com.dbn.object.type.DBObjectRelationType;
@@ -75,6 +76,7 @@ public class DBObjectBundleImpl extends StatefulDisposableBase implements DBObje
 
     private final DBObjectListContainer objectLists;
     private final DBObjectInitializer objectInitializer;
+    private final DBObjectNameIndex nameIndex = new DBObjectNameIndex();
     private final long configSignature;
     private final Latent<PsiFile> fakeObjectFile = Latent.basic(() -> createFakePsiFile());
 
@@ -613,6 +615,12 @@ public class DBObjectBundleImpl extends StatefulDisposableBase implements DBObje
         return nn(objectInitializer);
     }
 
+    @NotNull
+    @Override
+    public DBObjectNameIndex getNameIndex() {
+        return nn(nameIndex);
+    }
+
     @Override
     public <T extends DBObject> DBObjectList<T> getObjectList(DBObjectType objectType) {
         return getObjectLists().getObjectList(objectType);
@@ -652,6 +660,7 @@ public class DBObjectBundleImpl extends StatefulDisposableBase implements DBObje
     public void disposeInner() {
         Disposer.dispose(objectLists);
         Disposer.dispose(dataTypes);
+        nameIndex.clear();
         nullify();
     }
 }
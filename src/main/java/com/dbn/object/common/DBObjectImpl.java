@@ -13,7 +13,6 @@ import com.dbn.common.content.DynamicContentType;
 import com.dbn.common.dispose.Disposer;
 import com.dbn.common.dispose.Failsafe;
 import com.dbn.common.environment.EnvironmentType;
-import com.dbn.common.ref.WeakRefCache;
 import com.dbn.common.routine.Consumer;
 import com.dbn.common.util.Strings;
 import com.dbn.connection.*;
@@ -73,7 +72,7 @@ public abstract class DBObjectImpl<M extends DBObjectMetadata> extends DBObjectT
     protected DBObjectRef<?> ref;
     protected DBObjectProperties properties = new DBObjectProperties();
 
-    private static final WeakRefCache<DBObjectImpl, DBObjectListContainer> childObjects = WeakRefCache.weakKey();
+    private volatile DBObjectListContainer childObjects;
 
     private static final DBOperationExecutor NULL_OPERATION_EXECUTOR = operationType -> {
         throw new DBOperationNotSupportedException(operationType);
@@ -90,12 +89,14 @@ public abstract class DBObjectImpl<M extends DBObjectMetadata> extends DBObjectT
     protected DBObjectImpl(@Nullable ConnectionHandler connection, DBObjectType objectType, String name) {
         ref = new DBObjectRef<>(this, objectType, name);
         ref.setParent(connection);
+        ref = DBObjectRef.intern(ref);
     }
 
     protected void init(@Nullable ConnectionHandler connection, @Nullable DBObject parentObject, M metadata) throws SQLException {
         String name = initObject(connection, parentObject, metadata);
         ref = new DBObjectRef<>(this, name);
         ref.setParent(parentObject == null ? connection : parentObject);
+        ref = DBObjectRef.intern(ref);
 
         initStatus(metadata);
         initProperties();
@@ -321,12 +322,22 @@ public abstract class DBObjectImpl<M extends DBObjectMetadata> extends DBObjectT
                 }
             }
         }
-        return childObjects.get(this);
+        return childObjects;
     }
 
     @NotNull
     protected DBObjectListContainer ensureChildObjects() {
-        return childObjects.computeIfAbsent(this, k -> new DBObjectListContainer(k));
+        DBObjectListContainer childObjects = this.childObjects;
+        if (childObjects == null) {
+            synchronized (this) {
+                childObjects = this.childObjects;
+                if (childObjects == null) {
+                    childObjects = new DBObjectListContainer(this);
+                    this.childObjects = childObjects;
+                }
+            }
+        }
+        return childObjects;
     }
 
     public void visitChildObjects(DBObjectListVisitor visitor, boolean visitInternal) {
@@ -712,7 +723,8 @@ public abstract class DBObjectImpl<M extends DBObjectMetadata> extends DBObjectT
     public void disposeInner() {
         super.disposeInner();
         DBObjectPsiCache.clear(this);
-        DBObjectListContainer childObjects = DBObjectImpl.childObjects.remove(this);
+        DBObjectListContainer childObjects = this.childObjects;
+        this.childObjects = null;
         Disposer.dispose(childObjects);
         nullify();
     }
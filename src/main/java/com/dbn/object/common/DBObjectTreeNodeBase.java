@@ -8,7 +8,6 @@ import com.dbn.browser.ui.ToolTipProvider;
 import com.dbn.common.dispose.Failsafe;
 import com.dbn.common.event.ProjectEvents;
 import com.dbn.common.filter.Filter;
-import com.dbn.common.ref.WeakRefCache;
 import com.dbn.common.thread.Background;
 import com.dbn.common.ui.tree.TreeEventType;
 import com.dbn.common.util.Commons;
@@ -30,8 +29,8 @@ import static com.dbn.common.util.Lists.filter;
 public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider {
     protected static final List<BrowserTreeNode> EMPTY_TREE_NODE_LIST = Collections.unmodifiableList(new ArrayList<>(0));
 
-    private static final WeakRefCache<DBObjectTreeNodeBase, List<BrowserTreeNode>> possibleTreeChildren = WeakRefCache.weakKey();
-    private static final WeakRefCache<DBObjectTreeNodeBase, List<BrowserTreeNode>> visibleTreeChildren = WeakRefCache.weakKey();
+    private volatile List<BrowserTreeNode> possibleTreeChildren;
+    private volatile List<BrowserTreeNode> visibleTreeChildren;
 
     @Override
     public int getTreeDepth() {
@@ -41,18 +40,33 @@ public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider
 
     @NotNull
     public List<BrowserTreeNode> getPossibleTreeChildren() {
-        return possibleTreeChildren.get(this, o -> {
-            List<BrowserTreeNode> children = o.buildPossibleTreeChildren();
-            return compact(children);
-        });
+        List<BrowserTreeNode> children = possibleTreeChildren;
+        if (children == null) {
+            synchronized (this) {
+                children = possibleTreeChildren;
+                if (children == null) {
+                    children = compact(buildPossibleTreeChildren());
+                    possibleTreeChildren = children;
+                }
+            }
+        }
+        return children;
     }
 
     @Override
     public List<? extends BrowserTreeNode> getChildren() {
-        return visibleTreeChildren.get(this, o -> {
-            Background.run(o.getProject(), () -> o.buildTreeChildren());
-            return Collections.singletonList(new LoadInProgressTreeNode(o));
-        });
+        List<BrowserTreeNode> children = visibleTreeChildren;
+        if (children == null) {
+            synchronized (this) {
+                children = visibleTreeChildren;
+                if (children == null) {
+                    children = Collections.singletonList(new LoadInProgressTreeNode(this));
+                    visibleTreeChildren = children;
+                    Background.run(getProject(), () -> buildTreeChildren());
+                }
+            }
+        }
+        return children;
     }
 
     public void buildTreeChildren() {
@@ -68,7 +82,7 @@ public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider
             checkDisposed();
         }
 
-        visibleTreeChildren.set(this, compact(treeNodes));
+        visibleTreeChildren = compact(treeNodes);
         set(DBObjectProperty.TREE_LOADED, true);
 
         Project project = Failsafe.nn(getProject());
@@ -80,7 +94,7 @@ public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider
 
     @Override
     public void refreshTreeChildren(@NotNull DBObjectType... objectTypes) {
-        List<BrowserTreeNode> treeNodes = visibleTreeChildren.get(this);
+        List<BrowserTreeNode> treeNodes = visibleTreeChildren;
         if (treeNodes == null) return;
 
         for (BrowserTreeNode treeNode : treeNodes) {
@@ -91,7 +105,7 @@ public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider
 
     @Override
     public void rebuildTreeChildren() {
-        List<BrowserTreeNode> treeNodes = visibleTreeChildren.get(this);
+        List<BrowserTreeNode> treeNodes = visibleTreeChildren;
         if (treeNodes == null) return;
 
         ConnectionHandler connection = this.getConnection();
@@ -117,7 +131,7 @@ public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider
     @Override
     public boolean isLeaf() {
         return guarded(true, this, n -> {
-            List<BrowserTreeNode> treeNodes = visibleTreeChildren.get(n);
+            List<BrowserTreeNode> treeNodes = n.visibleTreeChildren;
             if (treeNodes == null) return !n.hasVisibleTreeChildren();
             return treeNodes.isEmpty();
         });
@@ -156,8 +170,8 @@ public abstract class DBObjectTreeNodeBase implements DBObject, ToolTipProvider
 
     @Override
     public void disposeInner() {
-        possibleTreeChildren.remove(this);
-        visibleTreeChildren.remove(this);
+        possibleTreeChildren = null;
+        visibleTreeChildren = null;
 
     }
 }
@@ -12,6 +12,7 @@ import com.dbn.database.DatabaseObjectIdentifier;
 import com.dbn.object.*;
 import com.dbn.object.common.list.DBObjectList;
 import com.dbn.object.common.list.DBObjectListContainer;
+import com.dbn.object.common.list.DBObjectNameIndex;
 import com.dbn.object.type.DBObjectType;
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.openapi.project.Project;
@@ -30,6 +31,7 @@ import java.util.List;
 public class DBVirtualObjectBundle extends StatefulDisposableBase implements DBObjectBundle{
     private final VirtualConnectionHandler connection;
     private final DBDataTypeBundle dataTypes;
+    private final DBObjectNameIndex nameIndex = new DBObjectNameIndex();
     private boolean disposed;
 
     public DBVirtualObjectBundle(@NotNull VirtualConnectionHandler connection) {
@@ -17,9 +17,6 @@ import com.dbn.common.event.ProjectEvents;
 import com.dbn.common.filter.CompositeFilter;
 import com.dbn.common.filter.Filter;
 import com.dbn.common.range.Range;
-import com.dbn.common.ref.WeakRefCache;
-import com.dbn.common.search.Search;
-import com.dbn.common.search.SearchAdapter;
 import com.dbn.common.string.StringDeBuilder;
 import com.dbn.common.ui.tree.TreeEventType;
 import com.dbn.connection.ConnectionHandler;
@@ -27,11 +24,10 @@ import com.dbn.connection.DatabaseEntity;
 import com.dbn.connection.config.ConnectionFilterSettings;
 import com.dbn.database.common.metadata.DBObjectMetadata;
 import com.dbn.navigation.psi.DBObjectListPsiDirectory;
-import com.dbn.object.DBColumn;
 import com.dbn.object.DBSchema;
+import com.dbn.object.DBType;
 import com.dbn.object.common.DBObject;
 import com.dbn.object.common.DBObjectBundle;
-import com.dbn.object.common.DBObjectSearchAdapters;
 import com.dbn.object.common.DBVirtualObject;
 import com.dbn.object.common.property.DBObjectProperty;
 import com.dbn.object.common.sorting.DBObjectComparator;
@@ -60,8 +56,6 @@ import static com.dbn.common.content.DynamicContentProperty.*;
 import static com.dbn.common.dispose.Checks.isValid;
 import static com.dbn.common.dispose.Failsafe.guarded;
 import static com.dbn.common.list.FilteredList.unwrap;
-import static com.dbn.common.search.Search.binarySearch;
-import static com.dbn.common.search.Search.comboSearch;
 import static com.dbn.common.util.Commons.nvl;
 import static com.dbn.connection.ConnectionHandler.isLiveConnection;
 import static java.util.Collections.emptyList;
@@ -70,9 +64,8 @@ import static java.util.Collections.emptyList;
 @Getter
 @Setter
 public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T> implements DBObjectList<T> {
-    private static final WeakRefCache<DBObjectList, ObjectQuickFilter> quickFilterCache = WeakRefCache.weakKey();
-
     private final DBObjectType objectType;
+    private volatile ObjectQuickFilter<T> quickFilter;
 
     DBObjectListImpl(
             @NotNull DBObjectType objectType,
@@ -127,12 +120,12 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
     @Nullable
     @Override
     public ObjectQuickFilter<T> getQuickFilter() {
-        return quickFilterCache.get(this);
+        return quickFilter;
     }
 
     @Override
     public void setQuickFilter(@Nullable ObjectQuickFilter<T> quickFilter) {
-        quickFilterCache.set(this, quickFilter);
+        this.quickFilter = quickFilter;
 
     }
 
@@ -193,6 +186,9 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
 
         if (!elements.contains(object)) {
             elements.add(object);
+
+            DBObjectNameIndex nameIndex = getNameIndex();
+            if (nameIndex != null) nameIndex.add(this, object);
         }
     }
 
@@ -219,35 +215,29 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
         if (elements.isEmpty()) return null;
 
         if (objectType == DBObjectType.ARGUMENT || objectType == DBObjectType.TYPE_ATTRIBUTE) {
-            // arguments and type attributes are sorted by position (linear search)
+            // arguments and type attributes are sorted by position (not searchable)
             return super.getElement(name, overload);
         }
 
         if (objectType == DBObjectType.TYPE) {
-            T element = Search.binarySearch(elements, DBObjectSearchAdapters.binary(name, overload, false));
-            if (element == null) element = Search.binarySearch(elements, DBObjectSearchAdapters.binary(name, overload, true));
+            // plain types take precedence over collection types
+            T element = lookupElement(name, e -> isType(e, false) && e.getOverload() == overload);
+            if (element == null) element = lookupElement(name, e -> isType(e, true) && e.getOverload() == overload);
             return element;
         }
 
         if (isSearchable()) {
-            if (objectType == DBObjectType.COLUMN) {
-                // primary key columns are sorted by position at beginning of the list of elements
-                SearchAdapter<T> linear = DBObjectSearchAdapters.linear(name, c -> c instanceof DBColumn && ((DBColumn) c).isPrimaryKey());
-                SearchAdapter<T> binary = DBObjectSearchAdapters.binary(name);
-                return comboSearch(elements, linear, binary);
-            }  else {
-                SearchAdapter<T> binary = objectType.isOverloadable() ?
-                        DBObjectSearchAdapters.binary(name, overload) :
-                        DBObjectSearchAdapters.binary(name);
-
-                return binarySearch(elements, binary);
-
-            }
+            return objectType.isOverloadable() ?
+                    lookupElement(name, e -> e.getOverload() == overload) :
+                    lookupElement(name, e -> true);
         }
 
         return super.getElement(name, overload);
     }
 
+    private static boolean isType(DBObject object, boolean collection) {
+        return object instanceof DBType && ((DBType) object).isCollection() == collection;
+    }
 
     @Override
     public boolean isInternal() {
@@ -296,6 +286,18 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
         }
     }
 
+    @Override
+    protected void afterUpdate() {
+        DBObjectNameIndex nameIndex = getNameIndex();
+        if (nameIndex != null) nameIndex.update(this, unwrap(this.elements));
+    }
+
+    @Nullable
+    private DBObjectNameIndex getNameIndex() {
+        if (is(VIRTUAL) || !DBObjectNameIndex.isIndexable(this)) return null;
+        return guarded(null, this, l -> l.getConnection().getObjectBundle().getNameIndex());
+    }
+
     @Override
     @NotNull
     public String getName() {
@@ -539,8 +541,11 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
 
     @Override
     public void disposeInner() {
+        DBObjectNameIndex nameIndex = getNameIndex();
+        if (nameIndex != null) nameIndex.remove(this);
+
         super.disposeInner();
-        quickFilterCache.remove(this);
+        quickFilter = null;
         changeSignature();
     }
 
@@ -559,6 +564,7 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
 
         @Override
         protected void afterUpdate() {
+            super.afterUpdate();
             List<T> elements = unwrap(this.elements);
             if (elements.isEmpty()) return;
 
@@ -614,18 +620,11 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentBase<T>
             // "touch" elements first for ranges to become available (fragile...)
             getElements();
             if (ranges == null) return null;
+            if (name == null) return null;
 
-            SearchAdapter<T> adapter = getObjectType().isOverloadable() ?
-                    DBObjectSearchAdapters.binary(name, overload) :
-                    DBObjectSearchAdapters.binary(name);
-            Collection<Range> ranges = this.ranges.values();
-            for (Range range : ranges) {
-                T element = binarySearch(elements, range.getLeft(), range.getRight(), adapter);
-                if (element != null) {
-                    return element;
-                }
-            }
-            return null;
+            return getObjectType().isOverloadable() ?
+                    lookupElement(name, e -> e.getOverload() == overload) :
+                    lookupElement(name, e -> true);
         }
     }
 }
@@ -0,0 +1,135 @@
+package com.dbn.object.common.list;
+
+import com.dbn.object.DBSchema;
+import com.dbn.object.common.DBObject;
+import com.dbn.object.type.DBObjectType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Name index of the objects loaded for a connection, as used by the database object lookup ("Go to Database Object").
+ * Maintained by the object lists as their content is loaded, reloaded or disposed, so lookups do not need to
+ * visit the object lists of the connection. Only the lists reachable by the lookup are indexed (see {@link #isIndexable(DBObjectList)})
+ */
+public final class DBObjectNameIndex {
+    private final Map<DBObjectList<?>, List<DBObject>> lists = new IdentityHashMap<>();
+    private final Map<String, List<DBObject>> names = new HashMap<>();
+    private volatile int signature;
+
+    public static boolean isIndexable(DBObjectList<?> objectList) {
+        DBObjectType objectType = objectList.getObjectType();
+        if (objectType.isRootObject() || objectList.isInternal()) return true;
+        return objectType.isSchemaObject() && objectList.getParentEntity() instanceof DBSchema;
+    }
+
+    /**
+     * Replaces the objects indexed for the given list
+     */
+    synchronized void update(@NotNull DBObjectList<?> objectList, @NotNull List<? extends DBObject> objects) {
+        removeObjects(objectList);
+        if (!objects.isEmpty()) {
+            List<DBObject> listObjects = new ArrayList<>(objects);
+            lists.put(objectList, listObjects);
+            for (DBObject object : listObjects) {
+                names.computeIfAbsent(key(object.getName()), n -> new ArrayList<>(1)).add(object);
+            }
+        }
+        signature++;
+    }
+
+    synchronized void add(@NotNull DBObjectList<?> objectList, @NotNull DBObject object) {
+        lists.computeIfAbsent(objectList, l -> new ArrayList<>()).add(object);
+        names.computeIfAbsent(key(object.getName()), n -> new ArrayList<>(1)).add(object);
+        signature++;
+    }
+
+    synchronized void remove(@NotNull DBObjectList<?> objectList) {
+        if (removeObjects(objectList)) signature++;
+    }
+
+    private boolean removeObjects(DBObjectList<?> objectList) {
+        List<DBObject> listObjects = lists.remove(objectList);
+        if (listObjects == null) return false;
+
+        for (DBObject object : listObjects) {
+            String key = key(object.getName());
+            List<DBObject> objects = names.get(key);
+            if (objects == null) continue;
+
+            objects.removeIf(o -> o == object);
+            if (objects.isEmpty()) names.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Changes with every update of the index
+     */
+    public int getSignature() {
+        return signature;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (List<DBObject> objects : lists.values()) {
+            size += objects.size();
+        }
+        return size;
+    }
+
+    /**
+     * Names of the indexed objects accepted by the given filter
+     */
+    public synchronized void collectNames(@NotNull Set<String> consumer, @NotNull Predicate<DBObject> filter) {
+        for (Map.Entry<String, List<DBObject>> entry : names.entrySet()) {
+            for (DBObject object : entry.getValue()) {
+                if (filter.test(object)) {
+                    consumer.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexed objects with the given name accepted by the given filter
+     */
+    public void collectObjects(@Nullable String name, @NotNull Predicate<DBObject> filter, @NotNull Consumer<DBObject> consumer) {
+        if (name == null) return;
+
+        List<DBObject> objects;
+        synchronized (this) {
+            objects = names.get(key(name));
+            if (objects == null) return;
+            objects = new ArrayList<>(objects);
+        }
+
+        for (DBObject object : objects) {
+            if (filter.test(object)) consumer.accept(object);
+        }
+    }
+
+    public synchronized void clear() {
+        lists.clear();
+        names.clear();
+        signature++;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name;
+    }
+
+    @Override
+    public String toString() {
+        return "DBObjectNameIndex{names=" + names.size() + ", lists=" + lists.size() + "}";
+    }
+}
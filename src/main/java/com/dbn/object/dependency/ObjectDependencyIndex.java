@@ -0,0 +1,302 @@
+package com.dbn.object.dependency;
+
+import com.dbn.object.type.DBObjectType;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Dependency graph of the objects of a connection, held as adjacency arrays of node ids in both directions
+ * (objects referenced by a node and objects referencing it).
+ * Schemas are loaded in bulk (see {@link #load(String, Collection)}) and single objects are reloaded after
+ * data definition changes (see {@link #update(Node, Collection, Collection)}), so direct and transitive dependency
+ * queries are answered without database round trips. Maintained by the {@link ObjectDependencyManager}
+ */
+public final class ObjectDependencyIndex {
+    private static final Comparator<Node> NODE_ORDER = Comparator.
+            comparing(Node::getOwner).
+            thenComparing(n -> n.getObjectType().getName()).
+            thenComparing(Node::getName);
+
+    private final Map<Node, Integer> ids = new HashMap<>();
+    private final List<Node> nodes = new ArrayList<>();
+    private final Set<String> schemas = new HashSet<>();
+    private Edges[] referenced = new Edges[64];
+    private Edges[] referencing = new Edges[64];
+
+    /**
+     * Whether the dependencies of the given schema are loaded and valid
+     */
+    public synchronized boolean isLoaded(String schemaName) {
+        return schemas.contains(schemaName);
+    }
+
+    /**
+     * Replaces the dependencies touching the given schema
+     * @param dependencies pairs of object and referenced object, where at least one of the two belongs to the schema
+     */
+    public synchronized void load(@NotNull String schemaName, @NotNull Collection<Node[]> dependencies) {
+        BitSet schemaNodes = new BitSet(nodes.size());
+        for (int id = 0; id < nodes.size(); id++) {
+            if (nodes.get(id).owner.equals(schemaName)) schemaNodes.set(id);
+        }
+        removeEdges(schemaNodes);
+
+        for (Node[] dependency : dependencies) {
+            addEdge(id(dependency[0]), id(dependency[1]));
+        }
+        schemas.add(schemaName);
+    }
+
+    /**
+     * Replaces the dependencies of the given node
+     */
+    public synchronized void update(@NotNull Node node, @NotNull Collection<Node> referencedNodes, @NotNull Collection<Node> referencingNodes) {
+        int id = id(node);
+        BitSet nodeIds = new BitSet(id + 1);
+        nodeIds.set(id);
+        removeEdges(nodeIds);
+
+        for (Node referencedNode : referencedNodes) addEdge(id, id(referencedNode));
+        for (Node referencingNode : referencingNodes) addEdge(id(referencingNode), id);
+    }
+
+    /**
+     * Marks the dependencies of the given schema for reload. They are still served until reloaded
+     */
+    public synchronized void invalidate(String schemaName) {
+        schemas.remove(schemaName);
+    }
+
+    public synchronized void clear() {
+        ids.clear();
+        nodes.clear();
+        schemas.clear();
+        referenced = new Edges[64];
+        referencing = new Edges[64];
+    }
+
+    /**
+     * Objects referenced by the given node (what it depends on), ordered by owner, type and name
+     */
+    public synchronized List<Node> getReferencedNodes(@NotNull Node node) {
+        return getNodes(node, referenced);
+    }
+
+    /**
+     * Objects referencing the given node (what depends on it), ordered by owner, type and name
+     */
+    public synchronized List<Node> getReferencingNodes(@NotNull Node node) {
+        return getNodes(node, referencing);
+    }
+
+    private List<Node> getNodes(Node node, Edges[] direction) {
+        Integer id = ids.get(node);
+        if (id == null || direction[id] == null) return new ArrayList<>();
+
+        Edges edges = direction[id];
+        List<Node> result = new ArrayList<>(edges.size);
+        for (int i = 0; i < edges.size; i++) {
+            result.add(nodes.get(edges.ids[i]));
+        }
+        result.sort(NODE_ORDER);
+        return result;
+    }
+
+    /**
+     * Transitive closure of the dependencies of the given node in breadth-first order (closest dependencies first),
+     * not including the node itself
+     * @param referencing true for the objects depending on the node (impact), false for the objects the node depends on
+     * @param unloadedSchemas collects the owners of reached nodes whose schema is not loaded (their dependencies are not known)
+     */
+    public synchronized List<Node> getClosure(@NotNull Node node, boolean referencing, @Nullable Set<String> unloadedSchemas) {
+        List<Node> result = new ArrayList<>();
+        Integer start = ids.get(node);
+        if (start == null) return result;
+
+        Edges[] direction = referencing ? this.referencing : this.referenced;
+        BitSet visited = new BitSet(nodes.size());
+        Deque<Integer> queue = new ArrayDeque<>();
+        visited.set(start);
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            Node current = nodes.get(id);
+            if (unloadedSchemas != null && !schemas.contains(current.owner)) unloadedSchemas.add(current.owner);
+
+            Edges edges = direction[id];
+            if (edges == null) continue;
+
+            List<Node> level = new ArrayList<>(edges.size);
+            for (int i = 0; i < edges.size; i++) {
+                int next = edges.ids[i];
+                if (visited.get(next)) continue;
+
+                visited.set(next);
+                queue.add(next);
+                level.add(nodes.get(next));
+            }
+            level.sort(NODE_ORDER);
+            result.addAll(level);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (int id = 0; id < nodes.size(); id++) {
+            if (referenced[id] != null) size += referenced[id].size;
+        }
+        return size;
+    }
+
+    private int id(Node node) {
+        Integer id = ids.get(node);
+        if (id != null) return id;
+
+        id = nodes.size();
+        nodes.add(node);
+        ids.put(node, id);
+        if (id == referenced.length) {
+            referenced = Arrays.copyOf(referenced, id * 2);
+            referencing = Arrays.copyOf(referencing, id * 2);
+        }
+        return id;
+    }
+
+    private void addEdge(int from, int to) {
+        if (from == to) return;
+
+        Edges fromEdges = edges(referenced, from);
+        if (fromEdges.contains(to)) return;
+
+        fromEdges.add(to);
+        edges(referencing, to).add(from);
+    }
+
+    private static Edges edges(Edges[] direction, int id) {
+        Edges edges = direction[id];
+        if (edges == null) {
+            edges = new Edges();
+            direction[id] = edges;
+        }
+        return edges;
+    }
+
+    /**
+     * Removes all edges of the given nodes in a single pass over their neighbours
+     */
+    private void removeEdges(BitSet nodeIds) {
+        BitSet neighbours = new BitSet(nodes.size());
+        for (int id = nodeIds.nextSetBit(0); id >= 0; id = nodeIds.nextSetBit(id + 1)) {
+            collect(referenced[id], neighbours);
+            collect(referencing[id], neighbours);
+            referenced[id] = null;
+            referencing[id] = null;
+        }
+
+        for (int id = neighbours.nextSetBit(0); id >= 0; id = neighbours.nextSetBit(id + 1)) {
+            if (referenced[id] != null) referenced[id].removeAll(nodeIds);
+            if (referencing[id] != null) referencing[id].removeAll(nodeIds);
+        }
+    }
+
+    private static void collect(@Nullable Edges edges, BitSet ids) {
+        if (edges == null) return;
+        for (int i = 0; i < edges.size; i++) {
+            ids.set(edges.ids[i]);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ObjectDependencyIndex{schemas=" + schemas + ", nodes=" + nodes.size() + "}";
+    }
+
+    /**
+     * Growable array of node ids
+     */
+    private static final class Edges {
+        private int[] ids = new int[4];
+        private int size;
+
+        private boolean contains(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) return true;
+            }
+            return false;
+        }
+
+        private void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        private void removeAll(BitSet removed) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.get(ids[i])) ids[count++] = ids[i];
+            }
+            size = count;
+        }
+    }
+
+    /**
+     * Object identity within the dependency graph (owner, name and type, with bodies folded into their specification
+     * and the trigger flavours folded into the dictionary {@link DBObjectType#TRIGGER})
+     */
+    @Getter
+    public static final class Node {
+        private final String owner;
+        private final String name;
+        private final DBObjectType objectType;
+
+        private Node(String owner, String name, DBObjectType objectType) {
+            this.owner = owner;
+            this.name = name;
+            this.objectType = objectType;
+        }
+
+        @Nullable
+        public static Node of(String owner, String name, @Nullable DBObjectType objectType) {
+            if (owner == null || name == null || objectType == null) return null;
+            if (objectType == DBObjectType.PACKAGE_BODY) objectType = DBObjectType.PACKAGE;
+            if (objectType == DBObjectType.TYPE_BODY) objectType = DBObjectType.TYPE;
+            if (objectType == DBObjectType.DATASET_TRIGGER || objectType == DBObjectType.DATABASE_TRIGGER) objectType = DBObjectType.TRIGGER;
+            return new Node(owner, name, objectType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Node)) return false;
+            Node that = (Node) o;
+            return objectType == that.objectType && name.equals(that.name) && owner.equals(that.owner);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(owner, name, objectType);
+        }
+
+        @Override
+        public String toString() {
+            return objectType.getName() + " " + owner + "." + name;
+        }
+    }
+}
@@ -4,17 +4,49 @@ import com.dbn.DatabaseNavigator;
 import com.dbn.common.component.Components;
 import com.dbn.common.component.PersistentState;
 import com.dbn.common.component.ProjectComponentBase;
+import com.dbn.common.event.ProjectEvents;
 import com.dbn.common.options.setting.Settings;
+import com.dbn.common.thread.Background;
 import com.dbn.common.util.Dialogs;
 import com.dbn.connection.ConnectionAction;
+import com.dbn.connection.ConnectionId;
+import com.dbn.connection.Resources;
+import com.dbn.connection.config.ConnectionConfigListener;
+import com.dbn.database.DatabaseFeature;
+import com.dbn.database.interfaces.DatabaseInterfaceInvoker;
+import com.dbn.database.interfaces.DatabaseMetadataInterface;
+import com.dbn.execution.statement.DataDefinitionChangeListener;
+import com.dbn.object.DBSchema;
+import com.dbn.object.common.DBObject;
+import com.dbn.object.common.DBObjectBundle;
 import com.dbn.object.common.DBSchemaObject;
+import com.dbn.object.dependency.ObjectDependencyIndex.Node;
 import com.dbn.object.dependency.ui.ObjectDependencyTreeDialog;
+import com.dbn.object.type.DBObjectType;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
+import lombok.extern.slf4j.Slf4j;
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.dbn.common.Priority.LOW;
+import static com.dbn.common.Priority.MEDIUM;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+@Slf4j
 @State(
     name = ObjectDependencyManager.COMPONENT_NAME,
     storages = @Storage(DatabaseNavigator.STORAGE_FILE)
@@ -23,9 +55,13 @@ public class ObjectDependencyManager extends ProjectComponentBase implements Per
     public static final String COMPONENT_NAME = "DBNavigator.Project.ObjectDependencyManager";
 
     private ObjectDependencyType lastUserDependencyType = ObjectDependencyType.INCOMING;
+    private final Map<ConnectionId, ObjectDependencyIndex> dependencyIndexes = new ConcurrentHashMap<>();
 
     private ObjectDependencyManager(final Project project) {
         super(project, COMPONENT_NAME);
+        ProjectEvents.subscribe(project, this, DataDefinitionChangeListener.TOPIC, dataDefinitionChangeListener());
+        ProjectEvents.subscribe(project, this, ConnectionConfigListener.TOPIC,
+                ConnectionConfigListener.whenChangedOrRemoved(id -> dependencyIndexes.remove(id)));
     }
 
     public static ObjectDependencyManager getInstance(@NotNull Project project) {
@@ -45,6 +81,183 @@ public class ObjectDependencyManager extends ProjectComponentBase implements Per
                 action -> Dialogs.show(() -> new ObjectDependencyTreeDialog(getProject(), schemaObject)));
     }
 
+    /*********************************************************
+     *                   Dependency index                    *
+     *********************************************************/
+
+    @NotNull
+    public ObjectDependencyIndex getDependencyIndex(ConnectionId connectionId) {
+        return dependencyIndexes.computeIfAbsent(connectionId, id -> new ObjectDependencyIndex());
+    }
+
+    /**
+     * Direct dependencies of the given object, served from the dependency index of the connection
+     * (loading the dependencies of the schema in bulk on first use)
+     */
+    public List<DBObject> getDependencies(DBSchemaObject object, ObjectDependencyType dependencyType) throws SQLException {
+        if (!DatabaseFeature.OBJECT_DEPENDENCIES.isSupported(object)) {
+            return dependencyType == ObjectDependencyType.INCOMING ?
+                    object.getReferencedObjects() :
+                    object.getReferencingObjects();
+        }
+
+        ObjectDependencyIndex index = getDependencyIndex(object.getConnectionId());
+        ensureLoaded(object, index, object.getSchemaName());
+
+        Node node = nodeOf(object);
+        List<Node> nodes =
+                node == null ? Collections.emptyList() :
+                dependencyType == ObjectDependencyType.INCOMING ? index.getReferencedNodes(node) :
+                index.getReferencingNodes(node);
+        return resolve(object, nodes);
+    }
+
+    /**
+     * Objects depending directly or transitively on the given object ("what breaks if this changes"),
+     * closest dependencies first. Dependencies are followed across schemas, loading the schemas reached on the way
+     */
+    public List<DBObject> getImpactedObjects(DBSchemaObject object) throws SQLException {
+        return resolve(object, getImpactedNodes(object));
+    }
+
+    private List<Node> getImpactedNodes(DBSchemaObject object) throws SQLException {
+        Node node = nodeOf(object);
+        if (node == null || !DatabaseFeature.OBJECT_DEPENDENCIES.isSupported(object)) return Collections.emptyList();
+
+        ObjectDependencyIndex index = getDependencyIndex(object.getConnectionId());
+        ensureLoaded(object, index, object.getSchemaName());
+        while (true) {
+            Set<String> unloadedSchemas = new HashSet<>();
+            List<Node> closure = index.getClosure(node, true, unloadedSchemas);
+            if (unloadedSchemas.isEmpty()) return closure;
+
+            for (String schemaName : unloadedSchemas) {
+                ensureLoaded(object, index, schemaName);
+            }
+        }
+    }
+
+    private void ensureLoaded(DBSchemaObject object, ObjectDependencyIndex index, String schemaName) throws SQLException {
+        if (index.isLoaded(schemaName)) return;
+
+        List<Node[]> dependencies = DatabaseInterfaceInvoker.load(MEDIUM,
+                "Loading data dictionary",
+                "Loading object dependencies of schema " + schemaName,
+                object.getProject(),
+                object.getConnectionId(),
+                conn -> {
+                    List<Node[]> result = new ArrayList<>();
+                    ResultSet resultSet = null;
+                    try {
+                        DatabaseMetadataInterface metadata = object.getMetadataInterface();
+                        resultSet = metadata.loadSchemaDependencies(schemaName, conn);
+                        while (resultSet.next()) {
+                            Node node = nodeOf(resultSet, "OBJECT_OWNER", "OBJECT_NAME", "OBJECT_TYPE");
+                            Node referencedNode = nodeOf(resultSet, "REFERENCED_OWNER", "REFERENCED_NAME", "REFERENCED_TYPE");
+                            if (node != null && referencedNode != null) result.add(new Node[]{node, referencedNode});
+                        }
+                    } finally {
+                        Resources.close(resultSet);
+                    }
+                    return result;
+                });
+        index.load(schemaName, dependencies);
+    }
+
+    /**
+     * Reloads the direct dependencies of the given object into the dependency index (if its schema is indexed)
+     */
+    private void refreshDependencies(DBSchemaObject object) throws SQLException {
+        ObjectDependencyIndex index = dependencyIndexes.get(object.getConnectionId());
+        if (index == null || !index.isLoaded(object.getSchemaName())) return;
+
+        Node node = nodeOf(object);
+        if (node == null) return;
+
+        DatabaseInterfaceInvoker.execute(LOW,
+                "Loading data dictionary",
+                "Loading object dependencies of " + object.getQualifiedNameWithType(),
+                object.getProject(),
+                object.getConnectionId(),
+                conn -> {
+                    List<Node> referencedNodes = new ArrayList<>();
+                    List<Node> referencingNodes = new ArrayList<>();
+                    ResultSet resultSet = null;
+                    try {
+                        DatabaseMetadataInterface metadata = object.getMetadataInterface();
+                        resultSet = metadata.loadReferencedObjects(node.getOwner(), node.getName(), conn);
+                        collectNodes(resultSet, referencedNodes);
+                        Resources.close(resultSet);
+
+                        resultSet = metadata.loadReferencingObjects(node.getOwner(), node.getName(), conn);
+                        collectNodes(resultSet, referencingNodes);
+                    } finally {
+                        Resources.close(resultSet);
+                    }
+                    index.update(node, referencedNodes, referencingNodes);
+                });
+    }
+
+    private static void collectNodes(ResultSet resultSet, List<Node> nodes) throws SQLException {
+        while (resultSet.next()) {
+            Node node = nodeOf(resultSet, "OBJECT_OWNER", "OBJECT_NAME", "OBJECT_TYPE");
+            if (node != null) nodes.add(node);
+        }
+    }
+
+    @Nullable
+    private static Node nodeOf(ResultSet resultSet, String ownerColumn, String nameColumn, String typeColumn) throws SQLException {
+        String owner = resultSet.getString(ownerColumn);
+        String name = resultSet.getString(nameColumn);
+        DBObjectType objectType = DBObjectType.get(resultSet.getString(typeColumn), null);
+        return Node.of(owner, name, objectType);
+    }
+
+    @Nullable
+    private static Node nodeOf(DBSchemaObject object) {
+        return Node.of(object.getSchemaName(), object.getName(), object.getObjectType());
+    }
+
+    private static List<DBObject> resolve(DBSchemaObject object, List<Node> nodes) {
+        if (nodes.isEmpty()) return Collections.emptyList();
+
+        DBObjectBundle objectBundle = object.getObjectBundle();
+        Map<String, DBSchema> schemas = new HashMap<>();
+        List<DBObject> objects = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            DBSchema schema = schemas.computeIfAbsent(node.getOwner(), n -> objectBundle.getSchema(n));
+            if (schema == null) continue;
+
+            DBObject dependency = schema.getChildObject(node.getObjectType(), node.getName(), (short) 0, true);
+            if (dependency != null) objects.add(dependency);
+        }
+        return objects;
+    }
+
+    @NotNull
+    private DataDefinitionChangeListener dataDefinitionChangeListener() {
+        return new DataDefinitionChangeListener() {
+            @Override
+            public void dataDefinitionChanged(DBSchema schema, DBObjectType objectType) {
+                ObjectDependencyIndex index = dependencyIndexes.get(schema.getConnectionId());
+                if (index != null) index.invalidate(schema.getName());
+            }
+
+            @Override
+            public void dataDefinitionChanged(@NotNull DBSchemaObject schemaObject) {
+                if (!DatabaseFeature.OBJECT_DEPENDENCIES.isSupported(schemaObject)) return;
+                Background.run(getProject(), () -> {
+                    try {
+                        refreshDependencies(schemaObject);
+                    } catch (SQLException e) {
+                        conditionallyLog(e);
+                        log.warn("Failed to refresh dependencies of {}", schemaObject.getQualifiedNameWithType(), e);
+                    }
+                });
+            }
+        };
+    }
+
     @Override
     public Element getComponentState() {
         Element element = new Element("state");
@@ -57,4 +270,9 @@ public class ObjectDependencyManager extends ProjectComponentBase implements Per
         lastUserDependencyType = Settings.getEnum(element, "last-used-dependency-type", lastUserDependencyType);
     }
 
+    @Override
+    public void disposeInner() {
+        dependencyIndexes.clear();
+        super.disposeInner();
+    }
 }
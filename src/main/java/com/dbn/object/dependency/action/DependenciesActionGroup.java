@@ -11,5 +11,6 @@ public class DependenciesActionGroup extends DefaultActionGroup {
         add(Actions.SEPARATOR);
         add(new ReferencedObjectsListShowAction(object));
         add(new ReferencingObjectsListShowAction(object));
+        add(new ImpactedObjectsListShowAction(object));
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.dbn.object.dependency.action;
+
+import com.dbn.object.action.NavigateToObjectAction;
+import com.dbn.object.action.ObjectListShowAction;
+import com.dbn.object.common.DBObject;
+import com.dbn.object.common.DBSchemaObject;
+import com.dbn.object.dependency.ObjectDependencyManager;
+import com.intellij.openapi.actionSystem.AnAction;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+
+@Slf4j
+public class ImpactedObjectsListShowAction extends ObjectListShowAction {
+    public ImpactedObjectsListShowAction(DBSchemaObject object) {
+        super("Impacted objects", object);
+    }
+
+    @Override
+    public List<DBObject> getObjectList() {
+        DBSchemaObject object = (DBSchemaObject) getSourceObject();
+        try {
+            ObjectDependencyManager dependencyManager = ObjectDependencyManager.getInstance(object.getProject());
+            return dependencyManager.getImpactedObjects(object);
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            log.warn("Failed to load objects impacted by {}", object.getQualifiedNameWithType(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public String getTitle() {
+        return "Objects impacted by " + getSourceObject().getQualifiedNameWithType();
+    }
+
+    @Override
+    public String getEmptyListMessage() {
+        return "No objects depending on " + getSourceObject().getQualifiedNameWithType() + " found";
+    }
+
+    @Override
+    public String getListName() {
+        return "impacted objects";
+    }
+
+    @Override
+    protected AnAction createObjectAction(DBObject object) {
+        return new NavigateToObjectAction(this.getSourceObject(), object);
+    }
+}
@@ -4,15 +4,18 @@ import com.dbn.common.dispose.*;
 import com.dbn.common.thread.Background;
 import com.dbn.object.common.DBObject;
 import com.dbn.object.common.DBSchemaObject;
+import com.dbn.object.dependency.ObjectDependencyManager;
 import com.dbn.object.dependency.ObjectDependencyType;
 import com.dbn.object.lookup.DBObjectRef;
 import com.intellij.openapi.project.Project;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static com.dbn.common.dispose.Disposer.replace;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
 import static java.util.Collections.emptyList;
 
 public class ObjectDependencyTreeNode extends StatefulDisposableBase implements StatefulDisposable, UnlistedDisposable {
@@ -119,9 +122,17 @@ public class ObjectDependencyTreeNode extends StatefulDisposableBase implements
     @Nullable
     private List<DBObject> loadDependencies(DBSchemaObject schemaObject) {
         ObjectDependencyType dependencyType = getModel().getDependencyType();
-        return
-            dependencyType == ObjectDependencyType.INCOMING ? schemaObject.getReferencedObjects() :
-            dependencyType == ObjectDependencyType.OUTGOING ? schemaObject.getReferencingObjects() : null;
+        if (dependencyType == null) return null;
+
+        try {
+            ObjectDependencyManager dependencyManager = ObjectDependencyManager.getInstance(schemaObject.getProject());
+            return dependencyManager.getDependencies(schemaObject, dependencyType);
+        } catch (SQLException e) {
+            conditionallyLog(e);
+            return dependencyType == ObjectDependencyType.INCOMING ?
+                    schemaObject.getReferencedObjects() :
+                    schemaObject.getReferencingObjects();
+        }
     }
 
     private boolean isRecursive(DBObject object) {
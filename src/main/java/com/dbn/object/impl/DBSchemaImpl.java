@@ -5,6 +5,7 @@ import com.dbn.browser.model.BrowserTreeNode;
 import com.dbn.browser.ui.HtmlToolTipBuilder;
 import com.dbn.common.latent.Latent;
 import com.dbn.common.load.ProgressMonitor;
+import com.dbn.common.thread.Background;
 import com.dbn.common.util.Lists;
 import com.dbn.common.util.Strings;
 import com.dbn.connection.ConnectionHandler;
@@ -29,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.dbn.common.content.DynamicContentProperty.HIDDEN;
 import static com.dbn.common.content.DynamicContentProperty.*;
@@ -43,6 +45,7 @@ import static com.dbn.object.type.DBObjectType.*;
 class DBSchemaImpl extends DBRootObjectImpl<DBSchemaMetadata> implements DBSchema {
     private Latent<List<DBColumn>> primaryKeyColumns;
     private Latent<List<DBColumn>> foreignKeyColumns;
+    private final AtomicBoolean metadataPrefetched = new AtomicBoolean();
 
     DBSchemaImpl(ConnectionHandler connection, DBSchemaMetadata metadata) throws SQLException {
         super(connection, metadata);
@@ -448,6 +451,24 @@ class DBSchemaImpl extends DBRootObjectImpl<DBSchemaMetadata> implements DBSchem
     /*********************************************************
      *                     TreeElement                       *
      *********************************************************/
+    @Override
+    public void buildTreeChildren() {
+        prefetchMetadata();
+        super.buildTreeChildren();
+    }
+
+    /**
+     * Bulk loads the schema metadata in background on first expand if enabled for the connection
+     * (see {@link DBSchemaMetadataPrefetcher})
+     */
+    private void prefetchMetadata() {
+        ConnectionHandler connection = getConnection();
+        if (!connection.getSettings().getDetailSettings().isPrefetchSchemaMetadata()) return;
+        if (!metadataPrefetched.compareAndSet(false, true)) return;
+
+        Background.run(getProject(), () -> DBSchemaMetadataPrefetcher.prefetch(this));
+    }
+
     @Override
     @NotNull
     public List<BrowserTreeNode> buildPossibleTreeChildren() {
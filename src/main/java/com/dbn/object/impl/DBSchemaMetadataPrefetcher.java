@@ -0,0 +1,126 @@
+package com.dbn.object.impl;
+
+import com.dbn.common.content.DynamicContent;
+import com.dbn.common.load.ProgressMonitor;
+import com.dbn.common.thread.ThreadInfo;
+import com.dbn.common.thread.ThreadMonitor;
+import com.dbn.common.thread.Threads;
+import com.dbn.object.DBSchema;
+import com.dbn.object.common.list.DBObjectListContainer;
+import com.dbn.object.filter.type.ObjectTypeFilterSettings;
+import com.dbn.object.type.DBObjectRelationType;
+import com.dbn.object.type.DBObjectType;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.dbn.common.dispose.Checks.isNotValid;
+import static com.dbn.common.thread.ThreadProperty.BACKGROUND;
+import static com.dbn.diagnostics.Diagnostics.conditionallyLog;
+import static com.dbn.object.type.DBObjectType.*;
+
+/**
+ * Bulk loader for the complete metadata of a schema.
+ * Loads the schema object lists and the schema-level grouped (INTERNAL) lists in dependency waves, each wave in parallel.
+ * The grouped lists are populated by the single-statement "load all" variants of the metadata interface
+ * (ALL_COLUMNS, ALL_CONSTRAINTS...), allowing the child lists of every object (table columns, package procedures...)
+ * to be resolved from memory by the subcontent loaders instead of issuing one database round-trip per object
+ */
+@Slf4j
+@UtilityClass
+class DBSchemaMetadataPrefetcher {
+    private static final DBObjectType[] SCHEMA_OBJECTS = {
+            TABLE, VIEW, MATERIALIZED_VIEW, SYNONYM, SEQUENCE, PROCEDURE, FUNCTION,
+            PACKAGE, TYPE, DATABASE_TRIGGER, DIMENSION, CLUSTER, DBLINK};
+
+    private static final DBObjectType[] GROUPED_OBJECTS = {
+            COLUMN, CONSTRAINT, INDEX, DATASET_TRIGGER, NESTED_TABLE,
+            PACKAGE_FUNCTION, PACKAGE_PROCEDURE, PACKAGE_TYPE,
+            TYPE_ATTRIBUTE, TYPE_FUNCTION, TYPE_PROCEDURE};
+
+    private static final DBObjectType[] GROUPED_DEPENDENT_OBJECTS = {ARGUMENT};
+
+    private static final DBObjectRelationType[] GROUPED_RELATIONS = {
+            DBObjectRelationType.CONSTRAINT_COLUMN,
+            DBObjectRelationType.INDEX_COLUMN};
+
+    static void prefetch(DBSchema schema) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        DBObjectListContainer childObjects = schema.getChildObjects();
+        if (childObjects == null) return;
+
+        // wave 1: schema objects (parents of all grouped elements)
+        List<DynamicContent<?>> wave = new ArrayList<>();
+        ObjectTypeFilterSettings filterSettings = schema.getConnection().getSettings().getFilterSettings().getObjectTypeFilterSettings();
+        for (DBObjectType objectType : SCHEMA_OBJECTS) {
+            if (filterSettings.isVisible(objectType)) {
+                wave.add(childObjects.getObjectList(objectType));
+            }
+        }
+        load(schema, wave);
+
+        // wave 2: grouped children of schema objects (columns, constraints, program members...)
+        wave.clear();
+        for (DBObjectType objectType : GROUPED_OBJECTS) {
+            wave.add(childObjects.getObjectList(objectType));
+        }
+        load(schema, wave);
+
+        // wave 3: grouped elements depending on wave 2 (method arguments, constraint and index columns)
+        wave.clear();
+        for (DBObjectType objectType : GROUPED_DEPENDENT_OBJECTS) {
+            wave.add(childObjects.getObjectList(objectType));
+        }
+        for (DBObjectRelationType relationType : GROUPED_RELATIONS) {
+            wave.add(childObjects.getRelations(relationType));
+        }
+        load(schema, wave);
+
+        log.info("Prefetched metadata of schema {} in {}ms", schema.getQualifiedNameWithType(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Loads the given contents in parallel and waits for all of them to complete
+     * (each load acquires its own pooled connection through the database interface queue)
+     */
+    private static void load(DBSchema schema, List<DynamicContent<?>> contents) throws InterruptedException {
+        Project project = schema.getProject();
+        ThreadInfo threadInfo = ThreadInfo.copy();
+        ExecutorService executor = Threads.backgroundExecutor();
+
+        CountDownLatch latch = new CountDownLatch(contents.size());
+        for (DynamicContent<?> content : contents) {
+            if (content == null || content.isReady()) {
+                latch.countDown();
+                continue;
+            }
+
+            try {
+                executor.submit(() -> {
+                    try {
+                        if (isNotValid(schema)) return;
+                        ThreadMonitor.surround(project, threadInfo, BACKGROUND, () -> content.load());
+                    } catch (ProcessCanceledException e) {
+                        conditionallyLog(e);
+                    } catch (Throwable e) {
+                        log.warn("Failed to prefetch {}", content.getContentDescription(), e);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                conditionallyLog(e);
+                latch.countDown();
+            }
+        }
+        latch.await();
+        ProgressMonitor.checkCancelled();
+    }
+}
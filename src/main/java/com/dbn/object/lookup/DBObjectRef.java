@@ -21,6 +21,7 @@ import com.dbn.object.common.DBObjectBundle;
 import com.dbn.object.type.DBObjectType;
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.openapi.project.Project;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -62,6 +63,13 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
     private WeakRef<T> reference;
     private int hashCode = -1;
 
+    @Setter(AccessLevel.NONE)
+    private transient int id; // dense id of interned refs (see DBObjectRefTable)
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient int tableGeneration; // the table the ref was interned in (see DBObjectRefTable)
+
     public DBObjectRef(ConnectionId connectionId, String identifier) {
         deserialize(connectionId, identifier);
     }
@@ -122,6 +130,57 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
 
     }
 
+    /**
+     * Returns the canonical instance of the given ref (see {@link DBObjectRefTable}).
+     * Interned refs are unique per object identity, have their hash code precomputed
+     * and compare by identity with the refs interned in the same table
+     */
+    @Contract("null -> null; !null -> !null")
+    public static <T extends DBObject> DBObjectRef<T> intern(@Nullable DBObjectRef<T> ref) {
+        if (ref == null || ref.isInterned()) return ref;
+        if (ref.objectType == null || ref.objectName == null) return ref;
+        if (ref.objectType == DBObjectType.CONSOLE) return ref; // renamable
+        if (ref.parent == null) return ref; // detached (e.g. virtual objects)
+
+        ConnectionId connectionId = ref.getConnectionId();
+        if (connectionId == null) return ref;
+
+        return DBObjectRefTable.get(connectionId).intern(ref);
+    }
+
+    /**
+     * Releases the canonical refs of the given connection (see {@link #intern(DBObjectRef)})
+     */
+    public static void releaseInterned(ConnectionId connectionId) {
+        DBObjectRefTable.release(connectionId);
+    }
+
+    public boolean isInterned() {
+        return id != 0;
+    }
+
+    void interned(int id, int tableGeneration) {
+        this.id = id;
+        this.tableGeneration = tableGeneration;
+        hashCode();
+    }
+
+    /**
+     * Refs interned in the same table are equal only if identical.
+     * Refs interned in different tables (e.g. before and after {@link #releaseInterned(ConnectionId)}) compare structurally
+     */
+    private static boolean isInternedInSameTable(DBObjectRef<?> local, DBObjectRef<?> remote) {
+        return local.tableGeneration != 0 && local.tableGeneration == remote.tableGeneration;
+    }
+
+    /**
+     * Takes over the object of the given equivalent ref (i.e. a reloaded object replaces its predecessor)
+     */
+    void adopt(DBObjectRef<?> ref) {
+        T object = cast(ref.getObject());
+        if (object != null && object != getObject()) reference = WeakRef.of(object);
+    }
+
     @Nullable
     @Override
     public Project getProject() {
@@ -164,7 +223,7 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
             try {
                 DBObjectRef<T> objectRef = new DBObjectRef<>();
                 objectRef.readState(element);
-                return objectRef;
+                return intern(objectRef);
             } catch (Exception e) {
                 conditionallyLog(e);
                 // deserialization exception already logged
@@ -396,6 +455,7 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
         if (object == null) return null;
 
         reference = WeakRef.of(object);
+        if (isInterned()) return object; // identity metadata is immutable for canonical refs
 
         // update the ref-metadata with more qualified resolved object
         objectType = object.getObjectType();
@@ -511,6 +571,7 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
         if (o == null || getClass() != o.getClass()) return false;
 
         DBObjectRef<?> that = (DBObjectRef<?>) o;
+        if (isInternedInSameTable(this, that)) return false;
         return deepEqual(this, that);
     }
 
@@ -527,6 +588,10 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
             return true;
         }
 
+        if (isInternedInSameTable(local, remote)) {
+            return false;
+        }
+
         if (local.getObjectType() != remote.getObjectType()) {
             return false;
         }
@@ -548,8 +613,16 @@ public class DBObjectRef<T extends DBObject> implements Comparable<DBObjectRef<?
 
     @Override
     public int hashCode() {
+        int hashCode = this.hashCode;
         if (hashCode == -1) {
-            hashCode = (getConnectionId() + PSS + serialize()).hashCode();
+            // structural hash (consistent with deepEqual), no path serialization
+            DBObjectRef<?> parentRef = getParentRef();
+            hashCode = parentRef == null ? Objects.hashCode(getConnectionId()) : parentRef.hashCode();
+            hashCode = 31 * hashCode + (objectType == null ? 0 : objectType.ordinal());
+            hashCode = 31 * hashCode + Objects.hashCode(objectName);
+            hashCode = 31 * hashCode + overload;
+            if (hashCode == -1) hashCode = 0;
+            this.hashCode = hashCode;
         }
         return hashCode;
     }
@@ -0,0 +1,110 @@
+package com.dbn.object.lookup;
+
+import com.dbn.connection.ConnectionId;
+import com.dbn.object.common.DBObject;
+import com.dbn.object.type.DBObjectType;
+import lombok.EqualsAndHashCode;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.dbn.common.util.Unsafe.cast;
+
+/**
+ * Canonicalizing (hash-consing) table of {@link DBObjectRef}s, one per connection.
+ * Interned refs are unique per object identity (parent, type, name and overload) and get a dense integer id,
+ * so equality between refs interned in the same table reduces to instance identity.
+ * A child ref is looked up by the id of its (interned) parent instead of its full path.
+ * <br>
+ * The table holds the refs weakly: refs nobody is referencing anymore are purged and re-interned with a new id on next use
+ */
+final class DBObjectRefTable {
+    private static final Map<ConnectionId, DBObjectRefTable> TABLES = new ConcurrentHashMap<>();
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+
+    private final int generation = GENERATIONS.incrementAndGet();
+    private final Map<Key, Entry> refs = new ConcurrentHashMap<>();
+    private final ReferenceQueue<DBObjectRef<?>> queue = new ReferenceQueue<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    static DBObjectRefTable get(ConnectionId connectionId) {
+        return TABLES.computeIfAbsent(connectionId, id -> new DBObjectRefTable());
+    }
+
+    /**
+     * Drops the table of the given connection (e.g. when the connection is removed).
+     * Refs interned so far remain valid and equal to the ones interned in the new table
+     */
+    static void release(ConnectionId connectionId) {
+        TABLES.remove(connectionId);
+    }
+
+    <T extends DBObject> DBObjectRef<T> intern(DBObjectRef<T> ref) {
+        if (ref.isInterned()) return ref;
+        purge();
+
+        DBObjectRef<?> parent = ref.getParentRef();
+        if (parent != null) {
+            DBObjectRef<?> canonicalParent = intern(parent);
+            if (canonicalParent != parent) ref.setParent(canonicalParent);
+            parent = canonicalParent;
+        }
+
+        Key key = new Key(parent == null ? 0 : parent.getId(), ref.getObjectType(), ref.getObjectName(), ref.getOverload());
+        while (true) {
+            Entry entry = refs.computeIfAbsent(key, k -> {
+                ref.interned(sequence.incrementAndGet(), generation);
+                return new Entry(k, ref, queue);
+            });
+
+            DBObjectRef<?> canonical = entry.get();
+            if (canonical == null) {
+                // collected meanwhile
+                refs.remove(key, entry);
+                continue;
+            }
+
+            if (canonical != ref) canonical.adopt(ref);
+            return cast(canonical);
+        }
+    }
+
+    int size() {
+        return refs.size();
+    }
+
+    private void purge() {
+        Entry entry = (Entry) queue.poll();
+        while (entry != null) {
+            refs.remove(entry.key, entry);
+            entry = (Entry) queue.poll();
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final int parentId;
+        private final DBObjectType objectType;
+        private final String objectName;
+        private final short overload;
+
+        Key(int parentId, DBObjectType objectType, String objectName, short overload) {
+            this.parentId = parentId;
+            this.objectType = objectType;
+            this.objectName = objectName;
+            this.overload = overload;
+        }
+    }
+
+    private static final class Entry extends WeakReference<DBObjectRef<?>> {
+        private final Key key;
+
+        Entry(Key key, DBObjectRef<?> ref, ReferenceQueue<DBObjectRef<?>> queue) {
+            super(ref, queue);
+            this.key = key;
+        }
+    }
+}
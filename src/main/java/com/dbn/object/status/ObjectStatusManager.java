@@ -64,6 +64,18 @@ public class ObjectStatusManager extends ProjectComponentBase implements Persist
                 conn -> refreshObjectsStatus(schema, conn));
     }
 
+    /**
+     * Refreshes the object status of the given schema and waits for the refresh to complete
+     */
+    public void refreshObjectsStatusAndWait(DBSchema schema) throws SQLException {
+        DatabaseInterfaceInvoker.execute(LOW,
+                "Refreshing object status",
+                "Refreshing object status for " + schema.getQualifiedNameWithType(),
+                getProject(),
+                schema.getConnectionId(),
+                conn -> refreshObjectsStatus(schema, conn));
+    }
+
     public void refreshObjectsStatus(ConnectionHandler connection, @Nullable DBSchemaObject requester) {
         if (!OBJECT_INVALIDATION.isSupported(connection)) return;
 
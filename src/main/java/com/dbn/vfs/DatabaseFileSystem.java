@@ -143,7 +143,7 @@ public class DatabaseFileSystem extends VirtualFileSystem implements NonPhysical
 
         } else if (OBJECTS.is(relativePath)) {
             String objectIdentifier = OBJECTS.collate(relativePath);
-            DBObjectRef<DBSchemaObject> objectRef = new DBObjectRef<>(connectionId, objectIdentifier);
+            DBObjectRef<DBSchemaObject> objectRef = DBObjectRef.intern(new DBObjectRef<>(connectionId, objectIdentifier));
             DBEditableObjectVirtualFile databaseFile = findOrCreateDatabaseFile(project, objectRef);
             return databaseFile;
 
@@ -154,7 +154,7 @@ public class DatabaseFileSystem extends VirtualFileSystem implements NonPhysical
             DBContentType contentType = DBContentType.valueOf(contentTypeStr);
 
             String objectIdentifier = contentIdentifier.substring(contentTypeEndIndex + 1);
-            DBObjectRef<DBSchemaObject> objectRef = new DBObjectRef<>(connectionId, objectIdentifier);
+            DBObjectRef<DBSchemaObject> objectRef = DBObjectRef.intern(new DBObjectRef<>(connectionId, objectIdentifier));
             DBEditableObjectVirtualFile virtualFile = findOrCreateDatabaseFile(project, objectRef);
             if (virtualFile == null) return null;
             return virtualFile.getContentFile(contentType);
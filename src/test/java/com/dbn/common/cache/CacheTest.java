@@ -0,0 +1,166 @@
+package com.dbn.common.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class CacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void hitAndMiss() {
+        Cache cache = new Cache(0, 100, 100, null);
+
+        Assert.assertEquals("A", get(cache, "A"));
+        Assert.assertEquals("A", get(cache, "A"));
+        Assert.assertEquals("B", get(cache, "B"));
+
+        Assert.assertEquals(2, loads.get());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(2, cache.weight());
+    }
+
+    @Test
+    public void sizeEviction() {
+        Cache cache = new Cache(0, 0, 3, null);
+        get(cache, "A");
+        get(cache, "B");
+        get(cache, "C");
+        get(cache, "D");
+
+        Assert.assertEquals(3, cache.size());
+        Assert.assertTrue(isCached(cache, "B"));
+        Assert.assertTrue(isCached(cache, "C"));
+        Assert.assertTrue(isCached(cache, "D"));
+        Assert.assertFalse(isCached(cache, "A")); // least recently used
+    }
+
+    @Test
+    public void weightEviction() {
+        Cache cache = new Cache(0, 10, 0, null);
+        cache.get("A", () -> Arrays.asList(1, 2, 3, 4)); // weight 5
+        cache.get("B", () -> Arrays.asList(1, 2, 3));    // weight 4
+        Assert.assertEquals(9, cache.weight());
+
+        cache.get("C", () -> new Object[] {1, 2});       // weight 3
+        Assert.assertEquals(7, cache.weight());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertFalse(isCached(cache, "A"));
+    }
+
+    @Test
+    public void weighableValues() {
+        Cache cache = new Cache(0, 100, 0, null);
+        cache.get("A", () -> (Weighable) () -> 40);
+        cache.get("B", () -> (Weighable) () -> 0); // weighs at least 1
+        cache.get("C", () -> Collections.singletonMap(1, 1));
+        Assert.assertEquals(43, cache.weight());
+
+        // heavier than the remaining budget: the least recently used entries make room
+        cache.get("D", () -> (Weighable) () -> 70);
+        Assert.assertTrue(cache.weight() <= 100);
+        Assert.assertFalse(isCached(cache, "A"));
+        Assert.assertTrue(isCached(cache, "D"));
+    }
+
+    @Test
+    public void scanResistance() {
+        Cache cache = new Cache(0, 0, 10, null);
+
+        // frequently used entries get promoted to the protected segment
+        List<String> hot = Arrays.asList("H1", "H2", "H3", "H4", "H5");
+        for (int i = 0; i < 3; i++) {
+            hot.forEach(key -> get(cache, key));
+        }
+
+        // one-off lookups only displace each other
+        for (int i = 0; i < 100; i++) {
+            get(cache, "SCAN" + i);
+        }
+
+        Assert.assertEquals(10, cache.size());
+        for (String key : hot) {
+            Assert.assertTrue(key, isCached(cache, key));
+        }
+    }
+
+    @Test
+    public void protectedSegmentDemotion() {
+        Cache cache = new Cache(0, 0, 5, null);
+
+        // protected share is 4 entries: promoting a fifth one demotes the least recently used back to probation
+        for (String key : Arrays.asList("A", "B", "C", "D", "E")) {
+            get(cache, key);
+            get(cache, key);
+        }
+        get(cache, "X");
+
+        Assert.assertEquals(5, cache.size());
+        Assert.assertTrue(isCached(cache, "E"));
+        Assert.assertTrue(isCached(cache, "X"));
+        Assert.assertFalse(isCached(cache, "A"));
+    }
+
+    @Test
+    public void expiry() throws Exception {
+        Cache cache = new Cache(20, 100, 100, null);
+        get(cache, "A");
+        Assert.assertTrue(isCached(cache, "A"));
+
+        Thread.sleep(50);
+        Assert.assertFalse(isCached(cache, "A"));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.weight());
+    }
+
+    @Test
+    public void reset() {
+        Cache cache = new Cache(0, 100, 100, null);
+        get(cache, "A");
+        get(cache, "B");
+        cache.reset();
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.weight());
+        Assert.assertFalse(isCached(cache, "A"));
+    }
+
+    @Test
+    public void chainedKeys() {
+        ChainedKeyCache cache = new ChainedKeyCache(100, 100);
+        Assert.assertEquals("A.B", cache.get(keys -> load(keys), "A", "B"));
+        Assert.assertEquals("A.B", cache.get(keys -> load(keys), "A", "B"));
+        Assert.assertEquals("A.C", cache.get(keys -> load(keys), "A", "C"));
+        Assert.assertEquals("A", cache.get(keys -> load(keys), "A"));
+        Assert.assertNull(cache.get(keys -> load(keys)));
+
+        Assert.assertEquals(3, loads.get());
+    }
+
+    private String load(Object[] keys) {
+        loads.incrementAndGet();
+        return Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining("."));
+    }
+
+    private Object get(Cache cache, String key) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return key;
+        });
+    }
+
+    /**
+     * Looks up the key (loading it if missing, which counts as an access)
+     * @return true if the value was cached
+     */
+    private boolean isCached(Cache cache, String key) {
+        int count = loads.get();
+        get(cache, key);
+        return loads.get() == count;
+    }
+}
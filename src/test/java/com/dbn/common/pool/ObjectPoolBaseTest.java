@@ -113,6 +113,86 @@ public class ObjectPoolBaseTest {
     }
 
 
+    @Test
+    public void validateIdleObjects() throws Exception {
+        AtomicInteger validations = new AtomicInteger();
+        ObjectPoolBase<TestObject, Exception> pool = new ObjectPoolBase<>(null) {
+            @Override
+            protected TestObject create() {
+                return new TestObject(counter.incrementAndGet());
+            }
+
+            @Override
+            protected boolean check(TestObject object) {
+                return true;
+            }
+
+            @Override
+            protected boolean validate(TestObject object) {
+                validations.incrementAndGet();
+                return object.index % 2 == 0;
+            }
+
+            @Override
+            public int maxSize() {
+                return POOL_SIZE;
+            }
+        };
+
+        TestObject first = pool.acquire(1, TimeUnit.SECONDS);
+        TestObject second = pool.acquire(1, TimeUnit.SECONDS);
+        pool.release(first);
+
+        // only the released object is validated, the reserved one is left alone
+        pool.validate(object -> true);
+        Assert.assertEquals(1, validations.get());
+        Assert.assertEquals(first.index % 2 == 0 ? 2 : 1, pool.size());
+
+        pool.release(second);
+        ObjectPoolCounters counters = pool.getCounters();
+        Assert.assertEquals(2, counters.miss().get());
+        Assert.assertEquals(2, counters.creationTime().count());
+        Assert.assertEquals(2, counters.waitTime().count());
+    }
+
+    @Test
+    public void acquisitionCounters() throws Exception {
+        ObjectPoolBase<TestObject, Exception> pool = new ObjectPoolBase<>(null) {
+            @Override
+            protected TestObject create() {
+                return new TestObject(counter.incrementAndGet());
+            }
+
+            @Override
+            protected boolean check(TestObject object) {
+                return true;
+            }
+
+            @Override
+            public int maxSize() {
+                return 1;
+            }
+        };
+        ObjectPoolCounters counters = pool.getCounters();
+
+        TestObject object = pool.acquire(1, TimeUnit.SECONDS);
+        Assert.assertEquals(1, counters.miss().get());
+        Assert.assertEquals(0, counters.hit().get());
+
+        // rejected acquisitions count as neither hit nor miss, and record no wait time
+        Assert.assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, counters.rejected().get());
+        Assert.assertEquals(1, counters.miss().get());
+        Assert.assertEquals(0, counters.hit().get());
+        Assert.assertEquals(1, counters.waitTime().count());
+
+        pool.release(object);
+        Assert.assertSame(object, pool.acquire(1, TimeUnit.SECONDS));
+        Assert.assertEquals(1, counters.miss().get());
+        Assert.assertEquals(1, counters.hit().get());
+        Assert.assertEquals(2, counters.waitTime().count());
+    }
+
     private static class TestObject extends StatefulDisposableBase {
         private final long timestamp = System.currentTimeMillis();
         private final int index;
@@ -74,4 +74,36 @@ public class SynchronizedTest {
         Assert.assertEquals(0, failureCount.get());
         Assert.assertTrue(Synchronized.LOCKS.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void keyedLockStressTest() throws Exception {
+        int threads = 32;
+        int keys = 8;
+        int invocations = 20000;
+        Map<String, AtomicInteger> insideCounters = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger executions = new AtomicInteger();
+        long contentions = Synchronized.statistics().contentions();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < invocations; i++) {
+            String key = "STRESS" + random.nextInt(keys);
+            AtomicInteger inside = insideCounters.computeIfAbsent(key, k -> new AtomicInteger());
+            executorService.submit(() -> Synchronized.on(key, o -> {
+                if (inside.incrementAndGet() > 1) overlaps.incrementAndGet();
+                // nested invocation on another key must not deadlock or leak locks
+                Synchronized.on(key + "-nested", n -> { executions.incrementAndGet(); });
+                Thread.yield();
+                inside.decrementAndGet();
+            }));
+        }
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+
+        Assert.assertEquals(0, overlaps.get());
+        Assert.assertEquals(invocations, executions.get());
+        Assert.assertTrue(Synchronized.LOCKS.isEmpty());
+        Assert.assertTrue(Synchronized.statistics().contentions() > contentions);
+        System.out.println("Keyed lock statistics: " + Synchronized.statistics());
+    }
+}
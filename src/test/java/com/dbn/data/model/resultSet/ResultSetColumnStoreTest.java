@@ -0,0 +1,130 @@
+package com.dbn.data.model.resultSet;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResultSetColumnStoreTest {
+
+    @Test
+    public void typeSpecificColumns() {
+        ResultSetColumnStore store = new ResultSetColumnStore(
+                Integer.class, Long.class, Short.class, Boolean.class,
+                Double.class, Float.class, BigDecimal.class,
+                Date.class, Time.class, Timestamp.class, String.class);
+
+        Timestamp timestamp = Timestamp.valueOf("2024-02-29 13:45:10.123456789");
+        Object[] row = {
+                42, 9_000_000_000L, (short) 7, true,
+                3.25d, 1.5f, new BigDecimal("-1234.5600"),
+                Date.valueOf("2024-02-29"), Time.valueOf("13:45:10"), timestamp, "KING"};
+
+        int index = store.append(row);
+
+        assertEquals(0, index);
+        assertEquals(1, store.size());
+        for (int i = 0; i < row.length; i++) {
+            Object value = store.getValue(index, i);
+            assertEquals(row[i], value);
+            assertEquals(row[i].getClass(), value.getClass());
+        }
+        assertEquals(123456789, ((Timestamp) store.getValue(index, 9)).getNanos());
+        assertEquals(4, ((BigDecimal) store.getValue(index, 6)).scale());
+    }
+
+    @Test
+    public void nulls() {
+        ResultSetColumnStore store = new ResultSetColumnStore(Integer.class, BigDecimal.class, Timestamp.class, String.class);
+        store.append(1, BigDecimal.ONE, new Timestamp(0), "A");
+        store.append(null, null, null, null);
+        store.append(0, BigDecimal.ZERO, new Timestamp(0), "");
+
+        for (int column = 0; column < 4; column++) {
+            assertNull(store.getValue(1, column));
+        }
+        assertEquals(0, store.getValue(2, 0));
+        assertEquals("", store.getValue(2, 3));
+
+        // nulls sort first or last, as configured
+        assertEquals(-1, store.compare(0, 1, 0, true));
+        assertEquals(1, store.compare(0, 1, 0, false));
+        assertEquals(1, store.compare(3, 0, 1, true));
+        assertEquals(0, store.compare(2, 1, 1, true));
+    }
+
+    @Test
+    public void growth() {
+        ResultSetColumnStore store = new ResultSetColumnStore(Long.class, Double.class, String.class);
+        int rows = 10_000;
+        for (long i = 0; i < rows; i++) {
+            store.append(i, i / 4d, "VALUE_" + (i % 10));
+        }
+
+        assertEquals(rows, store.size());
+        for (int i = 0; i < rows; i += 997) {
+            assertEquals((long) i, store.getValue(i, 0));
+            assertEquals(i / 4d, store.getValue(i, 1));
+            assertEquals("VALUE_" + (i % 10), store.getValue(i, 2));
+        }
+    }
+
+    @Test
+    public void highCardinalityStrings() {
+        ResultSetColumnStore store = new ResultSetColumnStore(String.class);
+        int rows = 20_000;
+        for (int i = 0; i < rows; i++) {
+            store.append(i % 3 == 0 ? null : "NAME_" + i);
+        }
+
+        // dictionary dropped in favour of plain values on the way
+        for (int i = 0; i < rows; i++) {
+            Object value = store.getValue(i, 0);
+            if (i % 3 == 0) assertNull(value); else assertEquals("NAME_" + i, value);
+        }
+        assertTrue(store.compare(0, 1, 2, true) < 0);
+    }
+
+    @Test
+    public void degradedColumns() {
+        ResultSetColumnStore store = new ResultSetColumnStore(Integer.class, BigDecimal.class);
+        BigDecimal huge = new BigDecimal(BigInteger.ONE.shiftLeft(80), 2);
+        store.append(1, BigDecimal.TEN);
+        store.append(null, null);
+        store.append(2L, huge);
+        store.append(3, BigDecimal.ONE);
+
+        assertEquals(1, store.getValue(0, 0));
+        assertNull(store.getValue(1, 0));
+        assertEquals(2L, store.getValue(2, 0));
+        assertEquals(3, store.getValue(3, 0));
+
+        assertEquals(BigDecimal.TEN, store.getValue(0, 1));
+        assertNull(store.getValue(1, 1));
+        assertEquals(huge, store.getValue(2, 1));
+        assertTrue(store.compare(1, 2, 3, true) > 0);
+    }
+
+    @Test
+    public void compare() {
+        ResultSetColumnStore store = new ResultSetColumnStore(BigDecimal.class, Timestamp.class, Boolean.class);
+        Timestamp timestamp1 = Timestamp.valueOf("2024-01-01 00:00:00.000000001");
+        Timestamp timestamp2 = Timestamp.valueOf("2024-01-01 00:00:00.000000002");
+        store.append(new BigDecimal("1.5"), timestamp1, false);
+        store.append(new BigDecimal("1.50"), timestamp2, true);
+        store.append(new BigDecimal("-2"), timestamp1, false);
+
+        assertEquals(0, store.compare(0, 0, 1, true));
+        assertTrue(store.compare(0, 2, 0, true) < 0);
+        assertTrue(store.compare(1, 0, 1, true) < 0);
+        assertEquals(0, store.compare(1, 0, 2, true));
+        assertTrue(store.compare(2, 0, 1, true) < 0);
+    }
+}
@@ -0,0 +1,176 @@
+package com.dbn.database.common.metadata.snapshot;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.END;
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.ROW;
+import static com.dbn.database.common.metadata.snapshot.MetadataSnapshotCodec.writeString;
+
+public class MetadataSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void pendingRestore() throws Exception {
+        MetadataSnapshot snapshot = new MetadataSnapshot(snapshotFile());
+        snapshot.store("TABLES", entry("EMPLOYEES", "DEPARTMENTS"), 1000);
+
+        MetadataSnapshotResultSet resultSet = snapshot.restore("TABLES");
+        Assert.assertEquals(Arrays.asList("EMPLOYEES", "DEPARTMENTS"), names(resultSet));
+        Assert.assertEquals(1000, resultSet.getChangeTimestamp());
+
+        // restored at most once per session
+        Assert.assertNull(snapshot.restore("TABLES"));
+        Assert.assertNull(snapshot.restore("VIEWS"));
+    }
+
+    @Test
+    public void indexRoundTrip() throws Exception {
+        Path file = snapshotFile();
+        MetadataSnapshot snapshot = new MetadataSnapshot(file);
+        snapshot.store("TABLES", entry("EMPLOYEES", "DEPARTMENTS"), 1000);
+        snapshot.store("VIEWS", entry(), 2000);
+        snapshot.store("SEQUENCES", entry("EMP_SEQ", null), MetadataSnapshot.UNKNOWN_TIMESTAMP);
+        snapshot.save();
+
+        Assert.assertEquals(Arrays.asList("snapshot.0"), files());
+
+        MetadataSnapshot restored = new MetadataSnapshot(file);
+        MetadataSnapshotResultSet tables = restored.restore("TABLES");
+        Assert.assertEquals(Arrays.asList("EMPLOYEES", "DEPARTMENTS"), names(tables));
+        Assert.assertEquals(1000, tables.getChangeTimestamp());
+
+        MetadataSnapshotResultSet views = restored.restore("VIEWS");
+        Assert.assertEquals(Arrays.asList(), names(views));
+        Assert.assertEquals(2000, views.getChangeTimestamp());
+
+        MetadataSnapshotResultSet sequences = restored.restore("SEQUENCES");
+        Assert.assertEquals(Arrays.asList("EMP_SEQ", null), names(sequences));
+        Assert.assertEquals(MetadataSnapshot.UNKNOWN_TIMESTAMP, sequences.getChangeTimestamp());
+
+        Assert.assertNull(restored.restore("SYNONYMS"));
+    }
+
+    @Test
+    public void generationRollover() throws Exception {
+        Path file = snapshotFile();
+        MetadataSnapshot snapshot = new MetadataSnapshot(file);
+        snapshot.store("TABLES", entry("EMPLOYEES"), 1000);
+        snapshot.store("VIEWS", entry("EMP_VIEW"), 1000);
+        snapshot.save();
+
+        // replaces one entry, adds another and keeps the third from the previous generation
+        snapshot.store("TABLES", entry("EMPLOYEES", "JOBS"), 3000);
+        snapshot.store("SEQUENCES", entry("EMP_SEQ"), 3000);
+        snapshot.save();
+
+        Assert.assertEquals(Arrays.asList("snapshot.1"), files());
+
+        MetadataSnapshot restored = new MetadataSnapshot(file);
+        MetadataSnapshotResultSet tables = restored.restore("TABLES");
+        Assert.assertEquals(Arrays.asList("EMPLOYEES", "JOBS"), names(tables));
+        Assert.assertEquals(3000, tables.getChangeTimestamp());
+
+        MetadataSnapshotResultSet views = restored.restore("VIEWS");
+        Assert.assertEquals(Arrays.asList("EMP_VIEW"), names(views));
+        Assert.assertEquals(1000, views.getChangeTimestamp());
+
+        Assert.assertEquals(Arrays.asList("EMP_SEQ"), names(restored.restore("SEQUENCES")));
+
+        // the restoring session continues with the next generation
+        restored.store("VIEWS", entry(), 4000);
+        restored.save();
+        Assert.assertEquals(Arrays.asList("snapshot.2"), files());
+    }
+
+    @Test
+    public void nothingPending() throws Exception {
+        MetadataSnapshot snapshot = new MetadataSnapshot(snapshotFile());
+        snapshot.save();
+        Assert.assertEquals(Arrays.asList(), files());
+    }
+
+    @Test
+    public void incompatibleVersion() throws Exception {
+        Path file = snapshotFile();
+        Path generationFile = file.resolveSibling("snapshot.0");
+        writeHeader(generationFile, MetadataSnapshot.VERSION - 1);
+
+        MetadataSnapshot snapshot = new MetadataSnapshot(file);
+        Assert.assertNull(snapshot.restore("TABLES"));
+        Assert.assertFalse(Files.exists(generationFile));
+
+        // starts over with a compatible generation
+        snapshot.store("TABLES", entry("EMPLOYEES"), 1000);
+        snapshot.save();
+
+        MetadataSnapshot restored = new MetadataSnapshot(file);
+        Assert.assertEquals(Arrays.asList("EMPLOYEES"), names(restored.restore("TABLES")));
+    }
+
+    @Test
+    public void corruptFile() throws Exception {
+        Path file = snapshotFile();
+        Path generationFile = file.resolveSibling("snapshot.3");
+        Files.write(generationFile, new byte[] {1, 2, 3});
+
+        MetadataSnapshot snapshot = new MetadataSnapshot(file);
+        Assert.assertNull(snapshot.restore("TABLES"));
+        Assert.assertFalse(Files.exists(generationFile));
+    }
+
+    private Path snapshotFile() {
+        return folder.getRoot().toPath().resolve("snapshot");
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> names(MetadataSnapshotResultSet resultSet) throws Exception {
+        Assert.assertNotNull(resultSet);
+        List<String> names = new ArrayList<>();
+        while (resultSet.next()) {
+            names.add(resultSet.getString("object_name"));
+        }
+        return names;
+    }
+
+    private static byte[] entry(String ... objectNames) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(1);
+        writeString(output, "OBJECT_NAME");
+        for (String objectName : objectNames) {
+            output.writeByte(ROW);
+            writeString(output, objectName);
+        }
+        output.writeByte(END);
+        return bytes.toByteArray();
+    }
+
+    private static void writeHeader(Path file, int version) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            output.writeInt(MetadataSnapshot.MAGIC);
+            output.writeInt(version);
+            output.writeInt(0);
+            output.writeLong(12);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.dbn.database.common.statement;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StatementBatcherTest {
+    private static final List<Object> KEY = Collections.singletonList("statement");
+
+    private final ExecutorService interfaceThread = Executors.newSingleThreadExecutor();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final StatementBatcher batcher = new StatementBatcher();
+    private final TestContext context = new TestContext();
+
+    @After
+    public void tearDown() {
+        interfaceThread.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void concurrentRequestsShareOneRoundTrip() throws Exception {
+        List<List<Object[]>> executions = Collections.synchronizedList(new ArrayList<>());
+        StatementBatcher.BatchExecution execution = members -> {
+            executions.add(members);
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < members.size(); i++) {
+                rows.add(new Object[]{i, "NAME_" + members.get(i)[0]});
+                rows.add(new Object[]{i, "NAME_" + members.get(i)[0] + "_2"});
+            }
+            return unionResultSet(rows, Types.VARCHAR);
+        };
+
+        CountDownLatch busy = blockInterfaceThread();
+        List<CompletableFuture<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(query("OBJECT_" + i, execution));
+            if (i == 0) Thread.sleep(100); // leader submitted
+        }
+        Thread.sleep(100); // joiners arrived
+        busy.countDown();
+
+        for (int i = 0; i < 4; i++) {
+            List<String> names = results.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(Arrays.asList("NAME_OBJECT_" + i, "NAME_OBJECT_" + i + "_2"), names);
+        }
+        assertEquals(1, executions.size());
+        assertEquals(4, executions.get(0).size());
+        assertEquals(3L, context.batched);
+    }
+
+    @Test
+    public void leaderFailureReleasesMembers() throws Exception {
+        StatementBatcher.BatchExecution execution = members -> {
+            throw new IllegalStateException("cancelled");
+        };
+
+        CountDownLatch busy = blockInterfaceThread();
+        CompletableFuture<List<String>> leader = query("OBJECT_0", execution);
+        Thread.sleep(100);
+        CompletableFuture<List<String>> member = query("OBJECT_1", execution);
+        Thread.sleep(100);
+        busy.countDown();
+
+        long start = System.currentTimeMillis();
+        assertFailed(leader);
+        assertFailed(member);
+        assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(context.getTimeout()));
+    }
+
+    @Test
+    public void singleRequestIsNotDemultiplexed() throws Exception {
+        ResultSet resultSet = unionResultSet(Collections.emptyList(), Types.VARCHAR);
+        ResultSet result = batcher.executeQuery(KEY, new Object[]{"OBJECT"}, context, members -> resultSet);
+        assertTrue(result == resultSet);
+        assertEquals(0L, context.batched);
+    }
+
+    @Test
+    public void demultiplexTypedValues() throws Exception {
+        Timestamp timestamp = Timestamp.valueOf("2024-03-01 10:15:30");
+        List<Object[]> rows = Arrays.asList(
+                new Object[]{1, new DriverTimestamp(timestamp)},
+                new Object[]{0, null},
+                new Object[]{1, new DriverTimestamp(timestamp)});
+
+        List<ResultSet> results = StatementBatcher.demultiplex(unionResultSet(rows, Types.TIMESTAMP), 2);
+        assertEquals(2, results.size());
+
+        ResultSet first = results.get(0);
+        assertTrue(first.next());
+        assertNull(first.getTimestamp("VALUE"));
+        assertTrue(first.wasNull());
+        assertFalse(first.next());
+
+        ResultSet second = results.get(1);
+        assertTrue(second.next());
+        assertEquals(timestamp, second.getTimestamp("value"));
+        assertEquals(timestamp.getTime(), second.getDate(1).getTime());
+        assertTrue(second.next());
+        assertFalse(second.next());
+    }
+
+    @Test
+    public void numericAndStringAccessors() throws Exception {
+        List<Object[]> rows = Collections.singletonList(new Object[]{0, 42L});
+        ResultSet resultSet = StatementBatcher.demultiplex(unionResultSet(rows, Types.NUMERIC), 1).get(0);
+
+        assertTrue(resultSet.next());
+        assertEquals(42, resultSet.getInt("VALUE"));
+        assertEquals(42L, resultSet.getLong(1));
+        assertEquals("42", resultSet.getString(1));
+        assertTrue(resultSet.getBoolean(1));
+    }
+
+    private CompletableFuture<List<String>> query(String name, StatementBatcher.BatchExecution execution) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ResultSet resultSet = batcher.executeQuery(KEY, new Object[]{name}, context, execution);
+                List<String> names = new ArrayList<>();
+                while (resultSet.next()) names.add(resultSet.getString("VALUE"));
+                return names;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }, callers);
+    }
+
+    private CountDownLatch blockInterfaceThread() {
+        CountDownLatch latch = new CountDownLatch(1);
+        interfaceThread.submit(() -> {
+            latch.await();
+            return null;
+        });
+        return latch;
+    }
+
+    private static void assertFailed(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().getCause() instanceof SQLException || e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Union result set (leading member column, one value column) as returned by the batch statement
+     */
+    private static ResultSet unionResultSet(List<Object[]> rows, int valueType) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                StatementBatcherTest.class.getClassLoader(),
+                new Class[]{ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount": return 2;
+                        case "getColumnLabel": return (int) args[0] == 1 ? "BATCH_MEMBER" : "VALUE";
+                        case "getColumnType": return (int) args[0] == 1 ? Types.INTEGER : valueType;
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(
+                StatementBatcherTest.class.getClassLoader(),
+                new Class[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getMetaData": return metaData;
+                        case "next": return ++cursor[0] < rows.size();
+                        case "getInt": return rows.get(cursor[0])[(int) args[0] - 1];
+                        case "getObject": return rows.get(cursor[0])[(int) args[0] - 1];
+                        case "getString": {
+                            Object value = rows.get(cursor[0])[(int) args[0] - 1];
+                            return value == null ? null : value.toString();
+                        }
+                        case "getTimestamp": {
+                            Object value = rows.get(cursor[0])[(int) args[0] - 1];
+                            return value == null ? null : ((DriverTimestamp) value).timestamp;
+                        }
+                        case "close": return null;
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Stand-in for driver specific temporal types (e.g. oracle.sql.TIMESTAMP)
+     */
+    private static class DriverTimestamp {
+        private final Timestamp timestamp;
+
+        private DriverTimestamp(Timestamp timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return timestamp.toString();
+        }
+    }
+
+    private class TestContext implements StatementBatcher.BatchContext {
+        private long batched;
+
+        @Override
+        public int getTimeout() {
+            return 30;
+        }
+
+        @Override
+        public <T> T execute(Callable<T> callable) throws SQLException {
+            try {
+                return interfaceThread.submit(callable).get(getTimeout(), TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) throw (SQLException) cause;
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                throw new SQLException(cause);
+            } catch (Exception e) {
+                throw new SQLException(e);
+            }
+        }
+
+        @Override
+        public synchronized void log(String qualifier, boolean failure, boolean timeout, long value) {
+            if (qualifier.equals("BATCH")) batched += value;
+        }
+    }
+}
@@ -14,7 +14,9 @@ import java.sql.SQLException;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
@@ -63,6 +65,45 @@ public class DatabaseInterfaceQueueTest {
     }
 
 
+    @Test
+    public void dispatchFailure() throws Exception {
+        // more rejections than active task slots: leaked slots would block the queue
+        AtomicInteger rejections = new AtomicInteger(queue.maxActiveTasks() * 2);
+        queue = new InterfaceQueue(null, task -> {
+            if (rejections.getAndDecrement() > 0) throw new RejectedExecutionException("Executor saturated");
+            Threads.backgroundExecutor().submit(() -> queue.executeTask(task));
+        });
+
+        InterfaceTaskRequest taskDefinition = InterfaceTaskRequest.create(Priority.HIGH, "test", "test", null, null, null);
+        int rejected = 0;
+        while (rejections.get() > 0) {
+            try {
+                queue.scheduleAndWait(taskDefinition, () -> Assert.fail("Rejected task executed"));
+            } catch (SQLException e) {
+                rejected++;
+            }
+        }
+        Assert.assertEquals(queue.maxActiveTasks() * 2, rejected);
+        awaitIdle();
+        Assert.assertEquals(0, queue.counters().running().get());
+
+        // the monitor survived the failures
+        String response = queue.scheduleAndReturn(taskDefinition, () -> "done");
+        Assert.assertEquals("done", response);
+        awaitIdle();
+        Assert.assertEquals(0, queue.counters().running().get());
+        Assert.assertEquals(rejected + 1, queue.counters().finished().get());
+    }
+
+    /**
+     * Waits for the queue to complete the bookkeeping of the finished tasks (done after waking up the caller)
+     */
+    private void awaitIdle() throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (queue.counters().running().get() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+    }
 
     private void invoke(int times, Consumer<TestTask> runnable) {
         long start = System.currentTimeMillis();
@@ -0,0 +1,53 @@
+package com.dbn.database.interfaces.queue;
+
+import com.dbn.common.Priority;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class InterfaceTaskLanesTest {
+    private final InterfaceTaskLanes lanes = new InterfaceTaskLanes();
+
+    @Test
+    public void backgroundLanesKeepReservedSlot() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            lanes.add(task(Priority.LOW));
+        }
+
+        Assert.assertNotNull(lanes.take(4, 0, TimeUnit.SECONDS));
+        Assert.assertNotNull(lanes.take(4, 0, TimeUnit.SECONDS));
+        InterfaceTask<?> task = lanes.take(4, 0, TimeUnit.SECONDS);
+        Assert.assertNotNull(task);
+
+        // last slot is reserved for interactive work
+        Assert.assertNull(lanes.take(4, 0, TimeUnit.SECONDS));
+
+        lanes.add(task(Priority.HIGH));
+        InterfaceTask<?> highTask = lanes.take(4, 0, TimeUnit.SECONDS);
+        Assert.assertNotNull(highTask);
+        Assert.assertEquals(Priority.HIGH, highTask.getPriority());
+        Assert.assertNull(lanes.take(4, 0, TimeUnit.SECONDS));
+
+        lanes.release(task);
+        Assert.assertEquals(Priority.LOW, lanes.take(4, 0, TimeUnit.SECONDS).getPriority());
+        Assert.assertEquals(6, lanes.size());
+    }
+
+    @Test
+    public void higherPriorityDispatchedFirst() throws Exception {
+        lanes.add(task(Priority.LOWEST));
+        lanes.add(task(Priority.MEDIUM));
+        lanes.add(task(Priority.HIGHEST));
+
+        Assert.assertEquals(Priority.HIGHEST, lanes.take(10, 0, TimeUnit.SECONDS).getPriority());
+        Assert.assertEquals(Priority.MEDIUM, lanes.take(10, 0, TimeUnit.SECONDS).getPriority());
+        Assert.assertEquals(Priority.LOWEST, lanes.take(10, 0, TimeUnit.SECONDS).getPriority());
+        Assert.assertEquals(0, lanes.size());
+    }
+
+    private static InterfaceTask<Object> task(Priority priority) {
+        InterfaceTaskRequest request = InterfaceTaskRequest.create(priority, "test", "test", null, null, null);
+        return new InterfaceTask<>(request, false, () -> null);
+    }
+}
@@ -0,0 +1,214 @@
+package com.dbn.debugger.jdwp.process;
+
+import com.dbn.debugger.jdwp.process.tunnel.NSTunnelConnectionProxy;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JdwpPacketRingTest {
+
+    @Test
+    public void splitAndCoalescedPackets() throws IOException {
+        byte[] first = packet(1, 25);
+        byte[] second = packet(2, 40);
+        byte[] stream = concat(first, second);
+
+        // first chunk ends within the length header of the second packet
+        LoopbackTunnel tunnel = new LoopbackTunnel();
+        tunnel.send(stream, 0, first.length + 2);
+        tunnel.send(stream, first.length + 2, second.length - 2);
+
+        JdwpPacketRing ring = new JdwpPacketRing(64);
+        assertFalse(ring.hasPacket());
+        ring.fill(tunnel);
+        assertTrue(ring.hasPacket());
+        assertArrayEquals(first, ring.nextPacket());
+        assertEquals(-1, ring.nextPacketLength());
+
+        // second packet wraps around the end of the ring
+        while (!ring.hasPacket()) ring.fill(tunnel);
+        assertEquals(second.length, ring.nextPacketLength());
+        assertArrayEquals(second, ring.nextPacket());
+        assertEquals(0, ring.available());
+    }
+
+    @Test
+    public void wrappedAndOversizedPackets() throws IOException {
+        LoopbackTunnel tunnel = new LoopbackTunnel();
+        JdwpPacketRing ring = new JdwpPacketRing(32);
+        Random random = new Random(7);
+
+        List<byte[]> packets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            byte[] packet = packet(i, i % 50 == 0 ? 300 : 11 + random.nextInt(20));
+            packets.add(packet);
+            tunnel.send(packet, 0, packet.length);
+        }
+
+        for (byte[] packet : packets) {
+            while (!ring.hasPacket()) ring.fill(tunnel);
+            assertArrayEquals(packet, ring.nextPacket());
+        }
+        assertTrue(ring.capacity() >= 512);
+    }
+
+    @Test
+    public void handshake() throws IOException {
+        byte[] handshake = "JDWP-Handshake".getBytes();
+        byte[] packet = packet(3, 20);
+
+        LoopbackTunnel tunnel = new LoopbackTunnel();
+        tunnel.send(concat(handshake, packet), 0, handshake.length + packet.length);
+
+        JdwpPacketRing ring = new JdwpPacketRing(64);
+        assertArrayEquals(handshake, ring.readFully(tunnel, handshake.length));
+        assertTrue(ring.hasPacket());
+        assertArrayEquals(packet, ring.nextPacket());
+    }
+
+    @Test(expected = EOFException.class)
+    public void closedTunnel() throws IOException {
+        LoopbackTunnel tunnel = new LoopbackTunnel();
+        tunnel.close();
+        new JdwpPacketRing(64).fill(tunnel);
+    }
+
+    /**
+     * Loopback throughput and latency: a producer thread streams packets through the tunnel stand-in
+     * in 8 KB chunks while the consumer frames them from the ring
+     */
+    @Test
+    public void loopbackBenchmark() throws Exception {
+        int packetCount = 20000;
+        byte[] payload = packet(0, 4096);
+        LoopbackTunnel tunnel = new LoopbackTunnel();
+
+        Thread producer = new Thread(() -> {
+            byte[] chunk = new byte[8192];
+            int chunkLength = 0;
+            for (int i = 0; i < packetCount; i++) {
+                for (byte b : payload) {
+                    chunk[chunkLength++] = b;
+                    if (chunkLength == chunk.length) {
+                        tunnel.send(chunk, 0, chunkLength);
+                        chunkLength = 0;
+                    }
+                }
+            }
+            if (chunkLength > 0) tunnel.send(chunk, 0, chunkLength);
+        });
+
+        JdwpPacketRing ring = new JdwpPacketRing(320000);
+        long[] latencies = new long[packetCount];
+        long start = System.nanoTime();
+        producer.start();
+        for (int i = 0; i < packetCount; i++) {
+            long packetStart = System.nanoTime();
+            while (!ring.hasPacket()) ring.fill(tunnel);
+            byte[] packet = ring.nextPacket();
+            latencies[i] = System.nanoTime() - packetStart;
+            assertEquals(payload.length, packet.length);
+        }
+        long elapsed = System.nanoTime() - start;
+        producer.join();
+
+        Arrays.sort(latencies);
+        double megabytes = (double) packetCount * payload.length / (1024 * 1024);
+        System.out.printf("JDWP loopback: %d packets, %.1f MB/s, p50 %d ns, p99 %d ns%n",
+                packetCount,
+                megabytes / (elapsed / 1e9),
+                latencies[packetCount / 2],
+                latencies[packetCount * 99 / 100]);
+    }
+
+    private static byte[] packet(int id, int length) {
+        ByteBuffer packet = ByteBuffer.allocate(length);
+        packet.putInt(length);
+        packet.putInt(id);
+        packet.put((byte) 0);
+        packet.put((byte) 1);
+        packet.put((byte) 1);
+        while (packet.hasRemaining()) packet.put((byte) packet.position());
+        return packet.array();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Local stand-in for the cloud tunnel, delivering the sent chunks one per read (partially if the target is short)
+     */
+    private static class LoopbackTunnel implements NSTunnelConnectionProxy {
+        private static final ByteBuffer EOF = ByteBuffer.allocate(0);
+        private final BlockingQueue<ByteBuffer> chunks = new ArrayBlockingQueue<>(1024);
+        private ByteBuffer current;
+        private boolean open = true;
+
+        void send(byte[] bytes, int offset, int length) {
+            byte[] chunk = new byte[length];
+            System.arraycopy(bytes, offset, chunk, 0, length);
+            try {
+                chunks.put(ByteBuffer.wrap(chunk));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read(ByteBuffer b) throws IOException {
+            try {
+                if (current == null || !current.hasRemaining()) current = chunks.take();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            if (current == EOF) return -1;
+
+            int count = Math.min(b.remaining(), current.remaining());
+            ByteBuffer slice = current.slice();
+            slice.limit(count);
+            b.put(slice);
+            current.position(current.position() + count);
+            return count;
+        }
+
+        @Override
+        public void write(ByteBuffer b) {
+            byte[] bytes = new byte[b.remaining()];
+            b.get(bytes);
+            send(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            chunks.add(EOF);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public String tunnelAddress() {
+            return "(host=localhost;port=0)";
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.dbn.diagnostics.data;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DiagnosticHistogramWindowTest {
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long START = 1_000 * MINUTE;
+
+    @Test
+    public void percentiles() {
+        DiagnosticHistogramWindow window = new DiagnosticHistogramWindow();
+        for (int i = 1; i <= 100; i++) {
+            window.record(i, START);
+        }
+
+        DiagnosticHistogramWindow.Snapshot snapshot = window.snapshot(START);
+        assertEquals(100, snapshot.getCount());
+        assertEquals(100, snapshot.getMax());
+        assertWithinBucket(50, snapshot.getP50());
+        assertWithinBucket(95, snapshot.getP95());
+        assertWithinBucket(99, snapshot.getP99());
+    }
+
+    @Test
+    public void sliding() {
+        DiagnosticHistogramWindow window = new DiagnosticHistogramWindow();
+        window.record(1000, START);
+        window.record(10, START + MINUTE);
+
+        DiagnosticHistogramWindow.Snapshot snapshot = window.snapshot(START + MINUTE);
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1000, snapshot.getMax());
+
+        // the first minute drops out of the window
+        snapshot = window.snapshot(START + DiagnosticHistogramWindow.SLOTS * MINUTE);
+        assertEquals(1, snapshot.getCount());
+        assertEquals(10, snapshot.getMax());
+
+        // slot of the first minute is reused by a later minute
+        window.record(20, START + DiagnosticHistogramWindow.SLOTS * MINUTE);
+        snapshot = window.snapshot(START + DiagnosticHistogramWindow.SLOTS * MINUTE);
+        assertEquals(2, snapshot.getCount());
+        assertEquals(20, snapshot.getMax());
+
+        snapshot = window.snapshot(START + 10 * DiagnosticHistogramWindow.SLOTS * MINUTE);
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getP99());
+    }
+
+    @Test
+    public void capped() {
+        DiagnosticHistogramWindow window = new DiagnosticHistogramWindow();
+        long value = TimeUnit.DAYS.toMillis(1);
+        window.record(value, START);
+
+        DiagnosticHistogramWindow.Snapshot snapshot = window.snapshot(START);
+        assertEquals(value, snapshot.getMax());
+        assertTrue(snapshot.getP99() <= value);
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected);
+        assertTrue(actual <= expected + expected / 8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.dbn.driver;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+public class DriverClassHeaderTest {
+
+    @Test
+    public void readHeader() throws Exception {
+        DriverClassHeader header = read(TestDriver.class);
+        Assert.assertEquals(TestDriver.class.getName(), header.getName());
+        Assert.assertEquals(BaseDriver.class.getName(), header.getSuperName());
+        Assert.assertTrue(header.isConcrete());
+
+        DriverClassHeader baseHeader = read(BaseDriver.class);
+        Assert.assertEquals(Object.class.getName(), baseHeader.getSuperName());
+        Assert.assertArrayEquals(new String[]{Driver.class.getName()}, baseHeader.getInterfaceNames());
+        Assert.assertFalse(baseHeader.isConcrete());
+    }
+
+    @Test
+    public void resolveDriverTypes() throws Exception {
+        Map<String, DriverClassHeader> headers = new HashMap<>();
+        for (Class<?> clazz : new Class[]{TestDriver.class, BaseDriver.class, DriverClassHeaderTest.class}) {
+            DriverClassHeader header = read(clazz);
+            headers.put(header.getName(), header);
+        }
+
+        Map<String, Boolean> resolved = new HashMap<>();
+        Assert.assertTrue(DriverClassHeader.isDriverType(TestDriver.class.getName(), headers, resolved, new HashSet<>()));
+        Assert.assertTrue(DriverClassHeader.isDriverType(BaseDriver.class.getName(), headers, resolved, new HashSet<>()));
+        Assert.assertFalse(DriverClassHeader.isDriverType(DriverClassHeaderTest.class.getName(), headers, resolved, new HashSet<>()));
+        Assert.assertFalse(DriverClassHeader.isDriverType(String.class.getName(), headers, resolved, new HashSet<>()));
+    }
+
+    private static DriverClassHeader read(Class<?> clazz) throws Exception {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(resource)) {
+            Assert.assertNotNull(in);
+            DriverClassHeader header = DriverClassHeader.read(in);
+            Assert.assertNotNull(header);
+            return header;
+        }
+    }
+
+    private abstract static class BaseDriver implements Driver {
+        @Override public boolean acceptsURL(String url) {return false;}
+        @Override public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {return new DriverPropertyInfo[0];}
+        @Override public int getMajorVersion() {return 1;}
+        @Override public int getMinorVersion() {return 0;}
+        @Override public boolean jdbcCompliant() {return false;}
+        @Override public Logger getParentLogger() {return null;}
+    }
+
+    private static class TestDriver extends BaseDriver {
+        private static final long LONG_CONSTANT = 123456789012345L;
+        private static final double DOUBLE_CONSTANT = 1.5e300;
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            return url.length() > LONG_CONSTANT * DOUBLE_CONSTANT ? null : null;
+        }
+    }
+}
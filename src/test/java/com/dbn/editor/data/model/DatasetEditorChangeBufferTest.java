@@ -0,0 +1,295 @@
+package com.dbn.editor.data.model;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DatasetEditorChangeBufferTest {
+    private static final String UPDATE = "update EMP set NAME = ? where ID = ?";
+    private static final String DELETE = "delete from EMP where ID = ?";
+
+    @Test
+    public void groupsByStatement() throws SQLException {
+        TestTransaction transaction = new TestTransaction(true);
+        DatasetEditorChangeBuffer<String> buffer = new DatasetEditorChangeBuffer<>(transaction, false);
+        add(buffer, UPDATE, "1", "2", "3");
+        add(buffer, DELETE, "4");
+        add(buffer, UPDATE, "5");
+
+        Map<String, SQLException> errors = buffer.flush();
+
+        assertTrue(errors.isEmpty());
+        assertTrue(buffer.isEmpty());
+        assertEquals(Arrays.asList(UPDATE, DELETE), transaction.statements);
+        assertEquals(Arrays.asList(UPDATE + " 1", UPDATE + " 2", UPDATE + " 3", UPDATE + " 5", DELETE + " 4"), transaction.applied);
+        assertEquals(2, transaction.roundTrips);
+        assertEquals(4, buffer.getBatchedRows());
+        assertEquals(1, buffer.getSingleRows());
+        assertEquals(1, transaction.commits);
+        assertTrue(transaction.autoCommit);
+    }
+
+    @Test
+    public void batchFailureFallsBackToSingleRows() throws SQLException {
+        TestTransaction transaction = new TestTransaction(true);
+        DatasetEditorChangeBuffer<String> buffer = new DatasetEditorChangeBuffer<>(transaction, true);
+        add(buffer, UPDATE, "1", "FAIL", "3");
+
+        Map<String, SQLException> errors = buffer.flush();
+
+        // the rows applied by the failed batch are rolled back before the row-by-row execution
+        assertEquals(Arrays.asList(UPDATE + " 1", UPDATE + " 3"), transaction.applied);
+        assertEquals(Collections.singleton("FAIL"), errors.keySet());
+        assertEquals(0, buffer.getBatchedRows());
+        assertEquals(3, buffer.getSingleRows());
+        assertEquals(1, transaction.commits);
+    }
+
+    @Test
+    public void nonBatchFailureFallsBackToSingleRows() throws SQLException {
+        // plain SQLException from the driver on executeBatch
+        TestTransaction transaction = new TestTransaction(false);
+        DatasetEditorChangeBuffer<String> buffer = new DatasetEditorChangeBuffer<>(transaction, true);
+        add(buffer, UPDATE, "1", "FAIL_PLAIN", "3");
+
+        Map<String, SQLException> errors = buffer.flush();
+        assertEquals(Arrays.asList(UPDATE + " 1", UPDATE + " 3"), transaction.applied);
+        assertEquals(Collections.singleton("FAIL_PLAIN"), errors.keySet());
+        assertEquals(0, transaction.commits);
+
+        // failure while binding the parameters of a batched row (nothing executed, replayed even without savepoints)
+        transaction = new TestTransaction(false);
+        buffer = new DatasetEditorChangeBuffer<>(transaction, false);
+        add(buffer, UPDATE, "1", "2");
+        buffer.add(UPDATE, "BAD_BIND", statement -> {
+            throw new SQLException("Invalid value");
+        });
+
+        errors = buffer.flush();
+        assertEquals(Arrays.asList(UPDATE + " 1", UPDATE + " 2"), transaction.applied);
+        assertEquals(Collections.singleton("BAD_BIND"), errors.keySet());
+        assertEquals("Invalid value", errors.get("BAD_BIND").getMessage());
+    }
+
+    @Test
+    public void batchFailureWithoutSavepoints() throws SQLException {
+        // savepoints not required by the database
+        TestTransaction transaction = new TestTransaction(false);
+        DatasetEditorChangeBuffer<String> buffer = new DatasetEditorChangeBuffer<>(transaction, false);
+        add(buffer, UPDATE, "1", "FAIL", "3");
+        add(buffer, DELETE, "4");
+
+        Map<String, SQLException> errors = buffer.flush();
+
+        // the partially applied batch is not replayed, the error is reported for the whole group
+        assertEquals(Arrays.asList(UPDATE + " 1", DELETE + " 4"), transaction.applied);
+        assertEquals(Arrays.asList("1", "FAIL", "3"), new ArrayList<>(errors.keySet()));
+        assertEquals("Failed FAIL", errors.get("3").getMessage());
+        assertEquals(0, buffer.getBatchedRows());
+        assertEquals(1, buffer.getSingleRows());
+        assertEquals(0, transaction.savepoints);
+
+        // savepoints required but not available on the connection
+        transaction = new TestTransaction(false);
+        transaction.savepointsAvailable = false;
+        buffer = new DatasetEditorChangeBuffer<>(transaction, true);
+        add(buffer, UPDATE, "1", "2", "FAIL_3");
+
+        errors = buffer.flush();
+        assertEquals(Arrays.asList(UPDATE + " 1", UPDATE + " 2"), transaction.applied);
+        assertEquals(Arrays.asList("1", "2", "FAIL_3"), new ArrayList<>(errors.keySet()));
+        assertEquals(0, buffer.getSingleRows());
+    }
+
+    @Test
+    public void errorsPerRow() throws SQLException {
+        TestTransaction transaction = new TestTransaction(true);
+        DatasetEditorChangeBuffer<String> buffer = new DatasetEditorChangeBuffer<>(transaction, true);
+        add(buffer, UPDATE, "FAIL_1", "2", "FAIL_3");
+        add(buffer, DELETE, "FAIL_4");
+
+        Map<String, SQLException> errors = buffer.flush();
+
+        assertEquals(Arrays.asList("FAIL_1", "FAIL_3", "FAIL_4"), new ArrayList<>(errors.keySet()));
+        assertEquals("Failed FAIL_1", errors.get("FAIL_1").getMessage());
+        assertEquals("Failed FAIL_3", errors.get("FAIL_3").getMessage());
+        assertEquals("Failed FAIL_4", errors.get("FAIL_4").getMessage());
+        assertEquals(Collections.singletonList(UPDATE + " 2"), transaction.applied);
+        assertEquals(0, transaction.openSavepoints);
+    }
+
+    @Test
+    public void throughputBenchmark() throws SQLException {
+        int rows = 200;
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) values[i] = Integer.toString(i);
+
+        TestTransaction batchedTransaction = new TestTransaction(true);
+        batchedTransaction.latencyMillis = 1;
+        DatasetEditorChangeBuffer<String> batched = new DatasetEditorChangeBuffer<>(batchedTransaction, false);
+        add(batched, UPDATE, values);
+        long batchedTime = measure(batched);
+
+        TestTransaction singleTransaction = new TestTransaction(true);
+        singleTransaction.latencyMillis = 1;
+        DatasetEditorChangeBuffer<String> single = new DatasetEditorChangeBuffer<>(singleTransaction, false);
+        for (String value : values) add(single, UPDATE + " -- " + value, value);
+        long singleTime = measure(single);
+
+        assertEquals(rows, batched.getBatchedRows());
+        assertEquals(rows, single.getSingleRows());
+        assertEquals(1, batchedTransaction.roundTrips);
+        assertEquals(rows, singleTransaction.roundTrips);
+
+        long batchedThroughput = rows * 1000L / Math.max(1, batchedTime);
+        long singleThroughput = rows * 1000L / Math.max(1, singleTime);
+        assertTrue("batched " + batchedThroughput + " rows/s vs row-by-row " + singleThroughput + " rows/s",
+                batchedThroughput > singleThroughput * 10);
+    }
+
+    private static long measure(DatasetEditorChangeBuffer<String> buffer) throws SQLException {
+        long start = System.nanoTime();
+        buffer.flush();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void add(DatasetEditorChangeBuffer<String> buffer, String sql, String... rows) {
+        for (String row : rows) {
+            buffer.add(sql, row, statement -> statement.setString(1, row));
+        }
+    }
+
+    /**
+     * In-memory transaction, tracking the applied changes (undone on rollback to savepoint) and the round trips
+     */
+    private static class TestTransaction implements DatasetEditorChangeBuffer.Transaction {
+        private final List<String> statements = new ArrayList<>();
+        private final List<String> applied = new ArrayList<>();
+        private boolean autoCommit;
+        private int commits;
+        private int roundTrips;
+        private int openSavepoints;
+        private int savepoints;
+        private boolean savepointsAvailable = true;
+        private long latencyMillis;
+
+        TestTransaction(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return autoCommit;
+        }
+
+        @Override
+        public void setAutoCommit(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+
+        @Override
+        public void commit() {
+            commits++;
+        }
+
+        @Override
+        public void rollback() {
+            applied.clear();
+        }
+
+        @Override
+        public Savepoint createSavepoint() {
+            if (!savepointsAvailable) return null;
+            savepoints++;
+            openSavepoints++;
+            return new TestSavepoint(applied.size());
+        }
+
+        @Override
+        public void rollback(Savepoint savepoint) {
+            if (savepoint == null) return;
+            int size = ((TestSavepoint) savepoint).size;
+            applied.subList(size, applied.size()).clear();
+        }
+
+        @Override
+        public void releaseSavepoint(Savepoint savepoint) {
+            if (savepoint != null) openSavepoints--;
+        }
+
+        @Override
+        public PreparedStatement prepareStatement(String sql) {
+            statements.add(sql);
+            List<String> batch = new ArrayList<>();
+            String[] parameter = new String[1];
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setString": parameter[0] = (String) args[1]; return null;
+                            case "addBatch": batch.add(parameter[0]); return null;
+                            case "clearBatch": batch.clear(); return null;
+                            case "executeUpdate": {
+                                roundTrip();
+                                apply(sql, parameter[0]);
+                                return 1;
+                            }
+                            case "executeBatch": {
+                                roundTrip();
+                                try {
+                                    for (String value : batch) apply(sql, value);
+                                } catch (SQLException e) {
+                                    if (e.getMessage().contains("FAIL_PLAIN")) throw e;
+                                    throw new BatchUpdateException(e.getMessage(), new int[0]);
+                                } finally {
+                                    batch.clear();
+                                }
+                                return new int[0];
+                            }
+                            default: throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        private void apply(String sql, String value) throws SQLException {
+            if (value.startsWith("FAIL")) throw new SQLException("Failed " + value);
+            applied.add(sql + " " + value);
+        }
+
+        private void roundTrip() throws InterruptedException {
+            roundTrips++;
+            if (latencyMillis > 0) Thread.sleep(latencyMillis);
+        }
+    }
+
+    private static class TestSavepoint implements Savepoint {
+        private final int size;
+
+        TestSavepoint(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int getSavepointId() {
+            return size;
+        }
+
+        @Override
+        public String getSavepointName() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.dbn.editor.data.model;
+
+import com.dbn.object.DBColumn;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class KeysetPagerTest {
+    private static final String SELECT = "select a.* from \"HR\".\"EMPLOYEES\" a";
+
+    @Test
+    public void unboundedPageStatement() {
+        KeysetPager pager = pager(SELECT, "ID");
+
+        Assert.assertEquals(
+                "select DBN_KEYSET.* from (" + SELECT + ") DBN_KEYSET order by DBN_KEYSET.\"ID\"",
+                pager.createPageStatement(false, true));
+    }
+
+    @Test
+    public void boundedPageStatement() {
+        KeysetPager pager = pager(SELECT, "DEPT_ID", "EMP_ID", "SEQ");
+
+        Assert.assertEquals(
+                "select DBN_KEYSET.* from (" + SELECT + ") DBN_KEYSET where " +
+                        "(DBN_KEYSET.\"DEPT_ID\" > ?) or " +
+                        "(DBN_KEYSET.\"DEPT_ID\" = ? and DBN_KEYSET.\"EMP_ID\" > ?) or " +
+                        "(DBN_KEYSET.\"DEPT_ID\" = ? and DBN_KEYSET.\"EMP_ID\" = ? and DBN_KEYSET.\"SEQ\" > ?) " +
+                        "order by DBN_KEYSET.\"DEPT_ID\", DBN_KEYSET.\"EMP_ID\", DBN_KEYSET.\"SEQ\"",
+                pager.createPageStatement(true, true));
+    }
+
+    @Test
+    public void previousPageStatement() {
+        KeysetPager pager = pager(SELECT, "DEPT_ID", "EMP_ID");
+
+        Assert.assertEquals(
+                "select DBN_KEYSET.* from (" + SELECT + ") DBN_KEYSET where " +
+                        "(DBN_KEYSET.\"DEPT_ID\" < ?) or " +
+                        "(DBN_KEYSET.\"DEPT_ID\" = ? and DBN_KEYSET.\"EMP_ID\" < ?) " +
+                        "order by DBN_KEYSET.\"DEPT_ID\" desc, DBN_KEYSET.\"EMP_ID\" desc",
+                pager.createPageStatement(true, false));
+    }
+
+    @Test
+    public void keyBinding() throws Exception {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        KeysetPager.bindKey(statement(parameters), new Object[] {10, "E7", 3});
+
+        // (k1 > 10) or (k1 = 10 and k2 > 'E7') or (k1 = 10 and k2 = 'E7' and k3 > 3)
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), new ArrayList<>(parameters.keySet()));
+        Assert.assertEquals(Arrays.asList(10, 10, "E7", 10, "E7", 3), new ArrayList<>(parameters.values()));
+
+        // parameters match the placeholders of the bounded statement
+        String sql = pager(SELECT, "K1", "K2", "K3").createPageStatement(true, true);
+        Assert.assertEquals(parameters.size(), sql.chars().filter(chr -> chr == '?').count());
+    }
+
+    @Test
+    public void innerOrderByStripped() {
+        Assert.assertEquals(SELECT, KeysetPager.stripOrderBy(SELECT + " order by \"NAME\" desc"));
+        Assert.assertEquals(SELECT + " where a.ID > 10", KeysetPager.stripOrderBy(SELECT + " where a.ID > 10 ORDER  BY a.NAME"));
+        Assert.assertEquals(SELECT + " where x = 1", KeysetPager.stripOrderBy(SELECT + " where x = 1 order\nby 1"));
+
+        KeysetPager pager = pager(SELECT + " order by \"NAME\"", "ID");
+        String sql = pager.createPageStatement(false, true);
+        Assert.assertEquals(1, sql.split("order by").length - 1);
+        Assert.assertTrue(sql.endsWith(") DBN_KEYSET order by DBN_KEYSET.\"ID\""));
+    }
+
+    @Test
+    public void nestedOrderByPreserved() {
+        String[] statements = {
+                SELECT,
+                SELECT + " where a.ID in (select ID from T order by ID fetch first 10 rows only)",
+                SELECT + " where a.NAME = 'order by NAME'",
+                SELECT + " where a.\"order by\" = 1",
+                SELECT + " where a.BORDER_BY = 1",
+                SELECT + " where a.ORDERED_BY = 1",
+                SELECT + " where a.ID = 1 -- order by NAME\n",
+                SELECT + " where a.ID = 1 /* order by NAME */"};
+
+        for (String statement : statements) {
+            Assert.assertEquals(statement, KeysetPager.stripOrderBy(statement));
+        }
+    }
+
+    private static KeysetPager pager(String selectStatement, String ... keyColumnNames) {
+        List<DBColumn> keyColumns = new ArrayList<>();
+        for (String name : keyColumnNames) {
+            keyColumns.add(column(name));
+        }
+        return new KeysetPager(null, selectStatement, keyColumns, 100, 0);
+    }
+
+    private static DBColumn column(String name) {
+        return (DBColumn) Proxy.newProxyInstance(KeysetPagerTest.class.getClassLoader(), new Class[]{DBColumn.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName": return name;
+                case "getQuotedName": return '"' + name + '"';
+                default: throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static PreparedStatement statement(Map<Integer, Object> parameters) {
+        return (PreparedStatement) Proxy.newProxyInstance(KeysetPagerTest.class.getClassLoader(), new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+            if (method.getName().equals("setObject") && args.length == 2) {
+                parameters.put((Integer) args[0], args[1]);
+                return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.dbn.editor.session.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionFilterValuesTest {
+
+    @Test
+    public void boundedValues() {
+        SessionFilterValues values = new SessionFilterValues();
+        values.update(Arrays.asList("SCOTT", "HR", null, ""));
+        assertEquals(Arrays.asList("HR", "SCOTT"), values.getValues(null));
+        assertEquals(Arrays.asList("HR", "OE", "SCOTT"), values.getValues("OE"));
+
+        // values of the previous loads are kept up to the maximum load age
+        for (int i = 1; i < SessionFilterValues.MAX_LOAD_AGE; i++) {
+            values.update(Collections.singletonList("HR"));
+            assertEquals(Arrays.asList("HR", "SCOTT"), values.getValues(null));
+        }
+        values.update(Collections.singletonList("HR"));
+        assertEquals(Collections.singletonList("HR"), values.getValues(null));
+
+        // distinct values of many loads do not accumulate
+        for (int i = 0; i < 1000; i++) {
+            values.update(Collections.singletonList("USER_" + i));
+        }
+        assertEquals(SessionFilterValues.MAX_LOAD_AGE, values.getValues(null).size());
+    }
+}
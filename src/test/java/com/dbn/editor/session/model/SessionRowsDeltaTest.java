@@ -0,0 +1,130 @@
+package com.dbn.editor.session.model;
+
+import com.dbn.editor.session.SessionIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SessionRowsDeltaTest {
+
+    @Test
+    public void unchangedSessions() {
+        List<Row> current = rows(row(1, 10, "ACTIVE"), row(2, 20, "INACTIVE"));
+        List<Row> loaded = rows(row(1, 10, "ACTIVE"), row(2, 20, "INACTIVE"));
+
+        SessionRowsDelta<Row, SessionIdentifier> delta = compute(current, loaded);
+
+        assertEquals(current, delta.getRows());
+        assertSame(current.get(0), delta.getRows().get(0));
+        assertSame(current.get(1), delta.getRows().get(1));
+        assertTrue(delta.getAddedRows().isEmpty());
+        assertTrue(delta.getUpdatedRows().isEmpty());
+        assertTrue(delta.getRemovedRows().isEmpty());
+        assertEquals(loaded, delta.getUnusedRows());
+    }
+
+    @Test
+    public void changedSessions() {
+        Row active = row(1, 10, "ACTIVE");
+        Row inactive = row(2, 20, "INACTIVE");
+        List<Row> current = rows(active, inactive);
+        List<Row> loaded = rows(row(1, 10, "INACTIVE"), row(2, 20, "INACTIVE"));
+
+        SessionRowsDelta<Row, SessionIdentifier> delta = compute(current, loaded);
+
+        // updated in place, the current rows are kept
+        assertSame(active, delta.getRows().get(0));
+        assertSame(inactive, delta.getRows().get(1));
+        assertEquals("INACTIVE", active.status);
+        assertEquals(Collections.singleton(active), delta.getUpdatedRows());
+        assertTrue(delta.getAddedRows().isEmpty());
+        assertTrue(delta.getRemovedRows().isEmpty());
+    }
+
+    @Test
+    public void addedSessions() {
+        Row existing = row(1, 10, "ACTIVE");
+        Row added = row(3, 30, "ACTIVE");
+        List<Row> current = rows(existing);
+        List<Row> loaded = rows(added, row(1, 10, "ACTIVE"));
+
+        SessionRowsDelta<Row, SessionIdentifier> delta = compute(current, loaded);
+
+        // loaded order, new sessions taken over as loaded
+        assertEquals(2, delta.getRows().size());
+        assertSame(added, delta.getRows().get(0));
+        assertSame(existing, delta.getRows().get(1));
+        assertEquals(Collections.singletonList(added), delta.getAddedRows());
+        assertEquals(Collections.singletonList(loaded.get(1)), delta.getUnusedRows());
+        assertTrue(delta.getRemovedRows().isEmpty());
+    }
+
+    @Test
+    public void removedSessions() {
+        Row ended = row(1, 10, "ACTIVE");
+        Row remaining = row(2, 20, "ACTIVE");
+        List<Row> current = rows(ended, remaining);
+        List<Row> loaded = rows(row(2, 20, "ACTIVE"));
+
+        SessionRowsDelta<Row, SessionIdentifier> delta = compute(current, loaded);
+
+        assertEquals(Collections.singletonList(remaining), delta.getRows());
+        assertEquals(Collections.singletonList(ended), new ArrayList<>(delta.getRemovedRows()));
+        assertTrue(delta.getAddedRows().isEmpty());
+    }
+
+    @Test
+    public void reusedSessionId() {
+        // same session id with a different serial number is a new session
+        Row ended = row(1, 10, "ACTIVE");
+        Row started = row(1, 11, "ACTIVE");
+
+        SessionRowsDelta<Row, SessionIdentifier> delta = compute(rows(ended), rows(started));
+
+        assertEquals(Collections.singletonList(started), delta.getRows());
+        assertEquals(Collections.singletonList(started), delta.getAddedRows());
+        assertEquals(Collections.singletonList(ended), new ArrayList<>(delta.getRemovedRows()));
+        assertTrue(delta.getUnusedRows().isEmpty());
+    }
+
+    private static SessionRowsDelta<Row, SessionIdentifier> compute(List<Row> current, List<Row> loaded) {
+        return SessionRowsDelta.compute(current, loaded, row -> row.identifier, Row::update);
+    }
+
+    private static List<Row> rows(Row... rows) {
+        return Arrays.asList(rows);
+    }
+
+    private static Row row(int sessionId, int serialNumber, String status) {
+        return new Row(new SessionIdentifier(sessionId, serialNumber), status);
+    }
+
+    private static class Row {
+        private final SessionIdentifier identifier;
+        private String status;
+
+        Row(SessionIdentifier identifier, String status) {
+            this.identifier = identifier;
+            this.status = status;
+        }
+
+        boolean update(Row row) {
+            if (Objects.equals(status, row.status)) return false;
+            status = row.status;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return identifier + " " + status;
+        }
+    }
+}
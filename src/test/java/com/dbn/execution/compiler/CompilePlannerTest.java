@@ -0,0 +1,82 @@
+package com.dbn.execution.compiler;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompilePlannerTest {
+
+    @Test
+    public void chain() {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("C", Collections.singletonList("B"));
+        dependencies.put("B", Collections.singletonList("A"));
+        dependencies.put("A", Collections.emptyList());
+
+        assertEquals(Arrays.asList(
+                waveOf(component("A")),
+                waveOf(component("B")),
+                waveOf(component("C"))),
+                CompilePlanner.plan(dependencies));
+    }
+
+    @Test
+    public void diamond() {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("D", Arrays.asList("B", "C"));
+        dependencies.put("B", Collections.singletonList("A"));
+        dependencies.put("C", Collections.singletonList("A"));
+        dependencies.put("A", Collections.emptyList());
+
+        assertEquals(Arrays.asList(
+                waveOf(component("A")),
+                waveOf(component("B"), component("C")),
+                waveOf(component("D"))),
+                CompilePlanner.plan(dependencies));
+    }
+
+    @Test
+    public void cycleWithDependents() {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("DEPENDENT", Collections.singletonList("PKG_B"));
+        dependencies.put("PKG_A", Arrays.asList("PKG_B", "BASE"));
+        dependencies.put("PKG_B", Collections.singletonList("PKG_A"));
+        dependencies.put("BASE", Collections.emptyList());
+        dependencies.put("OTHER", Collections.emptyList());
+
+        assertEquals(Arrays.asList(
+                waveOf(component("BASE"), component("OTHER")),
+                waveOf(component("PKG_A", "PKG_B")),
+                waveOf(component("DEPENDENT"))),
+                CompilePlanner.plan(dependencies));
+    }
+
+    @Test
+    public void independentCycles() {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        dependencies.put("A1", Collections.singletonList("A2"));
+        dependencies.put("A2", Collections.singletonList("A1"));
+        dependencies.put("B1", Collections.singletonList("B2"));
+        dependencies.put("B2", Arrays.asList("B3", "UNPLANNED"));
+        dependencies.put("B3", Collections.singletonList("B1"));
+
+        assertEquals(Collections.singletonList(
+                waveOf(component("A1", "A2"), component("B1", "B2", "B3"))),
+                CompilePlanner.plan(dependencies));
+    }
+
+    @SafeVarargs
+    private static List<List<String>> waveOf(List<String>... components) {
+        return Arrays.asList(components);
+    }
+
+    private static List<String> component(String... objects) {
+        return Arrays.asList(objects);
+    }
+}
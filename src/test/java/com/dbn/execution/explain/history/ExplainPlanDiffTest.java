@@ -0,0 +1,96 @@
+package com.dbn.execution.explain.history;
+
+import com.dbn.execution.explain.history.ExplainPlanDiff.Change;
+import com.dbn.execution.explain.history.ExplainPlanDiff.ChangeType;
+import org.jdom.Element;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExplainPlanDiffTest {
+
+    @Test
+    public void identicalPlans() {
+        ExplainPlanDiff diff = new ExplainPlanDiff(
+                plan(step("SELECT STATEMENT", null, null, 10, step("TABLE ACCESS", "FULL", "HR.EMP", 10))),
+                plan(step("SELECT STATEMENT", null, null, 10, step("TABLE ACCESS", "FULL", "HR.EMP", 10))));
+
+        assertTrue(diff.isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(diff.getCostChange()));
+        assertFalse(diff.isCostRegression(0));
+    }
+
+    @Test
+    public void accessPathChange() {
+        ExplainPlanDiff diff = new ExplainPlanDiff(
+                plan(step("SELECT STATEMENT", null, null, 100, step("TABLE ACCESS", "FULL", "HR.EMP", 100))),
+                plan(step("SELECT STATEMENT", null, null, 2, step("TABLE ACCESS", "BY INDEX ROWID", "HR.EMP", 2))));
+
+        List<Change> changes = diff.getChanges();
+        assertEquals(2, changes.size());
+        assertEquals(ChangeType.ESTIMATES, changes.get(0).getType());
+        assertEquals(ChangeType.ACCESS_PATH, changes.get(1).getType());
+        assertEquals("TABLE ACCESS FULL HR.EMP", changes.get(1).getOldStep().getAccessPath());
+        assertEquals("TABLE ACCESS BY INDEX ROWID HR.EMP", changes.get(1).getNewStep().getAccessPath());
+        assertFalse(diff.isCostRegression(10));
+    }
+
+    @Test
+    public void addedAndRemovedSteps() {
+        ExplainPlanDiff diff = new ExplainPlanDiff(
+                plan(step("SELECT STATEMENT", null, null, 5,
+                        step("TABLE ACCESS", "FULL", "HR.EMP", 5),
+                        step("TABLE ACCESS", "FULL", "HR.DEPT", 1))),
+                plan(step("SELECT STATEMENT", null, null, 5,
+                        step("TABLE ACCESS", "FULL", "HR.EMP", 5),
+                        step("INDEX", "UNIQUE SCAN", "HR.LOC_PK", 1))));
+
+        List<Change> changes = diff.getChanges();
+        assertEquals(2, changes.size());
+        assertEquals(ChangeType.REMOVED, changes.get(0).getType());
+        assertEquals("TABLE ACCESS FULL HR.DEPT", changes.get(0).getOldStep().getAccessPath());
+        assertNull(changes.get(0).getNewStep());
+        assertEquals(ChangeType.ADDED, changes.get(1).getType());
+        assertEquals("INDEX UNIQUE SCAN HR.LOC_PK", changes.get(1).getNewStep().getAccessPath());
+        assertEquals("- TABLE ACCESS FULL HR.DEPT\n+ INDEX UNIQUE SCAN HR.LOC_PK", diff.toString());
+    }
+
+    @Test
+    public void costRegressionThreshold() {
+        ExplainPlanDiff diff = new ExplainPlanDiff(
+                plan(step("SELECT STATEMENT", null, null, 100)),
+                plan(step("SELECT STATEMENT", null, null, 150)));
+
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(diff.getCostChange()));
+        assertTrue(diff.isCostRegression(20));
+        assertFalse(diff.isCostRegression(50));
+        assertFalse(new ExplainPlanDiff(
+                plan(step("SELECT STATEMENT", null, null, 150)),
+                plan(step("SELECT STATEMENT", null, null, 100))).isCostRegression(0));
+    }
+
+    private static ExplainPlanSnapshot plan(Element root) {
+        Element element = new Element("plan");
+        element.addContent(root);
+        return ExplainPlanSnapshot.from(element);
+    }
+
+    private static Element step(String operation, String options, String objectName, int cost, Element... children) {
+        Element element = new Element("step");
+        element.setAttribute("operation", operation);
+        if (options != null) element.setAttribute("options", options);
+        if (objectName != null) element.setAttribute("object", objectName);
+        element.setAttribute("cost", Integer.toString(cost));
+        element.setAttribute("cardinality", "1");
+        for (Element child : children) {
+            element.addContent(child);
+        }
+        return element;
+    }
+}
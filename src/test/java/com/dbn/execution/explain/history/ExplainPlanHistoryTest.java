@@ -0,0 +1,39 @@
+package com.dbn.execution.explain.history;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ExplainPlanHistoryTest {
+
+    @Test
+    public void normalizeWhitespaceAndCase() {
+        assertEquals("select * from emp where id = 1", ExplainPlanHistory.normalize("SELECT *\n  FROM   Emp\tWHERE id = 1"));
+        assertEquals("select * from emp", ExplainPlanHistory.normalize("  select * from emp  "));
+    }
+
+    @Test
+    public void normalizeComments() {
+        assertEquals("select * from emp", ExplainPlanHistory.normalize("-- all employees\nselect * /* everything */ from emp"));
+        assertEquals("select * from emp", ExplainPlanHistory.normalize("select * from emp -- trailing"));
+        assertEquals("select * from emp", ExplainPlanHistory.normalize("select * from emp /* unterminated"));
+    }
+
+    @Test
+    public void normalizeLiterals() {
+        assertEquals("select * from \"Emp\" where name = 'King  -- X'",
+                ExplainPlanHistory.normalize("SELECT * FROM \"Emp\" WHERE NAME = 'King  -- X'"));
+        assertNotEquals(
+                ExplainPlanHistory.normalize("select * from emp where name = 'KING'"),
+                ExplainPlanHistory.normalize("select * from emp where name = 'king'"));
+    }
+
+    @Test
+    public void normalizeDelimiter() {
+        assertEquals("select * from emp", ExplainPlanHistory.normalize("select * from emp;"));
+        assertEquals(
+                ExplainPlanHistory.normalize("select * from emp"),
+                ExplainPlanHistory.normalize("SELECT *\nFROM emp;"));
+    }
+}
@@ -0,0 +1,317 @@
+package com.dbn.language.common;
+
+import com.intellij.lang.Language;
+import com.intellij.lexer.LexerBase;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class StatementChunkerTest {
+    private static final IElementType WHITESPACE = new IElementType("WHITESPACE", Language.ANY);
+    private static final IElementType COMMENT = new IElementType("COMMENT", Language.ANY);
+    private static final IElementType STRING = new IElementType("STRING", Language.ANY);
+    private static final IElementType IDENTIFIER = new IElementType("IDENTIFIER", Language.ANY);
+    private static final IElementType SEMICOLON = new IElementType("SEMICOLON", Language.ANY);
+    private static final IElementType LEFT_PARENTHESIS = new IElementType("LEFT_PARENTHESIS", Language.ANY);
+    private static final IElementType RIGHT_PARENTHESIS = new IElementType("RIGHT_PARENTHESIS", Language.ANY);
+    private static final IElementType CHARACTER = new IElementType("CHARACTER", Language.ANY);
+
+    private final StatementChunker chunker = new StatementChunker(SEMICOLON, LEFT_PARENTHESIS, RIGHT_PARENTHESIS, TokenSet.create(WHITESPACE, COMMENT));
+
+    @Test
+    public void stringsAndComments() {
+        String text =
+                "select 'a;b' from dual;\n" +
+                "select 1 -- c;d\n" +
+                "from dual /* ; */ where a = 'it''s;';\n" +
+                "select \"x;y\" from dual;";
+
+        assertChunks(text,
+                "select 'a;b' from dual;",
+                "select 1 -- c;d\nfrom dual /* ; */ where a = 'it''s;';",
+                "select \"x;y\" from dual;");
+    }
+
+    @Test
+    public void blockKeywordsInStringsAndComments() {
+        Assert.assertTrue(isChunkable("select 'begin' from dual; -- declare\nselect \"DECLARE\" from dual; /* procedure */"));
+        Assert.assertTrue(isChunkable("select begin_date, declared from dual;"));
+
+        Assert.assertFalse(isChunkable("select 1 from dual; begin null; end;"));
+        Assert.assertFalse(isChunkable("select 1 from dual; Declare x number; begin null; end;"));
+    }
+
+    @Test
+    public void nestedBlocks() {
+        String text =
+                "create or replace procedure p is\n" +
+                "begin\n" +
+                "    begin\n" +
+                "        null;\n" +
+                "    end;\n" +
+                "end;\n" +
+                "/";
+
+        assertChunks(text + "\n", text);
+        Assert.assertTrue(isSingleChunk(text));
+        Assert.assertTrue(isSingleChunk("declare x number; begin x := 1; end;\n/"));
+        Assert.assertTrue(isSingleChunk("begin null; end;\n/"));
+
+        // blocks are terminated by the slash only
+        Assert.assertFalse(isSingleChunk("declare x number; begin x := 1; end;"));
+        Assert.assertFalse(isSingleChunk("begin null; end;"));
+    }
+
+    @Test
+    public void installScript() {
+        String table = "create table t (id number, name varchar2(10));";
+        String spec =
+                "create or replace package pkg is\n" +
+                "    procedure run(a number);\n" +
+                "    function f return varchar2;\n" +
+                "end pkg;\n" +
+                "/";
+        String body =
+                "CREATE OR REPLACE EDITIONABLE PACKAGE BODY pkg IS\n" +
+                "    procedure run(a number) is\n" +
+                "    begin\n" +
+                "        if a > 0 then\n" +
+                "            update t set name = ';' where id = (a);\n" +
+                "        end if;\n" +
+                "    end;\n" +
+                "    function f return varchar2 is begin return 'x'; end;\n" +
+                "begin\n" +
+                "    run(1);\n" +
+                "end pkg;\n" +
+                "/";
+        String block = "begin\n    pkg.run(2);\nend;\n/";
+        String type = "create type obj as object (a number);\n/";
+        String grant = "grant execute on pkg to public;";
+
+        String text = String.join("\n\n", table, spec, body, block, type, grant);
+        assertChunks(text, table, spec, body, block, type, grant);
+    }
+
+    @Test
+    public void createStatements() {
+        // plain create statements are terminated by the semicolon, even if mentioning unit keywords
+        assertChunks("create or replace view v as select type, function from t;\ncreate index i on t (type);",
+                "create or replace view v as select type, function from t;",
+                "create index i on t (type);");
+
+        assertChunks("create or replace and compile java source named \"X\" as public class X {};\n/\nselect 1 from dual;",
+                "create or replace and compile java source named \"X\" as public class X {};\n/",
+                "select 1 from dual;");
+    }
+
+    @Test
+    public void unsupportedBlocks() {
+        // blocks not terminated by a slash
+        Assert.assertFalse(isChunkable("create procedure p is begin null; end;\nselect 1 from dual;"));
+        Assert.assertFalse(isChunkable("select 1 from dual;\ncreate function f return number is begin return 1; end;"));
+
+        // changed statement delimiter
+        Assert.assertFalse(isChunkable("select 1 from dual;\nDELIMITER $$\ncreate procedure p() begin select 1; end$$"));
+    }
+
+    @Test
+    public void slashTerminators() {
+        assertChunks("select 1 from dual\n/\nselect 2 from dual\n  /  \nselect 3 from dual",
+                "select 1 from dual\n/",
+                "select 2 from dual\n  /",
+                "select 3 from dual");
+
+        // a slash following a semicolon terminated statement belongs to the statement
+        assertChunks("update t set a = 1;\n/\nselect 2 from dual;",
+                "update t set a = 1;\n/",
+                "select 2 from dual;");
+
+        // division operators are no terminators
+        assertChunks("select 10 / 2 from dual;\nselect a\n/ b from t;",
+                "select 10 / 2 from dual;",
+                "select a\n/ b from t;");
+    }
+
+    @Test
+    public void parentheses() {
+        assertChunks("select (1; (2; 3)) from dual; select 4;",
+                "select (1; (2; 3)) from dual;",
+                "select 4;");
+
+        // unbalanced closing parentheses do not disable the termination
+        assertChunks("select 1) from dual; select 2;",
+                "select 1) from dual;",
+                "select 2;");
+    }
+
+    @Test
+    public void singleChunk() {
+        Assert.assertTrue(isSingleChunk("select 1 from dual;"));
+        Assert.assertTrue(isSingleChunk("select 'a;b' /* ; */ from dual;"));
+        Assert.assertTrue(isSingleChunk("select 1 from dual\n/"));
+        Assert.assertTrue(isSingleChunk("select 1 from dual;\n/"));
+
+        Assert.assertFalse(isSingleChunk(""));
+        Assert.assertFalse(isSingleChunk("select 1 from dual"));
+        Assert.assertFalse(isSingleChunk(" select 1 from dual;"));
+        Assert.assertFalse(isSingleChunk("select 1 from dual; "));
+        Assert.assertFalse(isSingleChunk("select 1 from dual; -- comment"));
+        Assert.assertFalse(isSingleChunk("-- comment\nselect 1 from dual;"));
+        Assert.assertFalse(isSingleChunk("select 1 from dual; select 2 from dual;"));
+        Assert.assertFalse(isSingleChunk("select (1; 2 from dual;"));
+    }
+
+    @Test
+    public void chunkRanges() {
+        String text = "  -- leading\n select 1;  \n\n select 2  ;  -- trailing";
+        List<TextRange> ranges = chunker.getChunkRanges(new TestLexer(), text);
+
+        Assert.assertEquals(2, ranges.size());
+        Assert.assertEquals(text.indexOf("select 1"), ranges.get(0).getStartOffset());
+        Assert.assertEquals(text.indexOf("1;") + 2, ranges.get(0).getEndOffset());
+        Assert.assertEquals(text.indexOf("select 2"), ranges.get(1).getStartOffset());
+        Assert.assertEquals(text.indexOf(" ;") + 2, ranges.get(1).getEndOffset());
+
+        Assert.assertTrue(chunker.getChunkRanges(new TestLexer(), "  /* nothing */ ").isEmpty());
+    }
+
+    private boolean isChunkable(String text) {
+        return chunker.isChunkable(new TestLexer(), text);
+    }
+
+    private boolean isSingleChunk(String text) {
+        return chunker.isSingleChunk(new TestLexer(), text);
+    }
+
+    private void assertChunks(String text, String... chunks) {
+        Assert.assertTrue(isChunkable(text));
+
+        List<TextRange> ranges = chunker.getChunkRanges(new TestLexer(), text);
+        String[] actual = ranges.stream().map(range -> range.subSequence(text).toString()).toArray(String[]::new);
+        Assert.assertEquals(Arrays.asList(chunks), Arrays.asList(actual));
+
+        for (String chunk : chunks) {
+            boolean terminated = chunk.endsWith(";") || chunk.endsWith("/");
+            Assert.assertEquals(chunk, terminated, isSingleChunk(chunk));
+        }
+    }
+
+    /**
+     * Minimal sql lexer: whitespace, line and block comments, string literals, quoted identifiers,
+     * words, semicolons, parentheses and single character tokens
+     */
+    private static class TestLexer extends LexerBase {
+        private CharSequence buffer;
+        private int end;
+        private int tokenStart;
+        private int tokenEnd;
+        private IElementType tokenType;
+
+        @Override
+        public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+            this.buffer = buffer;
+            this.end = endOffset;
+            this.tokenEnd = startOffset;
+            advance();
+        }
+
+        @Override
+        public void advance() {
+            tokenStart = tokenEnd;
+            if (tokenStart >= end) {
+                tokenType = null;
+                return;
+            }
+
+            char chr = buffer.charAt(tokenStart);
+            int index = tokenStart + 1;
+            if (Character.isWhitespace(chr)) {
+                while (index < end && Character.isWhitespace(buffer.charAt(index))) index++;
+                tokenType = WHITESPACE;
+            } else if (startsWith("--")) {
+                while (index < end && buffer.charAt(index) != '\n') index++;
+                tokenType = COMMENT;
+            } else if (startsWith("/*")) {
+                index = indexOf("*/", tokenStart + 2);
+                tokenType = COMMENT;
+            } else if (chr == '\'') {
+                while (index < end) {
+                    if (buffer.charAt(index) == '\'') {
+                        if (index + 1 < end && buffer.charAt(index + 1) == '\'') {
+                            index += 2;
+                            continue;
+                        }
+                        index++;
+                        break;
+                    }
+                    index++;
+                }
+                tokenType = STRING;
+            } else if (chr == '"') {
+                while (index < end && buffer.charAt(index) != '"') index++;
+                index = Math.min(index + 1, end);
+                tokenType = IDENTIFIER;
+            } else if (Character.isLetterOrDigit(chr) || chr == '_') {
+                while (index < end && (Character.isLetterOrDigit(buffer.charAt(index)) || buffer.charAt(index) == '_')) index++;
+                tokenType = IDENTIFIER;
+            } else if (chr == ';') {
+                tokenType = SEMICOLON;
+            } else if (chr == '(') {
+                tokenType = LEFT_PARENTHESIS;
+            } else if (chr == ')') {
+                tokenType = RIGHT_PARENTHESIS;
+            } else {
+                tokenType = CHARACTER;
+            }
+            tokenEnd = index;
+        }
+
+        private boolean startsWith(String prefix) {
+            return tokenStart + prefix.length() <= end && buffer.subSequence(tokenStart, tokenStart + prefix.length()).toString().equals(prefix);
+        }
+
+        private int indexOf(String suffix, int from) {
+            int index = buffer.subSequence(0, end).toString().indexOf(suffix, from);
+            return index == -1 ? end : index + suffix.length();
+        }
+
+        @Override
+        public int getState() {
+            return 0;
+        }
+
+        @Nullable
+        @Override
+        public IElementType getTokenType() {
+            return tokenType;
+        }
+
+        @Override
+        public int getTokenStart() {
+            return tokenStart;
+        }
+
+        @Override
+        public int getTokenEnd() {
+            return tokenEnd;
+        }
+
+        @NotNull
+        @Override
+        public CharSequence getBufferSequence() {
+            return buffer;
+        }
+
+        @Override
+        public int getBufferEnd() {
+            return end;
+        }
+    }
+}
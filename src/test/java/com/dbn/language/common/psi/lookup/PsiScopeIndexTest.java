@@ -0,0 +1,96 @@
+package com.dbn.language.common.psi.lookup;
+
+import com.dbn.language.common.DBLanguagePsiFile;
+import com.dbn.language.common.element.util.IdentifierCategory;
+import com.dbn.language.common.psi.BasePsiElement;
+import com.dbn.language.common.psi.IdentifierPsiElement;
+import com.dbn.object.type.DBObjectType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the lookups served by the {@link PsiScopeIndex} with the psi tree walk they replace,
+ * for every scope of a parsed file and for the scope crossing limits used by the parent scope lookups
+ */
+public class PsiScopeIndexTest extends BasePlatformTestCase {
+    private static final String QUERY =
+            "with dept_totals as (\n" +
+            "    select d.dept_id, count(*) cnt from departments d group by d.dept_id)\n" +
+            "select e.name, t.cnt,\n" +
+            "       (select max(s.amount) from salaries s where s.emp_id = e.id) max_salary\n" +
+            "from employees e, dept_totals t\n" +
+            "where e.dept_id = t.dept_id\n" +
+            "  and exists (select 1 from jobs j where j.id = e.job_id and j.dept_id = t.dept_id);\n" +
+            "\n" +
+            "select x.name from (select e.name, e.id from employees e) x where x.id = 10;\n";
+
+    private static final int[] SCOPE_CROSS_COUNTS = {0, 1, 10};
+
+    public void testIndexMatchesTreeWalk() {
+        PsiFile file = myFixture.configureByText("scope_index.sql", QUERY);
+        assertInstanceOf(file, DBLanguagePsiFile.class);
+
+        PsiScopeIndex index = ((DBLanguagePsiFile) file).getScopeIndex();
+        List<BasePsiElement> scopes = scopes(file, index);
+        assertTrue("no scopes indexed", scopes.size() > 1);
+
+        int matches = 0;
+        List<PsiLookupAdapter> lookupAdapters = lookupAdapters(file);
+        for (PsiLookupAdapter lookupAdapter : lookupAdapters) {
+            assertTrue(lookupAdapter.toString(), PsiScopeIndex.supports(lookupAdapter));
+
+            for (BasePsiElement scope : scopes) {
+                for (int scopeCrossCount : SCOPE_CROSS_COUNTS) {
+                    String context = lookupAdapter + " in " + scope.getText() + " (" + scopeCrossCount + ")";
+
+                    List<BasePsiElement> collected = new ArrayList<>();
+                    index.collect(scope, lookupAdapter, scopeCrossCount, collected::add);
+                    List<BasePsiElement> walked = new ArrayList<>();
+                    scope.collectPsiElements(lookupAdapter, scopeCrossCount, walked::add);
+                    assertEquals(context, walked, collected);
+                    matches += collected.size();
+
+                    assertSame(context,
+                            scope.findPsiElement(lookupAdapter, scopeCrossCount),
+                            index.find(scope, lookupAdapter, scopeCrossCount));
+                }
+            }
+        }
+        assertTrue("no declarations matched", matches > 0);
+    }
+
+    private static List<BasePsiElement> scopes(PsiFile file, PsiScopeIndex index) {
+        return PsiTreeUtil.findChildrenOfType(file, BasePsiElement.class).stream()
+                .filter(element -> index.contains(element))
+                .collect(Collectors.toList());
+    }
+
+    private static List<PsiLookupAdapter> lookupAdapters(PsiFile file) {
+        List<PsiLookupAdapter> lookupAdapters = new ArrayList<>();
+        lookupAdapters.add(new IdentifierLookupAdapter(null, null, IdentifierCategory.DEFINITION, null, null));
+        lookupAdapters.add(LookupAdapters.aliasDefinition(DBObjectType.DATASET));
+        lookupAdapters.add(LookupAdapters.objectDefinition(DBObjectType.DATASET));
+        lookupAdapters.add(LookupAdapters.objectDefinition(DBObjectType.COLUMN));
+        lookupAdapters.add(LookupAdapters.virtualObject(DBObjectType.DATASET, DBObjectType.COLUMN));
+        lookupAdapters.add(new VirtualObjectLookupAdapter(null, DBObjectType.DATASET));
+
+        // named lookups for every identifier of the file (declared or not)
+        Collection<IdentifierPsiElement> identifiers = PsiTreeUtil.findChildrenOfType(file, IdentifierPsiElement.class);
+        Set<String> names = new LinkedHashSet<>();
+        for (IdentifierPsiElement identifier : identifiers) {
+            names.add(identifier.getUnquotedText().toString());
+        }
+        for (String name : names) {
+            lookupAdapters.add(new IdentifierLookupAdapter(null, null, IdentifierCategory.DEFINITION, null, name));
+        }
+        return lookupAdapters;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dbn.object.dependency;
+
+import com.dbn.object.dependency.ObjectDependencyIndex.Node;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.dbn.object.type.DBObjectType.DATABASE_TRIGGER;
+import static com.dbn.object.type.DBObjectType.DATASET_TRIGGER;
+import static com.dbn.object.type.DBObjectType.PACKAGE;
+import static com.dbn.object.type.DBObjectType.PACKAGE_BODY;
+import static com.dbn.object.type.DBObjectType.TABLE;
+import static com.dbn.object.type.DBObjectType.TRIGGER;
+import static com.dbn.object.type.DBObjectType.VIEW;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectDependencyIndexTest {
+    private static final Node TABLE_A = Node.of("HR", "A", TABLE);
+    private static final Node VIEW_B = Node.of("HR", "B", VIEW);
+    private static final Node PACKAGE_C = Node.of("HR", "C", PACKAGE);
+    private static final Node VIEW_D = Node.of("SALES", "D", VIEW);
+
+    @Test
+    public void directDependencies() {
+        ObjectDependencyIndex index = new ObjectDependencyIndex();
+        index.load("HR", Arrays.asList(
+                new Node[]{VIEW_B, TABLE_A},
+                new Node[]{PACKAGE_C, TABLE_A},
+                new Node[]{Node.of("HR", "C", PACKAGE_BODY), VIEW_B}));
+
+        assertTrue(index.isLoaded("HR"));
+        assertEquals(Arrays.asList(PACKAGE_C, VIEW_B), index.getReferencingNodes(TABLE_A));
+        assertEquals(Arrays.asList(TABLE_A, VIEW_B), index.getReferencedNodes(PACKAGE_C));
+        assertEquals(Collections.emptyList(), index.getReferencedNodes(TABLE_A));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void transitiveClosure() {
+        ObjectDependencyIndex index = new ObjectDependencyIndex();
+        index.load("HR", Arrays.asList(
+                new Node[]{VIEW_B, TABLE_A},
+                new Node[]{PACKAGE_C, VIEW_B},
+                new Node[]{VIEW_D, PACKAGE_C}));
+
+        Set<String> unloadedSchemas = new HashSet<>();
+        List<Node> impacted = index.getClosure(TABLE_A, true, unloadedSchemas);
+        assertEquals(Arrays.asList(VIEW_B, PACKAGE_C, VIEW_D), impacted);
+        assertEquals(Collections.singleton("SALES"), unloadedSchemas);
+
+        assertEquals(Arrays.asList(PACKAGE_C, VIEW_B, TABLE_A), index.getClosure(VIEW_D, false, null));
+    }
+
+    @Test
+    public void incrementalUpdate() {
+        ObjectDependencyIndex index = new ObjectDependencyIndex();
+        index.load("HR", Arrays.asList(
+                new Node[]{VIEW_B, TABLE_A},
+                new Node[]{PACKAGE_C, VIEW_B}));
+
+        index.update(VIEW_B, Collections.emptyList(), Collections.singletonList(PACKAGE_C));
+        assertEquals(Collections.emptyList(), index.getReferencingNodes(TABLE_A));
+        assertEquals(Collections.singletonList(PACKAGE_C), index.getReferencingNodes(VIEW_B));
+
+        index.invalidate("HR");
+        assertFalse(index.isLoaded("HR"));
+        index.load("HR", Collections.singletonList(new Node[]{PACKAGE_C, TABLE_A}));
+        assertEquals(Collections.emptyList(), index.getReferencedNodes(VIEW_B));
+        assertEquals(Collections.singletonList(PACKAGE_C), index.getReferencingNodes(TABLE_A));
+    }
+
+    @Test
+    public void triggerTypes() {
+        // dictionary rows report plain triggers, the browser objects are dataset or database triggers
+        ObjectDependencyIndex index = new ObjectDependencyIndex();
+        index.load("HR", Arrays.asList(
+                new Node[]{Node.of("HR", "A_TRG", TRIGGER), TABLE_A},
+                new Node[]{Node.of("HR", "LOGON_TRG", TRIGGER), PACKAGE_C}));
+
+        assertEquals(Collections.singletonList(TABLE_A), index.getReferencedNodes(Node.of("HR", "A_TRG", DATASET_TRIGGER)));
+        assertEquals(Collections.singletonList(PACKAGE_C), index.getReferencedNodes(Node.of("HR", "LOGON_TRG", DATABASE_TRIGGER)));
+        assertEquals(Collections.singletonList(Node.of("HR", "A_TRG", DATASET_TRIGGER)), index.getReferencingNodes(TABLE_A));
+    }
+}
@@ -0,0 +1,130 @@
+package com.dbn.object.lookup;
+
+import com.dbn.connection.ConnectionId;
+import com.dbn.object.type.DBObjectType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DBObjectRefTableTest {
+    public static final int SCHEMAS = 10;
+    public static final int TABLES = 100;
+    public static final int COLUMNS = 20;
+    public static final int ITERATIONS = 10;
+
+    @Test
+    public void internTest() {
+        ConnectionId connectionId = ConnectionId.create();
+
+        DBObjectRef<?> table1 = DBObjectRef.intern(tableRef(connectionId, "SCHEMA", "TABLE"));
+        DBObjectRef<?> table2 = DBObjectRef.intern(tableRef(connectionId, "SCHEMA", "TABLE"));
+        DBObjectRef<?> table3 = DBObjectRef.intern(tableRef(connectionId, "SCHEMA", "OTHER_TABLE"));
+        DBObjectRef<?> plain = tableRef(connectionId, "SCHEMA", "TABLE");
+
+        Assert.assertTrue(table1.isInterned());
+        Assert.assertSame(table1, table2);
+        Assert.assertNotSame(table1, table3);
+        Assert.assertNotEquals(table1.getId(), table3.getId());
+        Assert.assertSame(table1.getParentRef(), table3.getParentRef());
+
+        // non-interned refs stay structurally equal to their canonical counterparts
+        Assert.assertFalse(plain.isInterned());
+        Assert.assertEquals(table1, plain);
+        Assert.assertEquals(plain, table1);
+        Assert.assertEquals(table1.hashCode(), plain.hashCode());
+        Assert.assertNotEquals(table1, table3);
+
+        // tables are per connection
+        DBObjectRef<?> foreign = DBObjectRef.intern(tableRef(ConnectionId.create(), "SCHEMA", "TABLE"));
+        Assert.assertNotSame(table1, foreign);
+        Assert.assertNotEquals(table1, foreign);
+    }
+
+    @Test
+    public void releaseTest() {
+        ConnectionId connectionId = ConnectionId.create();
+        DBObjectRefTable table = DBObjectRefTable.get(connectionId);
+        DBObjectRef<?> table1 = DBObjectRef.intern(tableRef(connectionId, "SCHEMA", "TABLE"));
+        Assert.assertEquals(2, table.size());
+
+        DBObjectRef.releaseInterned(connectionId);
+        Assert.assertNotSame(table, DBObjectRefTable.get(connectionId));
+        Assert.assertEquals(0, DBObjectRefTable.get(connectionId).size());
+
+        // refs interned before the release keep working as plain refs
+        Assert.assertEquals(table1, tableRef(connectionId, "SCHEMA", "TABLE"));
+
+        // and stay equal to the same object interned after the release
+        DBObjectRef<?> table2 = DBObjectRef.intern(tableRef(connectionId, "SCHEMA", "TABLE"));
+        Assert.assertTrue(table2.isInterned());
+        Assert.assertNotSame(table1, table2);
+        Assert.assertEquals(table1, table2);
+        Assert.assertEquals(table2, table1);
+        Assert.assertEquals(table1.hashCode(), table2.hashCode());
+        Assert.assertNotEquals(table1, DBObjectRef.intern(tableRef(connectionId, "SCHEMA", "OTHER_TABLE")));
+
+        Map<DBObjectRef<?>, String> map = new HashMap<>();
+        map.put(table1, "TABLE");
+        Assert.assertEquals("TABLE", map.get(table2));
+    }
+
+    @Test
+    public void lookupPerformanceTest() {
+        ConnectionId connectionId = ConnectionId.create();
+        List<DBObjectRef<?>> plainRefs = createColumnRefs(connectionId, false);
+        List<DBObjectRef<?>> plainProbes = createColumnRefs(connectionId, false);
+        List<DBObjectRef<?>> internedRefs = createColumnRefs(connectionId, true);
+        List<DBObjectRef<?>> internedProbes = createColumnRefs(connectionId, true);
+
+        // warm-up, then best of several runs
+        long plainTime = Long.MAX_VALUE;
+        long internedTime = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            plainTime = Math.min(plainTime, measureLookups(plainRefs, plainProbes));
+            internedTime = Math.min(internedTime, measureLookups(internedRefs, internedProbes));
+        }
+
+        // interned refs hash and compare by identity, plain refs by walking the ref paths
+        // (timings are reported only, the assertions are in measureLookups)
+        System.out.println("Map lookups of " + plainRefs.size() + " refs (x" + ITERATIONS + "): " +
+                "plain " + plainTime / 1000 + "us, interned " + internedTime / 1000 + "us");
+    }
+
+    private static long measureLookups(List<DBObjectRef<?>> keys, List<DBObjectRef<?>> probes) {
+        Map<DBObjectRef<?>, Integer> map = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (int j = 0; j < probes.size(); j++) {
+                Assert.assertEquals(Integer.valueOf(j), map.get(probes.get(j)));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<DBObjectRef<?>> createColumnRefs(ConnectionId connectionId, boolean intern) {
+        List<DBObjectRef<?>> refs = new ArrayList<>();
+        for (int s = 0; s < SCHEMAS; s++) {
+            for (int t = 0; t < TABLES; t++) {
+                DBObjectRef<?> tableRef = tableRef(connectionId, "SCHEMA_" + s, "TABLE_" + t);
+                for (int c = 0; c < COLUMNS; c++) {
+                    DBObjectRef<?> columnRef = new DBObjectRef<>(tableRef, DBObjectType.COLUMN, "COLUMN_" + c);
+                    refs.add(intern ? DBObjectRef.intern(columnRef) : columnRef);
+                }
+            }
+        }
+        return refs;
+    }
+
+    private static DBObjectRef<?> tableRef(ConnectionId connectionId, String schemaName, String tableName) {
+        DBObjectRef<?> schemaRef = new DBObjectRef<>(connectionId, DBObjectType.SCHEMA, schemaName);
+        return new DBObjectRef<>(schemaRef, DBObjectType.TABLE, tableName);
+    }
+}